@@ -159,6 +159,12 @@ public class LinkedQueuePool<R> implements Pool<R>
         {
             queueSize.decrementAndGet();
         }
+        acquired( resource );
+        return resource;
+    }
+
+    private void acquired( R resource )
+    {
         currentPeakSize = Math.max( currentPeakSize, allocated.get() - queueSize.get() );
         if ( checkStrategy.shouldCheck() )
         {
@@ -169,7 +175,6 @@ public class LinkedQueuePool<R> implements Pool<R>
         }
 
         monitor.acquired( resource );
-        return resource;
     }
 
     @Override
@@ -186,6 +191,39 @@ public class LinkedQueuePool<R> implements Pool<R>
         }
     }
 
+    /**
+     * Accounts for a released resource that is about to be kept idle outside of the queue of this pool, like in the slots of a
+     * {@link StripedPool}. Such a resource counts towards the target size of this pool just like the ones in its queue.
+     *
+     * @return {@code true} if the resource can be kept idle, otherwise it should be {@link #release(Object) released} to this pool.
+     */
+    boolean reserveIdle()
+    {
+        if ( queueSize.incrementAndGet() <= targetSize )
+        {
+            return true;
+        }
+        queueSize.decrementAndGet();
+        return false;
+    }
+
+    /**
+     * Cancels a successful {@link #reserveIdle()} for a resource that ended up not being kept idle after all.
+     */
+    void cancelIdle()
+    {
+        queueSize.decrementAndGet();
+    }
+
+    /**
+     * Accounts for the acquisition of a resource that was kept idle outside of the queue of this pool after {@link #reserveIdle()}.
+     */
+    void acquiredIdle( R resource )
+    {
+        queueSize.decrementAndGet();
+        acquired( resource );
+    }
+
     /**
      * Dispose of all pooled objects.
      */
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.collection.pool;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.neo4j.util.Preconditions.requirePositive;
+
+/**
+ * A {@link Pool} that keeps released resources in a number of striped slots in front of a {@link LinkedQueuePool}.
+ * A thread picks its slot from its thread id, so threads that acquire and release resources concurrently mostly touch
+ * their own slot instead of the shared queue of the delegate. Resources that do not fit in a slot go to the delegate.
+ * Resources kept in slots are accounted for by the delegate as idle ones, so its monitor sees every acquisition and its target size
+ * bounds the resources kept in slots and queue together.
+ *
+ * @param <R> type of pooled resource.
+ */
+public class StripedPool<R> implements Pool<R>
+{
+    /**
+     * Distance, in array elements, between two slots, to keep them on different cache lines.
+     */
+    private static final int SLOT_SPACING = 16;
+
+    private final LinkedQueuePool<R> delegate;
+    private final AtomicReferenceArray<R> slots;
+    private final int mask;
+
+    public StripedPool( LinkedQueuePool<R> delegate, int stripes )
+    {
+        requirePositive( stripes );
+        int size = Integer.highestOneBit( stripes );
+        if ( size < stripes )
+        {
+            size <<= 1;
+        }
+        this.delegate = delegate;
+        this.slots = new AtomicReferenceArray<>( size * SLOT_SPACING );
+        this.mask = size - 1;
+    }
+
+    @Override
+    public R acquire()
+    {
+        int index = slotIndex();
+        R resource = slots.get( index );
+        if ( resource != null && slots.compareAndSet( index, resource, null ) )
+        {
+            delegate.acquiredIdle( resource );
+            return resource;
+        }
+        return delegate.acquire();
+    }
+
+    @Override
+    public void release( R resource )
+    {
+        int index = slotIndex();
+        if ( slots.get( index ) == null && delegate.reserveIdle() )
+        {
+            if ( slots.compareAndSet( index, null, resource ) )
+            {
+                return;
+            }
+            delegate.cancelIdle();
+        }
+        delegate.release( resource );
+    }
+
+    /**
+     * Hands all resources kept in the slots over to the delegate and then closes it, disposing of all pooled resources.
+     */
+    @Override
+    public void close()
+    {
+        for ( int i = 0; i < slots.length(); i += SLOT_SPACING )
+        {
+            R resource = slots.getAndSet( i, null );
+            if ( resource != null )
+            {
+                delegate.cancelIdle();
+                delegate.release( resource );
+            }
+        }
+        delegate.close();
+    }
+
+    private int slotIndex()
+    {
+        return ((int) Thread.currentThread().getId() & mask) * SLOT_SPACING;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.collection.pool;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.time.Duration.ofMinutes;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedPoolTest
+{
+    @Test
+    void shouldReuseResourceReleasedByTheSameThread()
+    {
+        // given
+        CountingPool delegate = new CountingPool();
+        StripedPool<Object> pool = new StripedPool<>( delegate, 4 );
+        Object resource = pool.acquire();
+
+        // when
+        pool.release( resource );
+
+        // then
+        assertThat( pool.acquire() ).isSameAs( resource );
+        assertThat( delegate.created.get() ).isEqualTo( 1 );
+    }
+
+    @Test
+    void shouldHandOverflowingResourcesToDelegate()
+    {
+        // given
+        CountingPool delegate = new CountingPool();
+        StripedPool<Object> pool = new StripedPool<>( delegate, 1 );
+        List<Object> resources = new ArrayList<>();
+        for ( int i = 0; i < 5; i++ )
+        {
+            resources.add( pool.acquire() );
+        }
+
+        // when
+        resources.forEach( pool::release );
+        Set<Object> reacquired = new HashSet<>();
+        for ( int i = 0; i < 5; i++ )
+        {
+            reacquired.add( pool.acquire() );
+        }
+
+        // then
+        assertThat( reacquired ).containsExactlyInAnyOrderElementsOf( resources );
+        assertThat( delegate.created.get() ).isEqualTo( 5 );
+    }
+
+    @Test
+    void shouldDisposeResourcesInSlotsOnClose()
+    {
+        // given
+        CountingPool delegate = new CountingPool();
+        StripedPool<Object> pool = new StripedPool<>( delegate, 2 );
+        Object first = pool.acquire();
+        Object second = pool.acquire();
+        pool.release( first );
+        pool.release( second );
+
+        // when
+        pool.close();
+
+        // then
+        assertThat( delegate.disposed.get() ).isEqualTo( 2 );
+    }
+
+    @Test
+    void shouldReportResourcesAcquiredFromSlotsToDelegateMonitor()
+    {
+        // given
+        CountingPool delegate = new CountingPool();
+        StripedPool<Object> pool = new StripedPool<>( delegate, 4 );
+        Object resource = pool.acquire();
+        pool.release( resource );
+
+        // when
+        assertThat( pool.acquire() ).isSameAs( resource );
+
+        // then
+        assertThat( delegate.monitor.acquired.get() ).isEqualTo( 2 );
+    }
+
+    @Test
+    void shouldNotKeepMoreIdleResourcesInSlotsThanDelegateTargets()
+    {
+        // given
+        CountingPool delegate = new CountingPool( 0 );
+        StripedPool<Object> pool = new StripedPool<>( delegate, 4 );
+        Object resource = pool.acquire();
+
+        // when
+        pool.release( resource );
+
+        // then
+        assertThat( delegate.disposed.get() ).isEqualTo( 1 );
+        assertThat( pool.acquire() ).isNotSameAs( resource );
+        assertThat( delegate.created.get() ).isEqualTo( 2 );
+    }
+
+    @Test
+    void shouldRequirePositiveNumberOfStripes()
+    {
+        assertThatThrownBy( () -> new StripedPool<>( new CountingPool(), 0 ) ).isInstanceOf( IllegalArgumentException.class );
+    }
+
+    private static class CountingPool extends LinkedQueuePool<Object>
+    {
+        private final AtomicInteger created = new AtomicInteger();
+        private final AtomicInteger disposed = new AtomicInteger();
+        private final AcquireCountingMonitor monitor;
+
+        CountingPool()
+        {
+            this( 8 );
+        }
+
+        CountingPool( int minSize )
+        {
+            this( minSize, new AcquireCountingMonitor() );
+        }
+
+        private CountingPool( int minSize, AcquireCountingMonitor monitor )
+        {
+            super( minSize, Object::new, new CheckStrategy.TimeoutCheckStrategy( ofMinutes( 1 ) ), monitor );
+            this.monitor = monitor;
+        }
+
+        @Override
+        protected Object create()
+        {
+            created.incrementAndGet();
+            return super.create();
+        }
+
+        @Override
+        protected void dispose( Object resource )
+        {
+            disposed.incrementAndGet();
+            super.dispose( resource );
+        }
+    }
+
+    private static class AcquireCountingMonitor extends LinkedQueuePool.Monitor.Adapter<Object>
+    {
+        private final AtomicInteger acquired = new AtomicInteger();
+
+        @Override
+        public void acquired( Object resource )
+        {
+            acquired.incrementAndGet();
+        }
+    }
+}
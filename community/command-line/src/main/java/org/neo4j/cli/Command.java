@@ -27,6 +27,7 @@ public interface Command extends Callable<Integer>
     enum CommandType
     {
         CHECK_CONSISTENCY,
+        COMPACT_RELATIONSHIP_GROUPS,
         DIAGNOSTICS_REPORT,
         STORE_INFO,
         MEMORY_RECOMMENDATION,
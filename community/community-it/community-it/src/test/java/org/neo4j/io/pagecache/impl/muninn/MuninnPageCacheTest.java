@@ -75,6 +75,7 @@ import org.neo4j.io.pagecache.tracing.recording.RecordingPageCursorTracer.Fault;
 import org.neo4j.memory.ScopedMemoryTracker;
 
 import static java.time.Duration.ofMillis;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -96,6 +97,7 @@ import static org.neo4j.io.pagecache.buffer.IOBufferFactory.DISABLED_BUFFER_FACT
 import static org.neo4j.io.pagecache.context.CursorContext.NULL;
 import static org.neo4j.io.pagecache.tracing.recording.RecordingPageCacheTracer.Evict;
 import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+import static org.neo4j.test.assertion.Assert.assertEventually;
 
 public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
 {
@@ -556,6 +558,36 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
         }
     }
 
+    @Test
+    void prefetchMustFaultInPagesNotAlreadyCached() throws IOException
+    {
+        writeInitialDataTo( file( "a" ) );
+        DefaultPageCacheTracer cacheTracer = new DefaultPageCacheTracer( true );
+        PageCursorTracer pageCursorTracer = cacheTracer.createPageCursorTracer( "prefetchMustFaultInPagesNotAlreadyCached" );
+        try ( MuninnPageCache pageCache = createPageCache( fs, 4, cacheTracer );
+                PagedFile pagedFile = map( pageCache, file( "a" ), 8 ) )
+        {
+            CursorContext cursorContext = new CursorContext( pageCursorTracer );
+            // Pages are faulted in by pre-fetcher jobs, in the background
+            pagedFile.prefetch( new long[]{0, 1, 5}, 3, cursorContext );
+            assertEventually( () -> pagedFile.pageFileCounters().faults(), faults -> faults == 2, 1, MINUTES );
+
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK | PF_NO_FAULT, cursorContext ) )
+            {
+                assertTrue( cursor.next() );
+                assertEquals( 0, cursor.getCurrentPageId() );
+                assertTrue( cursor.next() );
+                assertEquals( 1, cursor.getCurrentPageId() );
+            }
+
+            // Pages already in the cache are neither pinned nor faulted again
+            long pins = pagedFile.pageFileCounters().pins();
+            pagedFile.prefetch( new long[]{0, 1}, 2, cursorContext );
+            assertEquals( 2, pagedFile.pageFileCounters().faults() );
+            assertEquals( pins, pagedFile.pageFileCounters().pins() );
+        }
+    }
+
     @Test
     void finishPinEventReportedPerFile() throws IOException
     {
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import org.neo4j.graphdb.ExecutionPlanDescription;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Result;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.neo4j.test.extension.DbmsExtension;
+import org.neo4j.test.extension.ExtensionCallback;
+import org.neo4j.test.extension.Inject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.transaction_property_cache_size;
+
+@DbmsExtension( configurationCallback = "configure" )
+class PropertyCacheProfileIT
+{
+    private static final Label NODE = Label.label( "Node" );
+    private static final String LONG_STRING = "a long string that is stored in dynamic string records ".repeat( 10 );
+
+    @Inject
+    private GraphDatabaseService db;
+
+    @ExtensionCallback
+    void configure( TestDatabaseManagementServiceBuilder builder )
+    {
+        builder.setConfig( transaction_property_cache_size, 1_000_000L );
+    }
+
+    @Test
+    void shouldReportPropertyCacheHitsAndMissesOfQueryInProfile()
+    {
+        // given
+        try ( Transaction tx = db.beginTx() )
+        {
+            for ( int i = 0; i < 10; i++ )
+            {
+                tx.createNode( NODE ).setProperty( "text", LONG_STRING + i );
+            }
+            tx.commit();
+        }
+
+        try ( Transaction tx = db.beginTx() )
+        {
+            // when the first query reads the properties
+            Map<String,Object> arguments = profile( tx, "MATCH (n:Node) RETURN n.text AS text" );
+
+            // then they miss the cache
+            assertThat( arguments ).containsEntry( "PropertyCacheHits", 0L ).containsEntry( "PropertyCacheMisses", 10L );
+
+            // when another query of the same transaction reads them again
+            arguments = profile( tx, "MATCH (n:Node) RETURN n.text AS text" );
+
+            // then they are served by the cache
+            assertThat( arguments ).containsEntry( "PropertyCacheHits", 10L ).containsEntry( "PropertyCacheMisses", 0L );
+        }
+    }
+
+    private static Map<String,Object> profile( Transaction tx, String query )
+    {
+        try ( Result result = tx.execute( "PROFILE " + query ) )
+        {
+            result.accept( row -> true );
+            ExecutionPlanDescription plan = result.getExecutionPlanDescription();
+            assertThat( plan.toString() ).contains( "property cache hit ratio" );
+            return plan.getArguments();
+        }
+    }
+}
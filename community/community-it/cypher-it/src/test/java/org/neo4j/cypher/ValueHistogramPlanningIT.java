@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Result;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.test.extension.DbmsController;
+import org.neo4j.test.extension.DbmsExtension;
+import org.neo4j.test.extension.Inject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.neo4j.test.assertion.Assert.assertEventuallyDoesNotThrow;
+
+@DbmsExtension
+class ValueHistogramPlanningIT
+{
+    private static final Label PERSON = Label.label( "Person" );
+    private static final String AGE = "age";
+    private static final String INDEX_NAME = "person_age";
+    private static final int NODES = 1_000;
+
+    @Inject
+    private GraphDatabaseService db;
+    @Inject
+    private DbmsController dbmsController;
+
+    @Test
+    void shouldEstimateRangeSeeksWithLiteralsFromValueHistogramOfSampledIndex()
+    {
+        // given
+        createIndexAndData();
+
+        // then
+        assertRangeEstimates();
+    }
+
+    @Test
+    void shouldEstimateRangeSeeksFromValueHistogramOfIndexResampledAfterRestart()
+    {
+        // given
+        createIndexAndData();
+        dbmsController.restartDbms();
+
+        // when
+        // Value histograms are only kept in memory, they are built again by the next sampling of the index
+        try ( Transaction tx = db.beginTx() )
+        {
+            tx.execute( "CALL db.resampleIndex($name)", Map.of( "name", INDEX_NAME ) ).close();
+        }
+
+        // then
+        assertEventuallyDoesNotThrow( "Range estimates from the value histogram", this::assertRangeEstimates, 1, TimeUnit.MINUTES );
+    }
+
+    private void createIndexAndData()
+    {
+        try ( Transaction tx = db.beginTx() )
+        {
+            for ( int i = 0; i < NODES; i++ )
+            {
+                tx.createNode( PERSON ).setProperty( AGE, i );
+            }
+            tx.commit();
+        }
+        try ( Transaction tx = db.beginTx() )
+        {
+            tx.schema().indexFor( PERSON ).on( AGE ).withName( INDEX_NAME ).create();
+            tx.commit();
+        }
+        try ( Transaction tx = db.beginTx() )
+        {
+            tx.schema().awaitIndexesOnline( 3, TimeUnit.MINUTES );
+        }
+    }
+
+    private void assertRangeEstimates()
+    {
+        // A uniform guess would estimate both ranges the same, the histogram tells them apart
+        assertThat( estimatedRows( "p.age < 100" ) ).isCloseTo( 100, within( 20d ) );
+        assertThat( estimatedRows( "p.age < 900" ) ).isCloseTo( 900, within( 50d ) );
+        assertThat( estimatedRows( "100 <= p.age < 300" ) ).isCloseTo( 200, within( 30d ) );
+    }
+
+    private double estimatedRows( String predicate )
+    {
+        // The literals of the predicate are extracted into parameters, like they are by default, and each query is planned again
+        String query = "CYPHER replan=force EXPLAIN MATCH (p:Person) WHERE " + predicate + " RETURN p";
+        try ( Transaction tx = db.beginTx();
+              Result result = tx.execute( query ) )
+        {
+            Object estimatedRows = result.getExecutionPlanDescription().getArguments().get( "EstimatedRows" );
+            assertThat( estimatedRows ).isInstanceOf( Number.class );
+            return ((Number) estimatedRows).doubleValue();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.commandline.dbms;
+
+import org.junit.jupiter.api.Test;
+import picocli.CommandLine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.neo4j.cli.CommandFailedException;
+import org.neo4j.cli.ExecutionContext;
+import org.neo4j.commandline.compact.CompactRelationshipGroupsCommand;
+import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseSettings;
+import org.neo4j.consistency.ConsistencyCheckService;
+import org.neo4j.consistency.checking.full.ConsistencyFlags;
+import org.neo4j.dbms.api.DatabaseManagementService;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.internal.helpers.progress.ProgressMonitorFactory;
+import org.neo4j.io.fs.DefaultFileSystemAbstraction;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.io.layout.Neo4jLayout;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.Neo4jLayoutExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.configuration.GraphDatabaseSettings.dense_node_threshold;
+
+@Neo4jLayoutExtension
+class CompactRelationshipGroupsCommandIT
+{
+    private static final int TYPES = 10;
+    private static final int RELATIONSHIPS_PER_TYPE = 20;
+
+    @Inject
+    private TestDirectory testDirectory;
+    @Inject
+    private Neo4jLayout neo4jLayout;
+
+    @Test
+    void shouldCompactRelationshipGroupsOfDenseNodesAndLeaveConsistentStore() throws Exception
+    {
+        // given two dense nodes whose groups are created in turns, so that their group chains interleave
+        DatabaseLayout databaseLayout = neo4jLayout.databaseLayout( "mydb" );
+        long[] nodeIds = createDenseNodesWithInterleavedGroups( databaseLayout );
+
+        // when
+        var out = new ByteArrayOutputStream();
+        var command = new CompactRelationshipGroupsCommand( new ExecutionContext( testDirectory.homePath(), testDirectory.directory( "conf" ),
+                new PrintStream( out ), System.err, new DefaultFileSystemAbstraction() ) );
+        CommandLine.populateCommand( command, "--database=mydb" );
+        command.execute();
+
+        // then
+        assertThat( out.toString() ).contains( "Compacted the relationship groups of 2 dense nodes, skipped 0 dense nodes." );
+        ConsistencyCheckService.Result result = new ConsistencyCheckService().runFullConsistencyCheck( databaseLayout, Config.defaults(),
+                ProgressMonitorFactory.NONE, NullLogProvider.getInstance(), testDirectory.getFileSystem(), false, ConsistencyFlags.DEFAULT );
+        assertThat( result.isSuccessful() ).isTrue();
+
+        DatabaseManagementService managementService = new TestDatabaseManagementServiceBuilder( databaseLayout ).build();
+        try
+        {
+            GraphDatabaseService db = managementService.database( databaseLayout.getDatabaseName() );
+            try ( Transaction tx = db.beginTx() )
+            {
+                for ( long nodeId : nodeIds )
+                {
+                    Node node = tx.getNodeById( nodeId );
+                    for ( int type = 0; type < TYPES; type++ )
+                    {
+                        assertThat( node.getDegree( RelationshipType.withName( "TYPE_" + type ) ) ).isEqualTo( RELATIONSHIPS_PER_TYPE );
+                    }
+                }
+            }
+        }
+        finally
+        {
+            managementService.shutdown();
+        }
+    }
+
+    @Test
+    void shouldRefuseToCompactClusteredDatabase() throws Exception
+    {
+        DatabaseLayout databaseLayout = neo4jLayout.databaseLayout( "mydb" );
+        createDenseNodesWithInterleavedGroups( databaseLayout );
+        Path additionalConfig = testDirectory.file( "additional.conf" );
+        Files.writeString( additionalConfig, GraphDatabaseSettings.mode.name() + "=" + GraphDatabaseSettings.Mode.CORE );
+
+        var command = new CompactRelationshipGroupsCommand( new ExecutionContext( testDirectory.homePath(), testDirectory.directory( "conf" ),
+                new PrintStream( new ByteArrayOutputStream() ), System.err, new DefaultFileSystemAbstraction() ) );
+        CommandLine.populateCommand( command, "--database=mydb", "--additional-config=" + additionalConfig );
+
+        CommandFailedException exception = assertThrows( CommandFailedException.class, command::execute );
+        assertThat( exception.getMessage() ).contains( "standalone database" );
+    }
+
+    private static long[] createDenseNodesWithInterleavedGroups( DatabaseLayout databaseLayout )
+    {
+        DatabaseManagementService managementService = new TestDatabaseManagementServiceBuilder( databaseLayout )
+                .setConfig( dense_node_threshold, 1 )
+                .build();
+        try
+        {
+            GraphDatabaseService db = managementService.database( databaseLayout.getDatabaseName() );
+            long[] nodeIds = new long[2];
+            try ( Transaction tx = db.beginTx() )
+            {
+                for ( int i = 0; i < nodeIds.length; i++ )
+                {
+                    nodeIds[i] = tx.createNode().getId();
+                }
+                tx.commit();
+            }
+            for ( int type = 0; type < TYPES; type++ )
+            {
+                for ( long nodeId : nodeIds )
+                {
+                    try ( Transaction tx = db.beginTx() )
+                    {
+                        Node node = tx.getNodeById( nodeId );
+                        for ( int i = 0; i < RELATIONSHIPS_PER_TYPE; i++ )
+                        {
+                            node.createRelationshipTo( tx.createNode(), RelationshipType.withName( "TYPE_" + type ) );
+                        }
+                        tx.commit();
+                    }
+                }
+            }
+            return nodeIds;
+        }
+        finally
+        {
+            managementService.shutdown();
+        }
+    }
+}
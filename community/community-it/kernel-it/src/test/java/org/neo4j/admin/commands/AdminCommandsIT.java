@@ -36,6 +36,7 @@ import org.neo4j.cli.AbstractCommand;
 import org.neo4j.cli.ExecutionContext;
 import org.neo4j.commandline.admin.security.SetDefaultAdminCommand;
 import org.neo4j.commandline.admin.security.SetInitialPasswordCommand;
+import org.neo4j.commandline.compact.CompactRelationshipGroupsCommand;
 import org.neo4j.commandline.dbms.DiagnosticsReportCommand;
 import org.neo4j.commandline.dbms.DumpCommand;
 import org.neo4j.commandline.dbms.LoadCommand;
@@ -109,6 +110,7 @@ class AdminCommandsIT
         assertExpansionError( new SetDefaultAdminCommand( context ), "user" );
         assertExpansionError( new StoreInfoCommand( context ), "path" );
         assertExpansionError( new CheckConsistencyCommand( context ), "--database", "neo4j" );
+        assertExpansionError( new CompactRelationshipGroupsCommand( context ) );
         assertExpansionError( new DiagnosticsReportCommand( context ) );
         assertExpansionError( new LoadCommand( context, new Loader() ), "--from", "test" );
         assertExpansionError( new MemoryRecommendationsCommand( context ) );
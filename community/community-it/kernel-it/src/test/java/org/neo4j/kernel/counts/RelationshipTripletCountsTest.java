@@ -0,0 +1,388 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.counts;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.common.DependencyResolver;
+import org.neo4j.configuration.Config;
+import org.neo4j.consistency.ConsistencyCheckService;
+import org.neo4j.consistency.checking.full.ConsistencyCheckIncompleteException;
+import org.neo4j.consistency.checking.full.ConsistencyFlags;
+import org.neo4j.dbms.api.DatabaseManagementService;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.internal.kernel.api.TokenRead;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.UncloseableDelegatingFileSystemAbstraction;
+import org.neo4j.io.layout.DatabaseLayout;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.impl.coreapi.InternalTransaction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.neo4j.test.extension.ExtensionCallback;
+import org.neo4j.test.extension.ImpermanentDbmsExtension;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.token.api.NamedToken;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.relationship_triplet_counts;
+import static org.neo4j.graphdb.Label.label;
+import static org.neo4j.graphdb.RelationshipType.withName;
+import static org.neo4j.internal.helpers.progress.ProgressMonitorFactory.NONE;
+import static org.neo4j.internal.kernel.api.TokenRead.ANY_RELATIONSHIP_TYPE;
+
+/**
+ * Verifies the relationship counts for combinations of start node label, type and end node label, both with and without changes in
+ * the transaction state, by comparing them with counts from looking at all relationships and their nodes. The consistency checker
+ * verifies the stored counts after each test.
+ */
+@ImpermanentDbmsExtension( configurationCallback = "configure" )
+@ExtendWith( RandomExtension.class )
+class RelationshipTripletCountsTest
+{
+    private static final Label[] LABELS = {label( "A" ), label( "B" ), label( "C" )};
+    private static final RelationshipType[] TYPES = {withName( "R1" ), withName( "R2" )};
+
+    @Inject
+    private DatabaseManagementService dbms;
+    @Inject
+    private GraphDatabaseAPI db;
+    @Inject
+    private RandomSupport random;
+
+    @ExtensionCallback
+    void configure( TestDatabaseManagementServiceBuilder builder )
+    {
+        builder.setFileSystem( new UncloseableDelegatingFileSystemAbstraction( builder.getFileSystem() ) );
+        builder.setConfig( relationship_triplet_counts, true );
+    }
+
+    @AfterEach
+    void checkConsistency() throws ConsistencyCheckIncompleteException
+    {
+        DependencyResolver deps = db.getDependencyResolver();
+        Config config = deps.resolveDependency( Config.class );
+        DatabaseLayout databaseLayout = db.databaseLayout();
+        dbms.shutdown();
+        ConsistencyCheckService.Result result = new ConsistencyCheckService().runFullConsistencyCheck( databaseLayout, config, NONE,
+                NullLogProvider.getInstance(), deps.resolveDependency( FileSystemAbstraction.class ), false, ConsistencyFlags.DEFAULT );
+        assertThat( result.isSuccessful() ).as( "consistency check, see %s", result.reportFile() ).isTrue();
+    }
+
+    @Test
+    void shouldCountCreatedRelationships()
+    {
+        long start;
+        long end;
+        try ( Transaction tx = db.beginTx() )
+        {
+            start = tx.createNode( LABELS[0], LABELS[1] ).getId();
+            end = tx.createNode( LABELS[2] ).getId();
+            tx.commit();
+        }
+
+        try ( Transaction tx = db.beginTx() )
+        {
+            tx.getNodeById( start ).createRelationshipTo( tx.getNodeById( end ), TYPES[0] );
+            tx.getNodeById( start ).createRelationshipTo( tx.getNodeById( end ), TYPES[1] );
+            tx.getNodeById( end ).createRelationshipTo( tx.getNodeById( start ), TYPES[0] );
+            assertCountsMatchRecount( tx );
+            tx.commit();
+        }
+
+        assertCountsMatchRecount();
+        try ( Transaction tx = db.beginTx() )
+        {
+            assertThat( countsForRelationship( tx, LABELS[0], TYPES[0], LABELS[2] ) ).isEqualTo( 1 );
+            assertThat( countsForRelationship( tx, LABELS[0], null, LABELS[2] ) ).isEqualTo( 2 );
+            assertThat( countsForRelationship( tx, LABELS[2], null, LABELS[1] ) ).isEqualTo( 1 );
+            assertThat( countsForRelationship( tx, LABELS[2], TYPES[1], LABELS[1] ) ).isEqualTo( 0 );
+        }
+    }
+
+    @Test
+    void shouldCountDeletedRelationships()
+    {
+        long relationship;
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node start = tx.createNode( LABELS[0] );
+            Node end = tx.createNode( LABELS[1], LABELS[2] );
+            relationship = start.createRelationshipTo( end, TYPES[0] ).getId();
+            start.createRelationshipTo( end, TYPES[0] );
+            tx.commit();
+        }
+
+        try ( Transaction tx = db.beginTx() )
+        {
+            tx.getRelationshipById( relationship ).delete();
+            assertCountsMatchRecount( tx );
+            tx.commit();
+        }
+
+        assertCountsMatchRecount();
+        try ( Transaction tx = db.beginTx() )
+        {
+            assertThat( countsForRelationship( tx, LABELS[0], TYPES[0], LABELS[2] ) ).isEqualTo( 1 );
+        }
+    }
+
+    @Test
+    void shouldMoveCountsOfStoredRelationshipsOnEndpointLabelChanges()
+    {
+        long start;
+        long end;
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node startNode = tx.createNode( LABELS[0] );
+            Node endNode = tx.createNode( LABELS[1] );
+            startNode.createRelationshipTo( endNode, TYPES[0] );
+            endNode.createRelationshipTo( startNode, TYPES[1] );
+            startNode.createRelationshipTo( startNode, TYPES[0] );
+            start = startNode.getId();
+            end = endNode.getId();
+            tx.commit();
+        }
+
+        // when adding a label to one of the nodes
+        try ( Transaction tx = db.beginTx() )
+        {
+            tx.getNodeById( end ).addLabel( LABELS[2] );
+            assertCountsMatchRecount( tx );
+            tx.commit();
+        }
+        assertCountsMatchRecount();
+
+        // when removing a label from one of the nodes
+        try ( Transaction tx = db.beginTx() )
+        {
+            tx.getNodeById( start ).removeLabel( LABELS[0] );
+            assertCountsMatchRecount( tx );
+            tx.commit();
+        }
+        assertCountsMatchRecount();
+
+        // when changing labels of both nodes of the same relationships
+        try ( Transaction tx = db.beginTx() )
+        {
+            tx.getNodeById( start ).addLabel( LABELS[1] );
+            tx.getNodeById( start ).addLabel( LABELS[2] );
+            tx.getNodeById( end ).removeLabel( LABELS[1] );
+            assertCountsMatchRecount( tx );
+            tx.commit();
+        }
+        assertCountsMatchRecount();
+    }
+
+    @Test
+    void shouldCountLabelChangesTogetherWithRelationshipChanges()
+    {
+        long start;
+        long end;
+        long relationship;
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node startNode = tx.createNode( LABELS[0] );
+            Node endNode = tx.createNode( LABELS[1] );
+            relationship = startNode.createRelationshipTo( endNode, TYPES[0] ).getId();
+            startNode.createRelationshipTo( endNode, TYPES[1] );
+            start = startNode.getId();
+            end = endNode.getId();
+            tx.commit();
+        }
+
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node startNode = tx.getNodeById( start );
+            Node endNode = tx.getNodeById( end );
+            startNode.addLabel( LABELS[2] );
+            endNode.removeLabel( LABELS[1] );
+            endNode.addLabel( LABELS[0] );
+            tx.getRelationshipById( relationship ).delete();
+            startNode.createRelationshipTo( endNode, TYPES[0] );
+            endNode.createRelationshipTo( startNode, TYPES[1] );
+            assertCountsMatchRecount( tx );
+            tx.commit();
+        }
+        assertCountsMatchRecount();
+    }
+
+    @Test
+    void shouldCountDeletedNodesWithRelationships()
+    {
+        long deleted;
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node node = tx.createNode( LABELS[0], LABELS[1] );
+            Node other = tx.createNode( LABELS[2] );
+            node.createRelationshipTo( other, TYPES[0] );
+            other.createRelationshipTo( node, TYPES[1] );
+            node.createRelationshipTo( node, TYPES[1] );
+            other.createRelationshipTo( other, TYPES[0] );
+            deleted = node.getId();
+            tx.commit();
+        }
+
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node node = tx.getNodeById( deleted );
+            node.getRelationships().forEach( Relationship::delete );
+            node.delete();
+            assertCountsMatchRecount( tx );
+            tx.commit();
+        }
+        assertCountsMatchRecount();
+    }
+
+    @Test
+    void shouldKeepCountsInSyncWithRandomChanges()
+    {
+        List<Long> nodes = new ArrayList<>();
+        try ( Transaction tx = db.beginTx() )
+        {
+            for ( int i = 0; i < 20; i++ )
+            {
+                nodes.add( tx.createNode( random.selection( LABELS, 0, LABELS.length, false ) ).getId() );
+            }
+            for ( int i = 0; i < 40; i++ )
+            {
+                tx.getNodeById( random.among( nodes ) ).createRelationshipTo( tx.getNodeById( random.among( nodes ) ), random.among( TYPES ) );
+            }
+            tx.commit();
+        }
+
+        for ( int round = 0; round < 20; round++ )
+        {
+            try ( Transaction tx = db.beginTx() )
+            {
+                for ( int i = 0; i < 5; i++ )
+                {
+                    randomChange( tx, nodes );
+                }
+                assertCountsMatchRecount( tx );
+                tx.commit();
+            }
+            assertCountsMatchRecount();
+        }
+    }
+
+    private void randomChange( Transaction tx, List<Long> nodes )
+    {
+        Node node = tx.getNodeById( random.among( nodes ) );
+        switch ( random.nextInt( 6 ) )
+        {
+        case 0:
+            node.createRelationshipTo( tx.getNodeById( random.among( nodes ) ), random.among( TYPES ) );
+            break;
+        case 1:
+            List<Relationship> relationships = new ArrayList<>();
+            node.getRelationships().forEach( relationships::add );
+            if ( !relationships.isEmpty() )
+            {
+                random.among( relationships ).delete();
+            }
+            break;
+        case 2:
+            node.addLabel( random.among( LABELS ) );
+            break;
+        case 3:
+            node.removeLabel( random.among( LABELS ) );
+            break;
+        case 4:
+            if ( nodes.size() > 2 )
+            {
+                node.getRelationships().forEach( Relationship::delete );
+                node.delete();
+                nodes.remove( Long.valueOf( node.getId() ) );
+            }
+            break;
+        default:
+            nodes.add( tx.createNode( random.selection( LABELS, 0, LABELS.length, false ) ).getId() );
+            break;
+        }
+    }
+
+    private void assertCountsMatchRecount()
+    {
+        try ( Transaction tx = db.beginTx() )
+        {
+            assertCountsMatchRecount( tx );
+        }
+    }
+
+    private static void assertCountsMatchRecount( Transaction tx )
+    {
+        Map<List<String>,Long> expected = new HashMap<>();
+        for ( Relationship relationship : tx.getAllRelationships() )
+        {
+            for ( Label startLabel : relationship.getStartNode().getLabels() )
+            {
+                for ( Label endLabel : relationship.getEndNode().getLabels() )
+                {
+                    expected.merge( List.of( startLabel.name(), relationship.getType().name(), endLabel.name() ), 1L, Long::sum );
+                    expected.merge( List.of( startLabel.name(), "", endLabel.name() ), 1L, Long::sum );
+                }
+            }
+        }
+
+        KernelTransaction ktx = ((InternalTransaction) tx).kernelTransaction();
+        TokenRead tokenRead = ktx.tokenRead();
+        List<NamedToken> types = new ArrayList<>();
+        tokenRead.relationshipTypesGetAllTokens().forEachRemaining( types::add );
+        types.add( new NamedToken( "", ANY_RELATIONSHIP_TYPE ) );
+        List<NamedToken> labels = new ArrayList<>();
+        tokenRead.labelsGetAllTokens().forEachRemaining( labels::add );
+        for ( NamedToken start : labels )
+        {
+            for ( NamedToken type : types )
+            {
+                for ( NamedToken end : labels )
+                {
+                    List<String> key = List.of( start.name(), type.name(), end.name() );
+                    assertThat( ktx.dataRead().countsForRelationship( start.id(), type.id(), end.id() ) )
+                            .as( "(:%s)-[%s]->(:%s)", start.name(), type.name(), end.name() )
+                            .isEqualTo( expected.getOrDefault( key, 0L ) );
+                }
+            }
+        }
+    }
+
+    private static long countsForRelationship( Transaction tx, Label start, RelationshipType type, Label end )
+    {
+        KernelTransaction ktx = ((InternalTransaction) tx).kernelTransaction();
+        TokenRead tokenRead = ktx.tokenRead();
+        int typeId = type == null ? ANY_RELATIONSHIP_TYPE : tokenRead.relationshipType( type.name() );
+        return ktx.dataRead().countsForRelationship( tokenRead.nodeLabel( start.name() ), typeId, tokenRead.nodeLabel( end.name() ) );
+    }
+}
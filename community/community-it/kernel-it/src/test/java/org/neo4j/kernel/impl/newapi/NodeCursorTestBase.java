@@ -144,6 +144,26 @@ public abstract class NodeCursorTestBase<G extends KernelAPIReadTestSupport> ext
         }
     }
 
+    @Test
+    void shouldAccessNodesByIdsInGivenOrder()
+    {
+        // given
+        long[] references = {barbaz, gone, foo, -2L, bare, bar, foo};
+        List<Long> ids = new ArrayList<>();
+        try ( NodeCursor nodes = cursors.allocateNodeCursor( NULL ) )
+        {
+            // when
+            read.nodesByIds( references, nodes );
+            while ( nodes.next() )
+            {
+                ids.add( nodes.nodeReference() );
+            }
+        }
+
+        // then
+        assertEquals( List.of( barbaz, foo, bare, bar, foo ), ids );
+    }
+
     @Test
     void shouldReadLabels()
     {
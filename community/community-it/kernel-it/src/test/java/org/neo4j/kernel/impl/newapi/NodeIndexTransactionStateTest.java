@@ -19,6 +19,9 @@
  */
 package org.neo4j.kernel.impl.newapi;
 
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -29,17 +32,64 @@ import org.neo4j.internal.helpers.collection.Pair;
 import org.neo4j.internal.kernel.api.IndexReadSession;
 import org.neo4j.internal.kernel.api.NodeValueIndexCursor;
 import org.neo4j.internal.kernel.api.PropertyIndexQuery;
+import org.neo4j.internal.kernel.api.TokenWrite;
 import org.neo4j.internal.kernel.api.Write;
+import org.neo4j.internal.schema.IndexConfig;
 import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexPrototype;
+import org.neo4j.internal.schema.IndexRef;
 import org.neo4j.kernel.api.KernelTransaction;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.neo4j.internal.kernel.api.IndexQueryConstraints.unordered;
+import static org.neo4j.internal.schema.IndexType.fromPublicApi;
+import static org.neo4j.internal.schema.SchemaDescriptor.forLabel;
 
 public class NodeIndexTransactionStateTest extends IndexTransactionStateTestBase
 {
     private static final String DEFAULT_LABEL = "Node";
+    private static final String INCLUDED_PROPERTY_NAME = "included";
+
+    @Test
+    void shouldPerformEqualitySeekOnRequiredPropertiesOfIndexWithIncludedProperty() throws Exception
+    {
+        // given
+        Set<Long> expected = new HashSet<>();
+        try ( KernelTransaction tx = beginTransaction() )
+        {
+            expected.add( entityWithProp( tx, "banana" ).first() );
+            expected.add( entityWithIncludedProp( tx, "banana", 1 ) );
+            entityWithIncludedProp( tx, "apple", 2 );
+            tx.commit();
+        }
+        createIndexWithIncludedProperty();
+
+        // when
+        try ( KernelTransaction tx = beginTransaction() )
+        {
+            expected.add( entityWithProp( tx, "banana" ).first() );
+            expected.add( entityWithIncludedProp( tx, "banana", 3 ) );
+            entityWithProp( tx, "dragonfruit" );
+            entityWithIncludedProp( tx, "dragonfruit", 4 );
+
+            // then the seek on the required property alone must find entities both with and without the included property
+            IndexDescriptor index = tx.schemaRead().indexGetForName( INDEX_NAME );
+            int prop = tx.tokenRead().propertyKey( DEFAULT_PROPERTY_NAME );
+            Set<Long> found = new HashSet<>();
+            try ( NodeValueIndexCursor nodes = tx.cursors().allocateNodeValueIndexCursor( tx.cursorContext(), tx.memoryTracker() ) )
+            {
+                IndexReadSession indexSession = tx.dataRead().indexReadSession( index );
+                tx.dataRead().nodeIndexSeek( tx.queryContext(), indexSession, nodes, unordered( false ), PropertyIndexQuery.exact( prop, "banana" ) );
+                while ( nodes.next() )
+                {
+                    found.add( nodes.nodeReference() );
+                }
+            }
+            assertThat( found ).isEqualTo( expected );
+        }
+    }
 
     @Override
     Pair<Long,Value> entityWithProp( KernelTransaction tx, Object value ) throws Exception
@@ -67,6 +117,37 @@ public class NodeIndexTransactionStateTest extends IndexTransactionStateTestBase
         }
     }
 
+    private void createIndexWithIncludedProperty() throws Exception
+    {
+        try ( KernelTransaction tx = beginTransaction() )
+        {
+            TokenWrite tokenWrite = tx.tokenWrite();
+            int label = tokenWrite.labelGetOrCreateForName( DEFAULT_LABEL );
+            int prop = tokenWrite.propertyKeyGetOrCreateForName( DEFAULT_PROPERTY_NAME );
+            int included = tokenWrite.propertyKeyGetOrCreateForName( INCLUDED_PROPERTY_NAME );
+            tx.schemaWrite().indexCreate( IndexPrototype.forSchema( forLabel( label, prop, included ) )
+                    .withIndexType( fromPublicApi( IndexType.RANGE ) )
+                    .withIndexConfig( IndexConfig.with( IndexRef.INCLUDED_PROPERTIES_SETTING, Values.intValue( 1 ) ) )
+                    .withName( INDEX_NAME ) );
+            tx.commit();
+        }
+
+        try ( Transaction tx = graphDb.beginTx() )
+        {
+            tx.schema().awaitIndexesOnline( 2, TimeUnit.MINUTES );
+        }
+    }
+
+    private static long entityWithIncludedProp( KernelTransaction tx, Object value, Object includedValue ) throws Exception
+    {
+        Write write = tx.dataWrite();
+        long node = write.nodeCreate();
+        write.nodeAddLabel( node, tx.tokenWrite().labelGetOrCreateForName( DEFAULT_LABEL ) );
+        write.nodeSetProperty( node, tx.tokenWrite().propertyKeyGetOrCreateForName( DEFAULT_PROPERTY_NAME ), Values.of( value ) );
+        write.nodeSetProperty( node, tx.tokenWrite().propertyKeyGetOrCreateForName( INCLUDED_PROPERTY_NAME ), Values.of( includedValue ) );
+        return node;
+    }
+
     @Override
     void deleteEntity( KernelTransaction tx, long entity ) throws Exception
     {
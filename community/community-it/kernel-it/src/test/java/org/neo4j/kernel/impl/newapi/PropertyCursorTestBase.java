@@ -293,6 +293,30 @@ public abstract class PropertyCursorTestBase<G extends KernelAPIReadTestSupport>
         }
     }
 
+    @Test
+    void shouldReadPropertiesOfNodeBatchInGivenOrder()
+    {
+        // given
+        long[] references = {allPropsNodeId, bareNodeId, -2L, intPropNodeId, bytePropNodeId, allPropsNodeId};
+        int[] propertyKeys = {token.propertyKey( INT_PROP ), token.propertyKey( BYTE_PROP )};
+        Value[][] rows;
+        try ( NodeCursor node = cursors.allocateNodeCursor( NULL );
+              PropertyCursor props = cursors.allocatePropertyCursor( NULL, INSTANCE ) )
+        {
+            // when
+            rows = read.nodesProperties( references, propertyKeys, node, props );
+        }
+
+        // then
+        assertEquals( references.length, rows.length );
+        assertThat( rows[0] ).containsExactly( Values.of( 13 ), Values.of( (byte) 13 ) );
+        assertThat( rows[1] ).containsExactly( Values.NO_VALUE, Values.NO_VALUE );
+        assertThat( rows[2] ).isNull();
+        assertThat( rows[3] ).containsExactly( Values.of( 13 ), Values.NO_VALUE );
+        assertThat( rows[4] ).containsExactly( Values.NO_VALUE, Values.of( (byte) 13 ) );
+        assertThat( rows[5] ).containsExactly( rows[0] );
+    }
+
     @Test
     void shouldAccessSingleNodeProperty()
     {
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.impl.coreapi.InternalTransaction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.neo4j.test.extension.DbmsExtension;
+import org.neo4j.test.extension.ExtensionCallback;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.values.storable.Value;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.values.storable.Values.intValue;
+import static org.neo4j.values.storable.Values.stringValue;
+
+@DbmsExtension( configurationCallback = "configure" )
+class PropertyReadCacheIT
+{
+    private static final String LONG_STRING = "a long string that is stored in dynamic string records ".repeat( 10 );
+
+    @Inject
+    private GraphDatabaseAPI database;
+
+    @ExtensionCallback
+    void configure( TestDatabaseManagementServiceBuilder builder )
+    {
+        builder.setConfig( GraphDatabaseInternalSettings.transaction_property_cache_size, 1_000_000L );
+    }
+
+    @Test
+    void shouldServeRepeatedReadsOfDynamicPropertiesFromCache()
+    {
+        long nodeId = createNode();
+
+        try ( InternalTransaction transaction = (InternalTransaction) database.beginTx() )
+        {
+            KernelTransaction kernelTransaction = transaction.kernelTransaction();
+            PropertyReadCache cache = ((AllStoreHolder) kernelTransaction.dataRead()).propertyReadCache();
+
+            assertThat( readProperties( kernelTransaction, nodeId ) ).containsExactlyInAnyOrder( stringValue( LONG_STRING ), intValue( 42 ) );
+            assertThat( cache.hits() ).isZero();
+            assertThat( cache.misses() ).isOne();
+
+            assertThat( readProperties( kernelTransaction, nodeId ) ).containsExactlyInAnyOrder( stringValue( LONG_STRING ), intValue( 42 ) );
+            assertThat( cache.hits() ).isOne();
+            assertThat( cache.misses() ).isOne();
+        }
+    }
+
+    @Test
+    void shouldSeePropertiesChangedByTransactionAfterTheyHaveBeenCached()
+    {
+        long nodeId = createNode();
+
+        try ( InternalTransaction transaction = (InternalTransaction) database.beginTx() )
+        {
+            KernelTransaction kernelTransaction = transaction.kernelTransaction();
+            assertThat( readProperties( kernelTransaction, nodeId ) ).contains( stringValue( LONG_STRING ) );
+
+            transaction.getNodeById( nodeId ).setProperty( "string", "changed" );
+
+            assertThat( readProperties( kernelTransaction, nodeId ) ).containsExactlyInAnyOrder( stringValue( "changed" ), intValue( 42 ) );
+        }
+    }
+
+    @Test
+    void shouldNotKeepCachedPropertiesBetweenTransactions()
+    {
+        long nodeId = createNode();
+        try ( InternalTransaction transaction = (InternalTransaction) database.beginTx() )
+        {
+            assertThat( readProperties( transaction.kernelTransaction(), nodeId ) ).contains( stringValue( LONG_STRING ) );
+        }
+        try ( Transaction transaction = database.beginTx() )
+        {
+            transaction.getNodeById( nodeId ).setProperty( "string", "committed" );
+            transaction.commit();
+        }
+
+        try ( InternalTransaction transaction = (InternalTransaction) database.beginTx() )
+        {
+            KernelTransaction kernelTransaction = transaction.kernelTransaction();
+            assertThat( readProperties( kernelTransaction, nodeId ) ).containsExactlyInAnyOrder( stringValue( "committed" ), intValue( 42 ) );
+            assertThat( ((AllStoreHolder) kernelTransaction.dataRead()).propertyReadCache().hits() ).isZero();
+        }
+    }
+
+    private long createNode()
+    {
+        try ( Transaction transaction = database.beginTx() )
+        {
+            var node = transaction.createNode();
+            node.setProperty( "string", LONG_STRING );
+            node.setProperty( "int", 42 );
+            transaction.commit();
+            return node.getId();
+        }
+    }
+
+    private static List<Value> readProperties( KernelTransaction kernelTransaction, long nodeId )
+    {
+        List<Value> values = new ArrayList<>();
+        try ( var nodeCursor = kernelTransaction.cursors().allocateNodeCursor( kernelTransaction.cursorContext() );
+              var propertyCursor = kernelTransaction.cursors().allocatePropertyCursor( kernelTransaction.cursorContext(),
+                      kernelTransaction.memoryTracker() ) )
+        {
+            kernelTransaction.dataRead().singleNode( nodeId, nodeCursor );
+            assertThat( nodeCursor.next() ).isTrue();
+            nodeCursor.properties( propertyCursor );
+            while ( propertyCursor.next() )
+            {
+                values.add( propertyCursor.propertyValue() );
+            }
+        }
+        return values;
+    }
+}
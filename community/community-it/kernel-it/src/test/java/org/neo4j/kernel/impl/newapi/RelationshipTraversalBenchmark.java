@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.neo4j.configuration.GraphDatabaseSettings;
+import org.neo4j.dbms.api.DatabaseManagementService;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.internal.helpers.Args;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+
+import static java.lang.System.nanoTime;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.relationship_chain_read_ahead;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+
+/**
+ * Measures relationship traversal throughput of sparse and dense nodes, without and with
+ * {@link org.neo4j.configuration.GraphDatabaseInternalSettings#relationship_chain_read_ahead relationship chain read-ahead}.
+ * <p>
+ * The relationships are created in random order between random nodes, so that the records of a chain are spread over the store
+ * the way they are in a store that has grown over time. Every round restarts the database to start from an empty page cache.
+ * The file system cache of the operating system is not dropped though, so for numbers that reflect reads from disk the store should
+ * be larger than the memory of the machine, or the file system cache be dropped between rounds by other means.
+ * <p>
+ * Usage: {@code --into <directory> [--sparse-nodes 100000] [--sparse-degree 20] [--dense-nodes 100] [--dense-degree 20000]
+ * [--types 10] [--rounds 3] [--page-cache 64m]}. An existing database in the directory is reused as is.
+ */
+public class RelationshipTraversalBenchmark
+{
+    private RelationshipTraversalBenchmark()
+    {
+    }
+
+    public static void main( String[] arguments )
+    {
+        Args args = Args.parse( arguments );
+        Path directory = Path.of( args.get( "into" ) );
+        int sparseNodes = args.getNumber( "sparse-nodes", 100_000 ).intValue();
+        int sparseDegree = args.getNumber( "sparse-degree", 20 ).intValue();
+        int denseNodes = args.getNumber( "dense-nodes", 100 ).intValue();
+        int denseDegree = args.getNumber( "dense-degree", 20_000 ).intValue();
+        int types = args.getNumber( "types", 10 ).intValue();
+        int rounds = args.getNumber( "rounds", 3 ).intValue();
+        String pageCache = args.get( "page-cache", "64m" );
+
+        DatabaseManagementService dbms = start( directory, pageCache, false );
+        try
+        {
+            createGraphIfEmpty( dbms.database( DEFAULT_DATABASE_NAME ), sparseNodes, sparseDegree, denseNodes, denseDegree, types );
+        }
+        finally
+        {
+            dbms.shutdown();
+        }
+
+        for ( int round = 0; round < rounds; round++ )
+        {
+            for ( boolean readAhead : new boolean[]{false, true} )
+            {
+                dbms = start( directory, pageCache, readAhead );
+                try
+                {
+                    GraphDatabaseService db = dbms.database( DEFAULT_DATABASE_NAME );
+                    report( round, readAhead, "sparse", traverse( db, denseNodes, denseNodes + sparseNodes ) );
+                    report( round, readAhead, "dense", traverse( db, 0, denseNodes ) );
+                }
+                finally
+                {
+                    dbms.shutdown();
+                }
+            }
+        }
+    }
+
+    private static DatabaseManagementService start( Path directory, String pageCache, boolean readAhead )
+    {
+        return new TestDatabaseManagementServiceBuilder( directory )
+                .setConfig( GraphDatabaseSettings.pagecache_memory, pageCache )
+                .setConfig( relationship_chain_read_ahead, readAhead )
+                .build();
+    }
+
+    /**
+     * The dense nodes get the lowest node ids. Each relationship is created between a random node and a node picked in proportion
+     * to its degree, so that relationships of the same node are interleaved with those of all other nodes in the store.
+     */
+    private static void createGraphIfEmpty( GraphDatabaseService db, int sparseNodes, int sparseDegree, int denseNodes, int denseDegree, int types )
+    {
+        try ( Transaction tx = db.beginTx() )
+        {
+            if ( tx.getAllNodes().iterator().hasNext() )
+            {
+                return;
+            }
+        }
+
+        int nodes = denseNodes + sparseNodes;
+        long denseRelationships = (long) denseNodes * denseDegree;
+        long relationships = denseRelationships + (long) sparseNodes * sparseDegree / 2;
+        Random random = new Random( 42 );
+        Transaction tx = db.beginTx();
+        try
+        {
+            for ( int i = 0; i < nodes; i++ )
+            {
+                tx.createNode();
+            }
+            tx.commit();
+            tx.close();
+            tx = db.beginTx();
+            for ( long i = 0; i < relationships; i++ )
+            {
+                long start = random.nextInt( nodes );
+                boolean toDenseNode = Math.floorMod( random.nextLong(), relationships ) < denseRelationships;
+                long end = toDenseNode ? random.nextInt( denseNodes ) : denseNodes + random.nextInt( sparseNodes );
+                RelationshipType type = RelationshipType.withName( "TYPE_" + random.nextInt( types ) );
+                tx.getNodeById( start ).createRelationshipTo( tx.getNodeById( end ), type );
+                if ( i % 50_000 == 49_999 )
+                {
+                    tx.commit();
+                    tx.close();
+                    tx = db.beginTx();
+                }
+            }
+            tx.commit();
+        }
+        finally
+        {
+            tx.close();
+        }
+    }
+
+    private static Result traverse( GraphDatabaseService db, int fromNode, int toNode )
+    {
+        long relationships = 0;
+        long startTime = nanoTime();
+        try ( Transaction tx = db.beginTx() )
+        {
+            for ( long nodeId = fromNode; nodeId < toNode; nodeId++ )
+            {
+                Node node = tx.getNodeById( nodeId );
+                for ( Relationship ignored : node.getRelationships() )
+                {
+                    relationships++;
+                }
+            }
+        }
+        return new Result( relationships, nanoTime() - startTime );
+    }
+
+    private static void report( int round, boolean readAhead, String nodes, Result result )
+    {
+        System.out.printf( "round %d, read-ahead %-5s, %-6s nodes: %,d relationships in %,d ms, %,.0f relationships/s%n",
+                round, readAhead, nodes, result.relationships, result.nanos / 1_000_000, result.relationships * 1e9 / result.nanos );
+    }
+
+    private static class Result
+    {
+        private final long relationships;
+        private final long nanos;
+
+        Result( long relationships, long nanos )
+        {
+            this.relationships = relationships;
+            this.nanos = Math.max( nanos, 1 );
+        }
+    }
+}
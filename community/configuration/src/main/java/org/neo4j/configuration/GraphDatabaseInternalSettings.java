@@ -815,4 +815,76 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     @Internal
     @Description( "Enables sketching of next transaction log file in the background during reverse recovery." )
     public static final Setting<Boolean> pre_sketch_transaction_logs = newBuilder( "unsupported.dbms.tx_log.presketch", BOOL, false ).build();
+
+    @Internal
+    @Description( "Amount of native memory a single transaction can use for its transaction state before the rest of it is spilled to a " +
+            "temporary file in `unsupported.dbms.directories.tx_state_spill`. Zero disables spilling. " +
+            "Used when dbms.tx_state.memory_allocation is set to 'OFF_HEAP'." )
+    public static final Setting<Long> tx_state_spill_threshold =
+            newBuilder( "unsupported.dbms.tx_state.spill_threshold", BYTES, 0L ).addConstraint( min( 0L ) ).build();
+
+    @Internal
+    @Description( "Location of temporary files holding spilled transaction state." )
+    public static final Setting<Path> tx_state_spill_directory =
+            newBuilder( "unsupported.dbms.directories.tx_state_spill", PATH, Path.of( "tx-state-spill" ) )
+                    .setDependency( GraphDatabaseSettings.data_directory ).immutable().build();
+
+    @Internal
+    @Description( "Maximum heap, in bytes, used by the transaction scoped cache of string and array property values read from the store. " +
+            "Cached values are not affected by changes committed by concurrent transactions. Zero disables the cache." )
+    public static final Setting<Long> transaction_property_cache_size =
+            newBuilder( "unsupported.dbms.transaction.property_cache.max_size", BYTES, 0L ).addConstraint( min( 0L ) ).build();
+
+    @Internal
+    @Description( "When traversing the relationships of a dense node, first collect the start of every relationship chain to traverse and " +
+            "fault in the relationship store pages holding them in one go, instead of one page fault per chain." )
+    public static final Setting<Boolean> relationship_chain_read_ahead =
+            newBuilder( "unsupported.dbms.relationship_traversal.read_ahead", BOOL, false ).build();
+
+    @Internal
+    @Description( "Allocate ids for new relationship and property records close to the records they will be linked with, " +
+            "preferring free ids on the same or adjacent pages over the next id from the id cache. A transaction stops doing so for a store " +
+            "after a few allocations in a row ended up away from the records they were meant to be close to." )
+    public static final Setting<Boolean> locality_aware_id_allocation =
+            newBuilder( "unsupported.dbms.id_allocation.locality_aware", BOOL, false ).build();
+
+    @Internal
+    @Description( "Buffer id state changes made by committing transactions, instead of each transaction waiting for exclusive access to " +
+            "the id generator file. Buffered changes are applied by whichever thread gets access to it next, and always before free ids are " +
+            "looked for in, or checkpointed to, the file." )
+    public static final Setting<Boolean> id_generator_buffered_marks =
+            newBuilder( "unsupported.dbms.id_generator.buffered_marks", BOOL, false ).build();
+
+    @Internal
+    @Description( "Allocate the records of a long string or array value with consecutive ids, so that the value is stored and read " +
+            "sequentially instead of hopping between records scattered over the dynamic store. Values spanning more records than the " +
+            "largest id cache slot are always allocated from the high id." )
+    public static final Setting<Boolean> consecutive_dynamic_records =
+            newBuilder( "unsupported.dbms.dynamic_store.consecutive_records", BOOL, false ).build();
+
+    @Internal
+    @Description( "Number of decoded short string property values to keep per property key, shared by all readers of the database. " +
+            "Property keys with few distinct values then get their values decoded once instead of on every read. Only the first 1024 property keys " +
+            "are cached, and the cache is charged to the memory pool of the database. Zero disables it." )
+    public static final Setting<Integer> short_string_decode_cache_size =
+            newBuilder( "unsupported.dbms.property_store.short_string_decode_cache_size", INT, 0 ).addConstraint( min( 0 ) ).build();
+
+    @Internal
+    @Description( "Also keep relationship counts for each combination of start node label, relationship type and end node label, " +
+            "not only for relationships where at most one of the nodes is labelled. Counts for such combinations are only available " +
+            "if the counts store was built with this enabled, i.e. delete the counts store to have it rebuilt when enabling it on an existing database." )
+    public static final Setting<Boolean> relationship_triplet_counts =
+            newBuilder( "unsupported.dbms.counts.relationship_triplets", BOOL, false ).build();
+
+    @Internal
+    @Description( "How full to make the tree nodes of an index when building it from the entries collected during index population. " +
+            "Nodes are filled up to this fraction of their capacity, leaving the rest for entries added to the index later on without splitting them." )
+    public static final Setting<Double> index_population_fill_factor =
+            newBuilder( "unsupported.dbms.index.population_fill_factor", DOUBLE, 1.0 ).addConstraint( range( 0.1, 1.0 ) ).build();
+
+    @Internal
+    @Description( "Apply the index updates of committing transactions in parallel instead of one batch at a time. Range, point and btree indexes " +
+            "then make changes to different leaves of the same index concurrently, falling back to one writer at a time for changes to the tree structure." )
+    public static final Setting<Boolean> concurrent_index_updates =
+            newBuilder( "unsupported.dbms.index.concurrent_updates", BOOL, false ).build();
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.commandline.compact;
+
+import picocli.CommandLine.Option;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+
+import org.neo4j.cli.AbstractCommand;
+import org.neo4j.cli.CommandFailedException;
+import org.neo4j.cli.Converters.DatabaseNameConverter;
+import org.neo4j.cli.ExecutionContext;
+import org.neo4j.commandline.dbms.CannotWriteException;
+import org.neo4j.commandline.dbms.LockChecker;
+import org.neo4j.configuration.Config;
+import org.neo4j.configuration.ConfigUtils;
+import org.neo4j.configuration.GraphDatabaseSettings;
+import org.neo4j.internal.batchimport.Configuration;
+import org.neo4j.internal.counts.DegreesRebuildFromStore;
+import org.neo4j.internal.counts.GBPTreeGenericCountsStore;
+import org.neo4j.internal.counts.GBPTreeRelationshipGroupDegreesStore;
+import org.neo4j.internal.counts.RelationshipGroupDegreesStore;
+import org.neo4j.internal.id.DefaultIdGeneratorFactory;
+import org.neo4j.internal.recordstorage.RelationshipGroupCompactor;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.Neo4jLayout;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.impl.muninn.StandalonePageCacheFactory;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.database.NormalizedDatabaseName;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.StoreFactory;
+import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
+import org.neo4j.kernel.impl.util.Validators;
+import org.neo4j.kernel.internal.locker.FileLockException;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.scheduler.JobScheduler;
+
+import static java.lang.String.format;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.counts_store_max_cached_entries;
+import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.writable;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
+import static org.neo4j.internal.helpers.Strings.joinAsLines;
+import static org.neo4j.kernel.impl.scheduler.JobSchedulerFactory.createInitialisedScheduler;
+import static org.neo4j.kernel.recovery.Recovery.isRecoveryRequired;
+import static picocli.CommandLine.Command;
+
+@Command(
+        name = "compact-relationship-groups",
+        header = "Compact the relationship groups of dense nodes.",
+        description = "Moves the relationship groups of the dense nodes of a database to consecutive records, so that traversing a dense " +
+                "node touches fewer pages. Relationship ids are not changed. It cannot be used with a database which is currently in use.%n" +
+                "%n" +
+                "Degrees kept in the relationship group degrees store are moved along with their groups. Nodes with relationship groups " +
+                "that use secondary record units are left as they are, and reported as skipped.%n" +
+                "%n" +
+                "The store files are changed without going through the transaction log. The command therefore refuses to run on a " +
+                "clustered database, and a new full backup should be taken afterwards, since incremental backups only copy transactions."
+)
+public class CompactRelationshipGroupsCommand extends AbstractCommand
+{
+    @Option( names = "--database", description = "Name of the database to compact.", defaultValue = GraphDatabaseSettings.DEFAULT_DATABASE_NAME,
+            converter = DatabaseNameConverter.class )
+    private NormalizedDatabaseName database;
+
+    @Option( names = "--from-node", paramLabel = "<id>", description = "Lowest id of the nodes to compact, inclusive.", defaultValue = "0" )
+    private long fromNode;
+
+    @Option( names = "--to-node", paramLabel = "<id>", description = "Highest id of the nodes to compact, exclusive. All nodes from --from-node by default.",
+            defaultValue = "" + Long.MAX_VALUE )
+    private long toNode;
+
+    @Option( names = "--additional-config", paramLabel = "<path>", description = "Configuration file to supply additional configuration in." )
+    private Path additionalConfig;
+
+    public CompactRelationshipGroupsCommand( ExecutionContext ctx )
+    {
+        super( ctx );
+    }
+
+    @Override
+    public void execute()
+    {
+        Config config = loadNeo4jConfig( ctx.homeDir(), ctx.confDir(), additionalConfig );
+        if ( config.get( GraphDatabaseSettings.mode ) != GraphDatabaseSettings.Mode.SINGLE )
+        {
+            throw new CommandFailedException( "Relationship groups can only be compacted in a standalone database. The compaction is not written " +
+                    "to the transaction log, so other members of the cluster would not see it." );
+        }
+        RecordDatabaseLayout databaseLayout = RecordDatabaseLayout.of( Neo4jLayout.of( config ), database.name() );
+        checkDatabaseExistence( databaseLayout );
+        try ( Closeable ignored = LockChecker.checkDatabaseLock( databaseLayout ) )
+        {
+            checkDbState( databaseLayout, config );
+            try ( FileSystemAbstraction fs = ctx.fs();
+                  JobScheduler jobScheduler = createInitialisedScheduler();
+                  PageCache pageCache = StandalonePageCacheFactory.createPageCache( fs, jobScheduler, PageCacheTracer.NULL ) )
+            {
+                var idGeneratorFactory = new DefaultIdGeneratorFactory( fs, immediate(), databaseLayout.getDatabaseName() );
+                var storeFactory = new StoreFactory( databaseLayout, config, idGeneratorFactory, pageCache, fs, NullLogProvider.getInstance(),
+                        PageCacheTracer.NULL, writable() );
+                try ( NeoStores neoStores = storeFactory.openAllNeoStores();
+                      CachedStoreCursors storeCursors = new CachedStoreCursors( neoStores, CursorContext.NULL );
+                      GBPTreeRelationshipGroupDegreesStore degreesStore = new GBPTreeRelationshipGroupDegreesStore( pageCache,
+                              databaseLayout.relationshipGroupDegreesStore(), fs, immediate(),
+                              new DegreesRebuildFromStore( pageCache, neoStores, databaseLayout, PageCacheTracer.NULL, NullLogProvider.getInstance(),
+                                      Configuration.DEFAULT ), writable(), PageCacheTracer.NULL, GBPTreeGenericCountsStore.NO_MONITOR,
+                              databaseLayout.getDatabaseName(), config.get( counts_store_max_cached_entries ), NullLogProvider.getInstance() ) )
+                {
+                    neoStores.start( CursorContext.NULL );
+                    degreesStore.start( CursorContext.NULL, storeCursors, EmptyMemoryTracker.INSTANCE );
+                    RelationshipGroupCompactor compactor;
+                    long compactedNodes;
+                    try ( RelationshipGroupDegreesStore.Updater degreesUpdater = degreesStore.directApply( CursorContext.NULL ) )
+                    {
+                        compactor = new RelationshipGroupCompactor( neoStores, degreesStore, degreesUpdater, CursorContext.NULL );
+                        compactedNodes = compactor.compact( fromNode, toNode );
+                    }
+                    degreesStore.checkpoint( CursorContext.NULL );
+                    neoStores.flush( CursorContext.NULL );
+                    ctx.out().printf( "Compacted the relationship groups of %d dense nodes, skipped %d dense nodes.%n", compactedNodes,
+                            compactor.skippedNodes() );
+                }
+            }
+        }
+        catch ( FileLockException e )
+        {
+            throw new CommandFailedException( "The database is in use. Stop database '" + databaseLayout.getDatabaseName() + "' and try again.", e );
+        }
+        catch ( CannotWriteException e )
+        {
+            throw new CommandFailedException( "You do not have permission to compact the database.", e );
+        }
+        catch ( CommandFailedException e )
+        {
+            throw e;
+        }
+        catch ( Exception e )
+        {
+            throw new CommandFailedException( format( "Failed to compact relationship groups: '%s'.", e.getMessage() ), e );
+        }
+    }
+
+    private static void checkDatabaseExistence( RecordDatabaseLayout databaseLayout )
+    {
+        try
+        {
+            Validators.CONTAINS_EXISTING_DATABASE.validate( databaseLayout.databaseDirectory() );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            throw new CommandFailedException( "Database does not exist: " + databaseLayout.getDatabaseName(), e );
+        }
+    }
+
+    private static void checkDbState( RecordDatabaseLayout databaseLayout, Config config ) throws Exception
+    {
+        if ( isRecoveryRequired( databaseLayout, config, EmptyMemoryTracker.INSTANCE ) )
+        {
+            throw new CommandFailedException( joinAsLines( "Active logical log detected, the database needs to be recovered before it is compacted.",
+                    "To perform recovery please start database and perform clean shutdown." ) );
+        }
+    }
+
+    private Config loadNeo4jConfig( Path homeDir, Path configDir, Path additionalConfig )
+    {
+        Config cfg = Config.newBuilder()
+                           .fromFileNoThrow( configDir.resolve( Config.DEFAULT_CONFIG_FILE_NAME ) )
+                           .fromFileNoThrow( additionalConfig )
+                           .commandExpansion( allowCommandExpansion )
+                           .set( GraphDatabaseSettings.neo4j_home, homeDir )
+                           .build();
+        ConfigUtils.disableAllConnectors( cfg );
+        return cfg;
+    }
+}
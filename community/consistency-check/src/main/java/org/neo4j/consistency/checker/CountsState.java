@@ -63,15 +63,29 @@ class CountsState implements AutoCloseable
     private final LongArray relationshipLabelCounts;
     private final LongArray relationshipWildcardCounts;
     private final ConcurrentMap<CountsKey,AtomicLong> relationshipCountsStray = new ConcurrentHashMap<>();
+    /**
+     * Counts per start node label, relationship type and end node label, or {@code null} if those counts aren't checked.
+     */
+    private final ConcurrentMap<CountsKey,AtomicLong> relationshipTripletCounts;
     private final DynamicNodeLabelsCache dynamicNodeLabelsCache;
 
-    CountsState( NeoStores neoStores, CacheAccess cacheAccess, MemoryTracker memoryTracker )
+    CountsState( NeoStores neoStores, CacheAccess cacheAccess, MemoryTracker memoryTracker, boolean checkRelationshipTriplets )
     {
         this( neoStores.getLabelTokenStore().getHighId(), neoStores.getRelationshipTypeTokenStore().getHighId(), neoStores.getNodeStore().getHighId(),
-                cacheAccess, memoryTracker );
+                cacheAccess, memoryTracker, checkRelationshipTriplets );
     }
 
     CountsState( long highLabelId, long highRelationshipTypeId, long highNodeId, CacheAccess cacheAccess, MemoryTracker memoryTracker )
+    {
+        this( highLabelId, highRelationshipTypeId, highNodeId, cacheAccess, memoryTracker, false );
+    }
+
+    /**
+     * @param checkRelationshipTriplets whether or not to check the counts for each combination of start node label, relationship type and end node label.
+     * Those counts are only kept in the counts store when enabled, and both nodes of a relationship must be in the same checked node range to count them.
+     */
+    CountsState( long highLabelId, long highRelationshipTypeId, long highNodeId, CacheAccess cacheAccess, MemoryTracker memoryTracker,
+            boolean checkRelationshipTriplets )
     {
         this.highLabelId = highLabelId;
         this.highRelationshipTypeId = highRelationshipTypeId;
@@ -82,6 +96,7 @@ class CountsState implements AutoCloseable
         this.relationshipLabelCounts = arrayFactory.newLongArray( labelsCountsLength( highLabelId, highRelationshipTypeId ), 0, memoryTracker );
         this.relationshipWildcardCounts = arrayFactory.newLongArray( wildcardCountsLength( highRelationshipTypeId ), 0, memoryTracker );
         this.dynamicNodeLabelsCache = new DynamicNodeLabelsCache( memoryTracker );
+        this.relationshipTripletCounts = checkRelationshipTriplets ? new ConcurrentHashMap<>() : null;
     }
 
     @Override
@@ -183,6 +198,51 @@ class CountsState implements AutoCloseable
                 processStartNode, processEndNode );
     }
 
+    boolean checksRelationshipTriplets()
+    {
+        return relationshipTripletCounts != null;
+    }
+
+    /**
+     * Increments counts for each combination of start node label, type and end node label of the given {@code relationship}.
+     * Both nodes must be in the node range currently in the cache.
+     * @param startNodeLabels {@link RelationshipCounter.NodeLabelsLookup} used for looking up the labels of the start node.
+     * @param endNodeLabels {@link RelationshipCounter.NodeLabelsLookup} used for looking up the labels of the end node, must not be the same
+     * instance as {@code startNodeLabels} since a lookup may reuse its returned array.
+     * @param relationship {@link RelationshipRecord} containing type and node information.
+     */
+    void incrementRelationshipTripletCounts( RelationshipCounter.NodeLabelsLookup startNodeLabels, RelationshipCounter.NodeLabelsLookup endNodeLabels,
+            RelationshipRecord relationship )
+    {
+        long[] endLabels = endNodeLabels.nodeLabels( relationship.getSecondNode() );
+        if ( endLabels.length == 0 || endLabels[0] == -1 )
+        {
+            return;
+        }
+        int type = relationship.getType();
+        for ( long startLabelId : startNodeLabels.nodeLabels( relationship.getFirstNode() ) )
+        {
+            if ( startLabelId == -1 )
+            {
+                break;
+            }
+            for ( long endLabelId : endLabels )
+            {
+                if ( endLabelId == -1 )
+                {
+                    break;
+                }
+                incrementRelationshipTripletCount( (int) startLabelId, ANY_RELATIONSHIP_TYPE, (int) endLabelId );
+                incrementRelationshipTripletCount( (int) startLabelId, type, (int) endLabelId );
+            }
+        }
+    }
+
+    private void incrementRelationshipTripletCount( int startLabelId, int type, int endLabelId )
+    {
+        relationshipTripletCounts.computeIfAbsent( relationshipKey( startLabelId, type, endLabelId ), k -> new AtomicLong() ).incrementAndGet();
+    }
+
     private static boolean hasVisitedCountMark( long countValue )
     {
         return (countValue & COUNT_VISITED_MARK) != 0;
@@ -238,6 +298,20 @@ class CountsState implements AutoCloseable
             public void visitRelationshipCount( int startLabelId, int relTypeId, int endLabelId, long count )
             {
                 CountsKey countsKey = relationshipKey( startLabelId, relTypeId, endLabelId );
+                if ( startLabelId != ANY_LABEL && endLabelId != ANY_LABEL )
+                {
+                    // Counts for combinations of start label, type and end label are optionally kept
+                    if ( relationshipTripletCounts != null )
+                    {
+                        AtomicLong expected = relationshipTripletCounts.remove( countsKey );
+                        long expectedCount = expected != null ? expected.longValue() : 0;
+                        if ( expectedCount != count )
+                        {
+                            reporter.forCounts( new CountsEntry( countsKey, count ) ).inconsistentRelationshipCount( expectedCount );
+                        }
+                    }
+                    return;
+                }
                 if ( relationshipCounter.isValid( startLabelId, relTypeId, endLabelId ) )
                 {
                     long expected = unmarkCountVisited( relationshipCounter.get( startLabelId, relTypeId, endLabelId ) );
@@ -296,6 +370,11 @@ class CountsState implements AutoCloseable
 
                 nodeCountsStray.forEach( ( countsKey, count ) -> reporter.forCounts( new CountsEntry( countsKey, count.get() ) ) );
                 relationshipCountsStray.forEach( ( countsKey, count ) -> reporter.forCounts( new CountsEntry( countsKey, count.get() ) ) );
+                if ( relationshipTripletCounts != null )
+                {
+                    relationshipTripletCounts.forEach(
+                            ( countsKey, count ) -> reporter.forCounts( new CountsEntry( countsKey, 0 ) ).inconsistentRelationshipCount( count.get() ) );
+                }
             }
         };
     }
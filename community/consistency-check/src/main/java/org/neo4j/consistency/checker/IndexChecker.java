@@ -294,7 +294,7 @@ public class IndexChecker implements Checker
                             IndexDescriptor descriptor = index.descriptor;
                             long cachedValue = client.getFromCache( entityId, i );
                             boolean nodeIsInIndex = (cachedValue & IN_USE_MASK) != 0;
-                            Value[] values = entityIntersectionWithSchema( entityTokens, allValues, descriptor.schema(), descriptor.getIndexType() );
+                            Value[] values = entityIntersectionWithSchema( entityTokens, allValues, descriptor );
                             if ( index.descriptor.schema().isFulltextSchemaDescriptor() )
                             {
                                 // The strategy for fulltext indexes is way simpler. Simply check of the sets of tokens (label tokens and property key tokens)
@@ -34,6 +34,7 @@ import java.util.function.Consumer;
 import org.neo4j.consistency.RecordType;
 import org.neo4j.consistency.report.ConsistencyReport;
 import org.neo4j.function.ThrowingIntFunction;
+import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexType;
 import org.neo4j.internal.schema.PropertySchemaType;
 import org.neo4j.internal.schema.SchemaDescriptor;
@@ -111,10 +112,10 @@ class RecordLoading
         return null;
     }
 
-    private static Value[] matchAllProperties( IntObjectMap<Value> values, int[] propertyKeyIds, IndexType indexType )
+    private static Value[] matchAllProperties( IntObjectMap<Value> values, int[] propertyKeyIds, int requiredProperties, IndexType indexType )
     {
         Value[] array = new Value[propertyKeyIds.length];
-        for ( int i = 0; i < propertyKeyIds.length; i++ )
+        for ( int i = 0; i < requiredProperties; i++ )
         {
             int propertyKeyId = propertyKeyIds[i];
             Value value = values.get( propertyKeyId );
@@ -124,6 +125,12 @@ class RecordLoading
             }
             array[i] = value;
         }
+        for ( int i = requiredProperties; i < propertyKeyIds.length; i++ )
+        {
+            // Included properties are indexed as NO_VALUE when the entity doesn't have them
+            Value value = values.get( propertyKeyIds[i] );
+            array[i] = value == null ? NO_VALUE : value;
+        }
         return array;
     }
 
@@ -147,14 +154,15 @@ class RecordLoading
         return anyFound ? array : null;
     }
 
-    static Value[] entityIntersectionWithSchema( long[] entityTokens, IntObjectMap<Value> values, SchemaDescriptor schema, IndexType indexType )
+    static Value[] entityIntersectionWithSchema( long[] entityTokens, IntObjectMap<Value> values, IndexDescriptor index )
     {
         Value[] valueArray = null;
+        SchemaDescriptor schema = index.schema();
         if ( schema.isAffected( entityTokens ) )
         {
             boolean requireAllTokens = schema.propertySchemaType() == PropertySchemaType.COMPLETE_ALL_TOKENS;
-            valueArray = requireAllTokens ? matchAllProperties( values, schema.getPropertyIds(), indexType )
-                                          : matchAnyProperty( values, schema.getPropertyIds(), indexType );
+            valueArray = requireAllTokens ? matchAllProperties( values, schema.getPropertyIds(), index.requiredPropertyCount(), index.getIndexType() )
+                                          : matchAnyProperty( values, schema.getPropertyIds(), index.getIndexType() );
         }
         // else this entity should not be in this index. This check is done in a sequential manner elsewhere
         return valueArray;
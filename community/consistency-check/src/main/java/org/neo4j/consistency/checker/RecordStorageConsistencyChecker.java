@@ -51,6 +51,7 @@ import org.neo4j.token.TokenHolders;
 import org.neo4j.token.api.TokenHolder;
 
 import static org.neo4j.configuration.GraphDatabaseInternalSettings.consistency_checker_fail_fast_threshold;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.relationship_triplet_counts;
 import static org.neo4j.consistency.checker.ParallelExecution.DEFAULT_IDS_PER_CHUNK;
 import static org.neo4j.consistency.checking.cache.CacheSlots.ID_SLOT_SIZE;
 import static org.neo4j.consistency.checking.cache.DefaultCacheAccess.defaultByteArray;
@@ -113,7 +114,9 @@ public class RecordStorageConsistencyChecker implements AutoCloseable
         RecordLoading recordLoading = new RecordLoading( neoStores );
         this.limiter = instantiateMemoryLimiter( memoryLimit );
         this.cacheAccess = new DefaultCacheAccess( defaultByteArray( limiter.rangeSize(), memoryTracker ), Counts.NONE, numberOfThreads );
-        this.observedCounts = new CountsState( neoStores, cacheAccess, memoryTracker );
+        // Triplet counts need the labels of both nodes of a relationship, which are only both cached if all nodes fit in one range
+        boolean checkRelationshipTriplets = config.get( relationship_triplet_counts ) && limiter.numberOfRanges() == 1;
+        this.observedCounts = new CountsState( neoStores, cacheAccess, memoryTracker, checkRelationshipTriplets );
         this.progress = progressFactory.multipleParts( "Consistency check" );
         this.context = new CheckerContext( neoStores, indexAccessors, execution,
                 reporter, cacheAccess, tokenHolders, recordLoading, observedCounts, limiter, progress, pageCache, cacheTracer, memoryTracker,
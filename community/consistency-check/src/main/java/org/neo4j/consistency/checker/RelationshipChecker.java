@@ -112,6 +112,9 @@ class RelationshipChecker implements Checker
     private void check( LongRange nodeIdRange, boolean firstRound, long fromRelationshipId, long toRelationshipId, boolean checkToEndOfIndex ) throws Exception
     {
         RelationshipCounter counter = observedCounts.instantiateRelationshipCounter();
+        boolean countTriplets = observedCounts.checksRelationshipTriplets();
+        RelationshipCounter.NodeLabelsLookup startNodeLabels = countTriplets ? observedCounts.nodeLabelsLookup() : null;
+        RelationshipCounter.NodeLabelsLookup endNodeLabels = countTriplets ? observedCounts.nodeLabelsLookup() : null;
         long[] typeHolder = new long[1];
         try ( var cursorContext = new CursorContext( context.pageCacheTracer.createPageCursorTracer( RELATIONSHIP_RANGE_CHECKER_TAG ) );
              var storeCursors = new CachedStoreCursors( this.context.neoStores, cursorContext );
@@ -205,6 +208,10 @@ class RelationshipChecker implements Checker
                     }
                 }
                 observedCounts.incrementRelationshipNodeCounts( counter, relationshipRecord, startNodeIsWithinRange, endNodeIsWithinRange );
+                if ( countTriplets && startNodeIsWithinRange && endNodeIsWithinRange )
+                {
+                    observedCounts.incrementRelationshipTripletCounts( startNodeLabels, endNodeLabels, relationshipRecord );
+                }
             }
             if ( firstRound && !context.isCancelled() && relationshipTypeReader.maxCount() != 0 )
             {
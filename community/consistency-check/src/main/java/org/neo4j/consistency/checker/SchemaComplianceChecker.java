@@ -94,7 +94,7 @@ class SchemaComplianceChecker implements AutoCloseable
         for ( IndexDescriptor indexRule : indexes )
         {
             SchemaDescriptor schema = indexRule.schema();
-            Value[] valueArray = RecordLoading.entityIntersectionWithSchema( entityTokens, values, schema, indexRule.getIndexType() );
+            Value[] valueArray = RecordLoading.entityIntersectionWithSchema( entityTokens, values, indexRule );
             if ( valueArray == null )
             {
                 continue;
@@ -315,6 +315,85 @@ class CountsStateTest
         verify( inconsistencyReporter, times( 18 ) ).forCounts( any() );
     }
 
+    @Test
+    void shouldCheckRelationshipTripletCounts()
+    {
+        // given
+        checkRelationshipTriplets();
+        putLabelsOnNodes( nodeLabels( 1, 5, 6 ), nodeLabels( 3, 7 ), nodeLabels( 4 ) );
+
+        // when
+        incrementTripletCounts( relationship( 1, 2, 3 ) );
+        incrementTripletCounts( relationship( 1, 2, 3 ) );
+        incrementTripletCounts( relationship( 3, 4, 1 ) );
+        incrementTripletCounts( relationship( 1, 2, 4 ) );
+
+        // then
+        try ( CountsState.CountsChecker checker = countsState.checker( noConsistencyReporter ) )
+        {
+            visitRelationshipTripletCounts( checker, 5, 2, 7, 2 );
+            visitRelationshipTripletCounts( checker, 6, 2, 7, 2 );
+            visitRelationshipTripletCounts( checker, 7, 4, 5, 1 );
+            visitRelationshipTripletCounts( checker, 7, 4, 6, 1 );
+        }
+    }
+
+    @Test
+    void shouldReportRelationshipTripletCountMismatches()
+    {
+        // given
+        checkRelationshipTriplets();
+        putLabelsOnNodes( nodeLabels( 1, 5 ), nodeLabels( 3, 7 ) );
+
+        // when
+        incrementTripletCounts( relationship( 1, 2, 3 ) );
+        incrementTripletCounts( relationship( 3, 2, 1 ) );
+
+        // then
+        try ( CountsState.CountsChecker checker = countsState.checker( inconsistencyReporter ) )
+        {
+            // visiting unseen triplet count
+            checker.visitRelationshipCount( 5, 2, 5, 1 );
+
+            // visiting wrong counts
+            checker.visitRelationshipCount( 5, 2, 7, 2 );
+            checker.visitRelationshipCount( 5, ANY_RELATIONSHIP_TYPE, 7, 2 );
+
+            // not visiting 7,2,5 and 7,ANY,5
+        }
+        verify( inconsistencyReporter, times( 5 ) ).forCounts( any() );
+    }
+
+    @Test
+    void shouldNotCheckRelationshipTripletCountsUnlessAsked()
+    {
+        // given
+        putLabelsOnNodes( nodeLabels( 1, 5 ), nodeLabels( 3, 7 ) );
+
+        // then
+        try ( CountsState.CountsChecker checker = countsState.checker( noConsistencyReporter ) )
+        {
+            checker.visitRelationshipCount( 5, 2, 7, 10 );
+        }
+    }
+
+    private void checkRelationshipTriplets()
+    {
+        countsState.close();
+        countsState = new CountsState( HIGH_TOKEN_ID, HIGH_TOKEN_ID, HIGH_NODE_ID, cacheAccess, INSTANCE, true );
+    }
+
+    private void incrementTripletCounts( RelationshipRecord relationship )
+    {
+        countsState.incrementRelationshipTripletCounts( countsState.nodeLabelsLookup(), countsState.nodeLabelsLookup(), relationship );
+    }
+
+    private static void visitRelationshipTripletCounts( CountsState.CountsChecker checker, int startLabel, int relationshipType, int endLabel, long count )
+    {
+        checker.visitRelationshipCount( startLabel, relationshipType, endLabel, count );
+        checker.visitRelationshipCount( startLabel, ANY_RELATIONSHIP_TYPE, endLabel, count );
+    }
+
     private static void visitRelationshipCountForAllPermutations( CountsState.CountsChecker checker, int startLabel, int relationshipType, int endLabel,
             long count )
     {
@@ -19,10 +19,17 @@
  */
 package org.neo4j.consistency.checker;
 
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.impl.factory.primitive.IntObjectMaps;
 import org.junit.jupiter.api.Test;
 
 import java.util.function.BiConsumer;
 
+import org.neo4j.internal.schema.IndexConfig;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexPrototype;
+import org.neo4j.internal.schema.IndexRef;
+import org.neo4j.internal.schema.IndexType;
 import org.neo4j.kernel.impl.store.TokenStore;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.impl.store.record.PropertyKeyTokenRecord;
@@ -30,9 +37,14 @@ import org.neo4j.storageengine.api.cursor.StoreCursors;
 import org.neo4j.token.DelegatingTokenHolder;
 import org.neo4j.token.ReadOnlyTokenCreator;
 import org.neo4j.token.api.TokenHolder;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.Mockito.mock;
+import static org.neo4j.internal.schema.SchemaDescriptor.forLabel;
+import static org.neo4j.values.storable.Values.NO_VALUE;
 
 class RecordLoadingTest
 {
@@ -51,4 +63,54 @@ class RecordLoadingTest
         // then
         assertFalse( valid );
     }
+
+    @Test
+    void shouldUseNoValueForMissingIncludedPropertiesOfEntityInIndex()
+    {
+        // given
+        IndexDescriptor index = rangeIndexWithIncludedProperties();
+        MutableIntObjectMap<Value> values = IntObjectMaps.mutable.empty();
+        values.put( 10, Values.intValue( 1 ) );
+        values.put( 11, Values.intValue( 2 ) );
+
+        // when
+        Value[] indexedValues = RecordLoading.entityIntersectionWithSchema( new long[]{1}, values, index );
+
+        // then
+        assertThat( indexedValues ).containsExactly( Values.intValue( 1 ), Values.intValue( 2 ), NO_VALUE, NO_VALUE );
+
+        // when
+        values.put( 13, Values.intValue( 4 ) );
+        indexedValues = RecordLoading.entityIntersectionWithSchema( new long[]{1}, values, index );
+
+        // then
+        assertThat( indexedValues ).containsExactly( Values.intValue( 1 ), Values.intValue( 2 ), NO_VALUE, Values.intValue( 4 ) );
+    }
+
+    @Test
+    void shouldNotExpectEntityMissingRequiredPropertyInIndex()
+    {
+        // given
+        IndexDescriptor index = rangeIndexWithIncludedProperties();
+        MutableIntObjectMap<Value> values = IntObjectMaps.mutable.empty();
+        values.put( 10, Values.intValue( 1 ) );
+        values.put( 12, Values.intValue( 3 ) );
+        values.put( 13, Values.intValue( 4 ) );
+
+        // when
+        Value[] indexedValues = RecordLoading.entityIntersectionWithSchema( new long[]{1}, values, index );
+
+        // then
+        assertThat( indexedValues ).isNull();
+    }
+
+    private static IndexDescriptor rangeIndexWithIncludedProperties()
+    {
+        // Properties 10 and 11 are required, 12 and 13 are included
+        return IndexPrototype.forSchema( forLabel( 1, 10, 11, 12, 13 ) )
+                             .withIndexType( IndexType.RANGE )
+                             .withIndexConfig( IndexConfig.with( IndexRef.INCLUDED_PROPERTIES_SETTING, Values.intValue( 2 ) ) )
+                             .withName( "index" )
+                             .materialise( 1 );
+    }
 }
@@ -48,6 +48,7 @@ import org.neo4j.cypher.internal.compiler.planner.logical.plans.PointBoundingBox
 import org.neo4j.cypher.internal.compiler.planner.logical.plans.PointDistanceSeekable
 import org.neo4j.cypher.internal.compiler.planner.logical.plans.PrefixRangeSeekable
 import org.neo4j.cypher.internal.expressions.AssertIsNode
+import org.neo4j.cypher.internal.expressions.AutoExtractedParameter
 import org.neo4j.cypher.internal.expressions.Contains
 import org.neo4j.cypher.internal.expressions.EndsWith
 import org.neo4j.cypher.internal.expressions.Equals
@@ -59,6 +60,9 @@ import org.neo4j.cypher.internal.expressions.HasLabels
 import org.neo4j.cypher.internal.expressions.LabelName
 import org.neo4j.cypher.internal.expressions.LessThan
 import org.neo4j.cypher.internal.expressions.LessThanOrEqual
+import org.neo4j.cypher.internal.expressions.ListLiteral
+import org.neo4j.cypher.internal.expressions.ListOfLiteralWriter
+import org.neo4j.cypher.internal.expressions.Literal
 import org.neo4j.cypher.internal.expressions.Not
 import org.neo4j.cypher.internal.expressions.Ors
 import org.neo4j.cypher.internal.expressions.PartialPredicate
@@ -67,7 +71,15 @@ import org.neo4j.cypher.internal.expressions.PropertyKeyName
 import org.neo4j.cypher.internal.expressions.RelTypeName
 import org.neo4j.cypher.internal.expressions.StringLiteral
 import org.neo4j.cypher.internal.expressions.Variable
+import org.neo4j.cypher.internal.logical.plans.Bound
+import org.neo4j.cypher.internal.logical.plans.Bounds
+import org.neo4j.cypher.internal.logical.plans.ManySeekableArgs
 import org.neo4j.cypher.internal.logical.plans.PrefixRange
+import org.neo4j.cypher.internal.logical.plans.RangeBetween
+import org.neo4j.cypher.internal.logical.plans.RangeGreaterThan
+import org.neo4j.cypher.internal.logical.plans.RangeLessThan
+import org.neo4j.cypher.internal.logical.plans.SeekableArgs
+import org.neo4j.cypher.internal.logical.plans.SingleSeekableArg
 import org.neo4j.cypher.internal.planner.spi.GraphStatistics
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor.IndexType
@@ -107,11 +119,16 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
 
     // WHERE x.prop =/IN ...
     case AsPropertySeekable(seekable) =>
-      calculateSelectivityForPropertyEquality(seekable.name, seekable.args.sizeHint, labelInfo, relTypeInfo, seekable.propertyKey)
+      calculateSelectivityForPropertyEquality(seekable.name, seekable.args, labelInfo, relTypeInfo, seekable.propertyKey)
 
     // WHERE x.prop STARTS WITH 'prefix'
     case AsStringRangeSeekable(seekable@PrefixRangeSeekable(PrefixRange(StringLiteral(prefix)), _, _, _)) =>
-      calculateSelectivityForSubstringSargable(seekable.name, labelInfo, relTypeInfo, seekable.propertyKeyName, Some(prefix))
+      calculateSelectivityForPrefixSeekable(seekable.name, labelInfo, relTypeInfo, seekable.propertyKeyName, prefix)
+
+    // WHERE x.prop STARTS WITH 'prefix', with the prefix auto-extracted into a parameter
+    case AsStringRangeSeekable(seekable@PrefixRangeSeekable(PrefixRange(AutoExtractedParameter(_, _, StringLiteral(prefix), _)), _, _, _)) =>
+      histogramSelectivityForPrefixSeekable(seekable.name, labelInfo, relTypeInfo, seekable.propertyKeyName, prefix)
+        .getOrElse(calculateSelectivityForSubstringSargable(seekable.name, labelInfo, relTypeInfo, seekable.propertyKeyName, None))
 
     // WHERE x.prop STARTS WITH expression
     case AsStringRangeSeekable(seekable@PrefixRangeSeekable(_:PrefixRange[_], _, _, _)) =>
@@ -272,23 +289,14 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
   }
 
   private def calculateSelectivityForPropertyEquality(variable: String,
-                                                      sizeHint: Option[Int],
+                                                      args: SeekableArgs,
                                                       labelInfo: LabelInfo,
                                                       relTypeInfo: RelTypeInfo,
                                                       propertyKey: PropertyKeyName)
                                                      (implicit semanticTable: SemanticTable): Selectivity = {
-    indexSelectivityWithSizeHint(sizeHint, { size =>
-      val labels = labelInfo.getOrElse(variable, Set.empty)
-      val relTypes = relTypeInfo.get(variable)
-      val indexSelectivities = (labels ++ relTypes).toIndexedSeq.flatMap { name =>
-
-        val descriptor: Option[IndexDescriptor] = (name, semanticTable.id(propertyKey)) match {
-          case (labelName: LabelName, Some(propKeyId)) => semanticTable.id(labelName).map(id => IndexDescriptor.forLabel(IndexType.Btree, id, Seq(propKeyId)))
-          case (relTypeName: RelTypeName, Some(propKeyId)) => semanticTable.id(relTypeName).map(id => IndexDescriptor.forRelType(IndexType.Btree, id, Seq(propKeyId)))
-          case _ => None
-        }
-
-        descriptor.flatMap(indexSelectivityForPropertyEquality(_, size))
+    indexSelectivityWithSizeHint(args.sizeHint, { size =>
+      val indexSelectivities = btreeIndexDescriptors(variable, labelInfo, relTypeInfo, propertyKey).flatMap { descriptor =>
+        histogramSelectivityForPropertyEquality(descriptor, args).orElse(indexSelectivityForPropertyEquality(descriptor, size))
       }
 
       combiner.orTogetherSelectivities(indexSelectivities)
@@ -297,6 +305,70 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
     })
   }
 
+  /**
+   * Selectivity of equality to literal values, or to a list of literal values, estimated from a histogram of the values in the index.
+   * The values are distinct, which means that their selectivities can be added up.
+   */
+  private def histogramSelectivityForPropertyEquality(descriptor: IndexDescriptor, args: SeekableArgs): Option[Selectivity] = {
+    val literalValues = args match {
+      case SingleSeekableArg(expr) => literalValue(expr).map(Seq(_))
+      case ManySeekableArgs(expr) => literalListValues(expr)
+      case _ => None
+    }
+
+    for {
+      values <- literalValues
+      propExists <- stats.indexPropertyIsNotNullSelectivity(descriptor)
+      valueSelectivities <- values.foldLeft(Option(Seq.empty[Selectivity])) { (selectivities, value) =>
+        for {
+          previous <- selectivities
+          selectivity <- stats.indexValueSelectivity(descriptor, value)
+        } yield previous :+ selectivity
+      }
+    } yield propExists * Selectivity(math.min(1.0, valueSelectivities.map(_.factor).sum))
+  }
+
+  private def btreeIndexDescriptors(variable: String,
+                                    labelInfo: LabelInfo,
+                                    relTypeInfo: RelTypeInfo,
+                                    propertyKey: PropertyKeyName)
+                                   (implicit semanticTable: SemanticTable): Seq[IndexDescriptor] = {
+    val labels = labelInfo.getOrElse(variable, Set.empty)
+    val relTypes = relTypeInfo.get(variable)
+    (labels ++ relTypes).toIndexedSeq.flatMap { name =>
+      (name, semanticTable.id(propertyKey)) match {
+        case (labelName: LabelName, Some(propKeyId)) => semanticTable.id(labelName).map(id => IndexDescriptor.forLabel(IndexType.Btree, id, Seq(propKeyId)))
+        case (relTypeName: RelTypeName, Some(propKeyId)) => semanticTable.id(relTypeName).map(id => IndexDescriptor.forRelType(IndexType.Btree, id, Seq(propKeyId)))
+        case _ => None
+      }
+    }
+  }
+
+  /**
+   * Value of a literal, or of a parameter auto-extracted from a literal, which is what literals are by default when planning.
+   * Plans are cached by the query with the extracted parameters, so the values of the query that is planned first decide the plan.
+   */
+  private def literalValue(expression: Expression): Option[AnyRef] = expression match {
+    case literal: Literal => Option(literal.value)
+    case AutoExtractedParameter(_, _, literal: Literal, _) => Option(literal.value)
+    case _ => None
+  }
+
+  /**
+   * Distinct values of a list of literals, or of a parameter auto-extracted from a list of literals.
+   */
+  private def literalListValues(expression: Expression): Option[Seq[AnyRef]] = {
+    val elements = expression match {
+      case ListLiteral(expressions) => Some(expressions)
+      case AutoExtractedParameter(_, _, ListOfLiteralWriter(literals), _) => Some(literals)
+      case _ => None
+    }
+    elements.flatMap { expressions =>
+      val values = expressions.flatMap(literalValue)
+      if (values.size == expressions.size) Some(values.distinct) else None
+    }
+  }
+
   private def indexSelectivityForPropertyEquality(descriptor: IndexDescriptor, size: Int): Option[Selectivity] =
     selectivityForPropertyEquality(stats.indexPropertyIsNotNullSelectivity(descriptor), stats.uniqueValueSelectivity(descriptor), size)
 
@@ -344,7 +416,8 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
             propertyExistsSelectivity <- stats.indexPropertyIsNotNullSelectivity(descriptor)
             propEqValueSelectivity <- stats.uniqueValueSelectivity(descriptor)
           } yield {
-            val pRangeBounded: Selectivity = getPropertyPredicateRangeSelectivity(seekable, propEqValueSelectivity)
+            val pRangeBounded: Selectivity = histogramSelectivityForValueRange(descriptor, seekable)
+              .getOrElse(getPropertyPredicateRangeSelectivity(seekable, propEqValueSelectivity))
             pRangeBounded * propertyExistsSelectivity
           }
 
@@ -355,6 +428,52 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
     combiner.orTogetherSelectivities(indexRangeSelectivities).getOrElse(default)
   }
 
+  /**
+   * Selectivity of a range with at most one literal bound on each side, estimated from a histogram of the values in the index.
+   */
+  private def histogramSelectivityForValueRange(descriptor: IndexDescriptor, seekable: InequalityRangeSeekable): Option[Selectivity] = {
+    def literalBound(bounds: Bounds[Expression]): Option[Bound[AnyRef]] =
+      if (bounds.hasTail) None else literalValue(bounds.head.endPoint).map(value => bounds.head.map(_ => value))
+
+    seekable.range match {
+      case RangeGreaterThan(lowerBounds) =>
+        literalBound(lowerBounds).flatMap(lower => stats.indexRangeSelectivity(descriptor, Some(lower), None))
+      case RangeLessThan(upperBounds) =>
+        literalBound(upperBounds).flatMap(upper => stats.indexRangeSelectivity(descriptor, None, Some(upper)))
+      case RangeBetween(RangeGreaterThan(lowerBounds), RangeLessThan(upperBounds)) =>
+        for {
+          lower <- literalBound(lowerBounds)
+          upper <- literalBound(upperBounds)
+          selectivity <- stats.indexRangeSelectivity(descriptor, Some(lower), Some(upper))
+        } yield selectivity
+    }
+  }
+
+  private def calculateSelectivityForPrefixSeekable(variable: String,
+                                                    labelInfo: LabelInfo,
+                                                    relTypeInfo: RelTypeInfo,
+                                                    propertyKey: PropertyKeyName,
+                                                    prefix: String)
+                                                   (implicit semanticTable: SemanticTable): Selectivity =
+    histogramSelectivityForPrefixSeekable(variable, labelInfo, relTypeInfo, propertyKey, prefix)
+      .getOrElse(calculateSelectivityForSubstringSargable(variable, labelInfo, relTypeInfo, propertyKey, Some(prefix)))
+
+  private def histogramSelectivityForPrefixSeekable(variable: String,
+                                                    labelInfo: LabelInfo,
+                                                    relTypeInfo: RelTypeInfo,
+                                                    propertyKey: PropertyKeyName,
+                                                    prefix: String)
+                                                   (implicit semanticTable: SemanticTable): Option[Selectivity] = {
+    val indexPrefixSelectivities = btreeIndexDescriptors(variable, labelInfo, relTypeInfo, propertyKey).flatMap { descriptor =>
+      for {
+        propExists <- stats.indexPropertyIsNotNullSelectivity(descriptor)
+        prefixSelectivity <- stats.indexPrefixSelectivity(descriptor, prefix)
+      } yield propExists * prefixSelectivity
+    }
+
+    combiner.orTogetherSelectivities(indexPrefixSelectivities)
+  }
+
   private def calculateSelectivityForPointDistanceSeekable(seekable: PointDistanceSeekable,
                                                            labelInfo: LabelInfo,
                                                            relTypeInfo: RelTypeInfo)
@@ -46,6 +46,8 @@ import org.neo4j.cypher.internal.expressions.Property
 import org.neo4j.cypher.internal.expressions.RelTypeName
 import org.neo4j.cypher.internal.ir.Predicate
 import org.neo4j.cypher.internal.ir.Selections
+import org.neo4j.cypher.internal.logical.plans.Bound
+import org.neo4j.cypher.internal.logical.plans.ExclusiveBound
 import org.neo4j.cypher.internal.planner.spi.GraphStatistics
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor
 import org.neo4j.cypher.internal.planner.spi.MinimumGraphStatistics.MIN_NODES_ALL_CARDINALITY
@@ -171,6 +173,40 @@ class ExpressionSelectivityCalculatorTest extends CypherFunSuite with AstConstru
     )
   }
 
+  test("half-open (>) range with one label and a value histogram") {
+    val inequality = nPredicate(nAnded(NonEmptyList(
+      greaterThan(nProp, literalInt(3))
+    )))
+
+    val stats = new mockStats() {
+      override def indexRangeSelectivity(index: IndexDescriptor, lower: Option[Bound[AnyRef]], upper: Option[Bound[AnyRef]]): Option[Selectivity] =
+        (lower, upper) match {
+          case (Some(ExclusiveBound(value)), None) if index == indexPersonBtree && value == java.lang.Long.valueOf(3) => Some(Selectivity(0.25))
+          case _ => None
+        }
+    }
+    val calculator = setUpCalculator(labelInfo = nIsPersonLabelInfo, stats = stats)
+
+    calculator(inequality.expr).factor should equal(personPropIsNotNullSel * 0.25 +- 0.00000001)
+  }
+
+  test("half-open (>) range with one label, an auto-extracted literal and a value histogram") {
+    val inequality = nPredicate(nAnded(NonEmptyList(
+      greaterThan(nProp, AutoExtractedParameter("  AUTOINT0", CTInteger, literalInt(3))(pos))
+    )))
+
+    val stats = new mockStats() {
+      override def indexRangeSelectivity(index: IndexDescriptor, lower: Option[Bound[AnyRef]], upper: Option[Bound[AnyRef]]): Option[Selectivity] =
+        (lower, upper) match {
+          case (Some(ExclusiveBound(value)), None) if index == indexPersonBtree && value == java.lang.Long.valueOf(3) => Some(Selectivity(0.25))
+          case _ => None
+        }
+    }
+    val calculator = setUpCalculator(labelInfo = nIsPersonLabelInfo, stats = stats)
+
+    calculator(inequality.expr).factor should equal(personPropIsNotNullSel * 0.25 +- 0.00000001)
+  }
+
   test("half-open (>) range with one relType") {
     val inequality = rPredicate(rAnded(NonEmptyList(
       greaterThan(rProp, literalInt(3))
@@ -1338,6 +1374,31 @@ class ExpressionSelectivityCalculatorTest extends CypherFunSuite with AstConstru
     calculator(expr, Map.empty, Map.empty) should equal(Selectivity.of(10.0 / 10.0).get)
   }
 
+  test("IN with literal values and a value histogram") {
+    val inList = nPredicate(in(nProp, listOfInt(1L, 2L)))
+
+    val stats = new mockStats() {
+      override def indexValueSelectivity(index: IndexDescriptor, value: AnyRef): Option[Selectivity] =
+        if (index == indexPersonBtree) Some(Selectivity(value.asInstanceOf[java.lang.Long] * 0.1)) else None
+    }
+    val calculator = setUpCalculator(labelInfo = nIsPersonLabelInfo, stats = stats)
+
+    calculator(inList.expr).factor should equal(personPropIsNotNullSel * 0.3 +- 0.00000001)
+  }
+
+  test("IN with an auto-extracted list of literals and a value histogram") {
+    val param = AutoExtractedParameter("  AUTOLIST0", CTList(CTInteger), ListOfLiteralWriter(Seq(literalInt(1), literalInt(2))), Some(2))(pos)
+    val inList = nPredicate(in(nProp, param))
+
+    val stats = new mockStats() {
+      override def indexValueSelectivity(index: IndexDescriptor, value: AnyRef): Option[Selectivity] =
+        if (index == indexPersonBtree) Some(Selectivity(value.asInstanceOf[java.lang.Long] * 0.1)) else None
+    }
+    val calculator = setUpCalculator(labelInfo = nIsPersonLabelInfo, stats = stats)
+
+    calculator(inList.expr).factor should equal(personPropIsNotNullSel * 0.3 +- 0.00000001)
+  }
+
   test("selectivity of IN should never exceed the IS NOT NULL selectivity") {
     val in1 = nPredicate(in(nProp, listOfInt(1L)))
     val in100 = nPredicate(in(nProp, listOfInt(0L to 100L:_*)))
@@ -32,6 +32,8 @@ import org.neo4j.cypher.internal.plandescription.Arguments.PipelineInfo
 import org.neo4j.cypher.internal.plandescription.Arguments.Planner
 import org.neo4j.cypher.internal.plandescription.Arguments.PlannerImpl
 import org.neo4j.cypher.internal.plandescription.Arguments.PlannerVersion
+import org.neo4j.cypher.internal.plandescription.Arguments.PropertyCacheHits
+import org.neo4j.cypher.internal.plandescription.Arguments.PropertyCacheMisses
 import org.neo4j.cypher.internal.plandescription.Arguments.Rows
 import org.neo4j.cypher.internal.plandescription.Arguments.Runtime
 import org.neo4j.cypher.internal.plandescription.Arguments.RuntimeImpl
@@ -51,6 +53,8 @@ object PlanDescriptionArgumentSerializer {
       case GlobalMemory(value) => Long.box(value)
       case PageCacheHits(value) => Long.box(value)
       case PageCacheMisses(value) => Long.box(value)
+      case PropertyCacheHits(value) => Long.box(value)
+      case PropertyCacheMisses(value) => Long.box(value)
       case Rows(value) => Long.box(value)
       case Time(value) => Long.box(value)
       case EstimatedRows(effectiveCardinality, _) => Double.box(effectiveCardinality)
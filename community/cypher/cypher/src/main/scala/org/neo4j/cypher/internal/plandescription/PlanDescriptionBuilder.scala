@@ -89,6 +89,8 @@ class PlanDescriptionBuilder(logicalPlan: LogicalPlan,
 
     val planDescription = BuildPlanDescription(explain())
       .addArgument(Arguments.GlobalMemory, queryProfile.maxAllocatedMemory())
+      .addArgument(Arguments.PropertyCacheHits, queryProfile.propertyCacheHits())
+      .addArgument(Arguments.PropertyCacheMisses, queryProfile.propertyCacheMisses())
       .plan
       .map { input: InternalPlanDescription =>
         val data = queryProfile.operatorProfile(input.id.x)
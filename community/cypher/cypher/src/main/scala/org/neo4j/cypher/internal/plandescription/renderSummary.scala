@@ -20,12 +20,15 @@
 package org.neo4j.cypher.internal.plandescription
 
 import org.neo4j.cypher.internal.plandescription.Arguments.GlobalMemory
+import org.neo4j.cypher.internal.plandescription.Arguments.PropertyCacheHits
+import org.neo4j.cypher.internal.plandescription.Arguments.PropertyCacheMisses
 import org.neo4j.cypher.internal.plandescription.InternalPlanDescription.TotalHits
 
 object renderSummary extends (InternalPlanDescription => String) {
   def apply(plan: InternalPlanDescription): String = {
     val memStr = memory(plan).map(bytes => s", total allocated memory: $bytes").getOrElse("")
-    s"Total database accesses: ${dbhits(plan)}$memStr"
+    val propertyCacheStr = propertyCache(plan).map(ratio => s", property cache hit ratio: $ratio").getOrElse("")
+    s"Total database accesses: ${dbhits(plan)}$memStr$propertyCacheStr"
   }
 
   private def dbhits(plan: InternalPlanDescription): String = {
@@ -42,4 +45,13 @@ object renderSummary extends (InternalPlanDescription => String) {
       case GlobalMemory(x) => x.toString
     }
   }
+
+  private def propertyCache(plan: InternalPlanDescription): Option[String] = {
+    val hits = plan.arguments.collectFirst { case PropertyCacheHits(x) => x }
+    val misses = plan.arguments.collectFirst { case PropertyCacheMisses(x) => x }
+    for (h <- hits; m <- misses) yield {
+      val ratio = if (h + m == 0) 0.0 else h.toDouble / (h + m)
+      s"${"%.4f".format(ratio)} ($h hits, $m misses)"
+    }
+  }
 }
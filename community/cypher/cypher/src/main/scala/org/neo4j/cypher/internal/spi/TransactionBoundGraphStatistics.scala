@@ -19,6 +19,7 @@
  */
 package org.neo4j.cypher.internal.spi
 
+import org.neo4j.cypher.internal.logical.plans.Bound
 import org.neo4j.cypher.internal.planner.spi.GraphStatistics
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor
 import org.neo4j.cypher.internal.planner.spi.MinimumGraphStatistics
@@ -31,8 +32,10 @@ import org.neo4j.internal.kernel.api.SchemaRead
 import org.neo4j.internal.kernel.api.TokenRead
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException
 import org.neo4j.internal.schema
+import org.neo4j.kernel.api.index.ValueHistogram
 import org.neo4j.kernel.impl.query.TransactionalContext
 import org.neo4j.logging.Log
+import org.neo4j.values.storable.Values
 
 import java.lang.Math.min
 
@@ -108,6 +111,29 @@ object TransactionBoundGraphStatistics {
           None
       }
 
+    override def indexRangeSelectivity(index: IndexDescriptor, lower: Option[Bound[AnyRef]], upper: Option[Bound[AnyRef]]): Option[Selectivity] =
+      valueHistogram(index).map { histogram =>
+        Selectivity(histogram.rangeSelectivity(
+          lower.map(bound => Values.of(bound.endPoint)).orNull, lower.forall(_.isInclusive),
+          upper.map(bound => Values.of(bound.endPoint)).orNull, upper.forall(_.isInclusive)))
+      }
+
+    override def indexPrefixSelectivity(index: IndexDescriptor, prefix: String): Option[Selectivity] =
+      valueHistogram(index).map(histogram => Selectivity(histogram.prefixSelectivity(prefix)))
+
+    override def indexValueSelectivity(index: IndexDescriptor, value: AnyRef): Option[Selectivity] =
+      valueHistogram(index).map(histogram => Selectivity(histogram.equalitySelectivity(Values.of(value))))
+
+    private def valueHistogram(index: IndexDescriptor): Option[ValueHistogram] =
+      try {
+        maybeKernelIndexDescriptor(index).flatMap(indexDescriptor => Option(schemaRead.indexSample(indexDescriptor).histogram()))
+      }
+      catch {
+        case e: IndexNotFoundKernelException =>
+          log.debug("Index not found for valueHistogram", e)
+          None
+      }
+
     override def nodesAllCardinality(): Cardinality =
       Cardinality(read.countsForNodeWithoutTxState(TokenRead.ANY_LABEL))
 
@@ -23,6 +23,8 @@ import org.mockito.ArgumentMatchers.any
 import org.mockito.Mockito.verify
 import org.mockito.Mockito.verifyNoInteractions
 import org.mockito.Mockito.when
+import org.neo4j.cypher.internal.logical.plans.ExclusiveBound
+import org.neo4j.cypher.internal.logical.plans.InclusiveBound
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor
 import org.neo4j.cypher.internal.planner.spi.MinimumGraphStatistics
 import org.neo4j.cypher.internal.util.LabelId
@@ -36,7 +38,10 @@ import org.neo4j.internal.schema
 import org.neo4j.internal.schema.IndexPrototype
 import org.neo4j.internal.schema.SchemaDescriptor
 import org.neo4j.internal.schema.SchemaDescriptors
+import org.neo4j.kernel.api.index.IndexSample
+import org.neo4j.kernel.api.index.ValueHistogram
 import org.neo4j.logging.Log
+import org.neo4j.values.storable.Values
 
 class TransactionBoundGraphStatisticsTest extends CypherFunSuite {
 
@@ -194,6 +199,33 @@ class TransactionBoundGraphStatisticsTest extends CypherFunSuite {
     verifyNoInteractions(theLog)
   }
 
+  test("indexRangeSelectivity should compute selectivity from the value histogram of the index sample") {
+    //given
+    val histogram = new ValueHistogram.Builder()
+    (0 until 1000).foreach(i => histogram.add(Values.longValue(i)))
+    when(schemaRead.indexSample(descriptor)).thenReturn(new IndexSample(1000, 1000, 1000, 0, histogram.build(1000)))
+
+    //when
+    val statistics = TransactionBoundGraphStatistics(read, schemaRead, log)
+
+    //then
+    val lessThan = statistics.indexRangeSelectivity(index, None, Some(ExclusiveBound(Long.box(100L))))
+    lessThan.get.factor should equal(0.1 +- 0.02)
+    val between = statistics.indexRangeSelectivity(index, Some(InclusiveBound(Long.box(100L))), Some(ExclusiveBound(Long.box(300L))))
+    between.get.factor should equal(0.2 +- 0.02)
+  }
+
+  test("indexRangeSelectivity should be unknown without a value histogram") {
+    //given
+    when(schemaRead.indexSample(descriptor)).thenReturn(new IndexSample(1000, 1000, 1000))
+
+    //when
+    val statistics = TransactionBoundGraphStatistics(read, schemaRead, log)
+
+    //then
+    statistics.indexRangeSelectivity(index, None, Some(ExclusiveBound(Long.box(100L)))) should equal(None)
+  }
+
   override protected def beforeEach(): Unit = {
     read = mock[Read]
     schemaRead = mock[SchemaRead]
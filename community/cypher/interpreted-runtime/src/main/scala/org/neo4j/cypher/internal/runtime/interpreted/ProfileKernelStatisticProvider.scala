@@ -31,4 +31,12 @@ case class ProfileKernelStatisticProvider(statisticProvider: StatisticProvider)
   override def getPageCacheMisses: Long = {
     statisticProvider.getPageCacheMisses
   }
+
+  override def getPropertyCacheHits: Long = {
+    statisticProvider.getPropertyCacheHits
+  }
+
+  override def getPropertyCacheMisses: Long = {
+    statisticProvider.getPropertyCacheMisses
+  }
 }
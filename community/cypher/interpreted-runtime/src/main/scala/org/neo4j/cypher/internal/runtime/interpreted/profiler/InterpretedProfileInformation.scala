@@ -59,6 +59,8 @@ class InterpretedProfileInformation extends QueryProfile {
   val pageCacheMap: mutable.Map[Id, PageCacheStats] = mutable.Map.empty.withDefault(_ => PageCacheStats(0,0))
   val dbHitsMap: mutable.Map[Id, Counter] = mutable.Map.empty
   val rowMap: mutable.Map[Id, ProfilingIterator] = mutable.Map.empty
+  // Query wide, since the property read cache is shared by all operators of the transaction
+  var propertyCacheStats: Option[PropertyCacheStats] = None
 
   // Intended to be overridden by `setQueryMemoryTracker`
   private var memoryTracker: QueryMemoryTracker = NoOpQueryMemoryTracker
@@ -87,6 +89,10 @@ class InterpretedProfileInformation extends QueryProfile {
   }
 
   override def maxAllocatedMemory(): Long = MemoryTrackerForOperatorProvider.memoryAsProfileData(memoryTracker.heapHighWaterMark)
+
+  override def propertyCacheHits(): Long = propertyCacheStats.map(_.hits).getOrElse(OperatorProfile.NO_DATA)
+
+  override def propertyCacheMisses(): Long = propertyCacheStats.map(_.misses).getOrElse(OperatorProfile.NO_DATA)
 }
 
 case class InterpretedProfileInformationSnapshot(dbHitsMap: collection.Map[Id, Long],
@@ -104,4 +110,12 @@ case class PageCacheStats(hits: Long, misses: Long) {
   }
 }
 
+case class PropertyCacheStats(hits: Long, misses: Long) {
+  def -(other: PropertyCacheStats): PropertyCacheStats = {
+    PropertyCacheStats(this.hits - other.hits, this.misses - other.misses)
+  }
 
+  def +(other: PropertyCacheStats): PropertyCacheStats = {
+    PropertyCacheStats(this.hits + other.hits, this.misses + other.misses)
+  }
+}
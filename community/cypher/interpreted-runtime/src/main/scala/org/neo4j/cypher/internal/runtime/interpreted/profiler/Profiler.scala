@@ -65,6 +65,36 @@ class Profiler(dbmsInfo: DbmsInfo,
 
   private var planIdStack: List[StackEntry] = Nil
   private val lastObservedStats = mutable.Map[KernelStatisticProvider, PageCacheStats]().withDefaultValue(PageCacheStats(0, 0))
+  private var lastObservedPropertyCacheStats: Option[(KernelStatisticProvider, PropertyCacheStats)] = None
+
+  private def accountPropertyCacheStats(statisticProvider: KernelStatisticProvider): Unit = {
+    val hits = statisticProvider.getPropertyCacheHits
+    if (hits != OperatorProfile.NO_DATA) {
+      // Reads are accounted for between two observations of the same transaction. Only the last transaction is remembered,
+      // which loses little when a query moves between transactions and doesn't keep references to committed transactions.
+      val currentStats = PropertyCacheStats(hits, statisticProvider.getPropertyCacheMisses)
+      val queryStats = stats.propertyCacheStats.getOrElse(PropertyCacheStats(0, 0))
+      stats.propertyCacheStats = Some(lastObservedPropertyCacheStats match {
+        case Some((`statisticProvider`, lastStats)) => queryStats + (currentStats - lastStats)
+        case _ => queryStats
+      })
+      lastObservedPropertyCacheStats = Some((statisticProvider, currentStats))
+    }
+  }
+
+  private def startAccounting(statisticProvider: KernelStatisticProvider, planId: Id): Unit = {
+    accountPropertyCacheStats(statisticProvider)
+    if (trackPageCacheStats) {
+      startAccountingPageCacheStatsFor(statisticProvider, planId)
+    }
+  }
+
+  private def stopAccounting(statisticProvider: KernelStatisticProvider, planId: Id): Unit = {
+    accountPropertyCacheStats(statisticProvider)
+    if (trackPageCacheStats) {
+      stopAccountingPageCacheStatsFor(statisticProvider, planId)
+    }
+  }
 
   private def startAccountingPageCacheStatsFor(statisticProvider: KernelStatisticProvider, planId: Id): Unit = {
     // The current top of the stack hands over control to the plan with the provided planId.
@@ -107,8 +137,8 @@ class Profiler(dbmsInfo: DbmsInfo,
       new ProfilingIterator(
         iter,
         oldCount,
-        if (trackPageCacheStats) () => startAccountingPageCacheStatsFor(transactionalContext.kernelStatisticProvider, planId) else () => (),
-        if (trackPageCacheStats) () => stopAccountingPageCacheStatsFor(transactionalContext.kernelStatisticProvider, planId) else () => (),
+        () => startAccounting(transactionalContext.kernelStatisticProvider, planId),
+        () => stopAccounting(transactionalContext.kernelStatisticProvider, planId),
       )
 
     stats.rowMap(planId) = resultIter
@@ -123,16 +153,12 @@ class Profiler(dbmsInfo: DbmsInfo,
       case _ => new ProfilingPipeQueryContext(state.query, counter)
     }
 
-    if (trackPageCacheStats) {
-      startAccountingPageCacheStatsFor(decoratedContext.transactionalContext.kernelStatisticProvider, planId)
-    }
+    startAccounting(decoratedContext.transactionalContext.kernelStatisticProvider, planId)
     state.withQueryContext(decoratedContext)
   }
 
   override def afterCreateResults(planId: Id, state: QueryState): Unit = {
-    if (trackPageCacheStats) {
-      stopAccountingPageCacheStatsFor(state.query.transactionalContext.kernelStatisticProvider, planId)
-    }
+    stopAccounting(state.query.transactionalContext.kernelStatisticProvider, planId)
   }
 
   private def trackPageCacheStats = {
@@ -19,6 +19,7 @@
  */
 package org.neo4j.cypher.internal.planner.spi
 
+import org.neo4j.cypher.internal.logical.plans.Bound
 import org.neo4j.cypher.internal.util.Cardinality
 import org.neo4j.cypher.internal.util.LabelId
 import org.neo4j.cypher.internal.util.RelTypeId
@@ -64,6 +65,28 @@ trait GraphStatistics {
    * indexPropertyExistsSelectivity(:X, prop) = s => |MATCH (a:X)| * s = |MATCH (a:X) WHERE x.prop IS NOT NULL|
    */
   def indexPropertyIsNotNullSelectivity(index: IndexDescriptor): Option[Selectivity]
+
+  /**
+   * Probability of any entity in the index to have a property value within the given bounds, estimated from a histogram of the values in the index.
+   * The bounds are literal values and a missing bound means all values of the same type as the other bound.
+   *
+   * @return None if there is no histogram of the values in the index
+   */
+  def indexRangeSelectivity(index: IndexDescriptor, lower: Option[Bound[AnyRef]], upper: Option[Bound[AnyRef]]): Option[Selectivity] = None
+
+  /**
+   * Probability of any entity in the index to have a string property value starting with the given prefix, estimated from a histogram of the values in the index.
+   *
+   * @return None if there is no histogram of the values in the index
+   */
+  def indexPrefixSelectivity(index: IndexDescriptor, prefix: String): Option[Selectivity] = None
+
+  /**
+   * Probability of any entity in the index to have a property with the given literal value, estimated from a histogram of the values in the index.
+   *
+   * @return None if there is no histogram of the values in the index
+   */
+  def indexValueSelectivity(index: IndexDescriptor, value: AnyRef): Option[Selectivity] = None
 }
 
 class DelegatingGraphStatistics(delegate: GraphStatistics) extends GraphStatistics {
@@ -79,5 +102,14 @@ class DelegatingGraphStatistics(delegate: GraphStatistics) extends GraphStatisti
   override def indexPropertyIsNotNullSelectivity(index: IndexDescriptor): Option[Selectivity] =
     delegate.indexPropertyIsNotNullSelectivity(index)
 
+  override def indexRangeSelectivity(index: IndexDescriptor, lower: Option[Bound[AnyRef]], upper: Option[Bound[AnyRef]]): Option[Selectivity] =
+    delegate.indexRangeSelectivity(index, lower, upper)
+
+  override def indexPrefixSelectivity(index: IndexDescriptor, prefix: String): Option[Selectivity] =
+    delegate.indexPrefixSelectivity(index, prefix)
+
+  override def indexValueSelectivity(index: IndexDescriptor, value: AnyRef): Option[Selectivity] =
+    delegate.indexValueSelectivity(index, value)
+
   override def nodesAllCardinality(): Cardinality = delegate.nodesAllCardinality()
 }
@@ -19,6 +19,7 @@
  */
 package org.neo4j.cypher.internal.planner.spi
 
+import org.neo4j.cypher.internal.logical.plans.Bound
 import org.neo4j.cypher.internal.util.Cardinality
 import org.neo4j.cypher.internal.util.LabelId
 import org.neo4j.cypher.internal.util.RelTypeId
@@ -34,6 +35,9 @@ case object NodesAllCardinality extends StatisticsKey
 case class CardinalityByLabelsAndRelationshipType(lhs: Option[LabelId], relType: Option[RelTypeId], rhs: Option[LabelId]) extends StatisticsKey
 case class IndexSelectivity(index: IndexDescriptor) extends StatisticsKey
 case class IndexPropertyExistsSelectivity(index: IndexDescriptor) extends StatisticsKey
+case class IndexRangeSelectivity(index: IndexDescriptor, lower: Option[Bound[AnyRef]], upper: Option[Bound[AnyRef]]) extends StatisticsKey
+case class IndexPrefixSelectivity(index: IndexDescriptor, prefix: String) extends StatisticsKey
+case class IndexValueSelectivity(index: IndexDescriptor, value: AnyRef) extends StatisticsKey
 
 class MutableGraphStatisticsSnapshot(val map: mutable.Map[StatisticsKey, Double] = mutable.Map.empty) {
   def freeze: GraphStatisticsSnapshot = GraphStatisticsSnapshot(map.toMap)
@@ -57,6 +61,12 @@ case class GraphStatisticsSnapshot(statsValues: Map[StatisticsKey, Double] = Map
         instrumented.uniqueValueSelectivity(index)
       case IndexPropertyExistsSelectivity(index) =>
         instrumented.indexPropertyIsNotNullSelectivity(index)
+      case IndexRangeSelectivity(index, lower, upper) =>
+        instrumented.indexRangeSelectivity(index, lower, upper)
+      case IndexPrefixSelectivity(index, prefix) =>
+        instrumented.indexPrefixSelectivity(index, prefix)
+      case IndexValueSelectivity(index, value) =>
+        instrumented.indexValueSelectivity(index, value)
     }
     snapshot.freeze
   }
@@ -99,5 +109,23 @@ case class InstrumentedGraphStatistics(inner: GraphStatistics, snapshot: Mutable
     selectivity
   }
 
+  override def indexRangeSelectivity(index: IndexDescriptor, lower: Option[Bound[AnyRef]], upper: Option[Bound[AnyRef]]): Option[Selectivity] = {
+    val selectivity = inner.indexRangeSelectivity(index, lower, upper)
+    snapshot.map.getOrElseUpdate(IndexRangeSelectivity(index, lower, upper), selectivity.fold(0.0)(_.factor))
+    selectivity
+  }
+
+  override def indexPrefixSelectivity(index: IndexDescriptor, prefix: String): Option[Selectivity] = {
+    val selectivity = inner.indexPrefixSelectivity(index, prefix)
+    snapshot.map.getOrElseUpdate(IndexPrefixSelectivity(index, prefix), selectivity.fold(0.0)(_.factor))
+    selectivity
+  }
+
+  override def indexValueSelectivity(index: IndexDescriptor, value: AnyRef): Option[Selectivity] = {
+    val selectivity = inner.indexValueSelectivity(index, value)
+    snapshot.map.getOrElseUpdate(IndexValueSelectivity(index, value), selectivity.fold(0.0)(_.factor))
+    selectivity
+  }
+
   override def nodesAllCardinality(): Cardinality = snapshot.map.getOrElseUpdate(NodesAllCardinality, inner.nodesAllCardinality().amount)
 }
@@ -34,6 +34,16 @@ trait KernelStatisticProvider {
    * @return observer page cache misses that was caused by particular query execution
    */
   def getPageCacheMisses: Long
+
+  /**
+   * @return observed property reads served by the transaction scoped property read cache, or NO_DATA if the cache is disabled
+   */
+  def getPropertyCacheHits: Long = OperatorProfile.NO_DATA
+
+  /**
+   * @return observed property reads that missed the transaction scoped property read cache, or NO_DATA if the cache is disabled
+   */
+  def getPropertyCacheMisses: Long = OperatorProfile.NO_DATA
 }
 
 object NoKernelStatisticProvider extends KernelStatisticProvider {
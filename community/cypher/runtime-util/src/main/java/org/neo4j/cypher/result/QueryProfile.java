@@ -41,6 +41,24 @@ public interface QueryProfile
      */
     long maxAllocatedMemory();
 
+    /**
+     * Property reads of this query that were served by the transaction scoped property read cache,
+     * or {@link OperatorProfile#NO_DATA} if the cache is disabled or not tracked by the runtime.
+     */
+    default long propertyCacheHits()
+    {
+        return OperatorProfile.NO_DATA;
+    }
+
+    /**
+     * Property reads of this query that missed the transaction scoped property read cache,
+     * or {@link OperatorProfile#NO_DATA} if the cache is disabled or not tracked by the runtime.
+     */
+    default long propertyCacheMisses()
+    {
+        return OperatorProfile.NO_DATA;
+    }
+
     QueryProfile NONE = new QueryProfile()
     {
         @Override
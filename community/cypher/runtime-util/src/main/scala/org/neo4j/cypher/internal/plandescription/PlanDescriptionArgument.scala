@@ -62,6 +62,10 @@ object Arguments {
 
   case class PageCacheMisses(value: Long) extends Argument
 
+  case class PropertyCacheHits(value: Long) extends Argument
+
+  case class PropertyCacheMisses(value: Long) extends Argument
+
   case class EstimatedRows(effectiveCardinality: Double, cardinality: Option[Double] = None) extends Argument
 
   case class PipelineInfo(pipelineId: Int, fused: Boolean) extends Argument
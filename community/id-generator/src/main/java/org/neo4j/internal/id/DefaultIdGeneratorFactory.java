@@ -38,6 +38,8 @@ import org.neo4j.internal.id.indexed.IndexedIdGenerator;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.memory.MemoryTracker;
 
 import static org.neo4j.internal.id.indexed.LoggingIndexedIdGeneratorMonitor.defaultIdMonitor;
 
@@ -48,6 +50,7 @@ public class DefaultIdGeneratorFactory implements IdGeneratorFactory
     private final RecoveryCleanupWorkCollector recoveryCleanupWorkCollector;
     protected final boolean allowLargeIdCaches;
     private final String databaseName;
+    private final MemoryTracker memoryTracker;
 
     /**
      * By default doesn't allow large ID caches.
@@ -70,11 +73,25 @@ public class DefaultIdGeneratorFactory implements IdGeneratorFactory
      */
     public DefaultIdGeneratorFactory( FileSystemAbstraction fs, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, boolean allowLargeIdCaches,
             String databaseName )
+    {
+        this( fs, recoveryCleanupWorkCollector, allowLargeIdCaches, databaseName, EmptyMemoryTracker.INSTANCE );
+    }
+
+    /**
+     * @param fs {@link FileSystemAbstraction} to back the id generators.
+     * @param recoveryCleanupWorkCollector {@link RecoveryCleanupWorkCollector} for cleanup on starting the id generators.
+     * @param allowLargeIdCaches override the "activity" setting from {@link IdType} to always use low activity.
+     * @param databaseName name of the database this id generator belongs to
+     * @param memoryTracker {@link MemoryTracker} charged with id state changes buffered by the id generators.
+     */
+    public DefaultIdGeneratorFactory( FileSystemAbstraction fs, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, boolean allowLargeIdCaches,
+            String databaseName, MemoryTracker memoryTracker )
     {
         this.fs = fs;
         this.recoveryCleanupWorkCollector = recoveryCleanupWorkCollector;
         this.allowLargeIdCaches = allowLargeIdCaches;
         this.databaseName = databaseName;
+        this.memoryTracker = memoryTracker;
     }
 
     @Override
@@ -95,7 +112,7 @@ public class DefaultIdGeneratorFactory implements IdGeneratorFactory
     {
         // highId not used when opening an IndexedIdGenerator
         return new IndexedIdGenerator( pageCache, fileName, recoveryCleanupWorkCollector, idType, allowLargeIdCaches, highIdSupplier, maxValue, readOnlyChecker,
-                config, databaseName, cursorContext, defaultIdMonitor( fs, fileName, config ), openOptions, slotDistribution );
+                config, databaseName, cursorContext, defaultIdMonitor( fs, fileName, config ), openOptions, slotDistribution, memoryTracker );
     }
 
     @Override
@@ -118,7 +135,7 @@ public class DefaultIdGeneratorFactory implements IdGeneratorFactory
 
         IndexedIdGenerator generator =
                 new IndexedIdGenerator( pageCache, fileName, recoveryCleanupWorkCollector, idType, allowLargeIdCaches, () -> highId, maxId, readOnlyChecker,
-                        config, databaseName, cursorContext, defaultIdMonitor( fs, fileName, config ), openOptions, slotDistribution );
+                        config, databaseName, cursorContext, defaultIdMonitor( fs, fileName, config ), openOptions, slotDistribution, memoryTracker );
         generator.checkpoint( cursorContext );
         generators.put( idType, generator );
         return generator;
@@ -136,6 +136,12 @@ public interface IdGenerator extends IdSequence, Closeable, ConsistencyCheckable
             return delegate.nextId( cursorContext );
         }
 
+        @Override
+        public long nextIdNear( long hintId, CursorContext cursorContext )
+        {
+            return delegate.nextIdNear( hintId, cursorContext );
+        }
+
         @Override
         public long nextConsecutiveIdRange( int numberOfIds, boolean favorSamePage, CursorContext cursorContext )
         {
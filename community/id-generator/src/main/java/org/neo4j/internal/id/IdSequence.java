@@ -24,4 +24,17 @@ import org.neo4j.io.pagecache.context.CursorContext;
 public interface IdSequence
 {
     long nextId( CursorContext cursorContext );
+
+    /**
+     * Allocates an ID, preferably one close to {@code hintId} so that records which are accessed together end up
+     * on the same or adjacent pages. Implementations that cannot honour the hint allocate as {@link #nextId(CursorContext)} does.
+     *
+     * @param hintId an ID which the allocated ID should preferably be close to, or a negative value for no preference.
+     * @param cursorContext for tracking cursor interaction.
+     * @return an ID available to use.
+     */
+    default long nextIdNear( long hintId, CursorContext cursorContext )
+    {
+        return nextId( cursorContext );
+    }
 }
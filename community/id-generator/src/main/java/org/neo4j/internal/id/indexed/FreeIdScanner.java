@@ -40,6 +40,7 @@ import static org.neo4j.internal.id.IdUtils.numberOfIdsFromCombinedId;
 import static org.neo4j.internal.id.indexed.IdRange.IdState;
 import static org.neo4j.internal.id.indexed.IdRange.IdState.DELETED;
 import static org.neo4j.internal.id.indexed.IdRange.IdState.FREE;
+import static org.neo4j.internal.id.indexed.IndexedIdGenerator.NO_ID;
 
 /**
  * Responsible for starting and managing scans of a {@link GBPTree}, populating a cache with free ids that gets discovered in the scan.
@@ -57,6 +58,10 @@ class FreeIdScanner implements Closeable
      */
     private static final IdRangeKey HIGH_KEY = new IdRangeKey( Long.MAX_VALUE );
     static final int MAX_SLOT_SIZE = 128;
+    /**
+     * Max number of tree entries to look at in one call to {@link #tryReserveFreeRange(int, boolean, CursorContext)}.
+     */
+    static final int MAX_ENTRIES_SCANNED_FOR_RANGE = 64;
 
     private final int idsPerEntry;
     private final GBPTree<IdRangeKey, IdRange> tree;
@@ -86,6 +91,10 @@ class FreeIdScanner implements Closeable
      */
     private final AtomicLong numBufferedIds = new AtomicLong();
     private volatile Long ongoingScanRangeIndex;
+    /**
+     * Where {@link #tryReserveFreeRange(int, boolean, CursorContext)} starts looking for a range of free ids. Only accessed under the scan lock.
+     */
+    private long rangeScanStartIdx;
 
     FreeIdScanner( int idsPerEntry, GBPTree<IdRangeKey,IdRange> tree, IdRangeLayout layout, IdCache cache, AtomicBoolean atLeastOneIdOnFreelist,
             MarkerProvider markerProvider, long generation, boolean strictlyPrioritizeFreelistOverHighId, IndexedIdGenerator.Monitor monitor )
@@ -163,6 +172,151 @@ class FreeIdScanner implements Closeable
         return false;
     }
 
+    /**
+     * Looks for a free id in the tree entry containing {@code hintId} and its two neighbouring entries and, if one is found,
+     * marks it as reserved and returns it. The id closest to the hint is preferred. This bypasses the cache and is therefore
+     * only attempted if the scan lock can be acquired without waiting.
+     *
+     * @param hintId id which the allocated id should preferably be close to.
+     * @param cursorContext for tracking cursor interaction.
+     * @return a reserved id close to {@code hintId}, or {@link IndexedIdGenerator#NO_ID} if none could be found.
+     */
+    long tryReserveFreeIdNear( long hintId, CursorContext cursorContext )
+    {
+        if ( !atLeastOneIdOnFreelist.get() || !lock.tryLock() )
+        {
+            return NO_ID;
+        }
+        try
+        {
+            long hintRangeIdx = layout.idRangeIndex( hintId );
+            long closestId = NO_ID;
+            try ( Seeker<IdRangeKey,IdRange> seeker = tree.seek(
+                    new IdRangeKey( Math.max( 0, hintRangeIdx - 1 ) ), new IdRangeKey( hintRangeIdx + 2 ), cursorContext ) )
+            {
+                while ( seeker.next() )
+                {
+                    IdRange range = seeker.value();
+                    long baseId = seeker.key().getIdRangeIdx() * idsPerEntry;
+                    boolean differentGeneration = generation != range.getGeneration();
+                    for ( int i = 0; i < idsPerEntry; i++ )
+                    {
+                        IdState state = range.getState( i );
+                        long id = baseId + i;
+                        if ( (state == FREE || (differentGeneration && state == DELETED)) &&
+                                (closestId == NO_ID || Math.abs( id - hintId ) < Math.abs( closestId - hintId )) )
+                        {
+                            closestId = id;
+                        }
+                    }
+                }
+            }
+            if ( closestId != NO_ID )
+            {
+                try ( InternalMarker marker = markerProvider.getMarker( cursorContext ) )
+                {
+                    marker.markReserved( closestId, 1 );
+                }
+            }
+            return closestId;
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Looks for {@code numberOfIds} consecutive free ids in the tree and, if found, marks them as reserved and returns the first of them.
+     * Such ranges are bigger than the cache slots and therefore never cached. At most {@link #MAX_ENTRIES_SCANNED_FOR_RANGE} tree entries
+     * are looked at per call, continuing where the previous call left off, so that repeated calls don't keep scanning the same entries.
+     * Like {@link #tryReserveFreeIdNear(long, CursorContext)} this is only attempted if the scan lock can be acquired without waiting.
+     *
+     * @param numberOfIds number of consecutive ids to find.
+     * @param withinOneEntry whether or not the ids must all be in the same tree entry, i.e. not cross a page boundary of the store.
+     * @param cursorContext for tracking cursor interaction.
+     * @return the first id of a reserved range of {@code numberOfIds} ids, or {@link IndexedIdGenerator#NO_ID} if none could be found.
+     */
+    long tryReserveFreeRange( int numberOfIds, boolean withinOneEntry, CursorContext cursorContext )
+    {
+        if ( (withinOneEntry && numberOfIds > idsPerEntry) || !atLeastOneIdOnFreelist.get() || !lock.tryLock() )
+        {
+            return NO_ID;
+        }
+        try
+        {
+            long foundId = NO_ID;
+            long rangeStartId = NO_ID;
+            long nextRangeIdx = rangeScanStartIdx;
+            int entries = 0;
+            try ( Seeker<IdRangeKey,IdRange> seeker = tree.seek( new IdRangeKey( rangeScanStartIdx ), HIGH_KEY, cursorContext ) )
+            {
+                while ( foundId == NO_ID && entries < MAX_ENTRIES_SCANNED_FOR_RANGE && seeker.next() )
+                {
+                    entries++;
+                    long rangeIdx = seeker.key().getIdRangeIdx();
+                    if ( withinOneEntry || rangeIdx != nextRangeIdx )
+                    {
+                        // A range can't continue from a previous entry which isn't adjacent to this one
+                        rangeStartId = NO_ID;
+                    }
+                    nextRangeIdx = rangeIdx + 1;
+                    IdRange range = seeker.value();
+                    long baseId = rangeIdx * idsPerEntry;
+                    boolean differentGeneration = generation != range.getGeneration();
+                    for ( int i = 0; i < idsPerEntry && foundId == NO_ID; i++ )
+                    {
+                        IdState state = range.getState( i );
+                        if ( state == FREE || (differentGeneration && state == DELETED) )
+                        {
+                            if ( rangeStartId == NO_ID )
+                            {
+                                rangeStartId = baseId + i;
+                            }
+                            if ( baseId + i - rangeStartId + 1 == numberOfIds )
+                            {
+                                foundId = rangeStartId;
+                            }
+                        }
+                        else
+                        {
+                            rangeStartId = NO_ID;
+                        }
+                    }
+                }
+                // Continue from the entry the range was found in, or the one after the last one looked at, or from the start if the scan ended
+                rangeScanStartIdx = foundId != NO_ID ? layout.idRangeIndex( foundId ) : entries < MAX_ENTRIES_SCANNED_FOR_RANGE ? 0 : nextRangeIdx;
+            }
+            if ( foundId != NO_ID )
+            {
+                try ( InternalMarker marker = markerProvider.getMarker( cursorContext ) )
+                {
+                    // One mark per tree entry that the range covers
+                    long endId = foundId + numberOfIds;
+                    for ( long id = foundId; id < endId; )
+                    {
+                        long entryEndId = Math.min( endId, (layout.idRangeIndex( id ) + 1) * idsPerEntry );
+                        marker.markReserved( id, (int) (entryEndId - id) );
+                        id = entryEndId;
+                    }
+                }
+            }
+            return foundId;
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
     private void cacheWastedIds( PendingIdQueue pendingIdQueue, CursorContext cursorContext )
     {
         consumeQueuedIds( queuedWastedCachedIds, ( marker, id, size ) ->
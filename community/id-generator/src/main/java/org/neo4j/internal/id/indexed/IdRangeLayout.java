@@ -141,6 +141,19 @@ public class IdRangeLayout extends Layout.Adapter<IdRangeKey, IdRange>
         return Long.compare( o1.getIdRangeIdx(), o2.getIdRangeIdx() );
     }
 
+    @Override
+    public boolean interpolationSearch()
+    {
+        // Id ranges are allocated densely from the start of the id space, so keys in a node are typically evenly spread
+        return true;
+    }
+
+    @Override
+    public long interpolationValue( IdRangeKey key )
+    {
+        return key.getIdRangeIdx();
+    }
+
     long idRangeIndex( long id )
     {
         return id / idsPerEntry;
@@ -53,6 +53,8 @@ import org.neo4j.internal.id.IdValidator;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.memory.MemoryTracker;
 
 import static org.eclipse.collections.impl.block.factory.Comparators.naturalOrder;
 import static org.eclipse.collections.impl.factory.Sets.immutable;
@@ -228,6 +230,12 @@ public class IndexedIdGenerator implements IdGenerator
      */
     static final int LARGE_CACHE_CAPACITY = 1 << 14;
 
+    /**
+     * Maximum number of id state changes kept in the {@link MarkerBuffer}, if enabled. A buffered change takes up around 50B,
+     * which results in a memory usage of 4096 * 50 = ~200k memory at most.
+     */
+    static final int MARKER_BUFFER_CAPACITY = 1 << 12;
+
     /**
      * First generation the tree entries will start at. Generation will be incremented each time an IndexedIdGenerator is opened,
      * i.e. not for every checkpoint. Generation is used to do lazy normalization of id states, so that DELETED ids from a previous generation
@@ -327,9 +335,25 @@ public class IndexedIdGenerator implements IdGenerator
     private final boolean strictlyPrioritizeFreelist;
     private final int biggestSlotSize;
 
+    /**
+     * Buffers id state changes made by {@link #marker(CursorContext) markers} after this id generator has been started,
+     * or {@code null} if such changes are written directly under {@link #commitAndReuseLock}. Every writer session instantiated under
+     * that lock applies the buffered changes first, so changes are never overtaken by reservations of the free-id scanner or by checkpoints.
+     */
+    private final MarkerBuffer markerBuffer;
+
     public IndexedIdGenerator( PageCache pageCache, Path path, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, IdType idType,
             boolean allowLargeIdCaches, LongSupplier initialHighId, long maxId, DatabaseReadOnlyChecker readOnlyChecker, Config config, String databaseName,
             CursorContext cursorContext, Monitor monitor, ImmutableSet<OpenOption> openOptions, IdSlotDistribution slotDistribution )
+    {
+        this( pageCache, path, recoveryCleanupWorkCollector, idType, allowLargeIdCaches, initialHighId, maxId, readOnlyChecker, config, databaseName,
+                cursorContext, monitor, openOptions, slotDistribution, EmptyMemoryTracker.INSTANCE );
+    }
+
+    public IndexedIdGenerator( PageCache pageCache, Path path, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, IdType idType,
+            boolean allowLargeIdCaches, LongSupplier initialHighId, long maxId, DatabaseReadOnlyChecker readOnlyChecker, Config config, String databaseName,
+            CursorContext cursorContext, Monitor monitor, ImmutableSet<OpenOption> openOptions, IdSlotDistribution slotDistribution,
+            MemoryTracker memoryTracker )
     {
         this.path = path;
         this.readOnlyChecker = readOnlyChecker;
@@ -377,6 +401,9 @@ public class IndexedIdGenerator implements IdGenerator
         this.cacheOptimisticRefillThreshold = strictlyPrioritizeFreelist ? 0 : cacheCapacity / 4;
         this.scanner = new FreeIdScanner( idsPerEntry, tree, layout, cache, atLeastOneIdOnFreelist,
                 context -> lockAndInstantiateMarker( true, context ), generation, strictlyPrioritizeFreelist, monitor );
+        this.markerBuffer = config.get( GraphDatabaseInternalSettings.id_generator_buffered_marks )
+                            ? new MarkerBuffer( MARKER_BUFFER_CAPACITY, memoryTracker )
+                            : null;
     }
 
     private GBPTree<IdRangeKey,IdRange> instantiateTree( PageCache pageCache, Path path, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector,
@@ -427,6 +454,21 @@ public class IndexedIdGenerator implements IdGenerator
         return id;
     }
 
+    @Override
+    public long nextIdNear( long hintId, CursorContext cursorContext )
+    {
+        if ( hintId >= 0 )
+        {
+            long id = scanner.tryReserveFreeIdNear( hintId, cursorContext );
+            if ( id != NO_ID )
+            {
+                monitor.allocatedFromReused( id, 1 );
+                return id;
+            }
+        }
+        return nextId( cursorContext );
+    }
+
     @Override
     public long nextConsecutiveIdRange( int numberOfIds, boolean favorSamePage, CursorContext cursorContext )
     {
@@ -442,6 +484,16 @@ public class IndexedIdGenerator implements IdGenerator
                 return id;
             }
         }
+        else
+        {
+            // Ranges this big are never cached, but freed ranges of at least this size may still be found in the tree
+            long id = scanner.tryReserveFreeRange( numberOfIds, favorSamePage, cursorContext );
+            if ( id != NO_ID )
+            {
+                monitor.allocatedFromReused( id, numberOfIds );
+                return id;
+            }
+        }
 
         long readHighId;
         long endId;
@@ -493,15 +545,52 @@ public class IndexedIdGenerator implements IdGenerator
             return NOOP_MARKER;
         }
 
+        if ( started && markerBuffer != null )
+        {
+            return markerBuffer.marker( () -> applyBufferedMarks( markerBuffer.isFull(), cursorContext ) );
+        }
         return lockAndInstantiateMarker( true, cursorContext );
     }
 
+    /**
+     * Applies changes buffered in {@link #markerBuffer}, if any. If another thread holds the writer and {@code await} is {@code false}
+     * the changes are left for that thread, or the next writer session, {@link #maintenance(CursorContext)} or
+     * {@link #checkpoint(CursorContext)}, to apply. Markers await the writer when the buffer is full, which bounds its size.
+     */
+    private void applyBufferedMarks( boolean await, CursorContext cursorContext )
+    {
+        if ( markerBuffer == null || markerBuffer.isEmpty() )
+        {
+            return;
+        }
+        if ( await )
+        {
+            commitAndReuseLock.lock();
+        }
+        else if ( !commitAndReuseLock.tryLock() )
+        {
+            return;
+        }
+        // Instantiating the marker applies the buffered changes
+        instantiateMarker( true, cursorContext ).close();
+    }
+
     IdRangeMarker lockAndInstantiateMarker( boolean bridgeIdGaps, CursorContext cursorContext )
     {
         commitAndReuseLock.lock();
+        return instantiateMarker( bridgeIdGaps, cursorContext );
+    }
+
+    /**
+     * Instantiates a marker which unlocks {@link #commitAndReuseLock} on close. The lock must already be held by the caller.
+     * Changes buffered in {@link #markerBuffer} are applied to the marker before it is returned.
+     */
+    private IdRangeMarker instantiateMarker( boolean bridgeIdGaps, CursorContext cursorContext )
+    {
+        IdRangeMarker marker;
         try
         {
-            return new IdRangeMarker( idsPerEntry, layout, tree.unsafeWriter( cursorContext ), commitAndReuseLock,
+            marker = new IdRangeMarker( idsPerEntry, layout, tree.unsafeWriter( cursorContext ), commitAndReuseLock,
                     started ? defaultMerger : recoveryMerger,
                     started, atLeastOneIdOnFreelist, generation, highestWrittenId, bridgeIdGaps, monitor );
         }
@@ -510,6 +599,19 @@ public class IndexedIdGenerator implements IdGenerator
             commitAndReuseLock.unlock();
             throw new RuntimeException( e );
         }
+        if ( markerBuffer != null && !markerBuffer.isEmpty() )
+        {
+            try
+            {
+                markerBuffer.applyTo( marker );
+            }
+            catch ( RuntimeException e )
+            {
+                marker.close();
+                throw e;
+            }
+        }
+        return marker;
     }
 
     @Override
@@ -571,6 +673,7 @@ public class IndexedIdGenerator implements IdGenerator
     @Override
     public void checkpoint( CursorContext cursorContext )
     {
+        applyBufferedMarks( true, cursorContext );
         tree.checkpoint( new HeaderWriter( highId::get, highestWrittenId::get, generation, idsPerEntry ), cursorContext );
         monitor.checkpoint( highestWrittenId.get(), highId.get() );
     }
@@ -578,6 +681,7 @@ public class IndexedIdGenerator implements IdGenerator
     @Override
     public void maintenance( CursorContext cursorContext )
     {
+        applyBufferedMarks( true, cursorContext );
         if ( !cache.isFull() && !readOnlyChecker.isReadOnly() )
         {
             // We're just helping other allocation requests and avoiding unwanted sliding of highId here
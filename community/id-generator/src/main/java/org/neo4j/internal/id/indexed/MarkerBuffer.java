@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.id.indexed;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.neo4j.internal.id.IdGenerator.Marker;
+import org.neo4j.memory.MemoryTracker;
+
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstance;
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstanceWithObjectReferences;
+
+/**
+ * Buffers id state changes so that threads marking ids don't have to wait for exclusive access to the
+ * {@link org.neo4j.index.internal.gbptree.GBPTree} writer of an {@link IndexedIdGenerator}. Changes are kept in a single queue, which means
+ * that they are applied in the order they were made. Whichever thread gets hold of the writer applies the buffered changes in one go.
+ * <p>
+ * The buffer is bounded: once it holds {@code capacity} changes, {@link #isFull()} tells markers to wait for the writer and apply the
+ * buffered changes instead of leaving them for others. The heap used by buffered changes is charged to the given {@link MemoryTracker}.
+ */
+class MarkerBuffer
+{
+    private static final byte USED = 0;
+    private static final byte DELETED = 1;
+    private static final byte FREE = 2;
+    /**
+     * A buffered change, plus the queue node that links it.
+     */
+    private static final long CHANGE_SIZE = shallowSizeOfInstance( Change.class ) + shallowSizeOfInstanceWithObjectReferences( 2 );
+
+    private final ConcurrentLinkedQueue<Change> changes = new ConcurrentLinkedQueue<>();
+    /**
+     * Number of changes in {@link #changes}, incremented after a change has been added and decremented after one has been removed.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+    private final MemoryTracker memoryTracker;
+
+    MarkerBuffer( int capacity, MemoryTracker memoryTracker )
+    {
+        this.capacity = capacity;
+        this.memoryTracker = memoryTracker;
+    }
+
+    /**
+     * @param applier invoked when the marker is closed, to try and apply the changes made through it, and any other buffered changes.
+     * Also invoked whenever a change fills up the buffer, so that a single large marker can't grow it without bounds.
+     * @return a {@link Marker} which buffers its changes in this buffer.
+     */
+    Marker marker( Runnable applier )
+    {
+        return new Marker()
+        {
+            @Override
+            public void markUsed( long id, int numberOfIds )
+            {
+                add( USED, id, numberOfIds, applier );
+            }
+
+            @Override
+            public void markDeleted( long id, int numberOfIds )
+            {
+                add( DELETED, id, numberOfIds, applier );
+            }
+
+            @Override
+            public void markFree( long id, int numberOfIds )
+            {
+                add( FREE, id, numberOfIds, applier );
+            }
+
+            @Override
+            public void close()
+            {
+                applier.run();
+            }
+        };
+    }
+
+    boolean isEmpty()
+    {
+        return size.get() == 0;
+    }
+
+    /**
+     * @return whether this buffer holds at least as many changes as its capacity, in which case they should be applied before adding more.
+     */
+    boolean isFull()
+    {
+        return size.get() >= capacity;
+    }
+
+    /**
+     * Applies the buffered changes to the given marker. Must be called while holding exclusive access to the tree writer.
+     * Only changes added before this call are applied, so that threads that keep adding changes can't keep the caller here.
+     * Changes added concurrently are applied by whoever gets exclusive access to the writer next.
+     */
+    void applyTo( Marker marker )
+    {
+        for ( int count = size.get(); count > 0; count-- )
+        {
+            Change change = changes.poll();
+            size.decrementAndGet();
+            memoryTracker.releaseHeap( CHANGE_SIZE );
+            switch ( change.type )
+            {
+            case USED:
+                marker.markUsed( change.id, change.numberOfIds );
+                break;
+            case DELETED:
+                marker.markDeleted( change.id, change.numberOfIds );
+                break;
+            case FREE:
+                marker.markFree( change.id, change.numberOfIds );
+                break;
+            default:
+                throw new IllegalStateException( "Unknown change type " + change.type );
+            }
+        }
+    }
+
+    private void add( byte type, long id, int numberOfIds, Runnable applier )
+    {
+        memoryTracker.allocateHeap( CHANGE_SIZE );
+        changes.offer( new Change( type, id, numberOfIds ) );
+        if ( size.incrementAndGet() >= capacity )
+        {
+            applier.run();
+        }
+    }
+
+    private static class Change
+    {
+        private final byte type;
+        private final long id;
+        private final int numberOfIds;
+
+        Change( byte type, long id, int numberOfIds )
+        {
+            this.type = type;
+            this.id = id;
+            this.numberOfIds = numberOfIds;
+        }
+    }
+}
@@ -102,6 +102,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.neo4j.annotations.documented.ReporterFactories.noopReporterFactory;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.id_generator_buffered_marks;
 import static org.neo4j.configuration.GraphDatabaseInternalSettings.strictly_prioritize_id_freelist;
 import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
 import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.readOnly;
@@ -239,6 +240,122 @@ class IndexedIdGeneratorTest
         assertEquals( id, reusedId );
     }
 
+    @Test
+    void shouldAllocateFreeIdClosestToHint() throws IOException
+    {
+        // given
+        open();
+        idGenerator.start( NO_FREE_IDS, NULL );
+        for ( int i = 0; i < 300; i++ )
+        {
+            markUsed( idGenerator.nextId( NULL ) );
+        }
+        for ( long id : new long[]{5, 200, 290} )
+        {
+            markDeleted( id );
+            markFree( id );
+        }
+
+        // when
+        long closest = idGenerator.nextIdNear( 280, NULL );
+        long secondClosest = idGenerator.nextIdNear( 280, NULL );
+
+        // then
+        assertEquals( 290, closest );
+        assertEquals( 200, secondClosest );
+        idGenerator.maintenance( NULL );
+        assertEquals( 5, idGenerator.nextId( NULL ) );
+    }
+
+    @Test
+    void shouldReuseFreedConsecutiveRangesLargerThanSlots() throws IOException
+    {
+        // given
+        open();
+        idGenerator.start( NO_FREE_IDS, NULL );
+        for ( int i = 0; i < 100; i++ )
+        {
+            markUsed( idGenerator.nextId( NULL ) );
+        }
+        markDeleted( 20, 10 );
+        markFree( 20, 10 );
+        markDeleted( 40, 3 );
+        markFree( 40, 3 );
+        markDeleted( 44, 3 );
+        markFree( 44, 3 );
+
+        // when/then
+        assertEquals( 20, idGenerator.nextConsecutiveIdRange( 5, false, NULL ) );
+        assertEquals( 25, idGenerator.nextConsecutiveIdRange( 5, false, NULL ) );
+        // 40-42 and 44-46 are free, but not consecutive
+        assertEquals( 100, idGenerator.nextConsecutiveIdRange( 4, false, NULL ) );
+    }
+
+    @Test
+    void shouldOnlyReuseFreedConsecutiveRangesCrossingEntriesIfNotFavoringSamePage() throws IOException
+    {
+        // given
+        open();
+        idGenerator.start( NO_FREE_IDS, NULL );
+        for ( int i = 0; i < IDS_PER_ENTRY * 2; i++ )
+        {
+            markUsed( idGenerator.nextId( NULL ) );
+        }
+        long crossingId = IDS_PER_ENTRY - 2;
+        markDeleted( crossingId, 2 );
+        markDeleted( IDS_PER_ENTRY, 3 );
+        markFree( crossingId, 2 );
+        markFree( IDS_PER_ENTRY, 3 );
+
+        // when/then
+        assertEquals( IDS_PER_ENTRY * 2, idGenerator.nextConsecutiveIdRange( 5, true, NULL ) );
+        assertEquals( crossingId, idGenerator.nextConsecutiveIdRange( 5, false, NULL ) );
+    }
+
+    @Test
+    void shouldApplyBufferedMarksBeforeReusingIds() throws IOException
+    {
+        // given
+        open( Config.defaults( id_generator_buffered_marks, true ), NO_MONITOR, writable(), SINGLE_IDS );
+        idGenerator.start( NO_FREE_IDS, NULL );
+        for ( int i = 0; i < 10; i++ )
+        {
+            markUsed( idGenerator.nextId( NULL ) );
+        }
+
+        // when
+        markDeleted( 3 );
+        markFree( 3 );
+        markDeleted( 7 );
+        markFree( 7 );
+        idGenerator.maintenance( NULL );
+
+        // then
+        assertThat( new long[]{idGenerator.nextId( NULL ), idGenerator.nextId( NULL )} ).containsExactlyInAnyOrder( 3, 7 );
+        assertEquals( 10, idGenerator.nextId( NULL ) );
+    }
+
+    @Test
+    void shouldPersistBufferedMarksOnCheckpoint() throws IOException
+    {
+        // given
+        open( Config.defaults( id_generator_buffered_marks, true ), NO_MONITOR, writable(), SINGLE_IDS );
+        idGenerator.start( NO_FREE_IDS, NULL );
+        for ( int i = 0; i < 10; i++ )
+        {
+            markUsed( idGenerator.nextId( NULL ) );
+        }
+        markDeleted( 5 );
+        markFree( 5 );
+
+        // when
+        restart();
+
+        // then
+        assertEquals( 5, idGenerator.nextId( NULL ) );
+        assertEquals( 10, idGenerator.nextId( NULL ) );
+    }
+
     @Test
     void shouldHandleSlotsLargerThanOne() throws IOException
     {
@@ -768,6 +885,46 @@ class IndexedIdGeneratorTest
         }
     }
 
+    @Test
+    void noPageCacheActivityOnNextIdNearWithoutFreeIds() throws IOException
+    {
+        open();
+        idGenerator.start( NO_FREE_IDS, NULL );
+        var pageCacheTracer = new DefaultPageCacheTracer();
+        try ( var cursorContext = new CursorContext( pageCacheTracer.createPageCursorTracer( "noPageCacheActivityOnNextIdNearWithoutFreeIds" ) ) )
+        {
+            idGenerator.nextIdNear( 10, cursorContext );
+
+            var cursorTracer = cursorContext.getCursorTracer();
+            assertThat( cursorTracer.pins() ).isZero();
+            assertThat( cursorTracer.unpins() ).isZero();
+        }
+    }
+
+    @Test
+    void boundedPageCacheActivityOnNextIdNear() throws IOException
+    {
+        open();
+        idGenerator.start( NO_FREE_IDS, NULL );
+        for ( int i = 0; i < 300; i++ )
+        {
+            markUsed( idGenerator.nextId( NULL ) );
+        }
+        markDeleted( 200 );
+        markFree( 200 );
+
+        var pageCacheTracer = new DefaultPageCacheTracer();
+        try ( var cursorContext = new CursorContext( pageCacheTracer.createPageCursorTracer( "boundedPageCacheActivityOnNextIdNear" ) ) )
+        {
+            assertEquals( 200, idGenerator.nextIdNear( 210, cursorContext ) );
+
+            // One seek over the tree entries around the hint and one write reserving the id, each pinning a leaf of this small tree
+            var cursorTracer = cursorContext.getCursorTracer();
+            assertThat( cursorTracer.pins() ).isPositive().isLessThanOrEqualTo( 4 );
+            assertThat( cursorTracer.unpins() ).isEqualTo( cursorTracer.pins() );
+        }
+    }
+
     @Test
     void tracePageCacheActivityOnOnNextId()
     {
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.id.indexed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.neo4j.internal.id.IdGenerator.Marker;
+import org.neo4j.memory.LocalMemoryTracker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarkerBufferTest
+{
+    private static final int CAPACITY = 10;
+
+    private final LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+    private final MarkerBuffer buffer = new MarkerBuffer( CAPACITY, memoryTracker );
+
+    @Test
+    void shouldApplyChangesInTheOrderTheyWereMade()
+    {
+        // given
+        try ( Marker marker = buffer.marker( () -> {} ) )
+        {
+            marker.markUsed( 5 );
+            marker.markDeleted( 5 );
+            marker.markFree( 5 );
+            marker.markUsed( 300, 2 );
+        }
+
+        // when
+        RecordingMarker target = new RecordingMarker( null );
+        buffer.applyTo( target );
+
+        // then
+        assertThat( target.changes ).containsExactly( "used:5:1", "deleted:5:1", "free:5:1", "used:300:2" );
+        assertThat( buffer.isEmpty() ).isTrue();
+    }
+
+    @Test
+    void shouldOnlyApplyChangesAddedBeforeApplying()
+    {
+        // given
+        Marker concurrentMarker = buffer.marker( () -> {} );
+        concurrentMarker.markUsed( 1 );
+        concurrentMarker.markUsed( 2 );
+
+        // when every applied change makes another thread add a new one
+        RecordingMarker target = new RecordingMarker( concurrentMarker );
+        buffer.applyTo( target );
+
+        // then
+        assertThat( target.changes ).containsExactly( "used:1:1", "used:2:1" );
+        assertThat( buffer.isEmpty() ).isFalse();
+    }
+
+    @Test
+    void shouldRunApplierWhenMarkerIsClosed()
+    {
+        // given
+        AtomicInteger applied = new AtomicInteger();
+
+        // when
+        try ( Marker marker = buffer.marker( applied::incrementAndGet ) )
+        {
+            marker.markUsed( 1 );
+            assertThat( applied.get() ).isZero();
+        }
+
+        // then
+        assertThat( applied.get() ).isOne();
+    }
+
+    @Test
+    void shouldRunApplierWhenBufferFillsUp()
+    {
+        // given
+        AtomicInteger applied = new AtomicInteger();
+
+        try ( Marker marker = buffer.marker( applied::incrementAndGet ) )
+        {
+            for ( int i = 0; i < CAPACITY - 1; i++ )
+            {
+                marker.markUsed( i );
+            }
+            assertThat( applied.get() ).isZero();
+            assertThat( buffer.isFull() ).isFalse();
+
+            // when
+            marker.markUsed( CAPACITY );
+
+            // then
+            assertThat( applied.get() ).isOne();
+            assertThat( buffer.isFull() ).isTrue();
+        }
+    }
+
+    @Test
+    void shouldTrackHeapOfBufferedChanges()
+    {
+        // given
+        try ( Marker marker = buffer.marker( () -> {} ) )
+        {
+            marker.markUsed( 1 );
+            marker.markDeleted( 2 );
+        }
+        assertThat( memoryTracker.estimatedHeapMemory() ).isPositive();
+
+        // when
+        buffer.applyTo( new RecordingMarker( null ) );
+
+        // then
+        assertThat( memoryTracker.estimatedHeapMemory() ).isZero();
+    }
+
+    private static class RecordingMarker implements Marker
+    {
+        private final List<String> changes = new ArrayList<>();
+        private final Marker sideEffect;
+
+        RecordingMarker( Marker sideEffect )
+        {
+            this.sideEffect = sideEffect;
+        }
+
+        @Override
+        public void markUsed( long id, int numberOfIds )
+        {
+            record( "used", id, numberOfIds );
+        }
+
+        @Override
+        public void markDeleted( long id, int numberOfIds )
+        {
+            record( "deleted", id, numberOfIds );
+        }
+
+        @Override
+        public void markFree( long id, int numberOfIds )
+        {
+            record( "free", id, numberOfIds );
+        }
+
+        @Override
+        public void close()
+        {
+        }
+
+        private void record( String type, long id, int numberOfIds )
+        {
+            changes.add( type + ":" + id + ":" + numberOfIds );
+            if ( sideEffect != null )
+            {
+                sideEffect.markUsed( id + 100 );
+            }
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.neo4j.io.os.OsBeanUtil;
 
 import static java.lang.Math.min;
 import static java.lang.Math.round;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.relationship_triplet_counts;
 import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_memory;
 import static org.neo4j.configuration.GraphDatabaseSettings.upgrade_processors;
 import static org.neo4j.io.ByteUnit.gibiBytes;
@@ -191,6 +192,15 @@ public interface Configuration
         return IndexConfig.DEFAULT;
     }
 
+    /**
+     * Whether or not to also count relationships for each combination of start node label, relationship type and end node label,
+     * in addition to the counts where at most one of the nodes is labelled.
+     */
+    default boolean countRelationshipTriplets()
+    {
+        return false;
+    }
+
     Configuration DEFAULT = new Configuration()
     {
     };
@@ -303,6 +313,12 @@ public interface Configuration
         {
             return defaults.allowCacheAllocationOnHeap();
         }
+
+        @Override
+        public boolean countRelationshipTriplets()
+        {
+            return config.get( relationship_triplet_counts ) || defaults.countRelationshipTriplets();
+        }
     }
 
     static Configuration withBatchSize( Configuration config, int batchSize )
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.neo4j.io.pagecache.context.CursorContext;
+
+/**
+ * Builds the contents of an empty {@link GBPTree} bottom-up from entries given in sorted order, instead of inserting them one by one.
+ * Leaves are written sequentially, filled up to a fill factor, and internal levels are built on top of them when {@link #finish(CursorContext) finishing},
+ * which means that no node is ever split and that the resulting tree is as compact as the fill factor allows.
+ * <p>
+ * Entries are added through {@link Appender appenders}, one per partition. Appenders of different partitions may be used by different threads
+ * concurrently, but each appender must only be used by one thread. Keys added to a partition must be strictly ascending
+ * and all keys of a partition must be less than all keys of the next partition, i.e. partitions are consecutive key ranges.
+ * <p>
+ * After all appenders have been closed the loader must be {@link #finish(CursorContext) finished} for the entries to become visible in the tree.
+ * The loader must then be {@link #close() closed}, typically using try-with-resource clause. Closing a loader that wasn't finished
+ * discards everything added to it, leaving the tree empty.
+ *
+ * @param <KEY> type of keys
+ * @param <VALUE> type of values
+ */
+public interface BulkLoader<KEY,VALUE> extends Closeable
+{
+    /**
+     * @param partition partition, from 0 (inclusive) to the number of partitions this loader was created with (exclusive).
+     * @param cursorContext underlying page cursor context, used by the thread adding entries to this partition.
+     * @return {@link Appender} for adding the entries of the given partition. Can only be called once per partition.
+     */
+    Appender<KEY,VALUE> appender( int partition, CursorContext cursorContext );
+
+    /**
+     * Links the leaves of all partitions together, builds the internal levels on top of them and makes the result the root of the tree.
+     * All appenders must have been closed before calling this method.
+     *
+     * @param cursorContext underlying page cursor context
+     * @throws IOException on index access error.
+     * @throws IllegalStateException if an appender is still open or if keys of a partition aren't all less than keys of the next partition.
+     */
+    void finish( CursorContext cursorContext ) throws IOException;
+
+    /**
+     * Adds entries of one partition of a {@link BulkLoader}, in strictly ascending key order.
+     */
+    interface Appender<KEY,VALUE> extends Closeable
+    {
+        /**
+         * Adds the given key and value after the previously added entry.
+         *
+         * @param key key to add, which must be greater than the previously added key.
+         * @param value value to associate with key
+         * @throws UncheckedIOException on index access error.
+         * @throws IllegalArgumentException if key isn't greater than the previously added key.
+         */
+        void add( KEY key, VALUE value );
+    }
+}
@@ -21,7 +21,10 @@ package org.neo4j.index.internal.gbptree;
 
 import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.apache.commons.lang3.tuple.Pair;
+import org.eclipse.collections.api.iterator.LongIterator;
 import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -31,10 +34,15 @@ import java.nio.file.NoSuchFileException;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
@@ -68,6 +76,7 @@ import static org.neo4j.index.internal.gbptree.SeekCursor.DEFAULT_MAX_READ_AHEAD
 import static org.neo4j.index.internal.gbptree.SeekCursor.LEAF_LEVEL;
 import static org.neo4j.internal.helpers.Exceptions.withMessage;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
 
 /**
  * A generation-aware B+tree (GB+Tree) implementation directly atop a {@link PageCache} with no caching in between.
@@ -140,6 +149,7 @@ import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
 public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
 {
     private static final String INDEX_INTERNAL_TAG = "indexInternal";
+    private static final int LEAF_LATCH_STRIPES = 64;
 
     /**
      * For monitoring {@link GBPTree}.
@@ -331,6 +341,11 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
         void treeShrink();
     }
 
+    /**
+     * Default fill factor of tree nodes built by a {@link BulkLoader}, i.e. fully packed.
+     */
+    public static final double DEFAULT_BULK_LOAD_FILL_FACTOR = 1.0;
+
     /**
      * No-op {@link Monitor}.
      */
@@ -373,6 +388,20 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
      */
     private final TreeNode<KEY,VALUE> bTreeNode;
 
+    /**
+     * Format of the tree nodes in this tree. Used for instantiating additional {@link TreeNode} instances for
+     * {@link ConcurrentWriter concurrent writers}, since a {@link TreeNode} keeps scratch state when e.g. defragmenting.
+     */
+    private final TreeNodeSelector.Factory treeNodeFormat;
+
+    private final OffloadStore<KEY,VALUE> offloadStore;
+
+    /**
+     * Striped latches for leaves changed in place by {@link ConcurrentWriter concurrent writers}. Write locks on pages don't exclude
+     * each other so two concurrent writers changing the same leaf must be kept apart by these.
+     */
+    private final ReentrantLock[] leafLatches = newLeafLatches();
+
     /**
      * A free-list of released ids. Acquiring new ids involves first trying out the free-list and then,
      * as a fall-back allocate a new id at the end of the store.
@@ -384,6 +413,13 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
      */
     private final SingleWriter writer;
 
+    /**
+     * {@link ConcurrentWriter Concurrent writers} which have been closed and can be handed out again by {@link #concurrentWriter(double, CursorContext)}.
+     * Each one owns a {@link TreeNode}, {@link InternalTreeLogic} and exclusive {@link SingleWriter}, which would otherwise be instantiated
+     * for every transaction applying changes to this tree. There are never more of them than there have been concurrent writers at the same time.
+     */
+    private final ConcurrentLinkedQueue<ConcurrentWriter> idleConcurrentWriters = new ConcurrentLinkedQueue<>();
+
     /**
      * Tells whether or not there have been made changes (using {@link #writer(CursorContext)}) to this tree
      * since last call to {@link #checkpoint(CursorContext)}. This variable is set when calling {@link #writer(CursorContext)}
@@ -404,6 +440,9 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
      * <p>
      * If cleaning of crash pointers is needed the tree can not be allowed to perform a checkpoint until that job
      * has finished. For this scenario, cleaner lock is taken.
+     * <p>
+     * {@link ConcurrentWriter Concurrent writers} take the lock in shared mode for changes that don't alter the structure of the tree,
+     * which excludes the writer and cleaner locks but not other shared writers.
      */
     private final GBPTreeLock lock = new GBPTreeLock();
 
@@ -609,7 +648,8 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
                 format = TreeNodeSelector.selectByFormat( meta.getFormatIdentifier(), meta.getFormatVersion() );
             }
             this.freeList = new FreeListIdProvider( pagedFile, rootId );
-            OffloadStoreImpl<KEY,VALUE> offloadStore = buildOffload( layout, freeList, pagedFile, pageSize );
+            this.offloadStore = buildOffload( layout, freeList, pagedFile, pageSize );
+            this.treeNodeFormat = format;
             this.bTreeNode = format.create( pageSize, layout, offloadStore );
             this.writer = new SingleWriter( new InternalTreeLogic<>( freeList, bTreeNode, layout, monitor ) );
 
@@ -1404,6 +1444,77 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
         return writer;
     }
 
+    /**
+     * Use default value for ratioToKeepInLeftOnSplit
+     * @param cursorContext underlying page cursor context
+     * @see GBPTree#concurrentWriter(double, CursorContext)
+     */
+    public Writer<KEY,VALUE> concurrentWriter( CursorContext cursorContext )
+    {
+        return concurrentWriter( InternalTreeLogic.DEFAULT_SPLIT_RATIO, cursorContext );
+    }
+
+    /**
+     * Returns a {@link Writer} which can be used concurrently with other writers returned from this method, each one used by a single thread.
+     * Writers are reused once closed, so the returned writer must not be used after it has been closed.
+     * Changes that can be made in place in a leaf, i.e. inserting a new entry into a leaf with room for it or overwriting a value with one of the same size,
+     * are made while only holding a latch on that leaf, allowing writers changing different leaves to make progress in parallel.
+     * Any other change, e.g. one causing a split, merge or rebalance or one made to a node that needs to be copied into a new generation,
+     * is made under the same exclusive lock that {@link #writer(CursorContext)} holds, i.e. waiting for in-flight concurrent changes to finish.
+     * <p>
+     * The lock is only held for the duration of each individual change and so, unlike {@link #writer(CursorContext)}, the returned writer
+     * doesn't block {@link #checkpoint(CursorContext)} between changes. Changes made by a concurrent writer will wait for an acquired
+     * {@link #writer(CursorContext) single writer} to be closed.
+     * <p>
+     * A {@link ValueMerger} used with a concurrent writer may be consulted more than once for the same change and so must not have side effects.
+     *
+     * @param ratioToKeepInLeftOnSplit Decide how much to keep in left node on split, 0=keep nothing, 0.5=split 50-50, 1=keep everything.
+     * @param cursorContext underlying page cursor context
+     * @return a concurrent {@link Writer} for this index. It must be {@link Writer#close() closed} after usage.
+     */
+    public Writer<KEY,VALUE> concurrentWriter( double ratioToKeepInLeftOnSplit, CursorContext cursorContext )
+    {
+        assertNotReadOnly( "Open concurrent tree writer." );
+        ConcurrentWriter concurrentWriter = idleConcurrentWriters.poll();
+        if ( concurrentWriter == null )
+        {
+            concurrentWriter = new ConcurrentWriter();
+        }
+        return concurrentWriter.initialize( ratioToKeepInLeftOnSplit, cursorContext );
+    }
+
+    /**
+     * Use default fill factor, i.e. fully packed tree nodes.
+     * @param partitions number of partitions that entries will be added in.
+     * @param cursorContext underlying page cursor context
+     * @see GBPTree#bulkLoader(int, double, CursorContext)
+     */
+    public BulkLoader<KEY,VALUE> bulkLoader( int partitions, CursorContext cursorContext ) throws IOException
+    {
+        return bulkLoader( partitions, DEFAULT_BULK_LOAD_FILL_FACTOR, cursorContext );
+    }
+
+    /**
+     * Returns a {@link BulkLoader} able to build the contents of this tree from entries given in sorted order. The tree must be empty.
+     * Leaves are filled up to the given fill factor and written sequentially, one chain of leaves per partition, and the internal levels
+     * are built bottom-up on top of them, which is much cheaper than inserting the entries one by one using a {@link #writer(CursorContext) writer}.
+     * The loader holds the same lock as {@link #writer(CursorContext)} until it's closed, i.e. it excludes writers and checkpoints.
+     *
+     * @param partitions number of partitions, i.e. consecutive key ranges, that entries will be added in. Each partition can be added by its own thread.
+     * @param fillFactor how full to make each tree node, larger than 0 and at most 1. Leaving some space in each node avoids splits on later inserts.
+     * @param cursorContext underlying page cursor context
+     * @return a new {@link BulkLoader} for this tree. It must be {@link BulkLoader#close() closed} after usage.
+     * @throws IOException on error accessing the index.
+     * @throws IllegalStateException if this tree isn't empty.
+     */
+    public BulkLoader<KEY,VALUE> bulkLoader( int partitions, double fillFactor, CursorContext cursorContext ) throws IOException
+    {
+        assertNotReadOnly( "Open bulk loader." );
+        Preconditions.checkArgument( partitions > 0, "Number of partitions must be positive, was %d", partitions );
+        Preconditions.checkArgument( fillFactor > 0 && fillFactor <= 1, "Fill factor must be larger than 0 and at most 1, was %f", fillFactor );
+        return new PartitionedBulkLoader( partitions, fillFactor, cursorContext );
+    }
+
     private void setRoot( long rootId, long rootGeneration )
     {
         this.root = new Root( rootId, rootGeneration );
@@ -1803,6 +1914,742 @@ public class GBPTree<KEY,VALUE> implements Closeable, Seeker.Factory<KEY,VALUE>
         }
     }
 
+    /**
+     * {@link Writer} returned from {@link #concurrentWriter(double, CursorContext)}. Each change first descends the tree while holding the
+     * shared writer lock, under which the structure and generation of the tree can't change, and tries to apply the change directly in the
+     * leaf while holding the latch for that leaf. Changes that can't be applied that way are handed to an exclusive {@link SingleWriter}
+     * of its own, which takes the writer lock for the duration of that single change. Closed writers are kept in {@link #idleConcurrentWriters}
+     * to be initialized again for the next user.
+     */
+    private class ConcurrentWriter implements Writer<KEY,VALUE>
+    {
+        // Tree node and key/value instances are owned by this writer since they are used as scratch space
+        private final TreeNode<KEY,VALUE> treeNode = treeNodeFormat.create( pageSize, layout, offloadStore );
+        private final SingleWriter exclusiveWriter = new SingleWriter( new InternalTreeLogic<>( freeList, treeNode, layout, monitor ) );
+        private final KEY readKey = layout.newKey();
+        private final VALUE readValue = layout.newValue();
+        private double ratioToKeepInLeftOnSplit;
+        private CursorContext cursorContext;
+        private boolean closed = true;
+
+        ConcurrentWriter initialize( double ratioToKeepInLeftOnSplit, CursorContext cursorContext )
+        {
+            this.ratioToKeepInLeftOnSplit = ratioToKeepInLeftOnSplit;
+            this.cursorContext = cursorContext;
+            this.closed = false;
+            return this;
+        }
+
+        @Override
+        public void put( KEY key, VALUE value )
+        {
+            merge( key, value, ValueMergers.overwrite() );
+        }
+
+        @Override
+        public void merge( KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger )
+        {
+            internalMerge( key, value, valueMerger, true );
+        }
+
+        @Override
+        public void mergeIfExists( KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger )
+        {
+            internalMerge( key, value, valueMerger, false );
+        }
+
+        private void internalMerge( KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger, boolean createIfNotExists )
+        {
+            assertOpen();
+            try
+            {
+                if ( tryMergeInLeaf( key, value, valueMerger, createIfNotExists ) )
+                {
+                    return;
+                }
+            }
+            catch ( IOException e )
+            {
+                appendTreeInformation( e );
+                throw new UncheckedIOException( e );
+            }
+            catch ( Throwable t )
+            {
+                appendTreeInformation( t );
+                throw t;
+            }
+
+            try ( SingleWriter writer = exclusiveWriter() )
+            {
+                if ( createIfNotExists )
+                {
+                    writer.merge( key, value, valueMerger );
+                }
+                else
+                {
+                    writer.mergeIfExists( key, value, valueMerger );
+                }
+            }
+        }
+
+        @Override
+        public VALUE remove( KEY key )
+        {
+            // Removal may cause underflow in the leaf, which can't be known up front, so it's always done exclusively
+            assertOpen();
+            try ( SingleWriter writer = exclusiveWriter() )
+            {
+                return writer.remove( key );
+            }
+        }
+
+        /**
+         * @return {@code true} if the change was applied, or didn't need to be, otherwise {@code false} if it needs to be applied exclusively.
+         */
+        private boolean tryMergeInLeaf( KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger, boolean createIfNotExists ) throws IOException
+        {
+            lock.sharedWriterLock();
+            try
+            {
+                assertRecoveryCleanSuccessful();
+                // Neither generation nor structure of the tree can change while holding the shared writer lock
+                long currentGeneration = generation;
+                long stableGeneration = stableGeneration( currentGeneration );
+                long unstableGeneration = unstableGeneration( currentGeneration );
+                long leafId = findLeaf( key, stableGeneration, unstableGeneration );
+                if ( leafId == TreeNode.NO_NODE_FLAG )
+                {
+                    return false;
+                }
+
+                ReentrantLock latch = leafLatch( leafId );
+                latch.lock();
+                try ( PageCursor cursor = pagedFile.io( leafId, PF_SHARED_WRITE_LOCK, cursorContext ) )
+                {
+                    PageCursorUtil.goTo( cursor, "leaf", leafId );
+                    boolean applied = mergeInLeaf( cursor, key, value, valueMerger, createIfNotExists, stableGeneration, unstableGeneration );
+                    checkOutOfBounds( cursor );
+                    return applied;
+                }
+                finally
+                {
+                    latch.unlock();
+                }
+            }
+            finally
+            {
+                lock.sharedWriterUnlock();
+            }
+        }
+
+        /**
+         * Descends from the root to the leaf covering the given key, w/o taking any write locks on the way.
+         *
+         * @return id of the leaf, or {@link TreeNode#NO_NODE_FLAG} if something unexpected was found, which the exclusive writer will report.
+         */
+        private long findLeaf( KEY key, long stableGeneration, long unstableGeneration ) throws IOException
+        {
+            try ( PageCursor cursor = openRootCursor( PF_SHARED_READ_LOCK, cursorContext ) )
+            {
+                while ( true )
+                {
+                    boolean isTreeNode;
+                    boolean isInternal;
+                    long childId;
+                    do
+                    {
+                        childId = TreeNode.NO_NODE_FLAG;
+                        isTreeNode = TreeNode.nodeType( cursor ) == TreeNode.NODE_TYPE_TREE_NODE;
+                        isInternal = TreeNode.isInternal( cursor );
+                        if ( isTreeNode && isInternal )
+                        {
+                            int keyCount = TreeNode.keyCount( cursor );
+                            if ( treeNode.reasonableKeyCount( keyCount ) )
+                            {
+                                int searchResult = KeySearch.search( cursor, treeNode, TreeNode.Type.INTERNAL, key, readKey, keyCount, cursorContext );
+                                childId = treeNode.childAt( cursor, KeySearch.childPositionOf( searchResult ), stableGeneration, unstableGeneration );
+                            }
+                        }
+                    }
+                    while ( cursor.shouldRetry() );
+                    checkOutOfBounds( cursor );
+
+                    if ( !isTreeNode )
+                    {
+                        return TreeNode.NO_NODE_FLAG;
+                    }
+                    if ( !isInternal )
+                    {
+                        return cursor.getCurrentPageId();
+                    }
+                    if ( !GenerationSafePointerPair.isSuccess( childId ) || !TreeNode.isNode( GenerationSafePointerPair.pointer( childId ) ) )
+                    {
+                        return TreeNode.NO_NODE_FLAG;
+                    }
+                    TreeNode.goTo( cursor, "child", childId );
+                }
+            }
+        }
+
+        private boolean mergeInLeaf( PageCursor cursor, KEY key, VALUE value, ValueMerger<KEY,VALUE> valueMerger, boolean createIfNotExists,
+                long stableGeneration, long unstableGeneration ) throws IOException
+        {
+            if ( TreeNode.nodeType( cursor ) != TreeNode.NODE_TYPE_TREE_NODE || !TreeNode.isLeaf( cursor ) ||
+                    TreeNode.generation( cursor ) != unstableGeneration )
+            {
+                // Either unexpected, or the leaf needs a successor in the unstable generation, which changes the structure of the tree
+                return false;
+            }
+
+            int keyCount = TreeNode.keyCount( cursor );
+            int searchResult = KeySearch.search( cursor, treeNode, TreeNode.Type.LEAF, key, readKey, keyCount, cursorContext );
+            int pos = KeySearch.positionOf( searchResult );
+            if ( KeySearch.isHit( searchResult ) )
+            {
+                if ( treeNode.offloadIdAt( cursor, pos, TreeNode.Type.LEAF ) != TreeNode.NO_OFFLOAD_ID )
+                {
+                    return false;
+                }
+                treeNode.valueAt( cursor, readValue, pos, cursorContext );
+                ValueMerger.MergeResult mergeResult = valueMerger.merge( readKey, key, readValue, value );
+                switch ( mergeResult )
+                {
+                case UNCHANGED:
+                    return true;
+                case REPLACED:
+                    changesSinceLastCheckpoint = true;
+                    return treeNode.setValueAt( cursor, value, pos );
+                case MERGED:
+                    changesSinceLastCheckpoint = true;
+                    return treeNode.setValueAt( cursor, readValue, pos );
+                default:
+                    // Removing may cause underflow
+                    return false;
+                }
+            }
+
+            if ( !createIfNotExists )
+            {
+                return true;
+            }
+            if ( !canInline( key, value ) )
+            {
+                // Offloading allocates new ids from the free-list
+                return false;
+            }
+            TreeNode.Overflow overflow = treeNode.leafOverflow( cursor, keyCount, key, value );
+            if ( overflow == TreeNode.Overflow.YES )
+            {
+                return false;
+            }
+            changesSinceLastCheckpoint = true;
+            if ( overflow == TreeNode.Overflow.NO_NEED_DEFRAG )
+            {
+                treeNode.defragmentLeaf( cursor );
+            }
+            treeNode.insertKeyValueAt( cursor, key, value, pos, keyCount, stableGeneration, unstableGeneration, cursorContext );
+            TreeNode.setKeyCount( cursor, keyCount + 1 );
+            return true;
+        }
+
+        private boolean canInline( KEY key, VALUE value )
+        {
+            int inlineKeyValueSizeCap = treeNode.inlineKeyValueSizeCap();
+            return inlineKeyValueSizeCap == TreeNode.NO_KEY_VALUE_SIZE_CAP || layout.keySize( key ) + layout.valueSize( value ) <= inlineKeyValueSizeCap;
+        }
+
+        private SingleWriter exclusiveWriter()
+        {
+            try
+            {
+                exclusiveWriter.initialize( ratioToKeepInLeftOnSplit, cursorContext );
+            }
+            catch ( IOException e )
+            {
+                throw new UncheckedIOException( e );
+            }
+            changesSinceLastCheckpoint = true;
+            return exclusiveWriter;
+        }
+
+        private void assertOpen()
+        {
+            if ( closed )
+            {
+                throw new IllegalStateException( "Tried to use concurrent writer of " + GBPTree.this + ", but it is already closed." );
+            }
+        }
+
+        @Override
+        public void close()
+        {
+            if ( closed )
+            {
+                throw new IllegalStateException( "Tried to close concurrent writer of " + GBPTree.this + ", but writer is already closed." );
+            }
+            closed = true;
+            cursorContext = null;
+            idleConcurrentWriters.offer( this );
+        }
+    }
+
+    /**
+     * {@link BulkLoader} returned from {@link #bulkLoader(int, double, CursorContext)}. Each partition writes its own chain of leaves, allocating
+     * new pages as it goes, and {@link #finish(CursorContext)} links the chains together and builds the internal levels one level at a time,
+     * streaming the children of each level from the level below. Page ids are allocated through an {@link IdProvider} that serializes access to
+     * the free-list and remembers allocated ids so that they can be released if the loader is closed without finishing.
+     */
+    private class PartitionedBulkLoader implements BulkLoader<KEY,VALUE>
+    {
+        private final double fillFactor;
+        private final CursorContext cursorContext;
+        private final LoaderIdProvider idProvider = new LoaderIdProvider();
+        private final OffloadStore<KEY,VALUE> loaderOffloadStore = buildOffload( layout, idProvider, pagedFile, pageSize );
+        private final List<PartitionAppender> appenders;
+        // Loader can't live past a checkpoint because of the mutex with checkpoint,
+        // therefore safe to locally cache these generation fields from the volatile generation in the tree
+        private final long stableGeneration;
+        private final long unstableGeneration;
+        private boolean finished;
+        private boolean closed;
+
+        PartitionedBulkLoader( int partitions, double fillFactor, CursorContext cursorContext ) throws IOException
+        {
+            this.fillFactor = fillFactor;
+            this.cursorContext = cursorContext;
+            this.appenders = new ArrayList<>( Collections.nCopies( partitions, null ) );
+            lock.writerAndCleanerLock();
+            boolean success = false;
+            try
+            {
+                assertRecoveryCleanSuccessful();
+                stableGeneration = stableGeneration( generation );
+                unstableGeneration = unstableGeneration( generation );
+                try ( PageCursor cursor = openRootCursor( PF_SHARED_WRITE_LOCK, cursorContext ) )
+                {
+                    if ( !TreeNode.isLeaf( cursor ) || TreeNode.keyCount( cursor ) != 0 )
+                    {
+                        throw new IllegalStateException( "Can only bulk load into an empty tree, but " + GBPTree.this + " has entries" );
+                    }
+                }
+                changesSinceLastCheckpoint = true;
+                success = true;
+            }
+            catch ( Throwable e )
+            {
+                appendTreeInformation( e );
+                throw e;
+            }
+            finally
+            {
+                if ( !success )
+                {
+                    lock.writerAndCleanerUnlock();
+                }
+            }
+        }
+
+        @Override
+        public Appender<KEY,VALUE> appender( int partition, CursorContext cursorContext )
+        {
+            assertOpen();
+            Preconditions.checkArgument( partition >= 0 && partition < appenders.size(), "Partition %d out of range [0,%d)", partition, appenders.size() );
+            synchronized ( appenders )
+            {
+                Preconditions.checkState( appenders.get( partition ) == null, "Appender for partition %d already acquired", partition );
+                PartitionAppender appender = new PartitionAppender( cursorContext );
+                appenders.set( partition, appender );
+                return appender;
+            }
+        }
+
+        @Override
+        public void finish( CursorContext cursorContext ) throws IOException
+        {
+            assertOpen();
+            Preconditions.checkState( !finished, "Bulk loader of %s already finished", GBPTree.this );
+            List<PartitionAppender> loaded = new ArrayList<>();
+            synchronized ( appenders )
+            {
+                for ( PartitionAppender appender : appenders )
+                {
+                    if ( appender != null )
+                    {
+                        Preconditions.checkState( appender.closed, "All appenders must be closed before finishing bulk load of %s", GBPTree.this );
+                        if ( appender.firstLeafId != TreeNode.NO_NODE_FLAG )
+                        {
+                            loaded.add( appender );
+                        }
+                    }
+                }
+            }
+            if ( loaded.isEmpty() )
+            {
+                finished = true;
+                return;
+            }
+
+            TreeNode<KEY,VALUE> treeNode = treeNodeFormat.create( pageSize, layout, loaderOffloadStore );
+            List<InternalLevel> levels = new ArrayList<>();
+            try ( PageCursor cursor = pagedFile.io( 0L /*Ignored*/, PF_SHARED_WRITE_LOCK, cursorContext ) )
+            {
+                // Link the leaf chains of the partitions together
+                for ( int i = 1; i < loaded.size(); i++ )
+                {
+                    long leftId = loaded.get( i - 1 ).currentLeafId;
+                    long rightId = loaded.get( i ).firstLeafId;
+                    TreeNode.goTo( cursor, "left partition leaf", leftId );
+                    TreeNode.setRightSibling( cursor, rightId, stableGeneration, unstableGeneration );
+                    TreeNode.goTo( cursor, "right partition leaf", rightId );
+                    TreeNode.setLeftSibling( cursor, leftId, stableGeneration, unstableGeneration );
+                }
+
+                // Walk the leaves from left to right, feeding a splitter and child pointer for each leaf to the first internal level
+                KEY prevLastKey = layout.newKey();
+                KEY firstKey = layout.newKey();
+                KEY splitter = layout.newKey();
+                long firstLeafId = loaded.get( 0 ).firstLeafId;
+                long lastLeafId = loaded.get( loaded.size() - 1 ).currentLeafId;
+                InternalLevel firstLevel = null;
+                long leafId = firstLeafId;
+                while ( true )
+                {
+                    TreeNode.goTo( cursor, "leaf", leafId );
+                    int keyCount = TreeNode.keyCount( cursor );
+                    if ( leafId != firstLeafId )
+                    {
+                        treeNode.keyAt( cursor, firstKey, 0, TreeNode.Type.LEAF, cursorContext );
+                        if ( layout.compare( prevLastKey, firstKey ) >= 0 )
+                        {
+                            throw new IllegalStateException(
+                                    format( "Partitions must be consecutive key ranges, but key %s came after %s", firstKey, prevLastKey ) );
+                        }
+                        layout.minimalSplitter( prevLastKey, firstKey, splitter );
+                        if ( firstLevel == null )
+                        {
+                            firstLevel = new InternalLevel( treeNode, levels, cursorContext );
+                            firstLevel.add( null, firstLeafId );
+                        }
+                        firstLevel.add( splitter, leafId );
+                    }
+                    treeNode.keyAt( cursor, prevLastKey, keyCount - 1, TreeNode.Type.LEAF, cursorContext );
+                    if ( leafId == lastLeafId )
+                    {
+                        break;
+                    }
+                    leafId = GenerationSafePointerPair.pointer( TreeNode.rightSibling( cursor, stableGeneration, unstableGeneration ) );
+                }
+
+                long newRootId = firstLevel == null ? firstLeafId : firstLevel.finish();
+                long oldRootId = root.id();
+                setRoot( newRootId, unstableGeneration );
+                freeList.releaseId( stableGeneration, unstableGeneration, oldRootId, cursorContext );
+                finished = true;
+            }
+            finally
+            {
+                for ( InternalLevel level : levels )
+                {
+                    level.cursor.close();
+                }
+            }
+        }
+
+        private void assertOpen()
+        {
+            if ( closed )
+            {
+                throw new IllegalStateException( "Tried to use bulk loader of " + GBPTree.this + ", but it is already closed." );
+            }
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            if ( closed )
+            {
+                throw new IllegalStateException( "Tried to close bulk loader of " + GBPTree.this + ", but it is already closed." );
+            }
+            closed = true;
+            try
+            {
+                if ( !finished )
+                {
+                    idProvider.releaseAcquiredIds( stableGeneration, unstableGeneration, cursorContext );
+                }
+            }
+            finally
+            {
+                lock.writerAndCleanerUnlock();
+            }
+        }
+
+        /**
+         * Writes one partition as a chain of leaves, starting a new leaf whenever the current one has reached the fill factor.
+         */
+        private class PartitionAppender implements Appender<KEY,VALUE>
+        {
+            // Tree node and key instances are owned by this appender since they are used as scratch space
+            private final TreeNode<KEY,VALUE> treeNode = treeNodeFormat.create( pageSize, layout, loaderOffloadStore );
+            private final KEY prevKey = layout.newKey();
+            private final CursorContext cursorContext;
+            private PageCursor cursor;
+            private long firstLeafId = TreeNode.NO_NODE_FLAG;
+            private long currentLeafId = TreeNode.NO_NODE_FLAG;
+            private int keyCount;
+            private volatile boolean closed;
+
+            PartitionAppender( CursorContext cursorContext )
+            {
+                this.cursorContext = cursorContext;
+            }
+
+            @Override
+            public void add( KEY key, VALUE value )
+            {
+                if ( closed )
+                {
+                    throw new IllegalStateException( "Tried to use appender of bulk loader of " + GBPTree.this + ", but it is already closed." );
+                }
+                if ( currentLeafId != TreeNode.NO_NODE_FLAG && layout.compare( key, prevKey ) <= 0 )
+                {
+                    throw new IllegalArgumentException( format( "Keys must be added in strictly ascending order, but key %s came after %s", key, prevKey ) );
+                }
+                treeNode.validateKeyValueSize( key, value );
+                try
+                {
+                    if ( currentLeafId == TreeNode.NO_NODE_FLAG )
+                    {
+                        cursor = pagedFile.io( 0L /*Ignored*/, PF_SHARED_WRITE_LOCK, cursorContext );
+                        newLeaf();
+                        firstLeafId = currentLeafId;
+                    }
+                    else if ( !treeNode.leafFitsWithinFill( cursor, keyCount, key, value, fillFactor ) )
+                    {
+                        newLeaf();
+                    }
+                    treeNode.insertKeyValueAt( cursor, key, value, keyCount, keyCount, stableGeneration, unstableGeneration, cursorContext );
+                    keyCount++;
+                    TreeNode.setKeyCount( cursor, keyCount );
+                    layout.copyKey( key, prevKey );
+                }
+                catch ( IOException e )
+                {
+                    throw new UncheckedIOException( e );
+                }
+            }
+
+            private void newLeaf() throws IOException
+            {
+                long leftSiblingId = currentLeafId;
+                long newLeafId = idProvider.acquireNewId( stableGeneration, unstableGeneration, cursorContext );
+                if ( leftSiblingId != TreeNode.NO_NODE_FLAG )
+                {
+                    TreeNode.setRightSibling( cursor, newLeafId, stableGeneration, unstableGeneration );
+                }
+                TreeNode.goTo( cursor, "new leaf", newLeafId );
+                treeNode.initializeLeaf( cursor, stableGeneration, unstableGeneration );
+                if ( leftSiblingId != TreeNode.NO_NODE_FLAG )
+                {
+                    TreeNode.setLeftSibling( cursor, leftSiblingId, stableGeneration, unstableGeneration );
+                }
+                currentLeafId = newLeafId;
+                keyCount = 0;
+            }
+
+            @Override
+            public void close()
+            {
+                if ( closed )
+                {
+                    throw new IllegalStateException( "Tried to close appender of bulk loader of " + GBPTree.this + ", but it is already closed." );
+                }
+                if ( cursor != null )
+                {
+                    cursor.close();
+                    cursor = null;
+                }
+                closed = true;
+            }
+        }
+
+        /**
+         * Builds one internal level from a stream of children, each one except the first preceded by the splitter to its left.
+         * A node is completed when the next splitter doesn't fit within the fill factor, at which point it is handed to the level above,
+         * created when the first node of this level is completed. The level which never completes a node has a single node, the root.
+         */
+        private class InternalLevel
+        {
+            private final TreeNode<KEY,VALUE> treeNode;
+            private final List<InternalLevel> levels;
+            private final CursorContext cursorContext;
+            private final PageCursor cursor;
+            // Splitter to the left of current node, handed to the level above together with current node when it is completed
+            private final KEY currentSplitter = layout.newKey();
+            private final KEY movedKey = layout.newKey();
+            private long previousId = TreeNode.NO_NODE_FLAG;
+            private long currentId = TreeNode.NO_NODE_FLAG;
+            private int keyCount;
+            private InternalLevel parent;
+
+            InternalLevel( TreeNode<KEY,VALUE> treeNode, List<InternalLevel> levels, CursorContext cursorContext ) throws IOException
+            {
+                this.treeNode = treeNode;
+                this.levels = levels;
+                this.cursorContext = cursorContext;
+                this.cursor = pagedFile.io( 0L /*Ignored*/, PF_SHARED_WRITE_LOCK, cursorContext );
+                levels.add( this );
+            }
+
+            /**
+             * @param splitter key to the left of the child, or {@code null} for the first child of this level.
+             * @param childId id of child to add.
+             */
+            void add( KEY splitter, long childId ) throws IOException
+            {
+                if ( currentId == TreeNode.NO_NODE_FLAG )
+                {
+                    newNode();
+                    treeNode.setChildAt( cursor, childId, 0, stableGeneration, unstableGeneration );
+                }
+                else if ( treeNode.internalFitsWithinFill( cursor, keyCount, splitter, fillFactor ) )
+                {
+                    treeNode.insertKeyAndRightChildAt( cursor, splitter, childId, keyCount, keyCount, stableGeneration, unstableGeneration, cursorContext );
+                    keyCount++;
+                    TreeNode.setKeyCount( cursor, keyCount );
+                }
+                else
+                {
+                    completeCurrent();
+                    layout.copyKey( splitter, currentSplitter );
+                    newNode();
+                    treeNode.setChildAt( cursor, childId, 0, stableGeneration, unstableGeneration );
+                }
+            }
+
+            /**
+             * Completes this level and all levels above it.
+             * @return id of the root, i.e. the single node on the top level.
+             */
+            long finish() throws IOException
+            {
+                if ( keyCount == 0 && previousId != TreeNode.NO_NODE_FLAG )
+                {
+                    // Current node only has its leftmost child. Move the last key and child over from previous node, which has at least two keys
+                    TreeNode.goTo( cursor, "previous internal", previousId );
+                    int previousKeyCount = TreeNode.keyCount( cursor );
+                    treeNode.keyAt( cursor, movedKey, previousKeyCount - 1, TreeNode.Type.INTERNAL, cursorContext );
+                    long movedChild = GenerationSafePointerPair.pointer(
+                            treeNode.childAt( cursor, previousKeyCount, stableGeneration, unstableGeneration ) );
+                    treeNode.removeKeyAndRightChildAt( cursor, previousKeyCount - 1, previousKeyCount, stableGeneration, unstableGeneration, cursorContext );
+                    TreeNode.setKeyCount( cursor, previousKeyCount - 1 );
+
+                    TreeNode.goTo( cursor, "current internal", currentId );
+                    long onlyChild = GenerationSafePointerPair.pointer( treeNode.childAt( cursor, 0, stableGeneration, unstableGeneration ) );
+                    treeNode.setChildAt( cursor, movedChild, 0, stableGeneration, unstableGeneration );
+                    treeNode.insertKeyAndRightChildAt( cursor, currentSplitter, onlyChild, 0, 0, stableGeneration, unstableGeneration, cursorContext );
+                    keyCount = 1;
+                    TreeNode.setKeyCount( cursor, keyCount );
+                    layout.copyKey( movedKey, currentSplitter );
+                }
+                if ( parent == null )
+                {
+                    return currentId;
+                }
+                parent.add( currentSplitter, currentId );
+                return parent.finish();
+            }
+
+            private void completeCurrent() throws IOException
+            {
+                if ( parent == null )
+                {
+                    parent = new InternalLevel( treeNode, levels, cursorContext );
+                }
+                parent.add( previousId == TreeNode.NO_NODE_FLAG ? null : currentSplitter, currentId );
+            }
+
+            private void newNode() throws IOException
+            {
+                long leftSiblingId = currentId;
+                long newNodeId = idProvider.acquireNewId( stableGeneration, unstableGeneration, cursorContext );
+                if ( leftSiblingId != TreeNode.NO_NODE_FLAG )
+                {
+                    TreeNode.setRightSibling( cursor, newNodeId, stableGeneration, unstableGeneration );
+                }
+                TreeNode.goTo( cursor, "new internal", newNodeId );
+                treeNode.initializeInternal( cursor, stableGeneration, unstableGeneration );
+                if ( leftSiblingId != TreeNode.NO_NODE_FLAG )
+                {
+                    TreeNode.setLeftSibling( cursor, leftSiblingId, stableGeneration, unstableGeneration );
+                }
+                previousId = leftSiblingId;
+                currentId = newNodeId;
+                keyCount = 0;
+            }
+        }
+
+        /**
+         * Serializes access to the free-list, since partitions allocate pages concurrently, and keeps track of allocated ids.
+         */
+        private class LoaderIdProvider implements IdProvider
+        {
+            private final MutableLongSet acquiredIds = new LongHashSet();
+
+            @Override
+            public synchronized long acquireNewId( long stableGeneration, long unstableGeneration, CursorContext cursorContext ) throws IOException
+            {
+                long id = freeList.acquireNewId( stableGeneration, unstableGeneration, cursorContext );
+                acquiredIds.add( id );
+                return id;
+            }
+
+            @Override
+            public synchronized void releaseId( long stableGeneration, long unstableGeneration, long id, CursorContext cursorContext ) throws IOException
+            {
+                freeList.releaseId( stableGeneration, unstableGeneration, id, cursorContext );
+                acquiredIds.remove( id );
+            }
+
+            @Override
+            public synchronized void visitFreelist( IdProviderVisitor visitor, CursorContext cursorContext ) throws IOException
+            {
+                freeList.visitFreelist( visitor, cursorContext );
+            }
+
+            @Override
+            public synchronized long lastId()
+            {
+                return freeList.lastId();
+            }
+
+            synchronized void releaseAcquiredIds( long stableGeneration, long unstableGeneration, CursorContext cursorContext ) throws IOException
+            {
+                LongIterator ids = acquiredIds.longIterator();
+                while ( ids.hasNext() )
+                {
+                    freeList.releaseId( stableGeneration, unstableGeneration, ids.next(), cursorContext );
+                }
+                acquiredIds.clear();
+            }
+        }
+    }
+
+    private ReentrantLock leafLatch( long pageId )
+    {
+        return leafLatches[Long.hashCode( pageId ) & (leafLatches.length - 1)];
+    }
+
+    private static ReentrantLock[] newLeafLatches()
+    {
+        ReentrantLock[] latches = new ReentrantLock[LEAF_LATCH_STRIPES];
+        for ( int i = 0; i < latches.length; i++ )
+        {
+            latches[i] = new ReentrantLock();
+        }
+        return latches;
+    }
+
     /**
      * Total size limit for key and value.
      * This limit includes storage overhead that is specific to key implementation for example entity id or meta data about type.
@@ -22,6 +22,7 @@ package org.neo4j.index.internal.gbptree;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.LockSupport;
 
 import org.neo4j.util.VisibleForTesting;
@@ -30,6 +31,16 @@ class GBPTreeLock
 {
     private static final long writerLockBit = 0x00000000_00000001L;
     private static final long cleanerLockBit = 0x00000000_00000002L;
+    /**
+     * The remaining bits of the state count the number of shared writers currently holding the lock, see {@link #sharedWriterLock()}.
+     */
+    private static final long sharedWriterUnit = 0x00000000_00000004L;
+    private static final long sharedWriterMask = ~(writerLockBit | cleanerLockBit);
+    /**
+     * Number of threads waiting for one of the exclusive locks. New shared writers back off while this is non-zero
+     * so that a steady stream of shared writers cannot starve e.g. a checkpoint.
+     */
+    private final AtomicInteger exclusiveLockers = new AtomicInteger();
     @SuppressWarnings( "unused" ) // accessed via VarHandle
     private long state;
     private static final VarHandle STATE;
@@ -85,21 +96,70 @@ class GBPTreeLock
         doUnlock( writerLockBit | cleanerLockBit );
     }
 
-    private void doLock( long targetLockBit )
+    /**
+     * Shared writer lock, held by concurrent writers of a {@link GBPTree} for the duration of a single
+     * change that doesn't alter the structure of the tree. Any number of shared writers can hold this lock at the same time,
+     * but it is mutually exclusive with both the writer lock and the cleaner lock.
+     */
+    void sharedWriterLock()
     {
         long currentState;
-        long newState;
         do
         {
             currentState = (long) STATE.getVolatile( this );
-            while ( !canLock( currentState, targetLockBit ) )
+            while ( (currentState & (writerLockBit | cleanerLockBit)) != 0 || exclusiveLockers.get() > 0 )
             {
-                // sleep
                 sleep();
                 currentState = (long) STATE.getVolatile( this );
             }
-            newState = currentState | targetLockBit;
-        } while ( !STATE.weakCompareAndSet( this, currentState, newState ) );
+        } while ( !STATE.weakCompareAndSet( this, currentState, currentState + sharedWriterUnit ) );
+    }
+
+    void sharedWriterUnlock()
+    {
+        long currentState;
+        do
+        {
+            currentState = (long) STATE.getVolatile( this );
+            if ( (currentState & sharedWriterMask) == 0 )
+            {
+                throw new IllegalStateException( "Can not unlock shared writer lock that isn't locked" );
+            }
+        }
+        while ( !STATE.weakCompareAndSet( this, currentState, currentState - sharedWriterUnit ) );
+    }
+
+    private void doLock( long targetLockBit )
+    {
+        exclusiveLockers.incrementAndGet();
+        try
+        {
+            long currentState;
+            long newState;
+            do
+            {
+                currentState = (long) STATE.getVolatile( this );
+                while ( !canLock( currentState, targetLockBit ) )
+                {
+                    if ( (currentState & targetLockBit) == 0 )
+                    {
+                        // Only waiting for shared writers, which only hold the lock for a single change
+                        Thread.onSpinWait();
+                    }
+                    else
+                    {
+                        // sleep
+                        sleep();
+                    }
+                    currentState = (long) STATE.getVolatile( this );
+                }
+                newState = currentState | targetLockBit;
+            } while ( !STATE.weakCompareAndSet( this, currentState, newState ) );
+        }
+        finally
+        {
+            exclusiveLockers.decrementAndGet();
+        }
     }
 
     private void doUnlock( long targetLockBit )
@@ -120,7 +180,7 @@ class GBPTreeLock
 
     private static boolean canLock( long state, long targetLockBit )
     {
-        return (state & targetLockBit) == 0;
+        return (state & targetLockBit) == 0 && (state & sharedWriterMask) == 0;
     }
 
     private static boolean canUnlock( long state, long targetLockBit )
@@ -140,5 +200,6 @@ class GBPTreeLock
     void forceUnlock()
     {
         STATE.setVolatile( this, 0 );
+        exclusiveLockers.set( 0 );
     }
 }
@@ -25,7 +25,7 @@ import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.context.CursorContext;
 
 /**
- * Methods for (binary-)searching keys in a tree node.
+ * Methods for (binary- or interpolation-)searching keys in a tree node.
  */
 class KeySearch
 {
@@ -49,7 +49,7 @@ class KeySearch
      * On seek in internal, child at pos should be followed from internal node.
      * On seek in leaf, value at pos is correct if keyAtPos is equal to key.
      * <p>
-     * Implemented as binary search.
+     * Implemented as binary search, preceded by interpolation search if {@link TreeNode#interpolationSearch()}.
      * <p>
      * Leaves cursor on same page as when called. No guarantees on offset.
      *
@@ -80,10 +80,14 @@ class KeySearch
 
         // Compare key with lower and higher and sort out special cases
         Comparator<KEY> comparator = bTreeNode.keyComparator();
+        Layout<KEY,VALUE> layout = bTreeNode.layout;
+        boolean interpolate = bTreeNode.interpolationSearch();
         int comparison;
 
         // key greater than greatest key in node
-        if ( comparator.compare( key, bTreeNode.keyAt( cursor, readKey, higher, type, cursorContext ) ) > 0 )
+        KEY higherKey = bTreeNode.keyAt( cursor, readKey, higher, type, cursorContext );
+        long higherValue = interpolate ? layout.interpolationValue( higherKey ) : 0;
+        if ( comparator.compare( key, higherKey ) > 0 )
         {
             pos = keyCount;
         }
@@ -98,6 +102,59 @@ class KeySearch
         }
         else
         {
+            if ( interpolate )
+            {
+                // Start interpolation search, same invariants as the binary search below, but guess pos from where key
+                // falls between the interpolation values of the keys around the searched range. Key at lower is known to be smaller than key.
+                long lowerValue = layout.interpolationValue( readKey );
+                long keyValue = layout.interpolationValue( key );
+                lower++;
+                while ( interpolate && lower < higher )
+                {
+                    int range = higher - lower;
+                    pos = interpolatedPosition( lower, higher, lowerValue, higherValue, keyValue );
+                    comparison = comparator.compare( key, bTreeNode.keyAt( cursor, readKey, pos, type, cursorContext ) );
+                    if ( comparison <= 0 )
+                    {
+                        higher = pos;
+                        higherValue = layout.interpolationValue( readKey );
+                        // A good guess is either spot on or just past the searched position, so check the key before it too
+                        if ( pos > lower )
+                        {
+                            if ( comparator.compare( key, bTreeNode.keyAt( cursor, readKey, pos - 1, type, cursorContext ) ) > 0 )
+                            {
+                                lower = pos;
+                            }
+                            else
+                            {
+                                higher = pos - 1;
+                                higherValue = layout.interpolationValue( readKey );
+                            }
+                        }
+                    }
+                    else
+                    {
+                        lower = pos + 1;
+                        lowerValue = layout.interpolationValue( readKey );
+                        // A good guess is just before the searched position, so check the key after it too
+                        if ( lower < higher )
+                        {
+                            if ( comparator.compare( key, bTreeNode.keyAt( cursor, readKey, lower, type, cursorContext ) ) <= 0 )
+                            {
+                                higher = lower;
+                            }
+                            else
+                            {
+                                lowerValue = layout.interpolationValue( readKey );
+                                lower++;
+                            }
+                        }
+                    }
+                    // Keys in this node are too unevenly spread for guessing to pay off, fall back to binary search for the rest
+                    interpolate = higher - lower <= range / 2;
+                }
+            }
+
             // Start binary search
             // If key <= keyAtPos -> move higher to pos
             // If key > keyAtPos -> move lower to pos+1
@@ -126,6 +183,23 @@ class KeySearch
         return searchResult( pos, hit );
     }
 
+    /**
+     * Guesses the left most pos in [lower, higher] such that key <= keyAtPos, assuming that the interpolation values of the keys
+     * in the node are evenly spread between the values of the key just before lower and the key at higher.
+     */
+    private static int interpolatedPosition( int lower, int higher, long lowerValue, long higherValue, long keyValue )
+    {
+        long valueRange = higherValue - lowerValue;
+        if ( valueRange <= 0 )
+        {
+            // Either all keys around the range map to the same value, or the values are too far apart to subtract
+            return (lower + higher) / 2;
+        }
+        double fraction = (double) (keyValue - lowerValue) / valueRange;
+        long pos = lower - 1 + (long) Math.ceil( fraction * (higher - lower + 1) );
+        return (int) Math.max( lower, Math.min( higher, pos ) );
+    }
+
     private static int searchResult( int pos, boolean hit )
     {
         return (pos & POSITION_MASK) | (hit ? HIT_FLAG : NO_HIT_FLAG);
@@ -110,6 +110,34 @@ public interface Layout<KEY, VALUE> extends Comparator<KEY>
      */
     boolean fixedSize();
 
+    /**
+     * Indicate if positions of keys in nodes of a {@link #fixedSize() fixed size} tree can be guessed by interpolating between
+     * the {@link #interpolationValue(Object) interpolation values} of other keys in the same node, instead of only halving the
+     * searched range. Worthwhile for numeric keys that are spread fairly evenly over their nodes, e.g. ids or id ranges.
+     * Search falls back to plain binary search in nodes where guessing doesn't pay off, so skewed keys cost a couple of extra comparisons.
+     * Has no effect for dynamic size layouts.
+     * @return true if key search should interpolate using {@link #interpolationValue(Object)}, otherwise false.
+     */
+    default boolean interpolationSearch()
+    {
+        return false;
+    }
+
+    /**
+     * Maps a key to a number used for guessing its position in a node, see {@link #interpolationSearch()}.
+     * Must be non-decreasing in the order of keys, i.e. {@code compare( a, b ) < 0} must imply
+     * {@code interpolationValue( a ) <= interpolationValue( b )}, for all keys including the lowest and highest ones,
+     * e.g. by clamping parts of keys that don't fit into the returned long instead of masking them.
+     * It's only used as a hint, the actual key order is always decided by {@link #compare(Object, Object)},
+     * so keys not spreading well only cost extra comparisons.
+     * @param key key to map.
+     * @return the interpolation value of the key.
+     */
+    default long interpolationValue( KEY key )
+    {
+        throw new UnsupportedOperationException( "Layout does not support interpolation search" );
+    }
+
     /**
      * Find shortest key (best effort) that separate left from right in sort order
      * and initialize into with result.
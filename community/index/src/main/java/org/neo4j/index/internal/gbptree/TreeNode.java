@@ -329,6 +329,14 @@ abstract class TreeNode<KEY,VALUE>
         return layout;
     }
 
+    /**
+     * @return whether or not {@link KeySearch} should guess key positions in this node using {@link Layout#interpolationValue(Object)}.
+     */
+    boolean interpolationSearch()
+    {
+        return false;
+    }
+
     static void goTo( PageCursor cursor, String messageOnError, long nodeId )
             throws IOException
     {
@@ -349,6 +357,22 @@ abstract class TreeNode<KEY,VALUE>
      */
     abstract Overflow leafOverflow( PageCursor cursor, int currentKeyCount, KEY newKey, VALUE newValue );
 
+    /**
+     * Will internal stay within the given fill factor if appending new key after its current keys?
+     * Used when bulk loading, where nodes are filled up to a fraction of their capacity instead of being split.
+     * An internal node with less than two keys is always considered to have room for another key.
+     * @return true if new key can be appended, else false.
+     */
+    abstract boolean internalFitsWithinFill( PageCursor cursor, int currentKeyCount, KEY newKey, double fillFactor );
+
+    /**
+     * Will leaf stay within the given fill factor if appending new key and value after its current keys?
+     * Used when bulk loading, where nodes are filled up to a fraction of their capacity instead of being split.
+     * An empty leaf is always considered to have room for another key and value.
+     * @return true if new key and value can be appended, else false.
+     */
+    abstract boolean leafFitsWithinFill( PageCursor cursor, int currentKeyCount, KEY newKey, VALUE newValue, double fillFactor );
+
     /**
      * Clean page with leaf node from garbage to make room for further insert without having to split.
      */
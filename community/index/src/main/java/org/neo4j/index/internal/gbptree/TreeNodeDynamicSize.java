@@ -667,6 +667,32 @@ public class TreeNodeDynamicSize<KEY, VALUE> extends TreeNode<KEY,VALUE>
                neededSpace <= allocSpace + deadSpace ? Overflow.NO_NEED_DEFRAG : Overflow.YES;
     }
 
+    @Override
+    boolean internalFitsWithinFill( PageCursor cursor, int currentKeyCount, KEY newKey, double fillFactor )
+    {
+        if ( internalOverflow( cursor, currentKeyCount, newKey ) != Overflow.NO )
+        {
+            return false;
+        }
+        int usedSpace = totalActiveSpace( cursor, currentKeyCount, INTERNAL ) + totalSpaceOfKeyChild( newKey );
+        return currentKeyCount < 2 || usedSpace <= totalSpace * fillFactor;
+    }
+
+    @Override
+    boolean leafFitsWithinFill( PageCursor cursor, int currentKeyCount, KEY newKey, VALUE newValue, double fillFactor )
+    {
+        if ( currentKeyCount == 0 )
+        {
+            return true;
+        }
+        if ( leafOverflow( cursor, currentKeyCount, newKey, newValue ) != Overflow.NO )
+        {
+            return false;
+        }
+        int usedSpace = totalActiveSpace( cursor, currentKeyCount, LEAF ) + totalSpaceOfKeyValue( newKey, newValue );
+        return usedSpace <= totalSpace * fillFactor;
+    }
+
     @Override
     void defragmentLeaf( PageCursor cursor )
     {
@@ -76,6 +76,7 @@ class TreeNodeFixedSize<KEY,VALUE> extends TreeNode<KEY,VALUE>
     private final int keySize;
     private final int valueSize;
     private final int maxKeyCount;
+    private final boolean interpolationSearch;
 
     TreeNodeFixedSize( int pageSize, Layout<KEY,VALUE> layout )
     {
@@ -86,6 +87,7 @@ class TreeNodeFixedSize<KEY,VALUE> extends TreeNode<KEY,VALUE>
                 keySize + SIZE_PAGE_REFERENCE);
         this.leafMaxKeyCount = Math.floorDiv( pageSize - BASE_HEADER_LENGTH, keySize + valueSize );
         this.maxKeyCount = Math.max( internalMaxKeyCount, leafMaxKeyCount );
+        this.interpolationSearch = layout.interpolationSearch();
 
         if ( internalMaxKeyCount < 2 )
         {
@@ -229,6 +231,12 @@ class TreeNodeFixedSize<KEY,VALUE> extends TreeNode<KEY,VALUE>
         return childCount >= 0 && childCount <= internalMaxKeyCount();
     }
 
+    @Override
+    boolean interpolationSearch()
+    {
+        return interpolationSearch;
+    }
+
     @Override
     int childOffset( int pos )
     {
@@ -337,6 +345,18 @@ class TreeNodeFixedSize<KEY,VALUE> extends TreeNode<KEY,VALUE>
         return currentKeyCount + 1 > leafMaxKeyCount() ? Overflow.YES : Overflow.NO;
     }
 
+    @Override
+    boolean internalFitsWithinFill( PageCursor cursor, int currentKeyCount, KEY newKey, double fillFactor )
+    {
+        return currentKeyCount < 2 || currentKeyCount + 1 <= (int) (internalMaxKeyCount() * fillFactor);
+    }
+
+    @Override
+    boolean leafFitsWithinFill( PageCursor cursor, int currentKeyCount, KEY newKey, VALUE newValue, double fillFactor )
+    {
+        return currentKeyCount == 0 || currentKeyCount + 1 <= (int) (leafMaxKeyCount() * fillFactor);
+    }
+
     @Override
     void defragmentLeaf( PageCursor cursor )
     {   // no-op
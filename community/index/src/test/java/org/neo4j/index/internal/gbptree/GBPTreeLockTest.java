@@ -32,6 +32,7 @@ import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.actors.Actor;
 import org.neo4j.test.extension.actors.ActorsExtension;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -163,6 +164,57 @@ class GBPTreeLockTest
         assertOnlyOneSucceeds( lock::writerAndCleanerLock, lock::writerAndCleanerLock );
     }
 
+    @Test
+    void test_race_sharedWriterVsSharedWriter() throws Throwable
+    {
+        assertBothSucceeds( lock::sharedWriterLock, lock::sharedWriterLock );
+        lock.sharedWriterUnlock();
+        lock.sharedWriterUnlock();
+        assertUU();
+    }
+
+    @Test
+    void sharedWriterShouldBlockOnWriterAndCleaner() throws Exception
+    {
+        lock.writerLock();
+        copy = lock.copy();
+        assertBlock( copy::sharedWriterLock, copy::writerUnlock, "sharedWriterLock" );
+        copy.sharedWriterUnlock();
+        lock.writerUnlock();
+
+        lock.cleanerLock();
+        copy = lock.copy();
+        assertBlock( copy::sharedWriterLock, copy::cleanerUnlock, "sharedWriterLock" );
+        copy.sharedWriterUnlock();
+        lock.cleanerUnlock();
+        assertUU();
+    }
+
+    @Test
+    void writerShouldWaitForSharedWriters() throws Exception
+    {
+        // given
+        lock.sharedWriterLock();
+        lock.sharedWriterLock();
+
+        // when
+        Future<Object> writer = executor.submit( () ->
+        {
+            lock.writerLock();
+            return null;
+        } );
+
+        // then
+        lock.sharedWriterUnlock();
+        LockSupport.parkNanos( TimeUnit.MILLISECONDS.toNanos( 100 ) );
+        assertFalse( writer.isDone() );
+        lock.sharedWriterUnlock();
+        writer.get();
+        assertThrows( IllegalStateException.class, lock::sharedWriterUnlock );
+        lock.writerUnlock();
+        assertUU();
+    }
+
     private void assertOnlyOneSucceeds( Runnable lockAction1, Runnable lockAction2 )
     {
         assertUU();
@@ -261,11 +313,24 @@ class GBPTreeLockTest
         future.get();
     }
 
+    private void assertBlock( Runnable runLock, Runnable runUnlock, String lockMethod ) throws Exception
+    {
+        Future<Object> future = executor.submit( () ->
+        {
+            runLock.run();
+            return null;
+        } );
+        executor.untilWaitingIn( GBPTreeLock.class.getDeclaredMethod( lockMethod ) );
+        runUnlock.run();
+        future.get();
+    }
+
     private void assertUU()
     {
         assertThrows( IllegalStateException.class, lock::writerUnlock );
         assertThrows( IllegalStateException.class, lock::cleanerUnlock );
         assertThrows( IllegalStateException.class, lock::writerAndCleanerUnlock );
+        assertThrows( IllegalStateException.class, lock::sharedWriterUnlock );
     }
 
     private void assertUL() throws Exception
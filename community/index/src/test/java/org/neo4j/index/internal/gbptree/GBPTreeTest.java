@@ -106,6 +106,8 @@ import static org.eclipse.collections.impl.factory.Sets.immutable;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
 import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.readOnly;
@@ -811,6 +813,214 @@ class GBPTreeTest
         }
     }
 
+    @Test
+    void concurrentWritersShouldApplyChangesInParallelWithCheckpoints() throws Exception
+    {
+        try ( PageCache pageCache = createPageCache( defaultPageSize );
+                GBPTree<MutableLong,MutableLong> index = index( pageCache ).build() )
+        {
+            // GIVEN
+            int threads = 4;
+            int keysPerThread = 5_000;
+            AtomicBoolean done = new AtomicBoolean();
+            List<Future<?>> writers = new ArrayList<>();
+            for ( int t = 0; t < threads; t++ )
+            {
+                int thread = t;
+                writers.add( executor.submit( throwing( () ->
+                {
+                    try ( Writer<MutableLong,MutableLong> writer = index.concurrentWriter( NULL ) )
+                    {
+                        for ( long i = 0; i < keysPerThread; i++ )
+                        {
+                            long key = i * threads + thread;
+                            writer.put( new MutableLong( key ), new MutableLong( key ) );
+                            if ( key % 3 == 0 )
+                            {
+                                writer.put( new MutableLong( key ), new MutableLong( key * 10 ) );
+                            }
+                            if ( key % 7 == 0 )
+                            {
+                                writer.remove( new MutableLong( key ) );
+                            }
+                        }
+                    }
+                } ) ) );
+            }
+
+            // WHEN
+            Future<?> checkpoints = executor.submit( throwing( () ->
+            {
+                while ( !done.get() )
+                {
+                    index.checkpoint( NULL );
+                }
+            } ) );
+            for ( Future<?> writer : writers )
+            {
+                writer.get();
+            }
+            done.set( true );
+            checkpoints.get();
+
+            // THEN
+            long expectedKey = 0;
+            try ( Seeker<MutableLong,MutableLong> seek = index.seek( new MutableLong( 0 ), new MutableLong( Long.MAX_VALUE ), NULL ) )
+            {
+                while ( seek.next() )
+                {
+                    while ( expectedKey % 7 == 0 )
+                    {
+                        expectedKey++;
+                    }
+                    assertEquals( expectedKey, seek.key().longValue() );
+                    assertEquals( expectedKey % 3 == 0 ? expectedKey * 10 : expectedKey, seek.value().longValue() );
+                    expectedKey++;
+                }
+            }
+            while ( expectedKey % 7 == 0 )
+            {
+                expectedKey++;
+            }
+            assertEquals( (long) threads * keysPerThread, expectedKey );
+            assertTrue( index.consistencyCheck( false, NULL ) );
+        }
+    }
+
+    @Test
+    void shouldReuseClosedConcurrentWriters() throws Exception
+    {
+        try ( PageCache pageCache = createPageCache( defaultPageSize );
+                GBPTree<MutableLong,MutableLong> index = index( pageCache ).build() )
+        {
+            // GIVEN
+            Writer<MutableLong,MutableLong> first = index.concurrentWriter( NULL );
+            Writer<MutableLong,MutableLong> second = index.concurrentWriter( NULL );
+            assertNotSame( first, second );
+            first.put( new MutableLong( 1 ), new MutableLong( 1 ) );
+            first.close();
+
+            // WHEN
+            try ( Writer<MutableLong,MutableLong> reused = index.concurrentWriter( NULL ) )
+            {
+                // THEN
+                assertSame( first, reused );
+                reused.put( new MutableLong( 2 ), new MutableLong( 2 ) );
+            }
+            second.close();
+            try ( Seeker<MutableLong,MutableLong> seek = index.seek( new MutableLong( 0 ), new MutableLong( Long.MAX_VALUE ), NULL ) )
+            {
+                assertTrue( seek.next() );
+                assertEquals( 1, seek.key().longValue() );
+                assertTrue( seek.next() );
+                assertEquals( 2, seek.key().longValue() );
+                assertFalse( seek.next() );
+            }
+        }
+    }
+
+    @Test
+    void bulkLoaderShouldBuildTreeFromPartitionsLoadedInParallel() throws Exception
+    {
+        try ( PageCache pageCache = createPageCache( defaultPageSize );
+                GBPTree<MutableLong,MutableLong> index = index( pageCache ).build() )
+        {
+            // GIVEN
+            int partitions = 4;
+            int keysPerPartition = 20_000;
+
+            // WHEN
+            try ( BulkLoader<MutableLong,MutableLong> bulkLoader = index.bulkLoader( partitions, 0.8, NULL ) )
+            {
+                List<Future<?>> appenders = new ArrayList<>();
+                for ( int p = 0; p < partitions; p++ )
+                {
+                    int partition = p;
+                    appenders.add( executor.submit( throwing( () ->
+                    {
+                        try ( BulkLoader.Appender<MutableLong,MutableLong> appender = bulkLoader.appender( partition, NULL ) )
+                        {
+                            for ( long i = 0; i < keysPerPartition; i++ )
+                            {
+                                long key = (partition * keysPerPartition + i) * 2;
+                                appender.add( new MutableLong( key ), new MutableLong( key * 10 ) );
+                            }
+                        }
+                    } ) ) );
+                }
+                for ( Future<?> appender : appenders )
+                {
+                    appender.get();
+                }
+                bulkLoader.finish( NULL );
+            }
+            try ( Writer<MutableLong,MutableLong> writer = index.writer( NULL ) )
+            {
+                writer.put( new MutableLong( 1 ), new MutableLong( 10 ) );
+            }
+
+            // THEN
+            long expectedKey = 0;
+            try ( Seeker<MutableLong,MutableLong> seek = index.seek( new MutableLong( 0 ), new MutableLong( Long.MAX_VALUE ), NULL ) )
+            {
+                while ( seek.next() )
+                {
+                    assertEquals( expectedKey, seek.key().longValue() );
+                    assertEquals( expectedKey * 10, seek.value().longValue() );
+                    expectedKey = expectedKey == 0 ? 1 : expectedKey == 1 ? 2 : expectedKey + 2;
+                }
+            }
+            assertEquals( (long) partitions * keysPerPartition * 2, expectedKey );
+            assertTrue( index.consistencyCheck( false, NULL ) );
+        }
+    }
+
+    @Test
+    void bulkLoaderShouldLeaveTreeEmptyIfClosedWithoutFinishing() throws Exception
+    {
+        try ( PageCache pageCache = createPageCache( defaultPageSize );
+                GBPTree<MutableLong,MutableLong> index = index( pageCache ).build() )
+        {
+            // WHEN
+            try ( BulkLoader<MutableLong,MutableLong> bulkLoader = index.bulkLoader( 1, NULL );
+                    BulkLoader.Appender<MutableLong,MutableLong> appender = bulkLoader.appender( 0, NULL ) )
+            {
+                for ( long key = 0; key < 10_000; key++ )
+                {
+                    appender.add( new MutableLong( key ), new MutableLong( key ) );
+                }
+            }
+
+            // THEN
+            try ( Seeker<MutableLong,MutableLong> seek = index.seek( new MutableLong( 0 ), new MutableLong( Long.MAX_VALUE ), NULL ) )
+            {
+                assertFalse( seek.next() );
+            }
+            assertTrue( index.consistencyCheck( false, NULL ) );
+        }
+    }
+
+    @Test
+    void bulkLoaderShouldRequireEmptyTreeAndAscendingKeys() throws Exception
+    {
+        try ( PageCache pageCache = createPageCache( defaultPageSize );
+                GBPTree<MutableLong,MutableLong> index = index( pageCache ).build() )
+        {
+            try ( BulkLoader<MutableLong,MutableLong> bulkLoader = index.bulkLoader( 1, NULL );
+                    BulkLoader.Appender<MutableLong,MutableLong> appender = bulkLoader.appender( 0, NULL ) )
+            {
+                appender.add( new MutableLong( 5 ), new MutableLong( 5 ) );
+                assertThatThrownBy( () -> appender.add( new MutableLong( 5 ), new MutableLong( 5 ) ) ).isInstanceOf( IllegalArgumentException.class );
+            }
+
+            try ( Writer<MutableLong,MutableLong> writer = index.writer( NULL ) )
+            {
+                writer.put( new MutableLong( 1 ), new MutableLong( 1 ) );
+            }
+            assertThatThrownBy( () -> index.bulkLoader( 1, NULL ) ).isInstanceOf( IllegalStateException.class );
+        }
+    }
+
     @Test
     void checkPointShouldWaitForWriter() throws IOException, ExecutionException, InterruptedException
     {
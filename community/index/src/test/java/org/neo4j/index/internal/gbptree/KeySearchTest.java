@@ -19,19 +19,23 @@
  */
 package org.neo4j.index.internal.gbptree;
 
+import org.apache.commons.lang3.mutable.MutableInt;
 import org.apache.commons.lang3.mutable.MutableLong;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.LongUnaryOperator;
 
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.RandomExtension;
 import org.neo4j.test.RandomSupport;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.index.internal.gbptree.GBPTreeTestUtil.contains;
@@ -515,8 +519,148 @@ class KeySearchTest
         }
     }
 
+    @Test
+    void shouldInterpolationSearchEvenlySpreadKeys() throws IOException
+    {
+        long first = random.nextLong( 1_000_000 );
+        shouldInterpolationSearch( i -> first + i );
+        shouldInterpolationSearch( i -> first + i * 64 );
+    }
+
+    @Test
+    void shouldInterpolationSearchRandomlySpreadKeys() throws IOException
+    {
+        MutableLong current = new MutableLong( random.nextLong( 1_000_000 ) );
+        shouldInterpolationSearch( i -> current.addAndGet( 1 + random.nextInt( 1_000 ) ) );
+    }
+
+    @Test
+    void shouldInterpolationSearchSkewedKeys() throws IOException
+    {
+        // Exponentially growing keys make guesses land far off, where search should fall back to binary search
+        shouldInterpolationSearch( i -> (long) Math.pow( 1.05, i ) + i );
+        // Runs of duplicates
+        shouldInterpolationSearch( i -> i / 50 );
+        // Keys spanning more than can be subtracted
+        shouldInterpolationSearch( i -> i == 0 ? Long.MIN_VALUE : i == 1 ? -1 : Long.MAX_VALUE - 1_000 + i );
+    }
+
+    @Test
+    void shouldInterpolationSearchEvenlySpreadKeysWithFewerComparisons() throws IOException
+    {
+        LongUnaryOperator evenlySpread = i -> 1_000 + i * 64;
+
+        // Two comparisons against the keys at the ends of the node, ~9 halvings of ~500 keys and one for the hit
+        assertThat( maxComparisons( evenlySpread, false ) ).isGreaterThanOrEqualTo( 11 );
+        // Two comparisons against the keys at the ends of the node, a guess and its neighbour, and one for the hit
+        assertThat( maxComparisons( evenlySpread, true ) ).isLessThanOrEqualTo( 5 );
+    }
+
+    @Test
+    void shouldFallBackToBinarySearchWhenInterpolationDoesNotPayOff() throws IOException
+    {
+        LongUnaryOperator skewed = i -> (long) Math.pow( 1.05, i ) + i;
+        LongUnaryOperator duplicates = i -> i / 50;
+
+        // Only the guesses made before finding out that the keys are too unevenly spread come on top of binary search
+        assertThat( maxComparisons( skewed, true ) ).isLessThanOrEqualTo( maxComparisons( skewed, false ) + 6 );
+        assertThat( maxComparisons( duplicates, true ) ).isLessThanOrEqualTo( maxComparisons( duplicates, false ) + 6 );
+    }
+
     /* Helper */
 
+    private void shouldInterpolationSearch( LongUnaryOperator keyAtPosition ) throws IOException
+    {
+        // given a leaf of an interpolation searching layout filled with the given keys
+        int pageSize = 8192;
+        PageCursor leafCursor = wrap( new byte[pageSize], 0, pageSize );
+        Layout<MutableLong,MutableLong> interpolationLayout = longLayout().withInterpolationSearch( true ).build();
+        TreeNode<MutableLong,MutableLong> interpolationNode = new TreeNodeFixedSize<>( pageSize, interpolationLayout );
+        assertTrue( interpolationNode.interpolationSearch() );
+        List<Long> keys = fillLeaf( leafCursor, interpolationNode, keyAtPosition );
+        int keyCount = keys.size();
+        MutableLong key = interpolationLayout.newKey();
+
+        // when searching for every key and its neighbours
+        for ( long existing : keys )
+        {
+            for ( long delta = -1; delta <= 1; delta++ )
+            {
+                long searched = existing + delta;
+                key.setValue( searched );
+                int result = search( leafCursor, interpolationNode, LEAF, key, readKey, keyCount, NULL );
+
+                // then the result should be that of a plain scan for the left most key >= searched key
+                int expectedPosition = 0;
+                while ( expectedPosition < keyCount && keys.get( expectedPosition ) < searched )
+                {
+                    expectedPosition++;
+                }
+                boolean expectedHit = expectedPosition < keyCount && keys.get( expectedPosition ) == searched;
+                assertTrue( KeySearch.isSuccess( result ) );
+                assertSearchResult( expectedHit, expectedPosition, result );
+            }
+        }
+    }
+
+    /**
+     * @return the highest number of comparisons made when searching for any of the keys of a leaf filled with the given keys.
+     */
+    private int maxComparisons( LongUnaryOperator keyAtPosition, boolean interpolationSearch ) throws IOException
+    {
+        int pageSize = 8192;
+        PageCursor leafCursor = wrap( new byte[pageSize], 0, pageSize );
+        Layout<MutableLong,MutableLong> searchLayout = longLayout().withInterpolationSearch( interpolationSearch ).build();
+        MutableInt comparisons = new MutableInt();
+        TreeNode<MutableLong,MutableLong> countingNode = new TreeNodeFixedSize<>( pageSize, searchLayout )
+        {
+            @Override
+            Comparator<MutableLong> keyComparator()
+            {
+                return ( o1, o2 ) ->
+                {
+                    comparisons.increment();
+                    return searchLayout.compare( o1, o2 );
+                };
+            }
+        };
+        List<Long> keys = fillLeaf( leafCursor, countingNode, keyAtPosition );
+
+        MutableLong key = searchLayout.newKey();
+        int maxComparisons = 0;
+        for ( long existing : keys )
+        {
+            key.setValue( existing );
+            comparisons.setValue( 0 );
+            int result = search( leafCursor, countingNode, LEAF, key, readKey, keys.size(), NULL );
+            assertTrue( KeySearch.isHit( result ) );
+            maxComparisons = Math.max( maxComparisons, comparisons.intValue() );
+        }
+        return maxComparisons;
+    }
+
+    private List<Long> fillLeaf( PageCursor leafCursor, TreeNode<MutableLong,MutableLong> leafNode, LongUnaryOperator keyAtPosition )
+            throws IOException
+    {
+        leafNode.initializeLeaf( leafCursor, STABLE_GENERATION, UNSTABLE_GENERATION );
+        List<Long> keys = new ArrayList<>();
+        MutableLong key = new MutableLong();
+        int keyCount = 0;
+        while ( true )
+        {
+            key.setValue( keyAtPosition.applyAsLong( keyCount ) );
+            if ( leafNode.leafOverflow( leafCursor, keyCount, key, dummyValue ) != NO )
+            {
+                break;
+            }
+            leafNode.insertKeyValueAt( leafCursor, key, dummyValue, keyCount, keyCount, STABLE_GENERATION, UNSTABLE_GENERATION, NULL );
+            keys.add( key.longValue() );
+            keyCount++;
+        }
+        TreeNode.setKeyCount( leafCursor, keyCount );
+        return keys;
+    }
+
     private int searchKey( long key )
     {
         int keyCount = TreeNode.keyCount( cursor );
@@ -26,6 +26,7 @@ import org.neo4j.io.pagecache.PageCursor;
 public class SimpleLongLayout extends TestLayout<MutableLong,MutableLong>
 {
     private final int keyPadding;
+    private final boolean interpolationSearch;
 
     public static class Builder
     {
@@ -34,6 +35,7 @@ public class SimpleLongLayout extends TestLayout<MutableLong,MutableLong>
         private int majorVersion;
         private int minorVersion;
         private boolean fixedSize = true;
+        private boolean interpolationSearch;
 
         public Builder withKeyPadding( int keyPadding )
         {
@@ -65,9 +67,15 @@ public class SimpleLongLayout extends TestLayout<MutableLong,MutableLong>
             return this;
         }
 
+        public Builder withInterpolationSearch( boolean interpolationSearch )
+        {
+            this.interpolationSearch = interpolationSearch;
+            return this;
+        }
+
         public SimpleLongLayout build()
         {
-            return new SimpleLongLayout( keyPadding, fixedSize, identifier, majorVersion, minorVersion );
+            return new SimpleLongLayout( keyPadding, fixedSize, interpolationSearch, identifier, majorVersion, minorVersion );
         }
     }
 
@@ -76,10 +84,23 @@ public class SimpleLongLayout extends TestLayout<MutableLong,MutableLong>
         return new Builder();
     }
 
-    private SimpleLongLayout( int keyPadding, boolean fixedSize, int identifier, int majorVersion, int minorVersion )
+    private SimpleLongLayout( int keyPadding, boolean fixedSize, boolean interpolationSearch, int identifier, int majorVersion, int minorVersion )
     {
         super( fixedSize, identifier, majorVersion, minorVersion );
         this.keyPadding = keyPadding;
+        this.interpolationSearch = interpolationSearch;
+    }
+
+    @Override
+    public boolean interpolationSearch()
+    {
+        return interpolationSearch;
+    }
+
+    @Override
+    public long interpolationValue( MutableLong key )
+    {
+        return key.longValue();
     }
 
     @Override
@@ -140,6 +140,22 @@ public interface PagedFile extends AutoCloseable
      */
     PageCursor io( long pageId, int pf_flags, CursorContext context ) throws IOException;
 
+    /**
+     * Hint that the given pages are about to be read, so that they can be faulted in, if they are not already in memory, without the
+     * reader waiting for one page fault at a time. Implementations may fault the pages in asynchronously and return right away, so there
+     * is no guarantee that the pages are in memory when this method returns, nor that they stay there until they are read.
+     * Sorting the pages in ascending order gives the most sequential IO. Page ids beyond the end of the file are ignored.
+     * The default implementation does nothing.
+     *
+     * @param pageIds ids of the pages to fault in. The array is not referenced after this method returns.
+     * @param length the number of page ids to use, from the start of the {@code pageIds} array.
+     * @param context underlying page cursor context
+     * @throws IOException if there was an error accessing the underlying file.
+     */
+    default void prefetch( long[] pageIds, int length, CursorContext context ) throws IOException
+    {
+    }
+
     /**
      * Get the size of the file-pages, in bytes.
      */
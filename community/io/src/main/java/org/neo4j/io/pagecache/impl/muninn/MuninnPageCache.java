@@ -43,9 +43,11 @@ import org.neo4j.io.mem.MemoryAllocator;
 import org.neo4j.io.pagecache.IOController;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.PageCacheOpenOptions;
+import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.PageSwapperFactory;
 import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.io.pagecache.buffer.IOBufferFactory;
+import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.tracing.EvictionRunEvent;
 import org.neo4j.io.pagecache.tracing.MajorFlushEvent;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
@@ -62,6 +64,7 @@ import org.neo4j.util.VisibleForTesting;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static org.neo4j.internal.helpers.Numbers.isPowerOfTwo;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
 import static org.neo4j.io.pagecache.buffer.IOBufferFactory.DISABLED_BUFFER_FACTORY;
 import static org.neo4j.scheduler.Group.FILE_IO_HELPER;
 import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
@@ -160,6 +163,10 @@ public class MuninnPageCache implements PageCache
     // Used when trying to figure out number of available pages in a page cache. Could be returned from tryGetNumberOfAvailablePages.
     private static final int UNKNOWN_PAGES_TO_EVICT = -1;
 
+    // The number of pre-fetcher jobs that the pages given to PagedFile.prefetch are split over, at most.
+    private static final int PRE_FETCH_PAGES_JOBS = getInteger( MuninnPageCache.class, "preFetchPagesJobs", 4 );
+    private static final String TRACER_PRE_FETCH_PAGES_TAG = "Page pre-fetcher";
+
     private final int pageCacheId;
     private final PageSwapperFactory swapperFactory;
     private final int cachePageSize;
@@ -1209,6 +1216,43 @@ public class MuninnPageCache implements PageCache
         cursor.preFetcher = scheduler.schedule( Group.PAGE_CACHE_PRE_FETCHER, monitoringParams, preFetcher );
     }
 
+    /**
+     * Faults in the given pages of the given file on up to {@link #PRE_FETCH_PAGES_JOBS} pre-fetcher jobs, each taking a consecutive
+     * part of the pages in the order they are given.
+     */
+    void startPreFetching( MuninnPagedFile pagedFile, long[] pageIds, int length )
+    {
+        var fileName = pagedFile.swapper.path().getFileName();
+        var monitoringParams = systemJob( pagedFile.databaseName, "Pre-fetching of pages of file '" + fileName + "'" );
+        int jobs = Math.min( PRE_FETCH_PAGES_JOBS, length );
+        for ( int job = 0; job < jobs; job++ )
+        {
+            int from = length * job / jobs;
+            int to = length * (job + 1) / jobs;
+            scheduler.schedule( Group.PAGE_CACHE_PRE_FETCHER, monitoringParams, () -> preFetchPages( pagedFile, pageIds, from, to ) );
+        }
+    }
+
+    private void preFetchPages( MuninnPagedFile pagedFile, long[] pageIds, int from, int to )
+    {
+        try ( var cursorTracer = pageCacheTracer.createPageCursorTracer( TRACER_PRE_FETCH_PAGES_TAG );
+                PageCursor cursor = pagedFile.io( pageIds[from], PF_SHARED_READ_LOCK, new CursorContext( cursorTracer ) ) )
+        {
+            for ( int i = from; i < to; i++ )
+            {
+                if ( !cursor.next( pageIds[i] ) )
+                {
+                    return;
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            // Pre-fetching is only a hint. The file may have been unmapped in the meantime, anything else is reported to the cursor
+            // that reads the page for real.
+        }
+    }
+
     @VisibleForTesting
     int getKeepFree()
     {
@@ -43,6 +43,7 @@ import org.neo4j.io.pagecache.tracing.FlushEvent;
 import org.neo4j.io.pagecache.tracing.MajorFlushEvent;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.io.pagecache.tracing.PageFaultEvent;
+import org.neo4j.scheduler.Group;
 
 import static java.util.Arrays.fill;
 import static java.util.Objects.requireNonNull;
@@ -224,6 +225,43 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         return cursor;
     }
 
+    /**
+     * Pages that are in the translation table already are skipped, which costs a look-up per page. The remaining pages are faulted in
+     * by {@link Group#PAGE_CACHE_PRE_FETCHER pre-fetcher} jobs, so the faults are done in parallel and this method does not wait for any
+     * of them. Jobs that find no free pre-fetcher thread are discarded, which is fine for a hint.
+     */
+    @Override
+    public void prefetch( long[] pageIds, int length, CursorContext context )
+    {
+        long lastPageId = getLastPageId();
+        long[] unmappedPageIds = null;
+        int unmapped = 0;
+        for ( int i = 0; i < length; i++ )
+        {
+            long pageId = pageIds[i];
+            if ( pageId < 0 || pageId > lastPageId || isMapped( pageId ) )
+            {
+                continue;
+            }
+            if ( unmappedPageIds == null )
+            {
+                unmappedPageIds = new long[length - i];
+            }
+            unmappedPageIds[unmapped++] = pageId;
+        }
+        if ( unmapped > 0 )
+        {
+            pageCache.startPreFetching( this, unmappedPageIds, unmapped );
+        }
+    }
+
+    private boolean isMapped( long filePageId )
+    {
+        int chunkId = computeChunkId( filePageId );
+        int[][] tt = translationTable;
+        return chunkId < tt.length && (int) TRANSLATION_TABLE_ARRAY.getVolatile( tt[chunkId], computeChunkIndex( filePageId ) ) != UNMAPPED_TTE;
+    }
+
     private static IllegalArgumentException wrongLocksArgument( int lockFlags )
     {
         if ( lockFlags == 0 )
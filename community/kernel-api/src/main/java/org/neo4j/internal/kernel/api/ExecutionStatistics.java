@@ -35,4 +35,22 @@ public interface ExecutionStatistics
      * @return the number of page faults in the current counters
      */
     long pageFaults();
+
+    /**
+     * Returns the number of property reads served by the transaction's property read cache
+     * @return the number of property reads served by the transaction's property read cache, or {@code -1} if the cache is disabled
+     */
+    default long propertyCacheHits()
+    {
+        return -1;
+    }
+
+    /**
+     * Returns the number of property reads that had to be read from the store although the property read cache is enabled
+     * @return the number of property reads that missed the transaction's property read cache, or {@code -1} if the cache is disabled
+     */
+    default long propertyCacheMisses()
+    {
+        return -1;
+    }
 }
@@ -201,6 +201,32 @@ public interface Read
      */
     void singleNode( long reference, NodeCursor cursor );
 
+    /**
+     * Reads a batch of nodes in one go. The cursor visits the existing nodes among the given references in the order they are given,
+     * skipping references to nodes that do not exist or are not visible. Use {@link NodeCursor#nodeReference()} to tell which node
+     * the cursor is currently placed at. Compared to calling {@link #singleNode(long, NodeCursor)} once per reference, the underlying
+     * storage is given the chance to fetch the data for the whole batch in storage order first.
+     *
+     * @param references references to the nodes to read, see {@link #singleNode(long, NodeCursor)}. The array must not be modified
+     * while the cursor is in use.
+     * @param cursor the cursor to use for consuming the results.
+     */
+    void nodesByIds( long[] references, NodeCursor cursor );
+
+    /**
+     * Reads the given properties of a batch of nodes. The nodes, and with them their properties, are read in reference order, which is
+     * the order they are laid out in by storage, regardless of the order the references are given in.
+     *
+     * @param references references to the nodes to read, see {@link #singleNode(long, NodeCursor)}.
+     * @param propertyKeys the keys of the properties to read.
+     * @param nodeCursor the cursor to use for reading the nodes.
+     * @param propertyCursor the cursor to use for reading the properties.
+     * @return one row per reference, in the order the references are given. A row holds the values of the given property keys, in the
+     * order the keys are given, with {@link Values#NO_VALUE} for properties the node does not have. The row is {@code null} for nodes
+     * that do not exist or are not visible. Duplicate references share the same row.
+     */
+    Value[][] nodesProperties( long[] references, int[] propertyKeys, NodeCursor nodeCursor, PropertyCursor propertyCursor );
+
     /**
      * Checks if a node exists in the database
      *
@@ -0,0 +1,419 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.index;
+
+import java.util.Arrays;
+
+import org.neo4j.values.storable.NumberValue;
+import org.neo4j.values.storable.TextValue;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueCategory;
+import org.neo4j.values.storable.ValueGroup;
+import org.neo4j.values.storable.Values;
+
+import static org.neo4j.values.storable.Values.stringValue;
+
+/**
+ * Equi-depth histogram over the values of a single property index, built by index samplers and kept next to the
+ * {@link IndexSample} in the index statistics. Each bucket covers a range of values, from its lowest to its highest value,
+ * and has an estimated number of entries and distinct values. Buckets hold roughly the same number of entries and never cover
+ * values of different {@link ValueGroup value groups}, which means that a range of values of one group can be estimated
+ * by only looking at the buckets of that group.
+ * <p>
+ * All selectivities are fractions of the {@link #totalCount() total number of entries} in the index.
+ */
+public final class ValueHistogram
+{
+    public static final int DEFAULT_NUMBER_OF_BUCKETS = 128;
+
+    private final Value[] lowest;
+    private final Value[] highest;
+    private final long[] counts;
+    private final long[] distinctValues;
+    private final long totalCount;
+
+    private ValueHistogram( Value[] lowest, Value[] highest, long[] counts, long[] distinctValues, long totalCount )
+    {
+        this.lowest = lowest;
+        this.highest = highest;
+        this.counts = counts;
+        this.distinctValues = distinctValues;
+        this.totalCount = totalCount;
+    }
+
+    public int numberOfBuckets()
+    {
+        return counts.length;
+    }
+
+    public long totalCount()
+    {
+        return totalCount;
+    }
+
+    /**
+     * @param from lower bound of the range, or {@code null} for all values lower than {@code to} of the same value group.
+     * @param fromInclusive whether or not entries equal to {@code from} are in the range.
+     * @param to upper bound of the range, or {@code null} for all values higher than {@code from} of the same value group.
+     * @param toInclusive whether or not entries equal to {@code to} are in the range.
+     * @return estimated fraction of the entries in the index having a value in the given range.
+     */
+    public double rangeSelectivity( Value from, boolean fromInclusive, Value to, boolean toInclusive )
+    {
+        if ( totalCount == 0 )
+        {
+            return 0;
+        }
+        if ( from == null && to == null )
+        {
+            return 1;
+        }
+        ValueGroup group = from != null ? from.valueGroup() : to.valueGroup();
+        if ( to != null && to.valueGroup() != group )
+        {
+            return 0;
+        }
+        double below = from == null ? 0 : countBelow( group, from, !fromInclusive );
+        double upTo = to == null ? countInGroup( group ) : countBelow( group, to, toInclusive );
+        return fraction( upTo - below );
+    }
+
+    /**
+     * @param prefix prefix of the string values to estimate.
+     * @return estimated fraction of the entries in the index having a string value starting with the given prefix.
+     */
+    public double prefixSelectivity( String prefix )
+    {
+        if ( prefix.isEmpty() )
+        {
+            return rangeSelectivity( stringValue( prefix ), true, null, false );
+        }
+        char last = prefix.charAt( prefix.length() - 1 );
+        if ( last == Character.MAX_VALUE )
+        {
+            return rangeSelectivity( stringValue( prefix ), true, null, false );
+        }
+        String successor = prefix.substring( 0, prefix.length() - 1 ) + (char) (last + 1);
+        return rangeSelectivity( stringValue( prefix ), true, stringValue( successor ), false );
+    }
+
+    /**
+     * @param value value to estimate.
+     * @return estimated fraction of the entries in the index having the given value. Values not covered by any bucket
+     * are estimated to be in a single entry, since the histogram may have been built from a sample of the index.
+     */
+    public double equalitySelectivity( Value value )
+    {
+        if ( totalCount == 0 )
+        {
+            return 0;
+        }
+        ValueGroup group = value.valueGroup();
+        for ( int i = 0; i < counts.length; i++ )
+        {
+            if ( highest[i].valueGroup() == group && Values.COMPARATOR.compare( lowest[i], value ) <= 0 &&
+                 Values.COMPARATOR.compare( value, highest[i] ) <= 0 )
+            {
+                return fraction( perValue( i ) );
+            }
+        }
+        return fraction( 1 );
+    }
+
+    private double countInGroup( ValueGroup group )
+    {
+        double count = 0;
+        for ( int i = 0; i < counts.length; i++ )
+        {
+            if ( highest[i].valueGroup() == group )
+            {
+                count += counts[i];
+            }
+        }
+        return count;
+    }
+
+    private double countBelow( ValueGroup group, Value value, boolean inclusive )
+    {
+        double count = 0;
+        for ( int i = 0; i < counts.length; i++ )
+        {
+            if ( highest[i].valueGroup() != group )
+            {
+                continue;
+            }
+            int comparedToHighest = Values.COMPARATOR.compare( highest[i], value );
+            if ( comparedToHighest < 0 )
+            {
+                count += counts[i];
+                continue;
+            }
+            int comparedToLowest = Values.COMPARATOR.compare( lowest[i], value );
+            if ( comparedToLowest > 0 )
+            {
+                break;
+            }
+            double equal = inclusive ? perValue( i ) : 0;
+            if ( comparedToLowest == 0 && comparedToHighest == 0 )
+            {
+                count += inclusive ? counts[i] : 0;
+            }
+            else if ( comparedToLowest == 0 )
+            {
+                count += equal;
+            }
+            else if ( comparedToHighest == 0 )
+            {
+                count += counts[i] - perValue( i ) + equal;
+            }
+            else
+            {
+                count += counts[i] * position( lowest[i], highest[i], value );
+            }
+            break;
+        }
+        return count;
+    }
+
+    private double perValue( int bucket )
+    {
+        return (double) counts[bucket] / Math.max( 1, distinctValues[bucket] );
+    }
+
+    private double fraction( double count )
+    {
+        return Math.min( 1, Math.max( 0, count / totalCount ) );
+    }
+
+    /**
+     * Position of a value between the lowest and highest value of a bucket, assuming values to be evenly spread out over it.
+     * Numbers are interpolated on their value and strings on the first characters after their common prefix, other values
+     * are assumed to be in the middle.
+     */
+    private static double position( Value lowest, Value highest, Value value )
+    {
+        double low;
+        double high;
+        double at;
+        if ( lowest instanceof NumberValue && highest instanceof NumberValue && value instanceof NumberValue )
+        {
+            low = ((NumberValue) lowest).doubleValue();
+            high = ((NumberValue) highest).doubleValue();
+            at = ((NumberValue) value).doubleValue();
+        }
+        else if ( lowest instanceof TextValue && highest instanceof TextValue && value instanceof TextValue )
+        {
+            String lowString = ((TextValue) lowest).stringValue();
+            String highString = ((TextValue) highest).stringValue();
+            int common = 0;
+            while ( common < lowString.length() && common < highString.length() && lowString.charAt( common ) == highString.charAt( common ) )
+            {
+                common++;
+            }
+            low = charsAsNumber( lowString, common );
+            high = charsAsNumber( highString, common );
+            at = charsAsNumber( ((TextValue) value).stringValue(), common );
+        }
+        else
+        {
+            return 0.5;
+        }
+        if ( !(high > low) )
+        {
+            return 0.5;
+        }
+        return Math.min( 1, Math.max( 0, (at - low) / (high - low) ) );
+    }
+
+    private static double charsAsNumber( String string, int from )
+    {
+        double number = 0;
+        for ( int i = from; i < from + 3; i++ )
+        {
+            number = number * (Character.MAX_VALUE + 1) + (i < string.length() ? string.charAt( i ) : 0);
+        }
+        return number;
+    }
+
+    @Override
+    public boolean equals( Object o )
+    {
+        if ( this == o )
+        {
+            return true;
+        }
+        if ( o == null || getClass() != o.getClass() )
+        {
+            return false;
+        }
+        ValueHistogram that = (ValueHistogram) o;
+        return totalCount == that.totalCount && Arrays.equals( lowest, that.lowest ) && Arrays.equals( highest, that.highest ) &&
+               Arrays.equals( counts, that.counts ) && Arrays.equals( distinctValues, that.distinctValues );
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * Arrays.hashCode( counts ) + Long.hashCode( totalCount );
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ValueHistogram{" +
+               "numberOfBuckets=" + counts.length +
+               ", totalCount=" + totalCount +
+               '}';
+    }
+
+    /**
+     * Builds a {@link ValueHistogram} from values {@link #add(Value) added} in index order, without knowing up front how many there will be.
+     * Buckets are closed when they reach the current depth, and when the number of buckets reaches twice the requested number,
+     * the depth is doubled and neighbouring buckets fitting in it are merged pairwise. Equal values always end up in the same bucket.
+     * Geometries are counted, but not put in buckets since their index order isn't the order of their values.
+     */
+    public static class Builder
+    {
+        private final Value[] lowest;
+        private final Value[] highest;
+        private final long[] counts;
+        private final long[] distinctValues;
+        private int size;
+        private long depth = 1;
+        private long added;
+
+        public Builder()
+        {
+            this( DEFAULT_NUMBER_OF_BUCKETS );
+        }
+
+        public Builder( int numberOfBuckets )
+        {
+            int capacity = numberOfBuckets * 2;
+            this.lowest = new Value[capacity];
+            this.highest = new Value[capacity];
+            this.counts = new long[capacity];
+            this.distinctValues = new long[capacity];
+        }
+
+        public void add( Value value )
+        {
+            added++;
+            ValueCategory category = value.valueGroup().category();
+            if ( category == ValueCategory.GEOMETRY || category == ValueCategory.GEOMETRY_ARRAY )
+            {
+                return;
+            }
+
+            if ( size > 0 )
+            {
+                int last = size - 1;
+                if ( Values.COMPARATOR.compare( highest[last], value ) == 0 )
+                {
+                    counts[last]++;
+                    return;
+                }
+                if ( counts[last] < depth && highest[last].valueGroup() == value.valueGroup() )
+                {
+                    highest[last] = value;
+                    counts[last]++;
+                    distinctValues[last]++;
+                    return;
+                }
+            }
+
+            while ( size == counts.length )
+            {
+                mergeBuckets();
+            }
+            lowest[size] = value;
+            highest[size] = value;
+            counts[size] = 1;
+            distinctValues[size] = 1;
+            size++;
+        }
+
+        /**
+         * Adds all values added to the given builder, which must come after all values added to this builder in index order.
+         * This is how the builders of consecutive key ranges, each built on its own, are combined into one.
+         *
+         * @param following builder of the values following the values of this builder.
+         */
+        public void addAll( Builder following )
+        {
+            added += following.added;
+            depth = Math.max( depth, following.depth );
+            for ( int i = 0; i < following.size; i++ )
+            {
+                while ( size == counts.length )
+                {
+                    mergeBuckets();
+                }
+                lowest[size] = following.lowest[i];
+                highest[size] = following.highest[i];
+                counts[size] = following.counts[i];
+                distinctValues[size] = following.distinctValues[i];
+                size++;
+            }
+        }
+
+        /**
+         * @param indexSize number of entries in the index, which the counts of the added values are scaled up to.
+         * @return the histogram of the added values.
+         */
+        public ValueHistogram build( long indexSize )
+        {
+            double scale = added == 0 ? 0 : (double) indexSize / added;
+            long[] scaledCounts = new long[size];
+            long[] scaledDistinctValues = new long[size];
+            for ( int i = 0; i < size; i++ )
+            {
+                scaledCounts[i] = Math.max( 1, Math.round( counts[i] * scale ) );
+                scaledDistinctValues[i] = Math.min( distinctValues[i], scaledCounts[i] );
+            }
+            return new ValueHistogram( Arrays.copyOf( lowest, size ), Arrays.copyOf( highest, size ), scaledCounts, scaledDistinctValues,
+                    Math.max( indexSize, 0 ) );
+        }
+
+        private void mergeBuckets()
+        {
+            depth *= 2;
+            int merged = 0;
+            for ( int i = 0; i < size; i++, merged++ )
+            {
+                lowest[merged] = lowest[i];
+                highest[merged] = highest[i];
+                counts[merged] = counts[i];
+                distinctValues[merged] = distinctValues[i];
+                // Buckets of frequent values, larger than the new depth, are kept apart so that their frequency isn't spread out
+                if ( i + 1 < size && highest[i].valueGroup() == lowest[i + 1].valueGroup() && counts[i] + counts[i + 1] <= depth )
+                {
+                    i++;
+                    highest[merged] = highest[i];
+                    counts[merged] += counts[i];
+                    distinctValues[merged] += distinctValues[i];
+                }
+            }
+            Arrays.fill( lowest, merged, size, null );
+            Arrays.fill( highest, merged, size, null );
+            size = merged;
+        }
+    }
+}
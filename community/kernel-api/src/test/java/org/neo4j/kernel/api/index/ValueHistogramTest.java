@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.index;
+
+import org.junit.jupiter.api.Test;
+
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.neo4j.values.storable.CoordinateReferenceSystem.Cartesian;
+import static org.neo4j.values.storable.Values.longValue;
+import static org.neo4j.values.storable.Values.pointValue;
+import static org.neo4j.values.storable.Values.stringValue;
+
+class ValueHistogramTest
+{
+    @Test
+    void shouldEstimateRangesOfEvenlySpreadValues()
+    {
+        ValueHistogram.Builder builder = new ValueHistogram.Builder();
+        for ( long i = 0; i < 10_000; i++ )
+        {
+            builder.add( longValue( i ) );
+        }
+        ValueHistogram histogram = builder.build( 10_000 );
+
+        assertThat( histogram.numberOfBuckets() ).isBetween( ValueHistogram.DEFAULT_NUMBER_OF_BUCKETS, ValueHistogram.DEFAULT_NUMBER_OF_BUCKETS * 2 );
+        assertThat( histogram.rangeSelectivity( longValue( 0 ), true, longValue( 2_500 ), false ) ).isCloseTo( 0.25, within( 0.01 ) );
+        assertThat( histogram.rangeSelectivity( longValue( 2_500 ), true, null, false ) ).isCloseTo( 0.75, within( 0.01 ) );
+        assertThat( histogram.rangeSelectivity( null, false, longValue( 100 ), true ) ).isCloseTo( 0.01, within( 0.01 ) );
+        assertThat( histogram.rangeSelectivity( longValue( 20_000 ), true, null, false ) ).isEqualTo( 0 );
+        assertThat( histogram.rangeSelectivity( stringValue( "a" ), true, null, false ) ).isEqualTo( 0 );
+    }
+
+    @Test
+    void shouldKeepFrequentValuesInTheirOwnBucket()
+    {
+        ValueHistogram.Builder builder = new ValueHistogram.Builder();
+        for ( int i = 0; i < 9_000; i++ )
+        {
+            builder.add( longValue( 1 ) );
+        }
+        for ( long i = 2; i < 1_002; i++ )
+        {
+            builder.add( longValue( i ) );
+        }
+        ValueHistogram histogram = builder.build( 10_000 );
+
+        assertThat( histogram.equalitySelectivity( longValue( 1 ) ) ).isCloseTo( 0.9, within( 0.001 ) );
+        assertThat( histogram.equalitySelectivity( longValue( 500 ) ) ).isCloseTo( 0.0001, within( 0.0001 ) );
+        assertThat( histogram.rangeSelectivity( longValue( 1 ), false, null, false ) ).isCloseTo( 0.1, within( 0.001 ) );
+    }
+
+    @Test
+    void shouldEstimatePrefixesOfStrings()
+    {
+        ValueHistogram.Builder builder = new ValueHistogram.Builder();
+        for ( String prefix : new String[]{"a", "b"} )
+        {
+            for ( int i = 0; i < 1_000; i++ )
+            {
+                builder.add( stringValue( format( "%s%04d", prefix, i ) ) );
+            }
+        }
+        ValueHistogram histogram = builder.build( 2_000 );
+
+        assertThat( histogram.prefixSelectivity( "a" ) ).isCloseTo( 0.5, within( 0.001 ) );
+        assertThat( histogram.prefixSelectivity( "a05" ) ).isCloseTo( 0.05, within( 0.01 ) );
+        assertThat( histogram.prefixSelectivity( "c" ) ).isEqualTo( 0 );
+        assertThat( histogram.prefixSelectivity( "" ) ).isCloseTo( 1, within( 0.001 ) );
+    }
+
+    @Test
+    void shouldNotMixValueGroupsInBuckets()
+    {
+        ValueHistogram.Builder builder = new ValueHistogram.Builder( 4 );
+        for ( long i = 0; i < 100; i++ )
+        {
+            builder.add( longValue( i ) );
+        }
+        for ( int i = 0; i < 100; i++ )
+        {
+            builder.add( stringValue( format( "%04d", i ) ) );
+        }
+        builder.add( pointValue( Cartesian, 1, 2 ) );
+        ValueHistogram histogram = builder.build( 201 );
+
+        assertThat( histogram.rangeSelectivity( longValue( 0 ), true, null, false ) ).isCloseTo( 100 / 201d, within( 0.001 ) );
+        assertThat( histogram.rangeSelectivity( null, false, stringValue( "9999" ), true ) ).isCloseTo( 100 / 201d, within( 0.001 ) );
+        assertThat( histogram.rangeSelectivity( longValue( 0 ), true, stringValue( "9999" ), true ) ).isEqualTo( 0 );
+    }
+
+    @Test
+    void shouldCombineBuildersOfConsecutiveValues()
+    {
+        ValueHistogram.Builder all = new ValueHistogram.Builder();
+        ValueHistogram.Builder combined = new ValueHistogram.Builder();
+        for ( int part = 0; part < 4; part++ )
+        {
+            ValueHistogram.Builder builder = new ValueHistogram.Builder();
+            for ( long i = part * 2_500L; i < (part + 1) * 2_500L; i++ )
+            {
+                all.add( longValue( i ) );
+                builder.add( longValue( i ) );
+            }
+            combined.addAll( builder );
+        }
+        ValueHistogram expected = all.build( 10_000 );
+        ValueHistogram histogram = combined.build( 10_000 );
+
+        assertThat( histogram.totalCount() ).isEqualTo( 10_000 );
+        assertThat( histogram.numberOfBuckets() ).isBetween( ValueHistogram.DEFAULT_NUMBER_OF_BUCKETS, ValueHistogram.DEFAULT_NUMBER_OF_BUCKETS * 2 );
+        for ( long bound = 0; bound <= 10_000; bound += 500 )
+        {
+            assertThat( histogram.rangeSelectivity( null, false, longValue( bound ), false ) )
+                    .isCloseTo( expected.rangeSelectivity( null, false, longValue( bound ), false ), within( 0.01 ) );
+        }
+    }
+
+    @Test
+    void shouldScaleSampledCountsToIndexSize()
+    {
+        ValueHistogram.Builder builder = new ValueHistogram.Builder();
+        for ( long i = 0; i < 100; i++ )
+        {
+            builder.add( longValue( i ) );
+        }
+        ValueHistogram histogram = builder.build( 1_000 );
+
+        assertThat( histogram.totalCount() ).isEqualTo( 1_000 );
+        assertThat( histogram.rangeSelectivity( longValue( 0 ), true, longValue( 50 ), false ) ).isCloseTo( 0.5, within( 0.02 ) );
+    }
+}
@@ -180,6 +180,12 @@ public class DatabasePageCache implements PageCache
             return delegate.io( pageId, pf_flags, context );
         }
 
+        @Override
+        public void prefetch( long[] pageIds, int length, CursorContext context ) throws IOException
+        {
+            delegate.prefetch( pageIds, length, context );
+        }
+
         @Override
         public int pageSize()
         {
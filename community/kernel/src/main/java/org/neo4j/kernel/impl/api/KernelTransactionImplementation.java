@@ -97,6 +97,7 @@ import org.neo4j.kernel.impl.newapi.DefaultPooledCursors;
 import org.neo4j.kernel.impl.newapi.IndexTxStateUpdater;
 import org.neo4j.kernel.impl.newapi.KernelToken;
 import org.neo4j.kernel.impl.newapi.Operations;
+import org.neo4j.kernel.impl.newapi.PropertyReadCache;
 import org.neo4j.kernel.impl.query.TransactionExecutionMonitor;
 import org.neo4j.kernel.impl.transaction.TransactionMonitor;
 import org.neo4j.kernel.impl.transaction.log.PhysicalTransactionRepresentation;
@@ -286,7 +287,8 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
         DefaultPooledCursors cursors = new DefaultPooledCursors( storageReader, transactionalCursors, config );
         this.securityAuthorizationHandler = new SecurityAuthorizationHandler( securityLog );
         this.allStoreHolder = new AllStoreHolder( storageReader, this, storageLocks, cursors, globalProcedures, schemaState,
-                indexingService, indexStatisticsStore, dependencies, memoryTracker );
+                indexingService, indexStatisticsStore, dependencies, memoryTracker,
+                new PropertyReadCache( config.get( GraphDatabaseInternalSettings.transaction_property_cache_size ), memoryTracker ) );
         this.operations =
                 new Operations(
                         allStoreHolder,
@@ -608,6 +610,20 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
         return cursorContext.getCursorTracer().faults();
     }
 
+    @Override
+    public long propertyCacheHits()
+    {
+        PropertyReadCache propertyReadCache = allStoreHolder.propertyReadCache();
+        return propertyReadCache.isEnabled() ? propertyReadCache.hits() : -1;
+    }
+
+    @Override
+    public long propertyCacheMisses()
+    {
+        PropertyReadCache propertyReadCache = allStoreHolder.propertyReadCache();
+        return propertyReadCache.isEnabled() ? propertyReadCache.misses() : -1;
+    }
+
     Optional<ExecutingQuery> executingQuery()
     {
         return currentStatement.executingQuery();
@@ -1124,6 +1140,7 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
             userTransactionId = 0;
             statistics.reset();
             releaseStatementResources();
+            allStoreHolder.releaseTransactionResources();
             operations.release();
             commandCreationContext.close();
             transactionalCursors.close();
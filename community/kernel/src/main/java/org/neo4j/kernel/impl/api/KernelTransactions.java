@@ -24,12 +24,13 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
 import java.util.function.Supplier;
 
 import org.neo4j.collection.Dependencies;
 import org.neo4j.collection.pool.LinkedQueuePool;
 import org.neo4j.collection.pool.Pool;
+import org.neo4j.collection.pool.StripedPool;
 import org.neo4j.configuration.Config;
 import org.neo4j.configuration.GraphDatabaseSettings;
 import org.neo4j.dbms.database.DbmsRuntimeRepository;
@@ -105,7 +106,16 @@ public class KernelTransactions extends LifecycleAdapter implements Supplier<IdC
     private final AccessCapabilityFactory accessCapabilityFactory;
     private final SystemNanoClock clock;
     private final VersionContextSupplier versionContextSupplier;
-    private final ReentrantReadWriteLock newTransactionsLock = new ReentrantReadWriteLock();
+    /**
+     * Read locked by every transaction being started and write locked while new transactions are blocked. A {@link StampedLock} is used
+     * since its read lock, unlike the one of {@link java.util.concurrent.locks.ReentrantReadWriteLock}, does not keep per thread hold
+     * counts, which shows when starting many short transactions. Ownership and reentrancy of the write lock are tracked by
+     * {@link #newTransactionsBlocker} and {@link #newTransactionsBlockCount}.
+     */
+    private final StampedLock newTransactionsLock = new StampedLock();
+    private volatile Thread newTransactionsBlocker;
+    private int newTransactionsBlockCount;
+    private long newTransactionsBlockStamp;
     private final MonotonicCounter userTransactionIdCounter = MonotonicCounter.newAtomicMonotonicCounter();
     private final TokenHolders tokenHolders;
     private final DatabaseReadOnlyChecker readOnlyDatabaseChecker;
@@ -192,9 +202,9 @@ public class KernelTransactions extends LifecycleAdapter implements Supplier<IdC
         this.constraintSemantics = constraintSemantics;
         this.schemaState = schemaState;
         this.leaseService = leaseService;
-        this.txPool = new MonitoredTransactionPool(
+        this.txPool = new MonitoredTransactionPool( new StripedPool<>(
                 new GlobalKernelTransactionPool( allTransactions, new KernelTransactionImplementationFactory( allTransactions, tracers ) ),
-                activeTransactionCounter, config );
+                Runtime.getRuntime().availableProcessors() ), activeTransactionCounter, config );
         this.securityLog = databaseDependendies.resolveDependency( AbstractSecurityLog.class );
         doBlockNewTransactions();
     }
@@ -205,7 +215,8 @@ public class KernelTransactions extends LifecycleAdapter implements Supplier<IdC
         SecurityContext securityContext = loginContext.authorize( tokenHoldersIdLookup, namedDatabaseId.name(), securityLog );
         try
         {
-            while ( !newTransactionsLock.readLock().tryLock( 1, TimeUnit.SECONDS ) )
+            long stamp;
+            while ( (stamp = newTransactionsLock.tryReadLock( 1, TimeUnit.SECONDS )) == 0 )
             {
                 assertRunning();
             }
@@ -220,7 +231,7 @@ public class KernelTransactions extends LifecycleAdapter implements Supplier<IdC
             }
             finally
             {
-                newTransactionsLock.readLock().unlock();
+                newTransactionsLock.unlockRead( stamp );
             }
         }
         catch ( InterruptedException ie )
@@ -354,7 +365,12 @@ public class KernelTransactions extends LifecycleAdapter implements Supplier<IdC
      */
     private void doBlockNewTransactions()
     {
-        newTransactionsLock.writeLock().lock();
+        if ( newTransactionsBlocker != Thread.currentThread() )
+        {
+            newTransactionsBlockStamp = newTransactionsLock.writeLock();
+            newTransactionsBlocker = Thread.currentThread();
+        }
+        newTransactionsBlockCount++;
     }
 
     /**
@@ -365,11 +381,15 @@ public class KernelTransactions extends LifecycleAdapter implements Supplier<IdC
      */
     public void unblockNewTransactions()
     {
-        if ( !newTransactionsLock.writeLock().isHeldByCurrentThread() )
+        if ( newTransactionsBlocker != Thread.currentThread() )
         {
             throw new IllegalStateException( "This thread did not block transactions previously" );
         }
-        newTransactionsLock.writeLock().unlock();
+        if ( --newTransactionsBlockCount == 0 )
+        {
+            newTransactionsBlocker = null;
+            newTransactionsLock.unlockWrite( newTransactionsBlockStamp );
+        }
     }
 
     public int getNumberOfActiveTransactions()
@@ -404,7 +424,7 @@ public class KernelTransactions extends LifecycleAdapter implements Supplier<IdC
 
     private void assertCurrentThreadIsNotBlockingNewTransactions()
     {
-        if ( newTransactionsLock.isWriteLockedByCurrentThread() )
+        if ( newTransactionsBlocker == Thread.currentThread() )
         {
             throw new IllegalStateException(
                     "Thread that is blocking new transactions from starting can't start new transaction" );
@@ -461,10 +481,10 @@ public class KernelTransactions extends LifecycleAdapter implements Supplier<IdC
     static class MonitoredTransactionPool implements Pool<KernelTransactionImplementation>
     {
         private final AtomicInteger activeTransactionCounter;
-        private final GlobalKernelTransactionPool delegate;
+        private final StripedPool<KernelTransactionImplementation> delegate;
         private volatile int maxNumberOfTransaction;
 
-        MonitoredTransactionPool( GlobalKernelTransactionPool delegate, AtomicInteger activeTransactionCounter, Config config )
+        MonitoredTransactionPool( StripedPool<KernelTransactionImplementation> delegate, AtomicInteger activeTransactionCounter, Config config )
         {
             this.delegate = delegate;
             this.activeTransactionCounter = activeTransactionCounter;
@@ -723,6 +723,12 @@ public class MultipleIndexPopulator implements StoreScan.ExternalUpdatesCheck, A
             return indexProxyStrategy.getIndexDescriptor().schema();
         }
 
+        @Override
+        public int requiredPropertyCount()
+        {
+            return indexProxyStrategy.getIndexDescriptor().requiredPropertyCount();
+        }
+
         @Override
         public String userDescription( TokenNameLookup tokenNameLookup )
         {
@@ -41,6 +41,7 @@ import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.api.index.ValueHistogram;
 import org.neo4j.kernel.impl.index.schema.ConsistencyCheckable;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 
@@ -49,13 +50,14 @@ import static org.eclipse.collections.api.factory.Sets.immutable;
 /**
  * A simple store for keeping index statistics counts, like number of updates, index size, number of unique values a.s.o.
  * These values aren't updated transactionally and so the data is just kept in memory and flushed to a {@link GBPTree} on every checkpoint.
+ * {@link ValueHistogram Value histograms} of samples are only kept in memory, after a restart they are built again by the next sampling of the index.
  * Neither reads, writes nor checkpoints block each other.
  *
  * The store is accessible after {@link #init()} has been called.
  */
 public class IndexStatisticsStore extends LifecycleAdapter implements IndexStatisticsVisitor.Visitable, ConsistencyCheckable
 {
-    private static final ImmutableIndexStatistics EMPTY_STATISTICS = new ImmutableIndexStatistics( 0, 0, 0, 0 );
+    private static final ImmutableIndexStatistics EMPTY_STATISTICS = new ImmutableIndexStatistics( 0, 0, 0, 0, null );
 
     // Used in GBPTree.seek. Please don't use for writes
     private static final IndexStatisticsKey LOWEST_KEY = new IndexStatisticsKey( Long.MIN_VALUE );
@@ -115,12 +117,13 @@ public class IndexStatisticsStore extends LifecycleAdapter implements IndexStati
     public IndexSample indexSample( long indexId )
     {
         ImmutableIndexStatistics value = cache.getOrDefault( indexId, EMPTY_STATISTICS );
-        return new IndexSample( value.indexSize, value.sampleUniqueValues, value.sampleSize, value.updatesCount );
+        return new IndexSample( value.indexSize, value.sampleUniqueValues, value.sampleSize, value.updatesCount, value.histogram );
     }
 
     public void replaceStats( long indexId, IndexSample sample )
     {
-        cache.put( indexId, new ImmutableIndexStatistics( sample.uniqueValues(), sample.sampleSize(), sample.updates(), sample.indexSize() ) );
+        cache.put( indexId, new ImmutableIndexStatistics( sample.uniqueValues(), sample.sampleSize(), sample.updates(), sample.indexSize(),
+                sample.histogram() ) );
     }
 
     public void removeIndex( long indexId )
@@ -131,7 +134,8 @@ public class IndexStatisticsStore extends LifecycleAdapter implements IndexStati
     public void incrementIndexUpdates( long indexId, long delta )
     {
         cache.computeIfPresent( indexId, ( id, existing ) ->
-                new ImmutableIndexStatistics( existing.sampleUniqueValues, existing.sampleSize, existing.updatesCount + delta, existing.indexSize ) );
+                new ImmutableIndexStatistics( existing.sampleUniqueValues, existing.sampleSize, existing.updatesCount + delta, existing.indexSize,
+                        existing.histogram ) );
     }
 
     @Override
@@ -237,18 +241,21 @@ public class IndexStatisticsStore extends LifecycleAdapter implements IndexStati
         private final long sampleSize;
         private final long updatesCount;
         private final long indexSize;
+        // Only kept in memory, it's built again by the next sampling of the index after a restart
+        private final ValueHistogram histogram;
 
-        ImmutableIndexStatistics( long sampleUniqueValues, long sampleSize, long updatesCount, long indexSize )
+        ImmutableIndexStatistics( long sampleUniqueValues, long sampleSize, long updatesCount, long indexSize, ValueHistogram histogram )
         {
             this.sampleUniqueValues = sampleUniqueValues;
             this.sampleSize = sampleSize;
             this.updatesCount = updatesCount;
             this.indexSize = indexSize;
+            this.histogram = histogram;
         }
 
         ImmutableIndexStatistics( IndexStatisticsValue value )
         {
-            this( value.getSampleUniqueValues(), value.getSampleSize(), value.getUpdatesCount(), value.getIndexSize() );
+            this( value.getSampleUniqueValues(), value.getSampleSize(), value.getUpdatesCount(), value.getIndexSize(), null );
         }
     }
 }
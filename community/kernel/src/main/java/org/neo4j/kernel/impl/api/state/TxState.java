@@ -62,7 +62,9 @@ import org.neo4j.storageengine.api.txstate.RelationshipState;
 import org.neo4j.storageengine.api.txstate.TransactionStateBehaviour;
 import org.neo4j.storageengine.api.txstate.TxStateVisitor;
 import org.neo4j.util.VisibleForTesting;
+import org.neo4j.values.storable.TextValue;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueGroup;
 import org.neo4j.values.storable.ValueTuple;
 
 import static org.neo4j.collection.trackable.HeapTrackingCollections.newLongObjectMap;
@@ -88,6 +90,7 @@ import static org.neo4j.values.storable.Values.NO_VALUE;
 public class TxState implements TransactionState, RelationshipVisitor.Home
 {
     private static final long SHALLOW_SIZE = HeapEstimator.shallowSizeOfInstance( TxState.class );
+    private static final Comparator<ValueTuple> REVERSED_TEXT_ORDER = TxState::compareReversedText;
     /**
      * This factory must be used only for creating collections representing internal state that doesn't leak outside this class.
      */
@@ -111,6 +114,7 @@ public class TxState implements TransactionState, RelationshipVisitor.Home
     private MutableMap<IndexBackedConstraintDescriptor,IndexDescriptor> createdConstraintIndexesByConstraint;
 
     private MutableMap<SchemaDescriptor, Map<ValueTuple, MutableLongDiffSets>> indexUpdates;
+    private MutableMap<SchemaDescriptor, NavigableMap<ValueTuple, MutableLongDiffSets>> suffixIndexUpdates;
 
     private final MemoryTracker memoryTracker;
     private final TransactionStateBehaviour behaviour;
@@ -830,19 +834,62 @@ public class TxState implements TransactionState, RelationshipVisitor.Home
         return Collections.unmodifiableNavigableMap( sortedUpdates );
     }
 
+    @Override
+    public NavigableMap<ValueTuple, ? extends LongDiffSets> getSuffixSortedIndexUpdates( SchemaDescriptor descriptor )
+    {
+        if ( indexUpdates == null )
+        {
+            return null;
+        }
+        Map<ValueTuple, MutableLongDiffSets> updates = indexUpdates.get( descriptor );
+        if ( updates == null )
+        {
+            return null;
+        }
+        if ( suffixIndexUpdates == null )
+        {
+            suffixIndexUpdates = newMap( memoryTracker );
+        }
+        NavigableMap<ValueTuple, MutableLongDiffSets> suffixUpdates = suffixIndexUpdates.get( descriptor );
+        if ( suffixUpdates == null )
+        {
+            // Built once per index and then maintained incrementally by indexDoUpdateEntry
+            suffixUpdates = new TreeMap<>( REVERSED_TEXT_ORDER );
+            for ( Map.Entry<ValueTuple, MutableLongDiffSets> entry : updates.entrySet() )
+            {
+                if ( isSingleTextValue( entry.getKey() ) )
+                {
+                    suffixUpdates.put( entry.getKey(), entry.getValue() );
+                }
+            }
+            suffixIndexUpdates.put( descriptor, suffixUpdates );
+        }
+        return Collections.unmodifiableNavigableMap( suffixUpdates );
+    }
+
     @Override
     public void indexDoUpdateEntry( SchemaDescriptor descriptor, long entityIdId,
             ValueTuple propertiesBefore, ValueTuple propertiesAfter )
     {
         Map<ValueTuple, MutableLongDiffSets> updates = getOrCreateIndexUpdatesByDescriptor( descriptor );
+        NavigableMap<ValueTuple, MutableLongDiffSets> suffixUpdates = suffixIndexUpdates == null ? null : suffixIndexUpdates.get( descriptor );
         if ( propertiesBefore != null )
         {
-            MutableLongDiffSets before = getOrCreateIndexUpdatesForSeek( updates, propertiesBefore );
+            MutableLongDiffSets before = getOrCreateIndexUpdatesForSeek( updates, suffixUpdates, propertiesBefore );
             before.remove( entityIdId );
+            if ( before.isEmpty() )
+            {
+                // Drop entries that cancelled out, so that seeks over sorted updates never have to skip past them
+                updates.remove( propertiesBefore );
+                if ( suffixUpdates != null && isSingleTextValue( propertiesBefore ) )
+                {
+                    suffixUpdates.remove( propertiesBefore );
+                }
+            }
         }
         if ( propertiesAfter != null )
         {
-            MutableLongDiffSets after = getOrCreateIndexUpdatesForSeek( updates, propertiesAfter );
+            MutableLongDiffSets after = getOrCreateIndexUpdatesForSeek( updates, suffixUpdates, propertiesAfter );
             after.add( entityIdId );
         }
     }
@@ -856,7 +903,48 @@ public class TxState implements TransactionState, RelationshipVisitor.Home
     @VisibleForTesting
     MutableLongDiffSets getOrCreateIndexUpdatesForSeek( Map<ValueTuple, MutableLongDiffSets> updates, ValueTuple values )
     {
-        return updates.computeIfAbsent( values, value -> newMutableLongDiffSets( collectionsFactory, memoryTracker ) );
+        return getOrCreateIndexUpdatesForSeek( updates, null, values );
+    }
+
+    private MutableLongDiffSets getOrCreateIndexUpdatesForSeek( Map<ValueTuple, MutableLongDiffSets> updates,
+            NavigableMap<ValueTuple, MutableLongDiffSets> suffixUpdates, ValueTuple values )
+    {
+        MutableLongDiffSets diffSets = updates.get( values );
+        if ( diffSets == null )
+        {
+            diffSets = newMutableLongDiffSets( collectionsFactory, memoryTracker );
+            updates.put( values, diffSets );
+            if ( suffixUpdates != null && isSingleTextValue( values ) )
+            {
+                suffixUpdates.put( values, diffSets );
+            }
+        }
+        return diffSets;
+    }
+
+    private static boolean isSingleTextValue( ValueTuple values )
+    {
+        return values.size() == 1 && values.getOnlyValue().valueGroup() == ValueGroup.TEXT;
+    }
+
+    /**
+     * Orders single text value tuples by their values read backwards, which places all values sharing a suffix next to each other.
+     */
+    private static int compareReversedText( ValueTuple left, ValueTuple right )
+    {
+        String leftString = ((TextValue) left.getOnlyValue()).stringValue();
+        String rightString = ((TextValue) right.getOnlyValue()).stringValue();
+        int leftIndex = leftString.length() - 1;
+        int rightIndex = rightString.length() - 1;
+        while ( leftIndex >= 0 && rightIndex >= 0 )
+        {
+            int compare = Character.compare( leftString.charAt( leftIndex-- ), rightString.charAt( rightIndex-- ) );
+            if ( compare != 0 )
+            {
+                return compare;
+            }
+        }
+        return Integer.compare( leftString.length(), rightString.length() );
     }
 
     private Map<ValueTuple, MutableLongDiffSets> getOrCreateIndexUpdatesByDescriptor( SchemaDescriptor schema )
@@ -25,8 +25,10 @@ import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -35,6 +37,7 @@ import java.util.stream.Collectors;
 
 import org.neo4j.configuration.Config;
 import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.index.internal.gbptree.BulkLoader;
 import org.neo4j.index.internal.gbptree.Seeker;
 import org.neo4j.index.internal.gbptree.Writer;
 import org.neo4j.internal.helpers.Exceptions;
@@ -43,16 +46,19 @@ import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.io.IOUtils;
 import org.neo4j.io.memory.ByteBufferFactory;
 import org.neo4j.io.memory.ByteBufferFactory.Allocator;
+import org.neo4j.io.memory.ScopedBuffer;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
 import org.neo4j.kernel.api.index.IndexPopulator;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.api.index.IndexUpdater;
 import org.neo4j.kernel.api.index.IndexValueValidator;
+import org.neo4j.kernel.api.index.ValueHistogram;
 import org.neo4j.kernel.impl.api.index.PhaseTracker;
 import org.neo4j.kernel.impl.api.index.updater.DelegatingIndexUpdater;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobHandles;
 import org.neo4j.storageengine.api.IndexEntryUpdate;
 import org.neo4j.storageengine.api.UpdateMode;
 import org.neo4j.storageengine.api.ValueIndexEntryUpdate;
@@ -89,10 +95,17 @@ import static org.neo4j.util.concurrent.Runnables.runAll;
  *
  * where {@link GraphDatabaseInternalSettings#index_population_workers} controls the number of population workers.
  *
+ * Regarding building the tree: when there are multiple parts, the merged parts are split into key ranges, one per part, using the
+ * {@link BlockStorage#entryPositions() entry positions} sampled while merging. Each key range is then read from all the parts
+ * and bulk loaded into the tree by its own thread, see {@link BulkLoader}.
+ *
  * @param <KEY>
  */
 public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>> extends NativeIndexPopulator<KEY>
 {
+    private static final String WRITE_PARTITION_TAG = "writeScanUpdatesPartitionToTree";
+    // Splitting the scan updates into key ranges requires at least this many sampled entry positions per key range
+    private static final int MIN_SAMPLES_PER_PARTITION = 2;
     private final boolean archiveFailedIndex;
     private final MemoryTracker memoryTracker;
     /**
@@ -101,6 +114,10 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
      * i.e. the number of blocks shrinks by a factor {@link #mergeFactor} every pass, until one block is left.
      */
     private final int mergeFactor;
+    /**
+     * How full to make the tree nodes when building the tree from the scan updates.
+     */
+    private final double fillFactor;
     private final BlockStorage.Monitor blockStorageMonitor;
     // written to in a synchronized method when creating new thread-local instances, read from when population completes
     private final List<ThreadLocalBlockStorage> allScanUpdates = new CopyOnWriteArrayList<>();
@@ -134,6 +151,7 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
         this.archiveFailedIndex = archiveFailedIndex;
         this.memoryTracker = memoryTracker;
         this.mergeFactor = config.get( GraphDatabaseInternalSettings.index_populator_merge_factor );
+        this.fillFactor = config.get( GraphDatabaseInternalSettings.index_population_fill_factor );
         this.blockStorageMonitor = blockStorageMonitor;
         this.scanUpdates = ThreadLocal.withInitial( this::newThreadLocalBlockStorage );
         this.bufferFactory = bufferFactory;
@@ -401,15 +419,23 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
     }
 
     private IndexSample writeScanUpdatesToTree( PopulationWorkScheduler populationWorkScheduler, RecordingConflictDetector<KEY> recordingConflictDetector,
-            Allocator allocator, int bufferSize, CursorContext cursorContext ) throws IOException, IndexEntryConflictException
+            Allocator allocator, int bufferSize, CursorContext cursorContext )
+            throws IOException, IndexEntryConflictException, InterruptedException, ExecutionException
     {
         if ( allScanUpdates.isEmpty() )
         {
             return new IndexSample( 0, 0, 0 );
         }
 
+        List<KEY> partitionBoundaries = partitionBoundaries();
+        if ( !partitionBoundaries.isEmpty() )
+        {
+            return writeScanUpdatesToTreeInPartitions( populationWorkScheduler, recordingConflictDetector, allocator, bufferSize, partitionBoundaries,
+                    cursorContext );
+        }
+
         // Merge the (sorted) scan updates from all the different threads in pairs until only one stream remain,
-        // and direct that stream towards the tree writer (which itself is only single threaded)
+        // and direct that stream towards a bulk loader, which builds the (empty) tree bottom-up from the sorted entries
         try ( var readBuffers = new CompositeBuffer();
               var singleBlockScopedBuffer = allocator.allocate( (int) kibiBytes( 8 ), memoryTracker ) )
         {
@@ -429,20 +455,247 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
             }
 
             Comparator<KEY> samplingComparator = descriptor.isUnique() ? null : layout::compareValue;
+            ValueHistogram.Builder histogram = buildsValueHistogramWhileWriting() ? new ValueHistogram.Builder() : null;
             try ( var merger = new PartMerger<>( populationWorkScheduler, parts, layout, samplingComparator, cancellation, PartMerger.DEFAULT_BATCH_SIZE );
                   var allEntries = merger.startMerge();
-                  var writer = tree.writer( 1, cursorContext ) )
+                  var bulkLoader = tree.bulkLoader( 1, fillFactor, cursorContext ) )
+            {
+                try ( var appender = bulkLoader.appender( 0, cursorContext ) )
+                {
+                    KEY previousKey = layout.newKey();
+                    boolean first = true;
+                    while ( allEntries.next() && !cancellation.cancelled() )
+                    {
+                        KEY key = allEntries.key();
+                        FullScanNonUniqueIndexSampler.addToHistogram( histogram, key );
+                        if ( appendToTree( appender, recordingConflictDetector, key, first ? null : previousKey ) )
+                        {
+                            layout.copyKey( key, previousKey );
+                            first = false;
+                        }
+                        numberOfAppliedScanUpdates.incrementAndGet();
+                    }
+                }
+                bulkLoader.finish( cursorContext );
+                return descriptor.isUnique() ? null : withHistogram( allEntries.buildIndexSample(), histogram );
+            }
+        }
+    }
+
+    /**
+     * Picks keys splitting the merged scan updates into key ranges of roughly equal size, one per part, from the entry positions sampled
+     * when merging the parts. Boundaries only compare values, which means that all keys with the same value end up in the same key range
+     * and so duplicates and the number of unique values can be handled by each key range on its own.
+     *
+     * @return the lower bound of every key range but the first, or an empty list if the scan updates should be written as one key range.
+     */
+    private List<KEY> partitionBoundaries()
+    {
+        int partitions = allScanUpdates.size();
+        if ( partitions < 2 )
+        {
+            return Collections.emptyList();
+        }
+
+        List<KEY> sampledKeys = new ArrayList<>();
+        for ( ThreadLocalBlockStorage part : allScanUpdates )
+        {
+            List<BlockStorage.EntryPosition<KEY>> positions = part.blockStorage.entryPositions();
+            if ( positions == null )
+            {
+                return Collections.emptyList();
+            }
+            positions.forEach( position -> sampledKeys.add( position.key ) );
+        }
+        if ( sampledKeys.size() < partitions * MIN_SAMPLES_PER_PARTITION )
+        {
+            return Collections.emptyList();
+        }
+
+        sampledKeys.sort( layout::compareValue );
+        List<KEY> boundaries = new ArrayList<>();
+        KEY previous = sampledKeys.get( 0 );
+        for ( int i = 1; i < partitions; i++ )
+        {
+            KEY candidate = sampledKeys.get( (int) ((long) i * sampledKeys.size() / partitions) );
+            if ( layout.compareValue( previous, candidate ) < 0 )
+            {
+                KEY boundary = layout.copyKey( candidate, layout.newKey() );
+                boundary.setCompareId( false );
+                boundaries.add( boundary );
+                previous = candidate;
+            }
+        }
+        return boundaries;
+    }
+
+    /**
+     * Writes each key range, as given by the partition boundaries, to the tree in its own thread. Every key range reads all parts, starting
+     * from the last sampled entry position before the key range.
+     */
+    private IndexSample writeScanUpdatesToTreeInPartitions( PopulationWorkScheduler populationWorkScheduler,
+            RecordingConflictDetector<KEY> recordingConflictDetector, Allocator allocator, int bufferSize, List<KEY> partitionBoundaries,
+            CursorContext cursorContext ) throws IOException, IndexEntryConflictException, InterruptedException, ExecutionException
+    {
+        int partitions = partitionBoundaries.size() + 1;
+        // Every key range has a read buffer per part, split the memory otherwise used for merging all parts between the key ranges
+        int partBufferSize = (int) Math.max( kibiBytes( 64 ), bufferSize / partitions );
+        try ( var readBuffers = new CompositeBuffer();
+              var bulkLoader = tree.bulkLoader( partitions, fillFactor, cursorContext ) )
+        {
+            List<JobHandle<IndexSample>> handles = new ArrayList<>();
+            List<ValueHistogram.Builder> partitionHistograms = new ArrayList<>();
+            for ( int partition = 0; partition < partitions; partition++ )
+            {
+                List<ScopedBuffer> partitionBuffers = new ArrayList<>();
+                for ( int i = 0; i < allScanUpdates.size(); i++ )
+                {
+                    var readScopedBuffer = allocator.allocate( partBufferSize, memoryTracker );
+                    readBuffers.addBuffer( readScopedBuffer );
+                    partitionBuffers.add( readScopedBuffer );
+                }
+                int currentPartition = partition;
+                KEY fromInclusive = partition == 0 ? null : partitionBoundaries.get( partition - 1 );
+                KEY toExclusive = partition == partitions - 1 ? null : partitionBoundaries.get( partition );
+                ValueHistogram.Builder partitionHistogram = buildsValueHistogramWhileWriting() ? new ValueHistogram.Builder() : null;
+                partitionHistograms.add( partitionHistogram );
+                handles.add( populationWorkScheduler.schedule(
+                        indexName -> "Writing key range " + currentPartition + " of scan updates for '" + indexName + "'",
+                        () -> writePartitionToTree( bulkLoader, currentPartition, fromInclusive, toExclusive, recordingConflictDetector,
+                                partitionBuffers, partitionHistogram ) ) );
+            }
+
+            List<IndexSample> partitionSamples;
+            try
+            {
+                partitionSamples = JobHandles.getAllResults( handles );
+            }
+            catch ( ExecutionException e )
+            {
+                // Failures of all key ranges are chained together and each of them is wrapped by the job handle it came from
+                Optional<Throwable> conflict = Exceptions.findCauseOrSuppressed( e, t -> t instanceof IndexEntryConflictException );
+                if ( conflict.isPresent() )
+                {
+                    throw (IndexEntryConflictException) conflict.get();
+                }
+                Optional<Throwable> ioException = Exceptions.findCauseOrSuppressed( e, t -> t instanceof IOException );
+                if ( ioException.isPresent() )
+                {
+                    throw (IOException) ioException.get();
+                }
+                throw e;
+            }
+            bulkLoader.finish( cursorContext );
+
+            long sampledValues = 0;
+            long uniqueValues = 0;
+            for ( IndexSample partitionSample : partitionSamples )
+            {
+                sampledValues += partitionSample.sampleSize();
+                uniqueValues += partitionSample.uniqueValues();
+            }
+            if ( descriptor.isUnique() )
+            {
+                return null;
+            }
+            // Key ranges are consecutive, so their histograms can be put one after the other
+            ValueHistogram.Builder histogram = null;
+            if ( buildsValueHistogramWhileWriting() )
+            {
+                histogram = new ValueHistogram.Builder();
+                for ( ValueHistogram.Builder partitionHistogram : partitionHistograms )
+                {
+                    histogram.addAll( partitionHistogram );
+                }
+            }
+            return withHistogram( new IndexSample( sampledValues, uniqueValues, sampledValues ), histogram );
+        }
+    }
+
+    private IndexSample writePartitionToTree( BulkLoader<KEY,NullValue> bulkLoader, int partition, KEY fromInclusive, KEY toExclusive,
+            RecordingConflictDetector<KEY> recordingConflictDetector, List<ScopedBuffer> readBuffers, ValueHistogram.Builder histogram )
+            throws IOException, IndexEntryConflictException
+    {
+        try ( var cursorContext = new CursorContext( pageCacheTracer.createPageCursorTracer( WRITE_PARTITION_TAG ) );
+              var entries = new MergingBlockEntryReader<KEY,NullValue>( layout );
+              var appender = bulkLoader.appender( partition, cursorContext ) )
+        {
+            for ( int i = 0; i < allScanUpdates.size(); i++ )
+            {
+                BlockStorage<KEY,NullValue> blockStorage = allScanUpdates.get( i ).blockStorage;
+                BlockStorage.EntryPosition<KEY> start = startPosition( blockStorage.entryPositions(), fromInclusive );
+                if ( start != null )
+                {
+                    entries.addSource( new KeyRangeCursor<>( layout, blockStorage.reader( start, readBuffers.get( i ), true ), fromInclusive, toExclusive ) );
+                }
+            }
+
+            KEY previousKey = layout.newKey();
+            boolean first = true;
+            long sampledValues = 0;
+            long uniqueValues = 0;
+            while ( entries.next() && !cancellation.cancelled() )
             {
-                while ( allEntries.next() && !cancellation.cancelled() )
+                KEY key = entries.key();
+                if ( first || layout.compareSampledValue( previousKey, key ) != 0 )
+                {
+                    uniqueValues++;
+                }
+                sampledValues++;
+                FullScanNonUniqueIndexSampler.addToHistogram( histogram, key );
+                if ( appendToTree( appender, recordingConflictDetector, key, first ? null : previousKey ) )
                 {
-                    writeToTree( writer, recordingConflictDetector, allEntries.key() );
-                    numberOfAppliedScanUpdates.incrementAndGet();
+                    layout.copyKey( key, previousKey );
+                    first = false;
                 }
-                return descriptor.isUnique() ? null : allEntries.buildIndexSample();
+                numberOfAppliedScanUpdates.incrementAndGet();
             }
+            return new IndexSample( sampledValues, uniqueValues, sampledValues );
         }
     }
 
+    /**
+     * @return whether or not to build the {@link ValueHistogram} of the sample while writing the scan updates to the tree.
+     */
+    private boolean buildsValueHistogramWhileWriting()
+    {
+        return !descriptor.isUnique() && buildValueHistogram();
+    }
+
+    private static IndexSample withHistogram( IndexSample sample, ValueHistogram.Builder histogram )
+    {
+        if ( histogram == null )
+        {
+            return sample;
+        }
+        return new IndexSample( sample.indexSize(), sample.uniqueValues(), sample.sampleSize(), sample.updates(), histogram.build( sample.indexSize() ) );
+    }
+
+    /**
+     * @return the last sampled entry position with a key before the given key, i.e. where to start reading to not miss any entries
+     * in a key range starting at that key, or {@code null} if there are no entries at all.
+     */
+    private BlockStorage.EntryPosition<KEY> startPosition( List<BlockStorage.EntryPosition<KEY>> positions, KEY fromInclusive )
+    {
+        if ( positions.isEmpty() )
+        {
+            return null;
+        }
+        BlockStorage.EntryPosition<KEY> start = positions.get( 0 );
+        if ( fromInclusive != null )
+        {
+            for ( BlockStorage.EntryPosition<KEY> position : positions )
+            {
+                if ( layout.compare( position.key, fromInclusive ) >= 0 )
+                {
+                    break;
+                }
+                start = position;
+            }
+        }
+        return start;
+    }
+
     @Override
     public IndexUpdater newPopulatingUpdater( CursorContext cursorContext )
     {
@@ -627,6 +880,42 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
         handleMergeConflict( writer, recordingConflictDetector, key );
     }
 
+    /**
+     * Append key to the tree being bulk loaded and record duplicates if any. Keys come in sorted order, including entity id, which means that
+     * an existing key with the same value as this key, which {@link #writeToTree(Writer, RecordingConflictDetector, NativeIndexKey)} would find
+     * in the tree, is the previously appended key. A key equal to the previous key is already in the tree and is not appended again.
+     *
+     * @return {@code true} if the key was appended, otherwise {@code false}.
+     */
+    private boolean appendToTree( BulkLoader.Appender<KEY,NullValue> appender, RecordingConflictDetector<KEY> recordingConflictDetector, KEY key,
+            KEY previousKey ) throws IndexEntryConflictException
+    {
+        key.setCompareId( true );
+        if ( previousKey != null && layout.compareValue( previousKey, key ) == 0 )
+        {
+            if ( previousKey.getEntityId() == key.getEntityId() )
+            {
+                return false;
+            }
+            if ( descriptor.isUnique() )
+            {
+                // Key ranges are appended concurrently, but share the conflict detector
+                synchronized ( recordingConflictDetector )
+                {
+                    recordingConflictDetector.merge( previousKey, key, NullValue.INSTANCE, NullValue.INSTANCE );
+                    if ( recordingConflictDetector.wasConflicting() )
+                    {
+                        KEY copy = layout.newKey();
+                        layout.copyKey( key, copy );
+                        recordingConflictDetector.reportConflict( copy );
+                    }
+                }
+            }
+        }
+        appender.add( key, NullValue.INSTANCE );
+        return true;
+    }
+
     /**
      * Will check if recording conflict detector saw a conflict. If it did, that conflict has been recorded and we will verify uniqueness for this
      * value later on. But for now we try and insert conflicting value again but with a relaxed uniqueness constraint. Insert is done with a throwing
@@ -655,7 +944,8 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
                 nonUniqueIndexSample.indexSize(),
                 nonUniqueIndexSample.uniqueValues(),
                 nonUniqueIndexSample.sampleSize(),
-                numberOfIndexUpdatesSinceSample.get() );
+                numberOfIndexUpdatesSinceSample.get(),
+                nonUniqueIndexSample.histogram() );
     }
 
     /**
@@ -747,6 +1037,58 @@ public abstract class BlockBasedIndexPopulator<KEY extends NativeIndexKey<KEY>>
         }
     }
 
+    /**
+     * Limits a cursor over sorted entries to the entries within a key range.
+     */
+    private static class KeyRangeCursor<KEY extends NativeIndexKey<KEY>> implements BlockEntryCursor<KEY,NullValue>
+    {
+        private final IndexLayout<KEY> layout;
+        private final BlockEntryCursor<KEY,NullValue> cursor;
+        private final KEY fromInclusive;
+        private final KEY toExclusive;
+
+        KeyRangeCursor( IndexLayout<KEY> layout, BlockEntryCursor<KEY,NullValue> cursor, KEY fromInclusive, KEY toExclusive )
+        {
+            this.layout = layout;
+            this.cursor = cursor;
+            this.fromInclusive = fromInclusive;
+            this.toExclusive = toExclusive;
+        }
+
+        @Override
+        public boolean next() throws IOException
+        {
+            while ( cursor.next() )
+            {
+                KEY key = cursor.key();
+                if ( fromInclusive != null && layout.compare( key, fromInclusive ) < 0 )
+                {
+                    continue;
+                }
+                return toExclusive == null || layout.compare( key, toExclusive ) < 0;
+            }
+            return false;
+        }
+
+        @Override
+        public KEY key()
+        {
+            return cursor.key();
+        }
+
+        @Override
+        public NullValue value()
+        {
+            return cursor.value();
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            cursor.close();
+        }
+    }
+
     private static class CompositeBuffer implements AutoCloseable
     {
         private final Collection<AutoCloseable> buffers = new ArrayList<>();
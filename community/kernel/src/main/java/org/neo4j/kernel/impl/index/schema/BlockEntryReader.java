@@ -45,10 +45,24 @@ public class BlockEntryReader<KEY,VALUE> implements BlockEntryCursor<KEY,VALUE>
      * If {@code false} the single KEY and VALUE instances will be reused and its data overwritten with each invokation to {@link #next()}.
      */
     BlockEntryReader( PageCursor pageCursor, Layout<KEY,VALUE> layout, boolean produceNewKeyAndValueInstances )
+    {
+        this( pageCursor, layout, produceNewKeyAndValueInstances, pageCursor.getLong(), pageCursor.getLong() );
+    }
+
+    /**
+     * Reads the given number of entries from where the page cursor is placed, i.e. at an entry somewhere inside a block as opposed to at its header.
+     * The size of the block isn't known to such a reader.
+     */
+    BlockEntryReader( PageCursor pageCursor, Layout<KEY,VALUE> layout, boolean produceNewKeyAndValueInstances, long entryCount )
+    {
+        this( pageCursor, layout, produceNewKeyAndValueInstances, -1, entryCount );
+    }
+
+    private BlockEntryReader( PageCursor pageCursor, Layout<KEY,VALUE> layout, boolean produceNewKeyAndValueInstances, long blockSize, long entryCount )
     {
         this.pageCursor = pageCursor;
-        this.blockSize = pageCursor.getLong();
-        this.entryCount = pageCursor.getLong();
+        this.blockSize = blockSize;
+        this.entryCount = entryCount;
         this.layout = layout;
         this.key = produceNewKeyAndValueInstances ? null : layout.newKey();
         this.value = produceNewKeyAndValueInstances ? null : layout.newValue();
@@ -26,17 +26,22 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.function.IntConsumer;
 
 import org.neo4j.index.internal.gbptree.Layout;
 import org.neo4j.io.IOUtils;
 import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.ReadAheadChannel;
 import org.neo4j.io.fs.StoreChannel;
 import org.neo4j.io.memory.ByteBufferFactory;
 import org.neo4j.io.memory.ByteBufferFactory.Allocator;
 import org.neo4j.io.memory.ScopedBuffer;
 import org.neo4j.io.pagecache.ByteArrayPageCursor;
+import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.util.Preconditions;
 
@@ -52,6 +57,10 @@ import static org.neo4j.kernel.impl.index.schema.BlockStorage.Cancellation.NOT_C
  * resulting in larger blocks of sorted entries. Those larger blocks are then merge joined back to the original file. Merging continues in this ping pong
  * fashion until there is only a single large block in the resulting file. The entries are now ready to be read in sorted order,
  * call {@link #reader(boolean)}.
+ * <p>
+ * While writing the first block of a file, the position of an entry is sampled every {@link #blockSize} bytes. When merging is completed the
+ * single block is the first block and so its sampled {@link #entryPositions() entry positions} can be used to start reading
+ * the sorted entries from somewhere in the middle, see {@link #reader(EntryPosition, ScopedBuffer, boolean)}.
  */
 class BlockStorage<KEY, VALUE> implements Closeable
 {
@@ -69,6 +78,8 @@ class BlockStorage<KEY, VALUE> implements Closeable
     private final ByteBufferFactory bufferFactory;
     private final Path blockFile;
     private long numberOfBlocksInCurrentFile;
+    // Sampled positions of the first block in the current file, or null if the current file has more than one block
+    private List<EntryPosition<KEY>> entryPositions;
     private int currentBufferSize;
     private boolean doneAdding;
     private long entryCount;
@@ -289,9 +300,13 @@ class BlockStorage<KEY, VALUE> implements Closeable
     private void writeBlock( StoreChannel targetChannel, BlockEntryCursor<KEY,VALUE> blockEntryCursor, long blockSize, long entryCount,
             Cancellation cancellation, IntConsumer entryCountReporter, ByteBuffer byteBuffer ) throws IOException
     {
+        // Only the first block of a file gets its entry positions sampled, since only a file with a single block is of interest
+        List<EntryPosition<KEY>> positions = targetChannel.position() == 0 ? new ArrayList<>() : null;
         writeHeader( byteBuffer, blockSize, entryCount );
-        long actualDataSize = writeEntries( targetChannel, byteBuffer, layout, blockEntryCursor, cancellation, entryCountReporter );
+        long actualDataSize = writeEntries( targetChannel, byteBuffer, layout, blockEntryCursor, cancellation, entryCountReporter, positions,
+                this.blockSize );
         writeLastEntriesWithPadding( targetChannel, byteBuffer, blockSize - actualDataSize );
+        entryPositions = positions;
     }
 
     private static void writeHeader( ByteBuffer byteBuffer, long blockSize, long entryCount )
@@ -300,19 +315,32 @@ class BlockStorage<KEY, VALUE> implements Closeable
         byteBuffer.putLong( entryCount );
     }
 
+    /**
+     * @param positions if not {@code null}, the position of an entry is added to it every {@code sampleInterval} bytes, starting with the first entry.
+     * The block is then expected to be written at the start of the file.
+     */
     private static <KEY, VALUE> long writeEntries( StoreChannel targetChannel, ByteBuffer byteBuffer, Layout<KEY,VALUE> layout,
-            BlockEntryCursor<KEY,VALUE> blockEntryCursor, Cancellation cancellation, IntConsumer entryCountReporter ) throws IOException
+            BlockEntryCursor<KEY,VALUE> blockEntryCursor, Cancellation cancellation, IntConsumer entryCountReporter, List<EntryPosition<KEY>> positions,
+            long sampleInterval ) throws IOException
     {
         // Loop over block entries
         long actualDataSize = BLOCK_HEADER_SIZE;
         ByteArrayPageCursor pageCursor = new ByteArrayPageCursor( byteBuffer );
         int entryCountToReport = 0;
+        long entryIndex = 0;
+        long nextSampledDataSize = actualDataSize;
         while ( blockEntryCursor.next() )
         {
             KEY key = blockEntryCursor.key();
             VALUE value = blockEntryCursor.value();
             int entrySize = BlockEntry.entrySize( layout, key, value );
+            if ( positions != null && actualDataSize >= nextSampledDataSize )
+            {
+                positions.add( new EntryPosition<>( layout.copyKey( key, layout.newKey() ), actualDataSize, entryIndex ) );
+                nextSampledDataSize = actualDataSize + sampleInterval;
+            }
             actualDataSize += entrySize;
+            entryIndex++;
             entryCountToReport++;
 
             if ( byteBuffer.remaining() < entrySize )
@@ -375,6 +403,35 @@ class BlockStorage<KEY, VALUE> implements Closeable
         return reader( blockFile, produceNewKeyAndValueInstances );
     }
 
+    /**
+     * @return positions of entries sampled while writing the single sorted block, in key order, or {@code null} if merging hasn't completed.
+     */
+    List<EntryPosition<KEY>> entryPositions()
+    {
+        if ( numberOfBlocksInCurrentFile == 0 )
+        {
+            return Collections.emptyList();
+        }
+        return numberOfBlocksInCurrentFile == 1 ? entryPositions : null;
+    }
+
+    /**
+     * Reads the entries of the single sorted block, starting at an entry whose position was sampled when writing it.
+     *
+     * @param from position of the first entry to read, one of {@link #entryPositions()}.
+     * @param blockBuffer buffer to read the entries through.
+     * @param produceNewKeyAndValueInstances see {@link BlockEntryReader}.
+     * @return cursor over the entries from the given position until the end of the block.
+     */
+    BlockEntryCursor<KEY,VALUE> reader( EntryPosition<KEY> from, ScopedBuffer blockBuffer, boolean produceNewKeyAndValueInstances ) throws IOException
+    {
+        Preconditions.checkState( numberOfBlocksInCurrentFile == 1, "Can only read from a position in a single merged block" );
+        StoreChannel channel = fs.read( blockFile );
+        channel.position( from.position );
+        PageCursor pageCursor = new ReadableChannelPageCursor( new ReadAheadChannel<>( channel, blockBuffer.getBuffer() ) );
+        return new BlockEntryReader<>( pageCursor, layout, produceNewKeyAndValueInstances, entryCount - from.entryIndex );
+    }
+
     private BlockReader<KEY,VALUE> reader( Path file, boolean produceNewKeyAndValueInstances ) throws IOException
     {
         return new BlockReader<>( fs, file, layout, produceNewKeyAndValueInstances );
@@ -485,6 +542,25 @@ class BlockStorage<KEY, VALUE> implements Closeable
         Monitor NO_MONITOR = new Adapter();
     }
 
+    /**
+     * Position of an entry in the block file, sampled when the block containing it was written.
+     */
+    static class EntryPosition<KEY>
+    {
+        final KEY key;
+        // Byte offset of the entry in the file
+        final long position;
+        // Number of entries before this entry in its block
+        final long entryIndex;
+
+        EntryPosition( KEY key, long position, long entryIndex )
+        {
+            this.key = key;
+            this.position = position;
+            this.entryIndex = entryIndex;
+        }
+    }
+
     @FunctionalInterface
     public interface Cancellation
     {
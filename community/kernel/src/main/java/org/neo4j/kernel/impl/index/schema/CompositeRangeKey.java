@@ -81,7 +81,14 @@ final class CompositeRangeKey extends RangeKey
     @Override
     int compareValueToInternal( RangeKey other )
     {
-        int slots = numberOfStateSlots();
+        return compareValueToInternal( other, numberOfStateSlots() );
+    }
+
+    /**
+     * Compares only the first {@code slots} state slots of the keys.
+     */
+    int compareValueToInternal( RangeKey other, int slots )
+    {
         for ( int i = 0; i < slots; i++ )
         {
             int comparison = stateSlot( i ).compareValueToInternal( other.stateSlot( i ) );
@@ -34,9 +34,10 @@ public class DatabaseIndexContext
     final DatabaseReadOnlyChecker readOnlyChecker;
     final PageCacheTracer pageCacheTracer;
     final String databaseName;
+    final boolean concurrentUpdates;
 
     private DatabaseIndexContext( PageCache pageCache, FileSystemAbstraction fileSystem, Monitors monitors, String monitorTag,
-            DatabaseReadOnlyChecker readOnlyChecker, PageCacheTracer pageCacheTracer, String databaseName )
+            DatabaseReadOnlyChecker readOnlyChecker, PageCacheTracer pageCacheTracer, String databaseName, boolean concurrentUpdates )
     {
         this.pageCache = pageCache;
         this.fileSystem = fileSystem;
@@ -45,6 +46,7 @@ public class DatabaseIndexContext
         this.readOnlyChecker = readOnlyChecker;
         this.pageCacheTracer = pageCacheTracer;
         this.databaseName = databaseName;
+        this.concurrentUpdates = concurrentUpdates;
     }
 
     /**
@@ -70,7 +72,8 @@ public class DatabaseIndexContext
                 .withReadOnlyChecker( copy.readOnlyChecker )
                 .withMonitors( copy.monitors )
                 .withTag( copy.monitorTag )
-                .withPageCacheTracer( copy.pageCacheTracer );
+                .withPageCacheTracer( copy.pageCacheTracer )
+                .withConcurrentUpdates( copy.concurrentUpdates );
     }
 
     public static class Builder
@@ -82,6 +85,7 @@ public class DatabaseIndexContext
         private String monitorTag;
         private DatabaseReadOnlyChecker readOnlyChecker;
         private PageCacheTracer pageCacheTracer;
+        private boolean concurrentUpdates;
 
         private Builder( PageCache pageCache, FileSystemAbstraction fileSystem, String databaseName )
         {
@@ -142,9 +146,23 @@ public class DatabaseIndexContext
             return this;
         }
 
+        /**
+         * Default is false
+         *
+         * @param concurrentUpdates whether or not index updaters may be used by several threads at the same time,
+         * each one getting its own updater changing the index concurrently with the others.
+         * @return {@link Builder this builder}
+         */
+        public Builder withConcurrentUpdates( boolean concurrentUpdates )
+        {
+            this.concurrentUpdates = concurrentUpdates;
+            return this;
+        }
+
         public DatabaseIndexContext build()
         {
-            return new DatabaseIndexContext( pageCache, fileSystem, monitors, monitorTag, readOnlyChecker, pageCacheTracer, databaseName );
+            return new DatabaseIndexContext( pageCache, fileSystem, monitors, monitorTag, readOnlyChecker, pageCacheTracer, databaseName,
+                    concurrentUpdates );
         }
     }
 }
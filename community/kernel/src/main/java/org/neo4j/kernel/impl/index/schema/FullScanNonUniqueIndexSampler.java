@@ -27,9 +27,11 @@ import org.neo4j.index.internal.gbptree.Seeker;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.api.index.NonUniqueIndexSampler;
+import org.neo4j.kernel.api.index.ValueHistogram;
 
 /**
  * {@link NonUniqueIndexSampler} which performs a full scans of a {@link GBPTree} in {@link #sample(CursorContext)}.
+ * Optionally builds a {@link ValueHistogram} of the first value of the keys, for single property indexes.
  *
  * @param <KEY> type of keys in tree.
  */
@@ -38,11 +40,18 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>>
 {
     private final GBPTree<KEY,NullValue> gbpTree;
     private final IndexLayout<KEY> layout;
+    private final boolean buildHistogram;
 
     FullScanNonUniqueIndexSampler( GBPTree<KEY,NullValue> gbpTree, IndexLayout<KEY> layout )
+    {
+        this( gbpTree, layout, false );
+    }
+
+    FullScanNonUniqueIndexSampler( GBPTree<KEY,NullValue> gbpTree, IndexLayout<KEY> layout, boolean buildHistogram )
     {
         this.gbpTree = gbpTree;
         this.layout = layout;
+        this.buildHistogram = buildHistogram;
     }
 
     @Override
@@ -55,6 +64,7 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>>
         highest.initialize( Long.MAX_VALUE );
         highest.initValuesAsHighest();
         KEY prev = layout.newKey();
+        ValueHistogram.Builder histogram = buildHistogram ? new ValueHistogram.Builder() : null;
         try ( Seeker<KEY,NullValue> seek = gbpTree.seek( lowest, highest, cursorContext ) )
         {
             long sampledValues = 0;
@@ -66,20 +76,23 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>>
                 prev = layout.copyKey( seek.key(), prev );
                 sampledValues++;
                 uniqueValues++;
+                addToHistogram( histogram, seek.key() );
 
                 // Then do the rest
                 while ( seek.next() )
                 {
-                    if ( layout.compareValue( prev, seek.key() ) != 0 )
+                    if ( layout.compareSampledValue( prev, seek.key() ) != 0 )
                     {
                         uniqueValues++;
                         layout.copyKey( seek.key(), prev );
                     }
                     // else this is a duplicate of the previous one
                     sampledValues++;
+                    addToHistogram( histogram, seek.key() );
                 }
             }
-            return new IndexSample( sampledValues, uniqueValues, sampledValues );
+            return histogram == null ? new IndexSample( sampledValues, uniqueValues, sampledValues )
+                                     : new IndexSample( sampledValues, uniqueValues, sampledValues, 0, histogram.build( sampledValues ) );
         }
         catch ( IOException e )
         {
@@ -87,6 +100,14 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>>
         }
     }
 
+    static <KEY extends NativeIndexKey<KEY>> void addToHistogram( ValueHistogram.Builder histogram, KEY key )
+    {
+        if ( histogram != null )
+        {
+            histogram.add( key.asValues()[0] );
+        }
+    }
+
     @Override
     public IndexSample sample( int numDocs, CursorContext cursorContext )
     {
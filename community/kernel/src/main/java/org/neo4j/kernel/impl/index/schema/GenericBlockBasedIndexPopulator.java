@@ -71,6 +71,12 @@ class GenericBlockBasedIndexPopulator extends BlockBasedIndexPopulator<BtreeKey>
         return map;
     }
 
+    @Override
+    boolean buildValueHistogram()
+    {
+        return descriptor.schema().getPropertyIds().length == 1;
+    }
+
     @Override
     protected IndexValueValidator instantiateValueValidator()
     {
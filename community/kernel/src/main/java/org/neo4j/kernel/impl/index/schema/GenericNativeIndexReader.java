@@ -209,6 +209,12 @@ class GenericNativeIndexReader extends NativeIndexReader<BtreeKey>
         }
     }
 
+    @Override
+    boolean buildValueHistogram()
+    {
+        return descriptor.schema().getPropertyIds().length == 1;
+    }
+
     @Override
     boolean initializeRangeForQuery( BtreeKey treeKeyFrom, BtreeKey treeKeyTo, PropertyIndexQuery[] query )
     {
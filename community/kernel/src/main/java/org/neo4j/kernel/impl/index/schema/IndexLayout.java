@@ -78,4 +78,13 @@ abstract class IndexLayout<KEY extends NativeIndexKey<KEY>> extends Layout.Adapt
     {
         return o1.compareValueTo( o2 );
     }
+
+    /**
+     * Compares the values that index samples count distinct values of. Keys that are equal according to this comparison are
+     * adjacent in the tree, since this comparison is at most as fine-grained as {@link #compareValue(NativeIndexKey, NativeIndexKey)}.
+     */
+    int compareSampledValue( KEY o1, KEY o2 )
+    {
+        return compareValue( o1, o2 );
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Seeker;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.api.index.NonUniqueIndexSampler;
+import org.neo4j.kernel.api.index.ValueHistogram;
+
+/**
+ * {@link NonUniqueIndexSampler} which reads a number of short runs of entries spread out over a {@link GBPTree} in {@link #sample(CursorContext)},
+ * instead of scanning all of it like {@link FullScanNonUniqueIndexSampler} does. The runs start at the beginning of evenly sized sub-trees,
+ * as found by {@link GBPTree#partitionedSeek(Object, Object, int, CursorContext)}, and the size of the index is
+ * {@link GBPTree#estimateNumberOfEntriesInTree(CursorContext) estimated} from the internal nodes on the way down.
+ * <p>
+ * Entries are sorted by value, which means that the fraction of neighbouring entries in the runs having different values estimates
+ * the number of distinct values in the whole index. The unique values of the resulting sample are those distinct values scaled down to the
+ * number of sampled entries, so that {@code uniqueValues / sampleSize} is the selectivity of the index and a sample size smaller than the index size
+ * tells that the sample is an estimate. Indexes small enough to be sampled by reading roughly as many entries as a full scan are fully scanned.
+ * <p>
+ * Optionally builds a {@link ValueHistogram} of the sampled entries, scaled up to the estimated size of the index.
+ *
+ * @param <KEY> type of keys in tree.
+ */
+class LeafSamplingNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>> extends NonUniqueIndexSampler.Adapter
+{
+    static final int DEFAULT_NUMBER_OF_RUNS = 1_000;
+    static final int DEFAULT_ENTRIES_PER_RUN = 100;
+
+    private final GBPTree<KEY,NullValue> gbpTree;
+    private final IndexLayout<KEY> layout;
+    private final int numberOfRuns;
+    private final int entriesPerRun;
+    private final boolean buildHistogram;
+
+    LeafSamplingNonUniqueIndexSampler( GBPTree<KEY,NullValue> gbpTree, IndexLayout<KEY> layout, boolean buildHistogram )
+    {
+        this( gbpTree, layout, DEFAULT_NUMBER_OF_RUNS, DEFAULT_ENTRIES_PER_RUN, buildHistogram );
+    }
+
+    LeafSamplingNonUniqueIndexSampler( GBPTree<KEY,NullValue> gbpTree, IndexLayout<KEY> layout, int numberOfRuns, int entriesPerRun )
+    {
+        this( gbpTree, layout, numberOfRuns, entriesPerRun, false );
+    }
+
+    LeafSamplingNonUniqueIndexSampler( GBPTree<KEY,NullValue> gbpTree, IndexLayout<KEY> layout, int numberOfRuns, int entriesPerRun,
+            boolean buildHistogram )
+    {
+        this.gbpTree = gbpTree;
+        this.layout = layout;
+        this.numberOfRuns = numberOfRuns;
+        this.entriesPerRun = entriesPerRun;
+        this.buildHistogram = buildHistogram;
+    }
+
+    @Override
+    public IndexSample sample( CursorContext cursorContext )
+    {
+        try
+        {
+            long estimatedIndexSize = gbpTree.estimateNumberOfEntriesInTree( cursorContext );
+            if ( estimatedIndexSize <= (long) numberOfRuns * entriesPerRun )
+            {
+                return new FullScanNonUniqueIndexSampler<>( gbpTree, layout, buildHistogram ).sample( cursorContext );
+            }
+
+            KEY lowest = layout.newKey();
+            lowest.initialize( Long.MIN_VALUE );
+            lowest.initValuesAsLowest();
+            KEY highest = layout.newKey();
+            highest.initialize( Long.MAX_VALUE );
+            highest.initValuesAsHighest();
+            KEY prev = layout.newKey();
+            ValueHistogram.Builder histogram = buildHistogram ? new ValueHistogram.Builder() : null;
+            long sampledValues = 0;
+            long neighbours = 0;
+            long valueChanges = 0;
+            for ( Seeker.WithContext<KEY,NullValue> run : gbpTree.partitionedSeek( lowest, highest, numberOfRuns, cursorContext ) )
+            {
+                try ( Seeker<KEY,NullValue> seek = run.with( cursorContext ) )
+                {
+                    for ( int i = 0; i < entriesPerRun && seek.next(); i++ )
+                    {
+                        if ( i > 0 )
+                        {
+                            neighbours++;
+                            if ( layout.compareSampledValue( prev, seek.key() ) != 0 )
+                            {
+                                valueChanges++;
+                            }
+                        }
+                        layout.copyKey( seek.key(), prev );
+                        FullScanNonUniqueIndexSampler.addToHistogram( histogram, seek.key() );
+                        sampledValues++;
+                    }
+                }
+            }
+            if ( neighbours == 0 )
+            {
+                return new FullScanNonUniqueIndexSampler<>( gbpTree, layout, buildHistogram ).sample( cursorContext );
+            }
+
+            long indexSize = Math.max( estimatedIndexSize, sampledValues );
+            double estimatedUniqueValues = 1 + (indexSize - 1) * ((double) valueChanges / neighbours);
+            long uniqueValues = Math.max( 1, Math.round( sampledValues * estimatedUniqueValues / indexSize ) );
+            return histogram == null ? new IndexSample( indexSize, uniqueValues, sampledValues )
+                                     : new IndexSample( indexSize, uniqueValues, sampledValues, 0, histogram.build( indexSize ) );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    @Override
+    public IndexSample sample( int numDocs, CursorContext cursorContext )
+    {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -52,7 +52,7 @@ abstract class NativeIndex<KEY extends NativeIndexKey<KEY>> implements Consisten
     private final Monitors monitors;
     private final String monitorTag;
     private final DatabaseReadOnlyChecker readOnlyChecker;
-    private final PageCacheTracer pageCacheTracer;
+    final PageCacheTracer pageCacheTracer;
     private final String databaseName;
 
     protected GBPTree<KEY,NullValue> tree;
@@ -24,6 +24,7 @@ import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.neo4j.graphdb.ResourceIterator;
 import org.neo4j.index.internal.gbptree.Seeker;
@@ -46,13 +47,20 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
         implements IndexAccessor
 {
     private final NativeIndexUpdater<KEY> singleUpdater;
+    private final boolean concurrentUpdates;
+    /**
+     * Updaters for concurrent updates which have been closed, and so can be handed out again along with the batch of changes they keep.
+     * There are never more of them than the number of threads that have updated this index at the same time.
+     */
+    private final ConcurrentLinkedQueue<NativeIndexUpdater<KEY>> idleConcurrentUpdaters = new ConcurrentLinkedQueue<>();
     final NativeIndexHeaderWriter headerWriter;
 
     NativeIndexAccessor( DatabaseIndexContext databaseIndexContext, IndexFiles indexFiles, IndexLayout<KEY> layout,
             IndexDescriptor descriptor )
     {
         super( databaseIndexContext, layout, indexFiles, descriptor );
-        singleUpdater = new NativeIndexUpdater<>( layout.newKey(), indexUpdateIgnoreStrategy() );
+        singleUpdater = new NativeIndexUpdater<>( layout, indexUpdateIgnoreStrategy() );
+        concurrentUpdates = databaseIndexContext.concurrentUpdates;
         headerWriter = new NativeIndexHeaderWriter( BYTE_ONLINE );
     }
 
@@ -70,6 +78,16 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
         assertOpen();
         try
         {
+            if ( concurrentUpdates )
+            {
+                // Several threads may apply updates at the same time and so each one gets an updater of its own
+                NativeIndexUpdater<KEY> updater = idleConcurrentUpdaters.poll();
+                if ( updater == null )
+                {
+                    updater = new NativeIndexUpdater<>( layout, indexUpdateIgnoreStrategy(), idleConcurrentUpdaters::offer );
+                }
+                return updater.initialize( tree.concurrentWriter( cursorContext ) );
+            }
             return singleUpdater.initialize( tree.writer( cursorContext ) );
         }
         catch ( IOException e )
@@ -34,6 +34,7 @@ import org.neo4j.kernel.api.index.IndexPopulator;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.api.index.IndexUpdater;
 import org.neo4j.kernel.api.index.UniqueIndexSampler;
+import org.neo4j.kernel.api.index.ValueHistogram;
 import org.neo4j.storageengine.api.IndexEntryUpdate;
 import org.neo4j.storageengine.api.NodePropertyAccessor;
 import org.neo4j.storageengine.api.ValueIndexEntryUpdate;
@@ -219,7 +220,16 @@ public abstract class NativeIndexPopulator<KEY extends NativeIndexKey<KEY>>
 
     IndexSample buildNonUniqueIndexSample( CursorContext cursorContext )
     {
-        return new FullScanNonUniqueIndexSampler<>( tree, layout ).sample( cursorContext );
+        return new FullScanNonUniqueIndexSampler<>( tree, layout, buildValueHistogram() ).sample( cursorContext );
+    }
+
+    /**
+     * @return whether or not the sample of the populated index should have a {@link ValueHistogram} of the indexed values,
+     * like the samples of its {@link #newReader() reader} have.
+     */
+    boolean buildValueHistogram()
+    {
+        return false;
     }
 
     private void markTreeAsFailed( CursorContext cursorContext )
@@ -37,9 +37,11 @@ import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.impl.FileIsNotMappedException;
 import org.neo4j.kernel.api.index.IndexProgressor;
 import org.neo4j.kernel.api.index.IndexSampler;
+import org.neo4j.kernel.api.index.ValueHistogram;
 import org.neo4j.kernel.api.index.ValueIndexReader;
 import org.neo4j.util.Preconditions;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
 import static org.apache.commons.lang3.exception.ExceptionUtils.getRootCause;
 import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.NEUTRAL;
@@ -67,12 +69,12 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
     {
         // For a unique index there's an optimization, knowing that all values in it are unique, to simply count
         // the number of indexed values and create a sample for that count. The GBPTree doesn't have an O(1)
-        // count mechanism, it will have to manually count the indexed values in it to get it.
+        // count mechanism, but can estimate it from its internal nodes.
         // For that reason this implementation opts for keeping complexity down by just using the existing
-        // non-unique sampler which scans the index and counts (potentially duplicates, of which there will
-        // be none in a unique index).
+        // non-unique sampler which samples parts of the index, or scans it if small, and counts (potentially duplicates,
+        // of which there will be none in a unique index).
 
-        FullScanNonUniqueIndexSampler<KEY> sampler = new FullScanNonUniqueIndexSampler<>( tree, layout );
+        LeafSamplingNonUniqueIndexSampler<KEY> sampler = new LeafSamplingNonUniqueIndexSampler<>( tree, layout, buildValueHistogram() );
         return tracer ->
         {
             try
@@ -92,6 +94,15 @@ abstract class NativeIndexReader<KEY extends NativeIndexKey<KEY>> implements Val
         };
     }
 
+    /**
+     * @return whether or not samples of this index should have a {@link ValueHistogram} of the indexed values. Only makes sense for
+     * single property indexes where values of the same value group are ordered like they are by {@link Values#COMPARATOR}.
+     */
+    boolean buildValueHistogram()
+    {
+        return false;
+    }
+
     @Override
     public long countIndexedEntities( long entityId, CursorContext cursorContext, int[] propertyKeyIds, Value... propertyValues )
     {
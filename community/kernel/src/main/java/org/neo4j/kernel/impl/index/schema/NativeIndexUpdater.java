@@ -19,6 +19,10 @@
  */
 package org.neo4j.kernel.impl.index.schema;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
 import org.neo4j.index.internal.gbptree.Writer;
 import org.neo4j.io.IOUtils;
 import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
@@ -29,19 +33,43 @@ import org.neo4j.values.storable.Value;
 
 import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.NEUTRAL;
 
+/**
+ * Updater which collects the changes of the updates it processes and applies them to the tree in key order, either when a batch
+ * of {@link #MAX_BATCH_SIZE} changes has been collected or when closed. Applying changes in key order lets the {@link Writer} move
+ * from one change to the next with as few page pins as possible, most often staying in the same leaf, instead of going
+ * from the root down to the leaf for every change.
+ * <p>
+ * Sorting is stable, so changes for the same key, e.g. a removal and addition of the same value for the same entity, are applied
+ * in the order they were processed. Changes for different keys are independent of each other.
+ */
 class NativeIndexUpdater<KEY extends NativeIndexKey<KEY>> implements IndexUpdater
 {
-    private final KEY treeKey;
+    private static final int MAX_BATCH_SIZE = 1_000;
+
+    private final IndexLayout<KEY> layout;
     private final IndexUpdateIgnoreStrategy ignoreStrategy;
     private final ConflictDetectingValueMerger<KEY,Value[]> conflictDetectingValueMerger = new ThrowingConflictDetector<>( true );
+    // Changes are reused between batches, only the first batchSize of them belong to the current batch
+    private final List<Change<KEY>> changes = new ArrayList<>();
+    private int batchSize;
     private Writer<KEY,NullValue> writer;
+    /**
+     * Called with this updater when it is closed, after having been open, so that it can be reused.
+     */
+    private final Consumer<NativeIndexUpdater<KEY>> onClose;
 
     private boolean closed = true;
 
-    NativeIndexUpdater( KEY treeKey, IndexUpdateIgnoreStrategy ignoreStrategy )
+    NativeIndexUpdater( IndexLayout<KEY> layout, IndexUpdateIgnoreStrategy ignoreStrategy )
+    {
+        this( layout, ignoreStrategy, updater -> {} );
+    }
+
+    NativeIndexUpdater( IndexLayout<KEY> layout, IndexUpdateIgnoreStrategy ignoreStrategy, Consumer<NativeIndexUpdater<KEY>> onClose )
     {
-        this.treeKey = treeKey;
+        this.layout = layout;
         this.ignoreStrategy = ignoreStrategy;
+        this.onClose = onClose;
     }
 
     NativeIndexUpdater<KEY> initialize( Writer<KEY,NullValue> writer )
@@ -61,14 +89,93 @@ class NativeIndexUpdater<KEY extends NativeIndexKey<KEY>> implements IndexUpdate
     {
         assertOpen();
         ValueIndexEntryUpdate<?> valueUpdate = asValueUpdate( update );
-        processUpdate( treeKey, valueUpdate, writer, conflictDetectingValueMerger, ignoreStrategy );
+        switch ( valueUpdate.updateMode() )
+        {
+        case REMOVED:
+            addChange( valueUpdate.getEntityId(), valueUpdate.values(), true );
+            break;
+        case CHANGED:
+            addChange( valueUpdate.getEntityId(), valueUpdate.beforeValues(), true );
+            // fallthrough
+        case ADDED:
+            addChange( valueUpdate.getEntityId(), valueUpdate.values(), false );
+            break;
+        default:
+            throw new IllegalArgumentException();
+        }
+    }
+
+    private void addChange( long entityId, Value[] values, boolean remove ) throws IndexEntryConflictException
+    {
+        if ( ignoreStrategy.ignore( values ) )
+        {
+            return;
+        }
+        if ( batchSize == changes.size() )
+        {
+            changes.add( new Change<>( layout.newKey() ) );
+        }
+        Change<KEY> change = changes.get( batchSize++ );
+        initializeKeyFromUpdate( change.key, entityId, values );
+        change.values = values;
+        change.remove = remove;
+        if ( batchSize == MAX_BATCH_SIZE )
+        {
+            applyBatch();
+        }
+    }
+
+    private void applyBatch() throws IndexEntryConflictException
+    {
+        List<Change<KEY>> batch = changes.subList( 0, batchSize );
+        batch.sort( ( change1, change2 ) -> layout.compare( change1.key, change2.key ) );
+        try
+        {
+            for ( Change<KEY> change : batch )
+            {
+                if ( change.remove )
+                {
+                    writer.remove( change.key );
+                }
+                else
+                {
+                    conflictDetectingValueMerger.controlConflictDetection( change.key );
+                    writer.merge( change.key, NullValue.INSTANCE, conflictDetectingValueMerger );
+                    conflictDetectingValueMerger.checkConflict( change.values );
+                }
+            }
+        }
+        finally
+        {
+            for ( Change<KEY> change : batch )
+            {
+                change.values = null;
+            }
+            batchSize = 0;
+        }
     }
 
     @Override
-    public void close()
+    public void close() throws IndexEntryConflictException
     {
-        closed = true;
-        IOUtils.closeAllUnchecked( writer );
+        boolean wasOpen = !closed;
+        try
+        {
+            if ( wasOpen )
+            {
+                applyBatch();
+            }
+        }
+        finally
+        {
+            closed = true;
+            IOUtils.closeAllUnchecked( writer );
+            if ( wasOpen )
+            {
+                writer = null;
+                onClose.accept( this );
+            }
+        }
     }
 
     private void assertOpen()
@@ -137,4 +244,16 @@ class NativeIndexUpdater<KEY extends NativeIndexKey<KEY>> implements IndexUpdate
             treeKey.initFromValue( i, values[i], NEUTRAL );
         }
     }
+
+    private static class Change<KEY>
+    {
+        private final KEY key;
+        private Value[] values;
+        private boolean remove;
+
+        Change( KEY key )
+        {
+            this.key = key;
+        }
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.util.StringJoiner;
+
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueGroup;
+import org.neo4j.values.storable.Values;
+
+/**
+ * Type of the absent value of an included property, i.e. a trailing slot of a composite range key
+ * for an entity that doesn't have that property. Sorts after all other types.
+ */
+class NoValueType extends Type
+{
+    // Affected key state:
+    // none
+
+    NoValueType( byte typeId )
+    {
+        super( ValueGroup.NO_VALUE, typeId, Values.NO_VALUE, Values.NO_VALUE );
+    }
+
+    @Override
+    int valueSize( GenericKey<?> state )
+    {
+        return 0;
+    }
+
+    @Override
+    void copyValue( GenericKey<?> to, GenericKey<?> from )
+    {
+        // nothing to copy
+    }
+
+    @Override
+    Value asValue( GenericKey<?> state )
+    {
+        return Values.NO_VALUE;
+    }
+
+    @Override
+    int compareValue( GenericKey<?> left, GenericKey<?> right )
+    {
+        return 0;
+    }
+
+    @Override
+    void putValue( PageCursor cursor, GenericKey<?> state )
+    {
+        // nothing to write
+    }
+
+    @Override
+    boolean readValue( PageCursor cursor, int size, GenericKey<?> into )
+    {
+        // nothing to read
+        return true;
+    }
+
+    @Override
+    protected void addTypeSpecificDetails( StringJoiner joiner, GenericKey<?> state )
+    {
+    }
+}
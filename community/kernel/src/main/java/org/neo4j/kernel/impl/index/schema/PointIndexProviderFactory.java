@@ -36,6 +36,7 @@ import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.token.TokenHolders;
 import org.neo4j.util.VisibleForTesting;
 
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.concurrent_index_updates;
 import static org.neo4j.kernel.api.index.IndexDirectoryStructure.directoriesByProvider;
 
 public class PointIndexProviderFactory extends AbstractIndexProviderFactory<PointIndexProvider>
@@ -70,6 +71,7 @@ public class PointIndexProviderFactory extends AbstractIndexProviderFactory<Poin
         IndexDirectoryStructure.Factory directoryStructure = directoriesByProvider( storeDir );
         DatabaseIndexContext databaseIndexContext = DatabaseIndexContext.builder( pageCache, fs, databaseName ).withMonitors( monitors ).withTag( monitorTag )
                 .withReadOnlyChecker( readOnlyChecker ).withPageCacheTracer( pageCacheTracer )
+                .withConcurrentUpdates( config.get( concurrent_index_updates ) )
                 .build();
         return new PointIndexProvider( databaseIndexContext, directoryStructure, recoveryCleanupWorkCollector, config );
     }
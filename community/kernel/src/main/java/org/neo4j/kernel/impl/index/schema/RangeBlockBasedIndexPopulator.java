@@ -52,6 +52,12 @@ class RangeBlockBasedIndexPopulator extends BlockBasedIndexPopulator<RangeKey>
         return new RangeIndexReader( tree, layout, descriptor );
     }
 
+    @Override
+    boolean buildValueHistogram()
+    {
+        return descriptor.schema().getPropertyIds().length == 1;
+    }
+
     @Override
     protected IndexValueValidator instantiateValueValidator()
     {
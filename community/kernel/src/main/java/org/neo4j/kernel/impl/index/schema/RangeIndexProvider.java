@@ -36,6 +36,7 @@ import org.neo4j.internal.schema.IndexPrototype;
 import org.neo4j.internal.schema.IndexProviderDescriptor;
 import org.neo4j.internal.schema.IndexQuery;
 import org.neo4j.internal.schema.IndexQuery.IndexQueryType;
+import org.neo4j.internal.schema.IndexRef;
 import org.neo4j.internal.schema.IndexType;
 import org.neo4j.internal.schema.IndexValueCapability;
 import org.neo4j.io.memory.ByteBufferFactory;
@@ -44,6 +45,7 @@ import org.neo4j.kernel.api.index.IndexDirectoryStructure;
 import org.neo4j.kernel.api.index.IndexPopulator;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.util.Preconditions;
+import org.neo4j.values.storable.IntegralValue;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueCategory;
 import org.neo4j.values.storable.ValueGroup;
@@ -135,7 +137,7 @@ public class RangeIndexProvider extends NativeIndexProvider<RangeKey,RangeLayout
     RangeLayout layout( IndexDescriptor descriptor, Path storeFile )
     {
         int numberOfSlots = descriptor.schema().getPropertyIds().length;
-        return new RangeLayout( numberOfSlots );
+        return new RangeLayout( numberOfSlots, descriptor.requiredPropertyCount() );
     }
 
     @Override
@@ -168,6 +170,34 @@ public class RangeIndexProvider extends NativeIndexProvider<RangeKey,RangeLayout
                     "The " + prototype.schema() + " index schema is not a range index schema, which it is required to be for the '" +
                     getProviderDescriptor().name() + "' index provider to be able to create an index." );
         }
+
+        validateIncludedProperties( prototype );
+    }
+
+    /**
+     * Included properties, declared by {@link IndexRef#INCLUDED_PROPERTIES_SETTING}, are trailing properties of the schema
+     * whose values are stored in the index entries without entities being required to have them.
+     */
+    private void validateIncludedProperties( IndexPrototype prototype )
+    {
+        Value includedProperties = prototype.getIndexConfig().get( IndexRef.INCLUDED_PROPERTIES_SETTING );
+        if ( includedProperties == null )
+        {
+            return;
+        }
+        int propertyCount = prototype.schema().getPropertyIds().length;
+        if ( !(includedProperties instanceof IntegralValue) || ((IntegralValue) includedProperties).longValue() < 1 ||
+             ((IntegralValue) includedProperties).longValue() >= propertyCount )
+        {
+            throw new IllegalArgumentException( "The '" + IndexRef.INCLUDED_PROPERTIES_SETTING + "' setting of the '" +
+                    getProviderDescriptor().name() + "' index provider must be a number of included properties from 1 to " + (propertyCount - 1) +
+                    ", leaving at least one required property of the schema, but was " + includedProperties + ": " + prototype );
+        }
+        if ( prototype.isUnique() )
+        {
+            throw new IllegalArgumentException( "The '" + getProviderDescriptor().name() + "' index provider does not support included properties " +
+                    "for unique indexes: " + prototype );
+        }
     }
 
     @Override
@@ -36,6 +36,7 @@ import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.token.TokenHolders;
 import org.neo4j.util.VisibleForTesting;
 
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.concurrent_index_updates;
 import static org.neo4j.kernel.api.index.IndexDirectoryStructure.directoriesByProvider;
 
 public class RangeIndexProviderFactory extends AbstractIndexProviderFactory<RangeIndexProvider>
@@ -72,6 +73,7 @@ public class RangeIndexProviderFactory extends AbstractIndexProviderFactory<Rang
         IndexDirectoryStructure.Factory directoryStructure = directoriesByProvider( storeDir );
         DatabaseIndexContext databaseIndexContext = DatabaseIndexContext.builder( pageCache, fs, databaseName ).withMonitors( monitors ).withTag( monitorTag )
                                                                         .withReadOnlyChecker( readOnlyChecker ).withPageCacheTracer( pageCacheTracer )
+                                                                        .withConcurrentUpdates( config.get( concurrent_index_updates ) )
                                                                         .build();
         return new RangeIndexProvider( databaseIndexContext, directoryStructure, recoveryCleanupWorkCollector, config );
     }
@@ -47,18 +47,27 @@ public class RangeIndexReader extends NativeIndexReader<RangeKey>
     void validateQuery( IndexQueryConstraints constraints, PropertyIndexQuery[] predicates )
     {
         validateNoUnsupportedPredicates( predicates );
+        validateNoIncludedPropertyPredicates( predicates );
         QueryValidator.validateOrder( RangeIndexProvider.CAPABILITY, constraints.order(), predicates );
         QueryValidator.validateCompositeQuery( predicates );
     }
 
+    @Override
+    boolean buildValueHistogram()
+    {
+        return descriptor.schema().getPropertyIds().length == 1;
+    }
+
     @Override
     boolean initializeRangeForQuery( RangeKey treeKeyFrom, RangeKey treeKeyTo, PropertyIndexQuery[] predicates )
     {
         if ( isAllQuery( predicates ) )
         {
             initializeAllSlotsForFullRange( treeKeyFrom, treeKeyTo );
+            initializeIncludedSlotsForFullRange( treeKeyFrom, treeKeyTo );
             return false;
         }
+        initializeIncludedSlotsForFullRange( treeKeyFrom, treeKeyTo );
 
         for ( int i = 0; i < predicates.length; i++ )
         {
@@ -109,6 +118,18 @@ public class RangeIndexReader extends NativeIndexReader<RangeKey>
         }
     }
 
+    /**
+     * Included properties are not queried, i.e. their slots span all values, including the {@link Values#NO_VALUE} of absent properties.
+     */
+    private void initializeIncludedSlotsForFullRange( RangeKey treeKeyFrom, RangeKey treeKeyTo )
+    {
+        for ( int i = descriptor.requiredPropertyCount(); i < treeKeyFrom.numberOfStateSlots(); i++ )
+        {
+            treeKeyFrom.initValueAsLowest( i, ValueGroup.UNKNOWN );
+            treeKeyTo.initFromValue( i, Values.NO_VALUE, HIGH );
+        }
+    }
+
     private static void initFromForRange( int stateSlot, PropertyIndexQuery.RangePredicate<?> rangePredicate, RangeKey treeKeyFrom )
     {
         Value fromValue = rangePredicate.fromValue();
@@ -156,6 +177,15 @@ public class RangeIndexReader extends NativeIndexReader<RangeKey>
         }
     }
 
+    private void validateNoIncludedPropertyPredicates( PropertyIndexQuery[] predicates )
+    {
+        if ( !isAllQuery( predicates ) && predicates.length > descriptor.requiredPropertyCount() )
+        {
+            throw new IllegalArgumentException( format( "Tried to query index with illegal query. Included properties of a RANGE index " +
+                                                        "cannot be queried, only read. Query was: %s ", Arrays.toString( predicates ) ) );
+        }
+    }
+
     private static void throwIfGeometryRangeQuery( PropertyIndexQuery[] predicates, PropertyIndexQuery predicate )
     {
         if ( predicate.type() == IndexQueryType.RANGE && predicate.valueGroup() == ValueGroup.GEOMETRY )
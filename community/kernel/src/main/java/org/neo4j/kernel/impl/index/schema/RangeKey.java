@@ -86,4 +86,11 @@ public class RangeKey extends GenericKey<RangeKey>
             GeometryArrayType2.write( this, crs.getTable().getTableId(), crs.getCode(), currentArrayOffset++, coordinate );
         }
     }
+
+    @Override
+    public void writeNull()
+    {
+        // Absent value of an included property
+        setType( Types.NO_VALUE );
+    }
 }
@@ -25,11 +25,23 @@ import org.neo4j.io.pagecache.PageCursor;
 class RangeLayout extends IndexLayout<RangeKey>
 {
     private final int numberOfSlots;
+    private final int numberOfKeySlots;
 
     RangeLayout( int numberOfSlots )
+    {
+        this( numberOfSlots, numberOfSlots );
+    }
+
+    /**
+     * @param numberOfSlots number of slots in the keys.
+     * @param numberOfKeySlots number of leading slots that hold values of required properties, where the remaining slots hold values of
+     * included properties, which are not part of index samples.
+     */
+    RangeLayout( int numberOfSlots, int numberOfKeySlots )
     {
         super( false, Layout.namedIdentifier( "RL", numberOfSlots ), 0, 1 );
         this.numberOfSlots = numberOfSlots;
+        this.numberOfKeySlots = numberOfKeySlots;
     }
 
     @Override
@@ -42,6 +54,14 @@ class RangeLayout extends IndexLayout<RangeKey>
                : new CompositeRangeKey( numberOfSlots );
     }
 
+    @Override
+    int compareSampledValue( RangeKey o1, RangeKey o2 )
+    {
+        return numberOfKeySlots == numberOfSlots
+               ? compareValue( o1, o2 )
+               : ((CompositeRangeKey) o1).compareValueToInternal( o2, numberOfKeySlots );
+    }
+
     @Override
     public RangeKey copyKey( RangeKey key, RangeKey into )
     {
@@ -38,6 +38,8 @@ import org.neo4j.io.pagecache.PageCursor;
  */
 public class TokenScanLayout extends Layout.Adapter<TokenScanKey,TokenScanValue>
 {
+    private static final long MAX_INTERPOLATED_ID_RANGE = (1L << 48) - 1;
+
     public TokenScanLayout()
     {
         super( true, Layout.namedIdentifier( IDENTIFIER_NAME, TokenScanValue.RANGE_SIZE ), 0, 1 );
@@ -134,6 +136,24 @@ public class TokenScanLayout extends Layout.Adapter<TokenScanKey,TokenScanValue>
         into.bits = cursor.getLong();
     }
 
+    @Override
+    public boolean interpolationSearch()
+    {
+        return true;
+    }
+
+    /**
+     * {@code tokenId} in the high bits followed by the 6B {@code entityIdRange}, i.e. keys of the same token map to their id range.
+     * Both are clamped to their bits, which keeps the mapping non-decreasing also for token ids that don't fit and the lowest/highest keys.
+     */
+    @Override
+    public long interpolationValue( TokenScanKey key )
+    {
+        long tokenId = Math.max( 0, Math.min( key.tokenId, Short.MAX_VALUE ) );
+        long idRange = Math.max( 0, Math.min( key.idRange, MAX_INTERPOLATED_ID_RANGE ) );
+        return (tokenId << 48) | idRange;
+    }
+
     @Override
     public void initializeAsLowest( TokenScanKey key )
     {
@@ -64,6 +64,8 @@ class Types
     static final TextArrayType TEXT_ARRAY = new TextArrayType( (byte) 17 );
     static final BooleanArrayType BOOLEAN_ARRAY = new BooleanArrayType( (byte) 18 );
     static final NumberArrayType NUMBER_ARRAY = new NumberArrayType( (byte) 19 );
+    // Only used in RANGE index keys, for absent values of included properties
+    static final NoValueType NO_VALUE = new NoValueType( (byte) 20 );
 
     /* Geometry constants are located in PointKeyUtil */
     public static final int SIZE_ZONED_DATE_TIME = Long.BYTES +    /* epochSecond */
@@ -165,6 +167,17 @@ class Types
         return types.toArray( new Type[0] );
     }
 
+    private static Type[] withNoValueType( Type[] types )
+    {
+        Type[] withNoValue = Arrays.copyOf( types, types.length + 1 );
+        if ( NO_VALUE.typeId != types.length )
+        {
+            throw new IllegalStateException( "The order in this list is not the intended one" );
+        }
+        withNoValue[NO_VALUE.typeId] = NO_VALUE;
+        return withNoValue;
+    }
+
     static class Btree
     {
         /**
@@ -210,10 +223,15 @@ class Types
 
     static class Range
     {
+        /**
+         * Types of actual values, i.e. all types but {@link Types#NO_VALUE}.
+         */
+        private static final Type[] VALUE_TYPES = instantiateTypes( GEOMETRY_2, GEOMETRY_ARRAY_2 );
+
         /**
          * Holds typeId --> {@link Type} mapping.
          */
-        static final Type[] BY_ID = instantiateTypes( GEOMETRY_2, GEOMETRY_ARRAY_2);
+        static final Type[] BY_ID = withNoValueType( VALUE_TYPES );
 
         /**
          * Holds {@link ValueGroup#ordinal()} --> {@link Type} mapping.
@@ -228,12 +246,12 @@ class Types
         /**
          * Lowest {@link Type} according to {@link Type#COMPARATOR}.
          */
-        static final Type LOWEST_BY_VALUE_GROUP = Collections.min( Arrays.asList( BY_ID ), Type.COMPARATOR );
+        static final Type LOWEST_BY_VALUE_GROUP = Collections.min( Arrays.asList( VALUE_TYPES ), Type.COMPARATOR );
 
         /**
          * Highest {@link Type} according to {@link Type#COMPARATOR}.
          */
-        static final Type HIGHEST_BY_VALUE_GROUP = Collections.max( Arrays.asList( BY_ID ), Type.COMPARATOR );
+        static final Type HIGHEST_BY_VALUE_GROUP = Collections.max( Arrays.asList( VALUE_TYPES ), Type.COMPARATOR );
 
         static
         {
@@ -59,14 +59,19 @@ public final class SpaceFillingCurveSettingsFactory
         int extraLevels = config.get( SpatialIndexSettings.space_filling_curve_extra_levels );
         double topThreshold = config.get( SpatialIndexSettings.space_filling_curve_top_threshold );
         double bottomThreshold = config.get( SpatialIndexSettings.space_filling_curve_bottom_threshold );
+        int maxRanges = config.get( SpatialIndexSettings.space_filling_curve_max_ranges );
+        if ( maxRanges == 0 )
+        {
+            maxRanges = Integer.MAX_VALUE;
+        }
 
         if ( topThreshold == 0.0 || bottomThreshold == 0.0 )
         {
-            return new StandardConfiguration( extraLevels );
+            return new StandardConfiguration( extraLevels, maxRanges );
         }
         else
         {
-            return new PartialOverlapConfiguration( extraLevels, topThreshold, bottomThreshold );
+            return new PartialOverlapConfiguration( extraLevels, topThreshold, bottomThreshold, maxRanges );
         }
     }
 }
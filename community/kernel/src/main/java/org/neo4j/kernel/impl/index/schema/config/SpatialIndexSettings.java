@@ -25,6 +25,7 @@ import org.neo4j.configuration.Internal;
 import org.neo4j.configuration.SettingsDeclaration;
 import org.neo4j.graphdb.config.Setting;
 
+import static org.neo4j.configuration.SettingConstraints.min;
 import static org.neo4j.configuration.SettingImpl.newBuilder;
 import static org.neo4j.configuration.SettingValueParsers.DOUBLE;
 import static org.neo4j.configuration.SettingValueParsers.INT;
@@ -73,4 +74,13 @@ public class SpatialIndexSettings implements SettingsDeclaration
     @Internal
     public static final Setting<Double> space_filling_curve_bottom_threshold =
             newBuilder( "unsupported.dbms.index.spatial.curve.bottom_threshold", DOUBLE, 0.0 ).build();
+
+    @Description( "When searching the spatial index we need to convert a 2D range in the quad tree into a set of 1D ranges on the " +
+            "underlying 1D space filling curve index. Each 1D range is a separate search in the numerical index. This setting limits the " +
+            "number of 1D ranges a single search is split into, by merging the ranges that are closest to each other on the space filling " +
+            "curve, which means fewer searches of the numerical index at the cost of more false positives to filter. " +
+            "Setting this value to zero turns off this feature." )
+    @Internal
+    public static final Setting<Integer> space_filling_curve_max_ranges =
+            newBuilder( "unsupported.dbms.index.spatial.curve.max_ranges", INT, 0 ).addConstraint( min( 0 ) ).build();
 }
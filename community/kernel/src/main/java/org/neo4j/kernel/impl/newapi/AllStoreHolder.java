@@ -104,10 +104,12 @@ public class AllStoreHolder extends Read
     private final MemoryTracker memoryTracker;
     private final IndexReaderCache<ValueIndexReader> valueIndexReaderCache;
     private final IndexReaderCache<TokenIndexReader> tokenIndexReaderCache;
+    private final PropertyReadCache propertyReadCache;
 
     public AllStoreHolder( StorageReader storageReader, KernelTransactionImplementation ktx, StorageLocks storageLocks,
             DefaultPooledCursors cursors, GlobalProcedures globalProcedures, SchemaState schemaState, IndexingService indexingService,
-            IndexStatisticsStore indexStatisticsStore, Dependencies databaseDependencies, MemoryTracker memoryTracker )
+            IndexStatisticsStore indexStatisticsStore, Dependencies databaseDependencies, MemoryTracker memoryTracker,
+            PropertyReadCache propertyReadCache )
     {
 
         super( storageReader, cursors, ktx, storageLocks );
@@ -119,6 +121,7 @@ public class AllStoreHolder extends Read
         this.indexStatisticsStore = indexStatisticsStore;
         this.databaseDependencies = databaseDependencies;
         this.memoryTracker = memoryTracker;
+        this.propertyReadCache = propertyReadCache;
     }
 
     @Override
@@ -356,7 +359,9 @@ public class AllStoreHolder extends Read
             try
             {
                 TransactionState txState = ktx.txState();
-                try ( var countingVisitor = new TransactionCountingStateVisitor( EMPTY, storageReader, txState, counts, cursorContext, ktx.storeCursors() ) )
+                boolean triplet = startLabelId != TokenRead.ANY_LABEL && endLabelId != TokenRead.ANY_LABEL;
+                try ( var countingVisitor = new TransactionCountingStateVisitor( EMPTY, storageReader, txState, counts, cursorContext, ktx.storeCursors(),
+                        triplet ) )
                 {
                     txState.accept( countingVisitor );
                 }
@@ -1232,6 +1237,20 @@ public class AllStoreHolder extends Read
         tokenIndexReaderCache.close();
     }
 
+    /**
+     * Releases resources held for the whole transaction, as opposed to {@link #release()} which is called for every closed statement.
+     */
+    public void releaseTransactionResources()
+    {
+        propertyReadCache.clear();
+    }
+
+    @Override
+    public PropertyReadCache propertyReadCache()
+    {
+        return propertyReadCache;
+    }
+
     @Override
     public CursorContext cursorContext()
     {
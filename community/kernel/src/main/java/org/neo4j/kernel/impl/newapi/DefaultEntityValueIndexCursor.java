@@ -141,13 +141,19 @@ abstract class DefaultEntityValueIndexCursor<CURSOR> extends IndexCursor<IndexPr
             }
             Value[] exactValues = exactQueryValues.toArray( new Value[0] );
 
-            if ( i == query.length )
+            if ( i == query.length && i == descriptor.schema().getPropertyIds().length )
             {
                 // Only exact queries
                 // No need to order, all values are the same
                 this.indexOrder = IndexOrder.NONE;
                 seekQuery( descriptor, exactValues );
             }
+            else if ( i == query.length )
+            {
+                // Exact queries on the required properties only, the included properties of the index entries can have any value
+                setNeedsValuesIfRequiresOrder();
+                rangeQuery( descriptor, exactValues, null );
+            }
             else
             {
                 PropertyIndexQuery nextQuery = query[i];
@@ -19,6 +19,8 @@
  */
 package org.neo4j.kernel.impl.newapi;
 
+import java.util.Arrays;
+
 import org.eclipse.collections.api.iterator.IntIterator;
 import org.eclipse.collections.api.iterator.LongIterator;
 import org.eclipse.collections.api.set.primitive.MutableIntSet;
@@ -63,6 +65,8 @@ class DefaultNodeCursor extends TraceableCursor<DefaultNodeCursor> implements No
     private long currentAddedInTx;
     private long single;
     private boolean isSingle;
+    private long[] batch;
+    private int batchIndex;
     private AccessMode accessMode;
 
     DefaultNodeCursor( CursorPool<DefaultNodeCursor> pool, StorageNodeCursor storeCursor, StorageNodeCursor securityStoreNodeCursor,
@@ -79,6 +83,7 @@ class DefaultNodeCursor extends TraceableCursor<DefaultNodeCursor> implements No
         storeCursor.scan();
         this.read = read;
         this.isSingle = false;
+        this.batch = null;
         this.currentAddedInTx = NO_ID;
         this.checkHasChanges = true;
         this.addedNodes = ImmutableEmptyLongIterator.INSTANCE;
@@ -93,6 +98,7 @@ class DefaultNodeCursor extends TraceableCursor<DefaultNodeCursor> implements No
     {
         this.read = read;
         this.isSingle = false;
+        this.batch = null;
         this.currentAddedInTx = NO_ID;
         this.checkHasChanges = false;
         this.hasChanges = hasChanges;
@@ -108,6 +114,26 @@ class DefaultNodeCursor extends TraceableCursor<DefaultNodeCursor> implements No
         this.read = read;
         this.single = reference;
         this.isSingle = true;
+        this.batch = null;
+        this.currentAddedInTx = NO_ID;
+        this.checkHasChanges = true;
+        this.accessMode = read.ktx.securityContext().mode();
+        this.addedNodes = ImmutableEmptyLongIterator.INSTANCE;
+    }
+
+    void batch( long[] references, Read read )
+    {
+        if ( references.length > 1 )
+        {
+            // Let the store fetch the data in storage order, the nodes are then visited in the order given by the caller
+            long[] sortedReferences = references.clone();
+            Arrays.sort( sortedReferences );
+            storeCursor.prefetch( sortedReferences );
+        }
+        this.read = read;
+        this.isSingle = false;
+        this.batch = references;
+        this.batchIndex = 0;
         this.currentAddedInTx = NO_ID;
         this.checkHasChanges = true;
         this.accessMode = read.ktx.securityContext().mode();
@@ -348,6 +374,11 @@ class DefaultNodeCursor extends TraceableCursor<DefaultNodeCursor> implements No
     @Override
     public boolean next()
     {
+        if ( batch != null )
+        {
+            return nextInBatch();
+        }
+
         // Check tx state
         boolean hasChanges = hasChanges();
 
@@ -383,6 +414,46 @@ class DefaultNodeCursor extends TraceableCursor<DefaultNodeCursor> implements No
         return false;
     }
 
+    private boolean nextInBatch()
+    {
+        boolean hasChanges = hasChanges();
+        while ( batchIndex < batch.length )
+        {
+            long reference = batch[batchIndex++];
+            currentAddedInTx = NO_ID;
+            if ( hasChanges )
+            {
+                TransactionState txState = read.txState();
+                if ( txState.nodeIsAddedInThisTx( reference ) )
+                {
+                    currentAddedInTx = reference;
+                    if ( tracer != null )
+                    {
+                        tracer.onNode( reference );
+                    }
+                    return true;
+                }
+                if ( txState.nodeIsDeletedInThisTx( reference ) )
+                {
+                    continue;
+                }
+            }
+
+            storeCursor.single( reference );
+            if ( storeCursor.next() && allowsTraverse() )
+            {
+                if ( tracer != null )
+                {
+                    tracer.onNode( reference );
+                }
+                return true;
+            }
+        }
+        currentAddedInTx = NO_ID;
+        storeCursor.reset();
+        return false;
+    }
+
     boolean allowsTraverse()
     {
         return accessMode.allowsTraverseAllLabels() || accessMode.allowsTraverseNode( storeCursor.labels() );
@@ -401,6 +472,7 @@ class DefaultNodeCursor extends TraceableCursor<DefaultNodeCursor> implements No
             read = null;
             checkHasChanges = true;
             addedNodes = ImmutableEmptyLongIterator.INSTANCE;
+            batch = null;
             storeCursor.close();
             storeCursor.reset();
             if ( securityStoreNodeCursor != null )
@@ -440,7 +512,12 @@ class DefaultNodeCursor extends TraceableCursor<DefaultNodeCursor> implements No
         checkHasChanges = false;
         if ( hasChanges = read.hasTxStateWithChanges() )
         {
-            if ( this.isSingle )
+            if ( this.batch != null )
+            {
+                // Batches check the tx-state per reference, see nextInBatch
+                addedNodes = ImmutableEmptyLongIterator.INSTANCE;
+            }
+            else if ( this.isSingle )
             {
                 addedNodes = read.txState().nodeIsAddedInThisTx( single ) ?
                              PrimitiveLongCollections.single( single ) : ImmutableEmptyLongIterator.INSTANCE;
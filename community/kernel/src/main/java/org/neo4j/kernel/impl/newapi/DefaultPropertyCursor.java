@@ -273,12 +273,29 @@ public class DefaultPropertyCursor extends TraceableCursor<DefaultPropertyCursor
             return txStateValue.value();
         }
 
-        Value value = storeCursor.propertyValue();
+        Value value = cachedOrStorePropertyValue();
 
         assertOpen.assertOpen();
         return value;
     }
 
+    private Value cachedOrStorePropertyValue()
+    {
+        PropertyReadCache cache = read.propertyReadCache();
+        if ( !cache.isEnabled() || entityReference == NO_SUCH_ENTITY || !PropertyReadCache.isCacheable( storeCursor.propertyType() ) )
+        {
+            return storeCursor.propertyValue();
+        }
+        int propertyKey = storeCursor.propertyKey();
+        Value value = cache.get( isNode(), entityReference, propertyKey );
+        if ( value == null )
+        {
+            value = storeCursor.propertyValue();
+            cache.put( isNode(), entityReference, propertyKey, value );
+        }
+        return value;
+    }
+
     @Override
     public boolean isClosed()
     {
@@ -220,6 +220,16 @@ public class IndexTxStateUpdater
                                                         memoryTracker );
                         indexingService.validateBeforeCommit( index, values, entity.reference() );
                         ValueTuple valueTuple = ValueTuple.of( values );
+                        int included = includedPropertyPosition( index, propertyKeyId );
+                        if ( included >= 0 )
+                        {
+                            // The entity is already in the index, just without a value for this included property
+                            Value[] valuesBefore = Arrays.copyOf( values, values.length );
+                            valuesBefore[included] = NO_VALUE;
+                            memoryTracker.allocateHeap( valueTuple.getShallowSize() * 2 );
+                            read.txState().indexDoUpdateEntry( schema, entity.reference(), ValueTuple.of( valuesBefore ), valueTuple );
+                            return;
+                        }
                         memoryTracker.allocateHeap( valueTuple.getShallowSize() );
                         read.txState().indexDoUpdateEntry( schema, entity.reference(), null, valueTuple );
                     } );
@@ -242,6 +252,16 @@ public class IndexTxStateUpdater
                         Value[] values = getValueTuple( entity, propertyCursor, propertyKeyId, value, schema.getPropertyIds(), materializedProperties,
                                                         memoryTracker );
                         ValueTuple valueTuple = ValueTuple.of( values );
+                        int included = includedPropertyPosition( index, propertyKeyId );
+                        if ( included >= 0 )
+                        {
+                            // The entity stays in the index, just without a value for this included property
+                            Value[] valuesAfter = Arrays.copyOf( values, values.length );
+                            valuesAfter[included] = NO_VALUE;
+                            memoryTracker.allocateHeap( valueTuple.getShallowSize() * 2 );
+                            read.txState().indexDoUpdateEntry( schema, entity.reference(), valueTuple, ValueTuple.of( valuesAfter ) );
+                            return;
+                        }
                         memoryTracker.allocateHeap( valueTuple.getShallowSize() );
                         read.txState().indexDoUpdateEntry( schema, entity.reference(), valueTuple, null );
                     } );
@@ -279,6 +299,16 @@ public class IndexTxStateUpdater
         }
     }
 
+    /**
+     * @return position of the property among the properties of the index if it's one of its included properties, see
+     * {@link IndexDescriptor#requiredPropertyCount()}, otherwise {@code -1}.
+     */
+    private static int includedPropertyPosition( IndexDescriptor index, int propertyKeyId )
+    {
+        int k = ArrayUtils.indexOf( index.schema().getPropertyIds(), propertyKeyId );
+        return k >= index.requiredPropertyCount() ? k : -1;
+    }
+
     private static Value[] getValueTuple( EntityCursor entity, PropertyCursor propertyCursor, int changedPropertyKeyId, Value changedValue,
             int[] indexPropertyIds,
             MutableIntObjectMap<Value> materializedValues, MemoryTracker memoryTracker )
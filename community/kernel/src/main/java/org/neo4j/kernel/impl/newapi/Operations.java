@@ -357,6 +357,7 @@ public class Operations implements Write, SchemaWrite
         ktx.securityAuthorizationHandler().assertAllowsDeleteRelationship( ktx.securityContext(), token::relationshipTypeGetName, relationshipCursor.type() );
         txState.relationshipDoDelete( relationship, relationshipCursor.type(),
                 relationshipCursor.sourceNodeReference(), relationshipCursor.targetNodeReference() );
+        allStoreHolder.propertyReadCache().invalidate( false, relationship );
         return true;
     }
 
@@ -521,6 +522,7 @@ public class Operations implements Write, SchemaWrite
 
             ktx.securityAuthorizationHandler().assertAllowsDeleteNode( ktx.securityContext(), token::labelGetName, nodeCursor::labels );
             ktx.txState().nodeDoDelete( node );
+            allStoreHolder.propertyReadCache().invalidate( true, node );
             return true;
         }
 
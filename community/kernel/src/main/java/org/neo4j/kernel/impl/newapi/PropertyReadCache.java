@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import java.util.Arrays;
+
+import org.neo4j.collection.trackable.HeapTrackingCollections;
+import org.neo4j.collection.trackable.HeapTrackingLongObjectHashMap;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueGroup;
+
+import static org.neo4j.memory.HeapEstimator.shallowSizeOf;
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstance;
+import static org.neo4j.memory.HeapEstimator.sizeOf;
+
+/**
+ * Transaction scoped cache of property values decoded from the store, keyed by entity and property key. It saves re-reading and
+ * re-decoding dynamic string and array records when the same properties are read several times in one transaction.
+ * <p>
+ * Only committed values are cached. Properties the transaction itself has changed or removed are shadowed by the transaction state
+ * before the cache is consulted, and entities are evicted from the cache when they are deleted by the transaction.
+ * Cached values stay stable for the rest of the transaction, even if a concurrent transaction commits a change to them.
+ * <p>
+ * The heap used by the cache is accounted for in the transaction's memory tracker. Values are no longer cached
+ * once the cache reaches its maximum size. Not thread safe.
+ */
+public class PropertyReadCache
+{
+    private static final long ENTITY_SHALLOW_SIZE = shallowSizeOfInstance( CachedProperties.class );
+    private static final int INITIAL_PROPERTIES = 4;
+
+    private final long maxSize;
+    private final MemoryTracker memoryTracker;
+    private HeapTrackingLongObjectHashMap<CachedProperties> nodeProperties;
+    private HeapTrackingLongObjectHashMap<CachedProperties> relationshipProperties;
+    private long trackedHeap;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param maxSize maximum heap, in bytes, used by cached values; zero disables the cache.
+     */
+    public PropertyReadCache( long maxSize, MemoryTracker memoryTracker )
+    {
+        this.maxSize = maxSize;
+        this.memoryTracker = memoryTracker;
+    }
+
+    public boolean isEnabled()
+    {
+        return maxSize > 0;
+    }
+
+    /**
+     * Values that are cheap to read from the property block are never cached.
+     */
+    static boolean isCacheable( ValueGroup valueGroup )
+    {
+        switch ( valueGroup )
+        {
+        case TEXT:
+        case TEXT_ARRAY:
+        case NUMBER_ARRAY:
+        case BOOLEAN_ARRAY:
+        case GEOMETRY_ARRAY:
+        case ZONED_DATE_TIME_ARRAY:
+        case LOCAL_DATE_TIME_ARRAY:
+        case DATE_ARRAY:
+        case ZONED_TIME_ARRAY:
+        case LOCAL_TIME_ARRAY:
+        case DURATION_ARRAY:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * @return the cached value, or {@code null} if the value isn't cached.
+     */
+    Value get( boolean node, long entityReference, int propertyKey )
+    {
+        HeapTrackingLongObjectHashMap<CachedProperties> entities = node ? nodeProperties : relationshipProperties;
+        CachedProperties properties = entities == null ? null : entities.get( entityReference );
+        Value value = properties == null ? null : properties.get( propertyKey );
+        if ( value == null )
+        {
+            misses++;
+        }
+        else
+        {
+            hits++;
+        }
+        return value;
+    }
+
+    void put( boolean node, long entityReference, int propertyKey, Value value )
+    {
+        long valueHeap = value.estimatedHeapUsage();
+        if ( trackedHeap + valueHeap > maxSize )
+        {
+            return;
+        }
+        HeapTrackingLongObjectHashMap<CachedProperties> entities = entities( node );
+        CachedProperties properties = entities.get( entityReference );
+        if ( properties == null )
+        {
+            properties = new CachedProperties();
+            entities.put( entityReference, properties );
+            allocate( properties.heapUsage );
+        }
+        long heapBefore = properties.heapUsage;
+        properties.put( propertyKey, value, valueHeap );
+        allocate( properties.heapUsage - heapBefore );
+    }
+
+    /**
+     * Evicts all cached values of an entity, e.g. because the transaction deleted it.
+     */
+    void invalidate( boolean node, long entityReference )
+    {
+        HeapTrackingLongObjectHashMap<CachedProperties> entities = node ? nodeProperties : relationshipProperties;
+        if ( entities != null )
+        {
+            CachedProperties properties = entities.remove( entityReference );
+            if ( properties != null )
+            {
+                memoryTracker.releaseHeap( properties.heapUsage );
+                trackedHeap -= properties.heapUsage;
+            }
+        }
+    }
+
+    public long hits()
+    {
+        return hits;
+    }
+
+    public long misses()
+    {
+        return misses;
+    }
+
+    /**
+     * Releases all cached values and resets the statistics, making the cache ready for the next transaction.
+     */
+    void clear()
+    {
+        if ( nodeProperties != null )
+        {
+            nodeProperties.close();
+            nodeProperties = null;
+        }
+        if ( relationshipProperties != null )
+        {
+            relationshipProperties.close();
+            relationshipProperties = null;
+        }
+        memoryTracker.releaseHeap( trackedHeap );
+        trackedHeap = 0;
+        hits = 0;
+        misses = 0;
+    }
+
+    private HeapTrackingLongObjectHashMap<CachedProperties> entities( boolean node )
+    {
+        if ( node )
+        {
+            if ( nodeProperties == null )
+            {
+                nodeProperties = HeapTrackingCollections.newLongObjectMap( memoryTracker );
+            }
+            return nodeProperties;
+        }
+        if ( relationshipProperties == null )
+        {
+            relationshipProperties = HeapTrackingCollections.newLongObjectMap( memoryTracker );
+        }
+        return relationshipProperties;
+    }
+
+    private void allocate( long bytes )
+    {
+        memoryTracker.allocateHeap( bytes );
+        trackedHeap += bytes;
+    }
+
+    /**
+     * Property keys and values of a single entity. Entities have few properties, so a linear search is used.
+     */
+    private static class CachedProperties
+    {
+        private int[] keys = new int[INITIAL_PROPERTIES];
+        private Value[] values = new Value[INITIAL_PROPERTIES];
+        private int size;
+        // Heap of this instance, its arrays and the cached values
+        private long heapUsage = ENTITY_SHALLOW_SIZE + sizeOf( keys ) + shallowSizeOf( values );
+
+        Value get( int propertyKey )
+        {
+            for ( int i = 0; i < size; i++ )
+            {
+                if ( keys[i] == propertyKey )
+                {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        void put( int propertyKey, Value value, long valueHeap )
+        {
+            if ( size == keys.length )
+            {
+                heapUsage -= sizeOf( keys ) + shallowSizeOf( values );
+                keys = Arrays.copyOf( keys, size * 2 );
+                values = Arrays.copyOf( values, size * 2 );
+                heapUsage += sizeOf( keys ) + shallowSizeOf( values );
+            }
+            keys[size] = propertyKey;
+            values[size] = value;
+            size++;
+            heapUsage += valueHeap;
+        }
+    }
+}
@@ -68,6 +68,8 @@ import org.neo4j.storageengine.api.RelationshipSelection;
 import org.neo4j.storageengine.api.StorageLocks;
 import org.neo4j.storageengine.api.StorageReader;
 import org.neo4j.storageengine.api.txstate.ReadableTransactionState;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
 import static java.lang.String.format;
 import static org.neo4j.internal.kernel.api.IndexQueryConstraints.unconstrained;
@@ -354,6 +356,60 @@ abstract class Read implements TxStateHolder,
         ((DefaultNodeCursor) cursor).single( reference, this );
     }
 
+    @Override
+    public final void nodesByIds( long[] references, NodeCursor cursor )
+    {
+        ktx.assertOpen();
+        ((DefaultNodeCursor) cursor).batch( references, this );
+    }
+
+    @Override
+    public final Value[][] nodesProperties( long[] references, int[] propertyKeys, NodeCursor nodeCursor, PropertyCursor propertyCursor )
+    {
+        ktx.assertOpen();
+        long[] sortedReferences = references.clone();
+        Arrays.sort( sortedReferences );
+        int distinct = 0;
+        for ( long reference : sortedReferences )
+        {
+            if ( distinct == 0 || sortedReferences[distinct - 1] != reference )
+            {
+                sortedReferences[distinct++] = reference;
+            }
+        }
+        sortedReferences = Arrays.copyOf( sortedReferences, distinct );
+
+        // Read nodes and properties in storage order, the rows are then handed out in the order given by the caller
+        Value[][] sortedRows = new Value[distinct][];
+        PropertySelection selection = PropertySelection.selection( propertyKeys );
+        nodesByIds( sortedReferences, nodeCursor );
+        while ( nodeCursor.next() )
+        {
+            Value[] row = new Value[propertyKeys.length];
+            Arrays.fill( row, Values.NO_VALUE );
+            nodeCursor.properties( propertyCursor, selection );
+            while ( propertyCursor.next() )
+            {
+                int propertyKey = propertyCursor.propertyKey();
+                for ( int i = 0; i < propertyKeys.length; i++ )
+                {
+                    if ( propertyKeys[i] == propertyKey )
+                    {
+                        row[i] = propertyCursor.propertyValue();
+                    }
+                }
+            }
+            sortedRows[Arrays.binarySearch( sortedReferences, nodeCursor.nodeReference() )] = row;
+        }
+
+        Value[][] rows = new Value[references.length][];
+        for ( int i = 0; i < references.length; i++ )
+        {
+            rows[i] = sortedRows[Arrays.binarySearch( sortedReferences, references[i] )];
+        }
+        return rows;
+    }
+
     @Override
     public final void singleRelationship( long reference, RelationshipScanCursor cursor )
     {
@@ -494,6 +550,11 @@ abstract class Read implements TxStateHolder,
 
     public abstract ValueIndexReader newValueIndexReader( IndexDescriptor index ) throws IndexNotFoundKernelException;
 
+    /**
+     * @return the transaction scoped cache of property values read from the store.
+     */
+    public abstract PropertyReadCache propertyReadCache();
+
     @Override
     public TransactionState txState()
     {
@@ -38,7 +38,8 @@ public class SchemaMatcher
 
     /**
      * Iterate over some schema suppliers, and invoke a callback for every supplier that matches the entity. To match the
-     * entity E the supplier must supply a {@link SchemaDescriptor} D, such that E has values for all the properties of D.
+     * entity E the supplier must supply a {@link SchemaDescriptor} D, such that E has values for all the required properties of D,
+     * see {@link SchemaDescriptorSupplier#requiredPropertyCount()}.
      * The supplied schemas are all assumed to match E on token (label or relationship).
      * <p>
      * To avoid unnecessary store lookups, this implementation only gets propertyKeyIds for the entity if some
@@ -64,7 +65,7 @@ public class SchemaMatcher
             SUPPLIER schemaSupplier = schemaSuppliers.next();
             SchemaDescriptor schema = schemaSupplier.schema();
 
-            if ( entityHasSchemaProperties( existingPropertyIds, schema.getPropertyIds(), specialPropertyId ) )
+            if ( entityHasSchemaProperties( existingPropertyIds, schema.getPropertyIds(), schemaSupplier.requiredPropertyCount(), specialPropertyId ) )
             {
                 callback.accept( schemaSupplier );
             }
@@ -72,10 +73,11 @@ public class SchemaMatcher
     }
 
     private static boolean entityHasSchemaProperties(
-            int[] existingPropertyIds, int[] indexPropertyIds, int changedPropertyId )
+            int[] existingPropertyIds, int[] indexPropertyIds, int requiredProperties, int changedPropertyId )
     {
-        for ( int indexPropertyId : indexPropertyIds )
+        for ( int i = 0; i < requiredProperties; i++ )
         {
+            int indexPropertyId = indexPropertyIds[i];
             if ( indexPropertyId != changedPropertyId && !contains( existingPropertyIds, indexPropertyId ) )
             {
                 return false;
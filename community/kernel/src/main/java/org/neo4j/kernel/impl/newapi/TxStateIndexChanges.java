@@ -30,7 +30,9 @@ import org.eclipse.collections.impl.factory.Lists;
 import org.eclipse.collections.impl.factory.primitive.LongLists;
 import org.eclipse.collections.impl.factory.primitive.LongSets;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 
@@ -84,6 +86,17 @@ class TxStateIndexChanges
             throw new IllegalStateException(
                     "Suffix and contains queries on multiple property queries should have been rewritten as existence and filter before now" );
         }
+        if ( query instanceof PropertyIndexQuery.StringSuffixPredicate )
+        {
+            MutableLongList added = LongLists.mutable.empty();
+            MutableLongSet removed = LongSets.mutable.empty();
+            for ( Map.Entry<ValueTuple,? extends LongDiffSets> entry : suffixMatches( txState, descriptor, query, indexOrder ) )
+            {
+                added.addAll( entry.getValue().getAdded() );
+                removed.addAll( entry.getValue().getRemoved() );
+            }
+            return new AddedAndRemoved( indexOrder == IndexOrder.DESCENDING ? added.asReversed() : added, removed );
+        }
         return indexUpdatesForScanAndFilter( txState, descriptor, query, indexOrder );
     }
 
@@ -97,6 +110,18 @@ class TxStateIndexChanges
             throw new IllegalStateException(
                     "Suffix and contains queries on multiple property queries should have been rewritten as existence and filter before now" );
         }
+        if ( query instanceof PropertyIndexQuery.StringSuffixPredicate )
+        {
+            MutableList<EntityWithPropertyValues> added = Lists.mutable.empty();
+            MutableLongSet removed = LongSets.mutable.empty();
+            for ( Map.Entry<ValueTuple,? extends LongDiffSets> entry : suffixMatches( txState, descriptor, query, indexOrder ) )
+            {
+                Value[] values = entry.getKey().getValues();
+                entry.getValue().getAdded().each( nodeId -> added.add( new EntityWithPropertyValues( nodeId, values ) ) );
+                removed.addAll( entry.getValue().getRemoved() );
+            }
+            return new AddedWithValuesAndRemoved( indexOrder == IndexOrder.DESCENDING ? added.asReversed() : added, removed );
+        }
         return indexUpdatesWithValuesScanAndFilter( txState, descriptor, query, indexOrder );
     }
 
@@ -367,6 +392,43 @@ class TxStateIndexChanges
                txState.getSortedIndexUpdates( descriptor.schema() );
     }
 
+    /**
+     * Finds the updates of all values ending with the suffix of the query by seeking in the updates ordered by reversed text values,
+     * instead of filtering all updates of the index. The matches are returned in ascending value order if an order is requested.
+     */
+    private static List<Map.Entry<ValueTuple,? extends LongDiffSets>> suffixMatches( ReadableTransactionState txState,
+                                                                                   IndexDescriptor descriptor,
+                                                                                   PropertyIndexQuery query,
+                                                                                   IndexOrder indexOrder )
+    {
+        NavigableMap<ValueTuple,? extends LongDiffSets> suffixUpdates = txState.getSuffixSortedIndexUpdates( descriptor.schema() );
+        if ( suffixUpdates == null )
+        {
+            return Collections.emptyList();
+        }
+
+        TextValue suffix = ((PropertyIndexQuery.StringSuffixPredicate) query).suffix();
+        List<Map.Entry<ValueTuple,? extends LongDiffSets>> matches = new ArrayList<>();
+        // The suffix itself is the smallest value ending with it, in reversed text order
+        for ( Map.Entry<ValueTuple,? extends LongDiffSets> entry : suffixUpdates.tailMap( ValueTuple.of( suffix ), true ).entrySet() )
+        {
+            Value[] values = entry.getKey().getValues();
+            if ( !query.acceptsValue( values[0] ) )
+            {
+                break;
+            }
+            if ( descriptor.getCapability().areValuesAccepted( values ) )
+            {
+                matches.add( entry );
+            }
+        }
+        if ( indexOrder != IndexOrder.NONE )
+        {
+            matches.sort( ( left, right ) -> ValueTuple.COMPARATOR.compare( left.getKey(), right.getKey() ) );
+        }
+        return matches;
+    }
+
     private static ValueTuple getCompositeValueTuple( int size, Value[] equalityValues, Value nextValue, boolean minValue )
     {
         Value[] values = new Value[size];
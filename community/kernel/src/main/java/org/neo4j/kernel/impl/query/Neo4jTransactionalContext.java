@@ -352,6 +352,18 @@ public class Neo4jTransactionalContext implements TransactionalContext
         {
             return executionStatistics.pageFaults();
         }
+
+        @Override
+        public long getPropertyCacheHits()
+        {
+            return executionStatistics.propertyCacheHits();
+        }
+
+        @Override
+        public long getPropertyCacheMisses()
+        {
+            return executionStatistics.propertyCacheMisses();
+        }
     }
 
     /**
@@ -24,4 +24,14 @@ public interface StatisticProvider
     long getPageCacheHits();
 
     long getPageCacheMisses();
+
+    default long getPropertyCacheHits()
+    {
+        return -1;
+    }
+
+    default long getPropertyCacheMisses()
+    {
+        return -1;
+    }
 }
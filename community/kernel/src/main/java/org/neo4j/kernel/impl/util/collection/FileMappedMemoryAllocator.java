@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.graphdb.Resource;
+import org.neo4j.internal.unsafe.UnsafeUtil;
+import org.neo4j.io.ByteUnit;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.util.VisibleForTesting;
+
+import static java.lang.Math.toIntExact;
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Objects.requireNonNull;
+import static org.neo4j.util.Preconditions.checkArgument;
+
+/**
+ * Allocates memory from regions of a temporary file that is mapped into memory. The operating system is free to page such
+ * memory out to disk, which makes it suitable for parts of transaction state that are too big to be kept in off-heap memory.
+ * <p>
+ * The spill file is created lazily on first allocation in the given directory and is deleted on {@link #close()}. The allocator
+ * can be used again after it has been closed, in which case a new spill file will be created.
+ * <p>
+ * Allocated memory is neither accounted in the provided {@link MemoryTracker}, nor reclaimed before the allocator is closed.
+ * Since the file only ever grows, newly allocated memory is always zero-filled.
+ * <p>
+ * Not thread safe.
+ */
+public class FileMappedMemoryAllocator implements MemoryAllocator, Resource
+{
+    private static final long SEGMENT_SIZE = ByteUnit.mebiBytes( 8 );
+
+    private final Path directory;
+    private final long segmentSize;
+    private final List<MappedByteBuffer> mappings = new ArrayList<>();
+    private FileChannel channel;
+    private long fileSize;
+    private ByteBuffer currentSegment;
+
+    public FileMappedMemoryAllocator( Path directory )
+    {
+        this( directory, SEGMENT_SIZE );
+    }
+
+    @VisibleForTesting
+    FileMappedMemoryAllocator( Path directory, long segmentSize )
+    {
+        this.directory = requireNonNull( directory );
+        this.segmentSize = segmentSize;
+    }
+
+    @Override
+    public Memory allocate( long size, boolean zeroed, MemoryTracker memoryTracker )
+    {
+        checkArgument( size > 0 && size <= Integer.MAX_VALUE, "Invalid size of spilled memory: %d", size );
+        final int alignedSize = toIntExact( (size + Long.BYTES - 1) & ~(Long.BYTES - 1L) );
+        if ( alignedSize > segmentSize / 4 )
+        {
+            // large allocations get a mapping of their own, not to waste the rest of the current segment
+            return new MappedMemory( map( alignedSize ), size );
+        }
+        if ( currentSegment == null || currentSegment.remaining() < alignedSize )
+        {
+            currentSegment = map( segmentSize );
+        }
+        final ByteBuffer slice = currentSegment.slice();
+        slice.limit( alignedSize );
+        currentSegment.position( currentSegment.position() + alignedSize );
+        return new MappedMemory( slice, size );
+    }
+
+    /**
+     * @return number of bytes of the spill file currently in use.
+     */
+    public long spilledBytes()
+    {
+        return fileSize;
+    }
+
+    /**
+     * Unmaps all memory allocated so far and deletes the spill file. Memory obtained from this allocator must not be accessed afterwards.
+     */
+    @Override
+    public void close()
+    {
+        if ( channel == null )
+        {
+            return;
+        }
+        mappings.forEach( UnsafeUtil::invokeCleaner );
+        mappings.clear();
+        currentSegment = null;
+        fileSize = 0;
+        try
+        {
+            channel.close();
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( "Failed to close transaction state spill file", e );
+        }
+        finally
+        {
+            channel = null;
+        }
+    }
+
+    private ByteBuffer map( long size )
+    {
+        try
+        {
+            if ( channel == null )
+            {
+                Files.createDirectories( directory );
+                final Path file = Files.createTempFile( directory, "tx-state-", ".spill" );
+                channel = FileChannel.open( file, READ, WRITE, DELETE_ON_CLOSE );
+            }
+            final MappedByteBuffer mapping = channel.map( FileChannel.MapMode.READ_WRITE, fileSize, size );
+            mappings.add( mapping );
+            fileSize += size;
+            return mapping;
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( "Failed to spill transaction state to " + directory, e );
+        }
+    }
+
+    private class MappedMemory implements Memory
+    {
+        private final ByteBuffer buffer;
+        private final long size;
+
+        MappedMemory( ByteBuffer buffer, long size )
+        {
+            this.buffer = buffer;
+            this.size = size;
+        }
+
+        @Override
+        public long readLong( long offset )
+        {
+            return buffer.getLong( toIntExact( offset ) );
+        }
+
+        @Override
+        public void writeLong( long offset, long value )
+        {
+            buffer.putLong( toIntExact( offset ), value );
+        }
+
+        @Override
+        public void clear()
+        {
+            for ( int i = 0; i < buffer.limit(); i++ )
+            {
+                buffer.put( i, (byte) 0 );
+            }
+        }
+
+        @Override
+        public long size()
+        {
+            return size;
+        }
+
+        @Override
+        public void free( MemoryTracker memoryTracker )
+        {
+            // nop, spilled memory is released when the allocator is closed
+        }
+
+        @Override
+        public Memory copy( MemoryTracker memoryTracker )
+        {
+            final MappedMemory copy = (MappedMemory) allocate( size, false, memoryTracker );
+            final ByteBuffer source = buffer.duplicate();
+            source.clear();
+            copy.buffer.duplicate().put( source );
+            return copy;
+        }
+
+        @Override
+        public ByteBuffer asByteBuffer()
+        {
+            final ByteBuffer byteBuffer = buffer.duplicate();
+            byteBuffer.clear();
+            byteBuffer.limit( toIntExact( size ) );
+            return byteBuffer;
+        }
+    }
+}
@@ -44,7 +44,12 @@ public class OffHeapCollectionsFactory implements CollectionsFactory
 
     public OffHeapCollectionsFactory( OffHeapBlockAllocator blockAllocator )
     {
-        this.allocator = new OffHeapMemoryAllocator( blockAllocator );
+        this( new OffHeapMemoryAllocator( blockAllocator ) );
+    }
+
+    protected OffHeapCollectionsFactory( MemoryAllocator allocator )
+    {
+        this.allocator = allocator;
     }
 
     @Override
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import java.nio.file.Path;
+
+/**
+ * Off-heap collections factory that spills transaction state, such as property values, created relationships and index updates,
+ * to a memory mapped temporary file once a transaction uses more native memory than the spill threshold.
+ * Collections created by this factory keep working as before, but spilled parts are subject to paging by the operating system.
+ */
+public class SpillingCollectionsFactory extends OffHeapCollectionsFactory
+{
+    private final FileMappedMemoryAllocator spillAllocator;
+
+    public SpillingCollectionsFactory( OffHeapBlockAllocator blockAllocator, Path spillDirectory, long spillThreshold )
+    {
+        this( blockAllocator, new FileMappedMemoryAllocator( spillDirectory ), spillThreshold );
+    }
+
+    private SpillingCollectionsFactory( OffHeapBlockAllocator blockAllocator, FileMappedMemoryAllocator spillAllocator, long spillThreshold )
+    {
+        super( new SpillingMemoryAllocator( new OffHeapMemoryAllocator( blockAllocator ), spillAllocator, spillThreshold ) );
+        this.spillAllocator = spillAllocator;
+    }
+
+    @Override
+    public void release()
+    {
+        try
+        {
+            super.release();
+        }
+        finally
+        {
+            spillAllocator.close();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import org.neo4j.memory.MemoryTracker;
+
+import static java.util.Objects.requireNonNull;
+import static org.neo4j.util.Preconditions.requirePositive;
+
+/**
+ * Allocates memory from the primary allocator for as long as the native memory used by a transaction stays below the spill threshold,
+ * or the primary allocator runs out of capacity, and from the spill allocator after that.
+ */
+public class SpillingMemoryAllocator implements MemoryAllocator
+{
+    private final MemoryAllocator primary;
+    private final MemoryAllocator spill;
+    private final long spillThreshold;
+
+    public SpillingMemoryAllocator( MemoryAllocator primary, MemoryAllocator spill, long spillThreshold )
+    {
+        this.primary = requireNonNull( primary );
+        this.spill = requireNonNull( spill );
+        this.spillThreshold = requirePositive( spillThreshold );
+    }
+
+    @Override
+    public Memory allocate( long size, boolean zeroed, MemoryTracker memoryTracker )
+    {
+        if ( memoryTracker.usedNativeMemory() + size > spillThreshold )
+        {
+            return spill.allocate( size, zeroed, memoryTracker );
+        }
+        try
+        {
+            return primary.allocate( size, zeroed, memoryTracker );
+        }
+        catch ( MemoryAllocationLimitException e )
+        {
+            return spill.allocate( size, zeroed, memoryTracker );
+        }
+    }
+}
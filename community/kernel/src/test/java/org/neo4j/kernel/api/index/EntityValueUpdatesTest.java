@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.neo4j.common.EntityType;
+import org.neo4j.internal.schema.SchemaDescriptor;
 import org.neo4j.internal.schema.SchemaDescriptorSupplier;
 import org.neo4j.internal.schema.SchemaDescriptors;
 import org.neo4j.io.pagecache.context.CursorContext;
@@ -95,6 +96,21 @@ class EntityValueUpdatesTest
                                               new int[]{PROPERTY_KEY_ID_1, PROPERTY_KEY_ID_2,
                                                                           PROPERTY_KEY_ID_3} );
 
+    private static final SchemaDescriptorSupplier NODE_INDEX_1_INCLUDING_23 = new SchemaDescriptorSupplier()
+    {
+        @Override
+        public SchemaDescriptor schema()
+        {
+            return SchemaDescriptors.forLabel( TOKEN_ID_1, PROPERTY_KEY_ID_1, PROPERTY_KEY_ID_2, PROPERTY_KEY_ID_3 );
+        }
+
+        @Override
+        public int requiredPropertyCount()
+        {
+            return 1;
+        }
+    };
+
     private static final StorageProperty PROPERTY_1 = new PropertyKeyValue( PROPERTY_KEY_ID_1, Values.of( "Neo" ) );
     private static final StorageProperty PROPERTY_2 = new PropertyKeyValue( PROPERTY_KEY_ID_2, Values.of( 100L ) );
     private static final StorageProperty PROPERTY_3 =
@@ -581,6 +597,63 @@ class EntityValueUpdatesTest
                 .contains( IndexEntryUpdate.remove( ENTITY_ID, NON_SCHEMA_NODE_INDEX, VALUES_123 ) );
     }
 
+    @Test
+    void shouldGenerateUpdateWithNoValuesForMissingIncludedProperties()
+    {
+        // When
+        EntityUpdates updates = EntityUpdates.forEntity( ENTITY_ID, false ).withTokens( EMPTY ).withTokensAfter( TOKEN ).build();
+
+        // Then
+        assertThat( updates.valueUpdatesForIndexKeys( singleton( NODE_INDEX_1_INCLUDING_23 ), propertyLoader( PROPERTY_1 ), EntityType.NODE, NULL,
+                StoreCursors.NULL, INSTANCE ) )
+                .containsExactly( IndexEntryUpdate.add( ENTITY_ID, NODE_INDEX_1_INCLUDING_23, PROPERTY_1.value(), Values.NO_VALUE, Values.NO_VALUE ) );
+    }
+
+    @Test
+    void shouldGenerateChangeWhenAddingIncludedProperty()
+    {
+        // When
+        EntityUpdates updates = EntityUpdates.forEntity( ENTITY_ID, false ).withTokens( TOKEN )
+                                             .added( PROPERTY_2.propertyKeyId(), PROPERTY_2.value() )
+                                             .build();
+
+        // Then
+        assertThat( updates.valueUpdatesForIndexKeys( singleton( NODE_INDEX_1_INCLUDING_23 ), propertyLoader( PROPERTY_1 ), EntityType.NODE, NULL,
+                StoreCursors.NULL, INSTANCE ) )
+                .containsExactly( IndexEntryUpdate.change( ENTITY_ID, NODE_INDEX_1_INCLUDING_23,
+                        new Value[]{PROPERTY_1.value(), Values.NO_VALUE, Values.NO_VALUE},
+                        new Value[]{PROPERTY_1.value(), PROPERTY_2.value(), Values.NO_VALUE} ) );
+    }
+
+    @Test
+    void shouldGenerateChangeWhenRemovingIncludedProperty()
+    {
+        // When
+        EntityUpdates updates = EntityUpdates.forEntity( ENTITY_ID, false ).withTokens( TOKEN )
+                                             .removed( PROPERTY_3.propertyKeyId(), PROPERTY_3.value() )
+                                             .build();
+
+        // Then
+        assertThat( updates.valueUpdatesForIndexKeys( singleton( NODE_INDEX_1_INCLUDING_23 ), propertyLoader( PROPERTY_1 ), EntityType.NODE, NULL,
+                StoreCursors.NULL, INSTANCE ) )
+                .containsExactly( IndexEntryUpdate.change( ENTITY_ID, NODE_INDEX_1_INCLUDING_23,
+                        new Value[]{PROPERTY_1.value(), Values.NO_VALUE, PROPERTY_3.value()},
+                        new Value[]{PROPERTY_1.value(), Values.NO_VALUE, Values.NO_VALUE} ) );
+    }
+
+    @Test
+    void shouldNotGenerateUpdateForIncludedPropertyWithoutRequiredProperty()
+    {
+        // When
+        EntityUpdates updates = EntityUpdates.forEntity( ENTITY_ID, false ).withTokens( TOKEN )
+                                             .added( PROPERTY_2.propertyKeyId(), PROPERTY_2.value() )
+                                             .build();
+
+        // Then
+        assertThat( updates.valueUpdatesForIndexKeys( singleton( NODE_INDEX_1_INCLUDING_23 ), propertyLoader(), EntityType.NODE, NULL,
+                StoreCursors.NULL, INSTANCE ) ).isEmpty();
+    }
+
     private static StorageReader propertyLoader( StorageProperty... properties )
     {
         StubStorageCursors stub = new StubStorageCursors();
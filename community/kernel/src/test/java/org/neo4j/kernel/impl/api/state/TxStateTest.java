@@ -93,6 +93,7 @@ import static org.mockito.internal.verification.VerificationModeFactory.times;
 import static org.neo4j.internal.helpers.collection.Iterators.asSet;
 import static org.neo4j.internal.helpers.collection.Pair.of;
 import static org.neo4j.internal.schema.SchemaDescriptors.forLabel;
+import static org.neo4j.values.storable.Values.intValue;
 import static org.neo4j.values.storable.Values.stringValue;
 
 @ExtendWith( RandomExtension.class )
@@ -369,6 +370,63 @@ abstract class TxStateTest
         }
     }
 
+    @Test
+    void shouldMaintainSuffixSortedIndexUpdates()
+    {
+        // GIVEN
+        SchemaDescriptor schema = indexOn_1_1.schema();
+        state.indexDoUpdateEntry( schema, 1, null, ValueTuple.of( stringValue( "Aaron" ) ) );
+        state.indexDoUpdateEntry( schema, 2, null, ValueTuple.of( stringValue( "Barbarella" ) ) );
+        NavigableMap<ValueTuple,? extends LongDiffSets> diffSets = state.getSuffixSortedIndexUpdates( schema );
+
+        // WHEN
+        state.indexDoUpdateEntry( schema, 3, null, ValueTuple.of( stringValue( "Cinderella" ) ) );
+        state.indexDoUpdateEntry( schema, 4, null, ValueTuple.of( intValue( 42 ) ) );
+
+        // THEN
+        assertThat( diffSets.keySet() ).containsExactly(
+                ValueTuple.of( stringValue( "Barbarella" ) ),
+                ValueTuple.of( stringValue( "Cinderella" ) ),
+                ValueTuple.of( stringValue( "Aaron" ) ) );
+        assertEqualDiffSets( addedNodes( 3L ), diffSets.get( ValueTuple.of( stringValue( "Cinderella" ) ) ) );
+    }
+
+    @Test
+    void shouldDropIndexUpdatesThatCancelOut()
+    {
+        // GIVEN
+        SchemaDescriptor schema = indexOn_1_1.schema();
+        state.indexDoUpdateEntry( schema, 1, null, ValueTuple.of( stringValue( "before" ) ) );
+        NavigableMap<ValueTuple,? extends LongDiffSets> sortedDiffSets = state.getSortedIndexUpdates( schema );
+        NavigableMap<ValueTuple,? extends LongDiffSets> suffixDiffSets = state.getSuffixSortedIndexUpdates( schema );
+
+        // WHEN
+        state.indexDoUpdateEntry( schema, 1, ValueTuple.of( stringValue( "before" ) ), ValueTuple.of( stringValue( "after" ) ) );
+
+        // THEN
+        assertThat( sortedDiffSets.keySet() ).containsExactly( ValueTuple.of( stringValue( "after" ) ) );
+        assertThat( suffixDiffSets.keySet() ).containsExactly( ValueTuple.of( stringValue( "after" ) ) );
+        assertEqualDiffSets( addedNodes( 1L ), sortedDiffSets.get( ValueTuple.of( stringValue( "after" ) ) ) );
+    }
+
+    @Test
+    void shouldDropCancelledNonTextIndexUpdatesAfterSuffixQuery()
+    {
+        // GIVEN
+        SchemaDescriptor schema = indexOn_1_1.schema();
+        state.indexDoUpdateEntry( schema, 1, null, ValueTuple.of( stringValue( "text" ) ) );
+        state.indexDoUpdateEntry( schema, 2, null, ValueTuple.of( intValue( 42 ) ) );
+        NavigableMap<ValueTuple,? extends LongDiffSets> sortedDiffSets = state.getSortedIndexUpdates( schema );
+        NavigableMap<ValueTuple,? extends LongDiffSets> suffixDiffSets = state.getSuffixSortedIndexUpdates( schema );
+
+        // WHEN
+        state.indexDoUpdateEntry( schema, 2, ValueTuple.of( intValue( 42 ) ), null );
+
+        // THEN
+        assertThat( sortedDiffSets.keySet() ).containsExactly( ValueTuple.of( stringValue( "text" ) ) );
+        assertThat( suffixDiffSets.keySet() ).containsExactly( ValueTuple.of( stringValue( "text" ) ) );
+    }
+
     @Test
     void shouldAddAndGetByLabel()
     {
@@ -27,6 +27,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -589,6 +590,150 @@ abstract class BlockBasedIndexPopulatorTest<KEY extends NativeIndexKey<KEY>>
         }
     }
 
+    @Test
+    void shouldWriteScanUpdatesFromSeveralPartsInKeyRanges() throws Throwable
+    {
+        // given scan updates from several parts where every part has every value, i.e. duplicates around every key range boundary
+        int numberOfParts = 4;
+        int numberOfValues = 300;
+        List<List<IndexEntryUpdate<?>>> parts = new ArrayList<>();
+        List<IndexEntryUpdate<?>> allUpdates = new ArrayList<>();
+        for ( int part = 0; part < numberOfParts; part++ )
+        {
+            List<IndexEntryUpdate<?>> updates = new ArrayList<>();
+            for ( int i = 0; i < numberOfValues; i++ )
+            {
+                updates.add( IndexEntryUpdate.add( (long) i * numberOfParts + part, INDEX_DESCRIPTOR, supportedValue( i ) ) );
+            }
+            parts.add( updates );
+            allUpdates.addAll( updates );
+        }
+
+        // when
+        List<String> jobDescriptions = new ArrayList<>();
+        List<Long> entityIds;
+        IndexSample sample;
+        BlockBasedIndexPopulator<KEY> populator = instantiatePopulator( NO_MONITOR );
+        try
+        {
+            addInParts( populator, parts );
+            populator.scanCompleted( nullInstance, recordingScheduler( jobDescriptions ), NULL );
+            entityIds = entityIdsInTree( populator );
+            sample = populator.sample( NULL );
+        }
+        finally
+        {
+            populator.close( true, NULL );
+        }
+
+        // then the key ranges together contain the same entries and sample as a single part would
+        assertThat( jobDescriptions ).anyMatch( description -> description.startsWith( "Writing key range" ) );
+        indexFiles = new IndexFiles.Directory( fs, directoriesByProvider( testDir.homePath() ).forProvider( new IndexProviderDescriptor( "test", "v1" ) ),
+                INDEX_DESCRIPTOR.getId() + 1 );
+        BlockBasedIndexPopulator<KEY> singlePartPopulator = instantiatePopulator( NO_MONITOR );
+        try
+        {
+            singlePartPopulator.add( allUpdates, NULL );
+            singlePartPopulator.scanCompleted( nullInstance, populationWorkScheduler, NULL );
+            assertThat( entityIds ).hasSize( allUpdates.size() );
+            assertThat( entityIds ).isEqualTo( entityIdsInTree( singlePartPopulator ) );
+            IndexSample singlePartSample = singlePartPopulator.sample( NULL );
+            assertEquals( singlePartSample.indexSize(), sample.indexSize() );
+            assertEquals( singlePartSample.sampleSize(), sample.sampleSize() );
+            assertEquals( singlePartSample.uniqueValues(), sample.uniqueValues() );
+        }
+        finally
+        {
+            singlePartPopulator.close( true, NULL );
+        }
+    }
+
+    @Test
+    void shouldPropagateFailureFromWritingKeyRangeAsIs() throws Throwable
+    {
+        // given
+        List<List<IndexEntryUpdate<?>>> parts = new ArrayList<>();
+        for ( int part = 0; part < 4; part++ )
+        {
+            List<IndexEntryUpdate<?>> updates = new ArrayList<>();
+            for ( int i = part * 100; i < (part + 1) * 100; i++ )
+            {
+                updates.add( add( i ) );
+            }
+            parts.add( updates );
+        }
+        IOException failure = new IOException( "Failed to write key range" );
+        IndexPopulator.PopulationWorkScheduler failingScheduler = new IndexPopulator.PopulationWorkScheduler()
+        {
+            @Override
+            public <T> JobHandle<T> schedule( IndexPopulator.JobDescriptionSupplier descriptionSupplier, Callable<T> job )
+            {
+                if ( descriptionSupplier.getJobDescription( INDEX_DESCRIPTOR.getName() ).startsWith( "Writing key range" ) )
+                {
+                    return populationWorkScheduler.schedule( descriptionSupplier, () ->
+                    {
+                        throw failure;
+                    } );
+                }
+                return populationWorkScheduler.schedule( descriptionSupplier, job );
+            }
+        };
+        BlockBasedIndexPopulator<KEY> populator = instantiatePopulator( NO_MONITOR );
+        try
+        {
+            addInParts( populator, parts );
+
+            // when
+            UncheckedIOException e = assertThrows( UncheckedIOException.class, () -> populator.scanCompleted( nullInstance, failingScheduler, NULL ) );
+
+            // then
+            assertThat( e.getCause() ).isSameAs( failure );
+        }
+        finally
+        {
+            populator.close( false, NULL );
+        }
+    }
+
+    /**
+     * Adds every part from its own thread, since the populator keeps the scan updates from each thread in a part of its own.
+     */
+    static void addInParts( IndexPopulator populator, List<List<IndexEntryUpdate<?>>> parts ) throws Throwable
+    {
+        Race race = new Race();
+        for ( List<IndexEntryUpdate<?>> part : parts )
+        {
+            race.addContestant( throwing( () -> populator.add( part, NULL ) ), 1 );
+        }
+        race.go();
+    }
+
+    IndexPopulator.PopulationWorkScheduler recordingScheduler( List<String> jobDescriptions )
+    {
+        return new IndexPopulator.PopulationWorkScheduler()
+        {
+            @Override
+            public <T> JobHandle<T> schedule( IndexPopulator.JobDescriptionSupplier descriptionSupplier, Callable<T> job )
+            {
+                jobDescriptions.add( descriptionSupplier.getJobDescription( INDEX_DESCRIPTOR.getName() ) );
+                return populationWorkScheduler.schedule( descriptionSupplier, job );
+            }
+        };
+    }
+
+    private List<Long> entityIdsInTree( BlockBasedIndexPopulator<KEY> populator ) throws IOException
+    {
+        List<Long> entityIds = new ArrayList<>();
+        try ( Seeker<KEY,NullValue> seeker = seek( populator.tree, layout() ) )
+        {
+            while ( seeker.next() )
+            {
+                entityIds.add( seeker.key().getEntityId() );
+            }
+        }
+        return entityIds;
+    }
+
     Seeker<KEY,NullValue> seek( GBPTree<KEY,NullValue> tree, Layout<KEY,NullValue> layout )
             throws IOException
     {
@@ -53,6 +53,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.io.memory.ByteBufferFactory.heapBufferFactory;
@@ -229,6 +230,44 @@ class BlockStorageTest
         }
     }
 
+    @Test
+    void shouldReadMergedBlockFromSampledEntryPositions() throws IOException
+    {
+        // given
+        TrackingMonitor monitor = new TrackingMonitor();
+        int blockSize = 1_000;
+        try ( BlockStorage<MutableLong,MutableLong> storage = new BlockStorage<>( layout, heapBufferFactory( blockSize ), fileSystem, file, monitor,
+                INSTANCE ) )
+        {
+            int numberOfBlocks = random.nextInt( 10 ) + 3;
+            List<BlockEntry<MutableLong,MutableLong>> expected = asOneBigBlock( addACoupleOfBlocksOfEntries( monitor, storage, numberOfBlocks ) )
+                    .iterator().next();
+            assertNull( storage.entryPositions() );
+
+            // when
+            storage.merge( randomMergeFactor(), NOT_CANCELLABLE );
+
+            // then
+            List<BlockStorage.EntryPosition<MutableLong>> positions = storage.entryPositions();
+            assertThat( positions.size() ).isGreaterThan( 1 );
+            assertEquals( 0, positions.get( 0 ).entryIndex );
+            for ( BlockStorage.EntryPosition<MutableLong> position : positions )
+            {
+                assertEquals( 0, layout.compare( expected.get( (int) position.entryIndex ).key(), position.key ) );
+                try ( BlockEntryCursor<MutableLong,MutableLong> entries = storage.reader( position, new HeapScopedBuffer( 1024, INSTANCE ), false ) )
+                {
+                    for ( BlockEntry<MutableLong,MutableLong> expectedEntry : expected.subList( (int) position.entryIndex, expected.size() ) )
+                    {
+                        assertTrue( entries.next() );
+                        assertEquals( 0, layout.compare( expectedEntry.key(), entries.key() ) );
+                        assertEquals( expectedEntry.value(), entries.value() );
+                    }
+                    assertFalse( entries.next() );
+                }
+            }
+        }
+    }
+
     @Test
     void shouldOnlyLeaveSingleFileAfterMerge() throws IOException
     {
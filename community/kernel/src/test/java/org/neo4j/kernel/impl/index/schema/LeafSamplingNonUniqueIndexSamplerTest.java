@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Writer;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.kernel.api.index.IndexDirectoryStructure;
+import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.api.index.ValueHistogram;
+import org.neo4j.kernel.impl.index.schema.config.IndexSpecificSpaceFillingCurveSettings;
+import org.neo4j.test.utils.TestDirectory;
+import org.neo4j.values.storable.Values;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.internal.schema.IndexPrototype.forSchema;
+import static org.neo4j.internal.schema.SchemaDescriptors.forLabel;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+import static org.neo4j.kernel.api.index.IndexDirectoryStructure.directoriesByProvider;
+import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.NEUTRAL;
+
+class LeafSamplingNonUniqueIndexSamplerTest extends IndexTestUtil<BtreeKey,NullValue,IndexLayout<BtreeKey>>
+{
+    private static final IndexSpecificSpaceFillingCurveSettings specificSettings = IndexSpecificSpaceFillingCurveSettings.fromConfig( Config.defaults() );
+
+    private static final IndexDescriptor index = forSchema( forLabel( 42, 666 ) ).withName( "index" ).materialise( 0 );
+
+    @Test
+    void shouldScanAllValuesInSmallTree() throws Exception
+    {
+        // GIVEN
+        int numberOfEntries = 500;
+        buildTree( numberOfEntries, 5 );
+
+        // WHEN
+        IndexSample sample;
+        try ( GBPTree<BtreeKey,NullValue> gbpTree = getTree() )
+        {
+            sample = new LeafSamplingNonUniqueIndexSampler<>( gbpTree, layout, 10, 100 ).sample( NULL );
+        }
+
+        // THEN
+        assertEquals( numberOfEntries, sample.sampleSize() );
+        assertEquals( numberOfEntries / 5, sample.uniqueValues() );
+        assertEquals( numberOfEntries, sample.indexSize() );
+    }
+
+    @Test
+    void shouldEstimateSelectivityFromSampledRunsInLargeTree() throws Exception
+    {
+        // GIVEN
+        int numberOfEntries = 50_000;
+        int entriesPerValue = 10;
+        buildTree( numberOfEntries, entriesPerValue );
+
+        // WHEN
+        IndexSample sample;
+        try ( GBPTree<BtreeKey,NullValue> gbpTree = getTree() )
+        {
+            sample = new LeafSamplingNonUniqueIndexSampler<>( gbpTree, layout, 20, 50 ).sample( NULL );
+        }
+
+        // THEN
+        assertThat( sample.sampleSize() ).isLessThanOrEqualTo( 20 * 50 ).isLessThan( sample.indexSize() );
+        assertThat( sample.indexSize() ).isBetween( numberOfEntries / 2L, numberOfEntries * 2L );
+        double selectivity = (double) sample.uniqueValues() / sample.sampleSize();
+        assertThat( selectivity ).isBetween( 0.5 / entriesPerValue, 1.5 / entriesPerValue );
+    }
+
+    @Test
+    void shouldBuildValueHistogramFromSampledRuns() throws Exception
+    {
+        // GIVEN
+        int numberOfEntries = 50_000;
+        int entriesPerValue = 10;
+        buildTree( numberOfEntries, entriesPerValue );
+
+        // WHEN
+        IndexSample sample;
+        try ( GBPTree<BtreeKey,NullValue> gbpTree = getTree() )
+        {
+            sample = new LeafSamplingNonUniqueIndexSampler<>( gbpTree, layout, 20, 50, true ).sample( NULL );
+        }
+
+        // THEN
+        ValueHistogram histogram = sample.histogram();
+        assertThat( histogram ).isNotNull();
+        assertEquals( sample.indexSize(), histogram.totalCount() );
+        int numberOfValues = numberOfEntries / entriesPerValue;
+        double quarter = histogram.rangeSelectivity( Values.intValue( 0 ), true, Values.intValue( numberOfValues / 4 ), false );
+        assertThat( quarter ).isBetween( 0.15, 0.35 );
+    }
+
+    private void buildTree( int numberOfEntries, int entriesPerValue ) throws IOException
+    {
+        try ( GBPTree<BtreeKey,NullValue> gbpTree = getTree() )
+        {
+            try ( Writer<BtreeKey,NullValue> writer = gbpTree.writer( NULL ) )
+            {
+                BtreeKey key = layout.newKey();
+                for ( int nodeId = 0; nodeId < numberOfEntries; nodeId++ )
+                {
+                    key.initialize( nodeId );
+                    key.initFromValue( 0, Values.intValue( nodeId / entriesPerValue ), NEUTRAL );
+                    writer.put( key, NullValue.INSTANCE );
+                }
+            }
+            gbpTree.checkpoint( NULL );
+        }
+    }
+
+    @Override
+    IndexFiles createIndexFiles( FileSystemAbstraction fs, TestDirectory directory, IndexDescriptor indexDescriptor )
+    {
+        IndexDirectoryStructure indexDirectoryStructure =
+                directoriesByProvider( directory.directory( "root" ) ).forProvider( indexDescriptor.getIndexProvider() );
+        return new IndexFiles.Directory( fs, indexDirectoryStructure, indexDescriptor.getId() );
+    }
+
+    @Override
+    IndexDescriptor indexDescriptor()
+    {
+        return index;
+    }
+
+    @Override
+    IndexLayout<BtreeKey> layout()
+    {
+        return new GenericLayout( 1, specificSettings );
+    }
+}
@@ -201,6 +201,28 @@ abstract class NativeIndexAccessorTests<KEY extends NativeIndexKey<KEY>>
         }
     }
 
+    @Test
+    void shouldApplyChangesOfSameEntryInProcessedOrder() throws Exception
+    {
+        // given
+        ValueIndexEntryUpdate<IndexDescriptor>[] updates = someUpdatesSingleType();
+        ValueIndexEntryUpdate<IndexDescriptor> first = updates[0];
+        ValueIndexEntryUpdate<IndexDescriptor> last = updates[updates.length - 1];
+        processAll( last );
+
+        // when
+        try ( IndexUpdater updater = accessor.newUpdater( ONLINE, NULL ) )
+        {
+            updater.process( remove( last.getEntityId(), indexDescriptor, last.values() ) );
+            processAll( updater, updates );
+            updater.process( remove( first.getEntityId(), indexDescriptor, first.values() ) );
+        }
+
+        // then
+        forceAndCloseAccessor();
+        valueUtil.verifyUpdates( Arrays.copyOfRange( updates, 1, updates.length ), this::getTree );
+    }
+
     // === READER ===
 
     @Test
@@ -22,9 +22,13 @@ package org.neo4j.kernel.impl.index.schema;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.neo4j.configuration.Config;
@@ -43,6 +47,7 @@ import org.neo4j.kernel.impl.api.index.IndexUpdateMode;
 import org.neo4j.kernel.impl.index.schema.config.IndexSpecificSpaceFillingCurveSettings;
 import org.neo4j.storageengine.api.IndexEntryUpdate;
 import org.neo4j.storageengine.api.schema.SimpleEntityValueClient;
+import org.neo4j.values.storable.CoordinateReferenceSystem;
 import org.neo4j.values.storable.PointValue;
 import org.neo4j.values.storable.ValueCategory;
 import org.neo4j.values.storable.ValueGroup;
@@ -227,6 +232,59 @@ class PointIndexAccessorTest extends NativeIndexAccessorTests<PointKey>
         }
     }
 
+    @ParameterizedTest
+    @MethodSource( "planarAndGeographicCrs" )
+    void readerShouldFindPointsInBoundingBoxWithCoalescedCurveRanges( CoordinateReferenceSystem crs ) throws Exception
+    {
+        // given  points spread over an area
+        final var points = new ArrayList<PointValue>();
+        final var ids = idGenerator();
+        try ( var updater = accessor.newUpdater( IndexUpdateMode.ONLINE, CursorContext.NULL ) )
+        {
+            for ( int i = 0; i < 1_000; i++ )
+            {
+                final var point = Values.pointValue( crs, random.nextDouble() * 100 - 50, random.nextDouble() * 100 - 50 );
+                points.add( point );
+                updater.process( IndexEntryUpdate.add( ids.getAsLong(), INDEX_DESCRIPTOR, point ) );
+            }
+        }
+
+        final var tree = ((PointIndexAccessor) accessor).tree;
+        for ( int maxRanges : new int[]{1, 2, 5} )
+        {
+            final var configuration = new StandardConfiguration( StandardConfiguration.DEFAULT_EXTRA_LEVELS, maxRanges );
+            for ( int i = 0; i < 10; i++ )
+            {
+                // when   querying a bounding box with the curve ranges coalesced down to at most maxRanges seeks
+                final var x = random.nextDouble() * 100 - 50;
+                final var y = random.nextDouble() * 100 - 50;
+                final var from = Values.pointValue( crs, x, y );
+                final var to = Values.pointValue( crs, x + random.nextDouble() * 20, y + random.nextDouble() * 20 );
+                final var query = PropertyIndexQuery.range( 666, from, true, to, true );
+                final var found = new HashSet<PointValue>();
+                try ( var reader = new PointIndexReader( tree, LAYOUT, INDEX_DESCRIPTOR, SPACE_FILLING_CURVE_SETTINGS, configuration ) )
+                {
+                    SimpleEntityValueClient client = new SimpleEntityValueClient();
+                    reader.query( client, NULL_CONTEXT, AccessMode.Static.READ, unorderedValues(), query );
+                    while ( client.next() )
+                    {
+                        found.add( (PointValue) client.values[0] );
+                    }
+                }
+
+                // then   exactly the points within the bounding box should be found, despite the false positives of the merged ranges
+                final Set<PointValue> expected = points.stream().filter( query::acceptsValue ).collect( Collectors.toSet() );
+                assertThat( found ).as( "points within %s with at most %d curve ranges", query, maxRanges ).isEqualTo( expected );
+            }
+        }
+    }
+
+    private static Stream<CoordinateReferenceSystem> planarAndGeographicCrs()
+    {
+        return Stream.of( CoordinateReferenceSystem.CARTESIAN,
+                          CoordinateReferenceSystem.WGS84 );
+    }
+
     private static LongSupplier idGenerator()
     {
         return new AtomicLong( 0 )::incrementAndGet;
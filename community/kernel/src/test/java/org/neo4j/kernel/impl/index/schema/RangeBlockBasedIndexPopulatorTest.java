@@ -19,13 +19,46 @@
  */
 package org.neo4j.kernel.impl.index.schema;
 
+import org.junit.jupiter.api.Test;
+
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.neo4j.configuration.Config;
 import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.internal.kernel.api.PropertyIndexQuery;
+import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotApplicableKernelException;
+import org.neo4j.internal.kernel.api.security.AccessMode;
+import org.neo4j.internal.schema.IndexConfig;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexPrototype;
+import org.neo4j.internal.schema.IndexRef;
 import org.neo4j.internal.schema.IndexType;
+import org.neo4j.internal.schema.SchemaDescriptors;
 import org.neo4j.io.memory.ByteBufferFactory;
+import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
+import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.api.index.ValueHistogram;
+import org.neo4j.kernel.api.index.ValueIndexReader;
 import org.neo4j.memory.MemoryTracker;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+import org.neo4j.storageengine.api.schema.SimpleEntityValueClient;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.internal.kernel.api.IndexQueryConstraints.unconstrained;
+import static org.neo4j.internal.kernel.api.QueryContext.NULL_CONTEXT;
+import static org.neo4j.io.memory.ByteBufferFactory.heapBufferFactory;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+import static org.neo4j.kernel.impl.api.index.PhaseTracker.nullInstance;
+import static org.neo4j.kernel.impl.index.schema.BlockStorage.Monitor.NO_MONITOR;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
 
 class RangeBlockBasedIndexPopulatorTest extends GenericBlockBasedIndexPopulatorTest<RangeKey>
 {
@@ -48,9 +81,154 @@ class RangeBlockBasedIndexPopulatorTest extends GenericBlockBasedIndexPopulatorT
         return populator;
     }
 
+    @Test
+    void shouldDetectUniquenessConflictBetweenEntriesOfDifferentParts() throws Throwable
+    {
+        // given a unique index and scan updates in several parts where the last part has a value which was also added by the first part
+        IndexDescriptor uniqueDescriptor = IndexPrototype.uniqueForSchema( SchemaDescriptors.forLabel( 1, 1 ) ).withIndexType( indexType() )
+                .withName( "constraint" ).materialise( 1 );
+        int numberOfParts = 4;
+        int valuesPerPart = 100;
+        List<List<IndexEntryUpdate<?>>> parts = new ArrayList<>();
+        for ( int part = 0; part < numberOfParts; part++ )
+        {
+            List<IndexEntryUpdate<?>> updates = new ArrayList<>();
+            for ( int i = part * valuesPerPart; i < (part + 1) * valuesPerPart; i++ )
+            {
+                updates.add( IndexEntryUpdate.add( i, uniqueDescriptor, supportedValue( i ) ) );
+            }
+            parts.add( updates );
+        }
+        int duplicate = numberOfParts * valuesPerPart - valuesPerPart / 2;
+        parts.get( 0 ).add( IndexEntryUpdate.add( numberOfParts * valuesPerPart, uniqueDescriptor, supportedValue( duplicate ) ) );
+
+        RangeBlockBasedIndexPopulator populator =
+                new RangeBlockBasedIndexPopulator( databaseIndexContext, indexFiles, layout(), uniqueDescriptor, false, heapBufferFactory( 100 ),
+                        Config.defaults( GraphDatabaseInternalSettings.index_populator_merge_factor, 2 ), INSTANCE, tokenNameLookup, NO_MONITOR );
+        populator.create();
+        try
+        {
+            addInParts( populator, parts );
+
+            // when
+            List<String> jobDescriptions = new ArrayList<>();
+            IndexEntryConflictException conflict = assertThrows( IndexEntryConflictException.class,
+                    () -> populator.scanCompleted( nullInstance, recordingScheduler( jobDescriptions ), NULL ) );
+
+            // then
+            assertThat( jobDescriptions ).anyMatch( description -> description.startsWith( "Writing key range" ) );
+            assertThat( conflict.getSinglePropertyValue() ).isEqualTo( supportedValue( duplicate ) );
+        }
+        finally
+        {
+            populator.close( false, NULL );
+        }
+    }
+
+    @Test
+    void shouldPopulateIncludedPropertiesThatEntitiesDoNotHave() throws Throwable
+    {
+        // given an index with an included property that every other entity doesn't have
+        IndexDescriptor includedDescriptor = IndexPrototype.forSchema( SchemaDescriptors.forLabel( 1, 1, 2 ) ).withIndexType( indexType() )
+                .withIndexConfig( IndexConfig.with( IndexRef.INCLUDED_PROPERTIES_SETTING, Values.intValue( 1 ) ) ).withName( "included" ).materialise( 1 );
+        List<List<IndexEntryUpdate<?>>> parts = List.of( new ArrayList<>(), new ArrayList<>() );
+        for ( int i = 0; i < 100; i++ )
+        {
+            Value included = i % 2 == 0 ? Values.stringValue( "included" + i ) : Values.NO_VALUE;
+            parts.get( i % 2 ).add( IndexEntryUpdate.add( i, includedDescriptor, Values.intValue( i % 10 ), included ) );
+        }
+
+        RangeBlockBasedIndexPopulator populator =
+                new RangeBlockBasedIndexPopulator( databaseIndexContext, indexFiles, new RangeLayout( 2, 1 ), includedDescriptor, false,
+                        heapBufferFactory( 100 ), Config.defaults( GraphDatabaseInternalSettings.index_populator_merge_factor, 2 ), INSTANCE,
+                        tokenNameLookup, NO_MONITOR );
+        populator.create();
+        try
+        {
+            // when
+            addInParts( populator, parts );
+            populator.scanCompleted( nullInstance, populationWorkScheduler, NULL );
+
+            // then exact seeks on the required property find entities with and without the included property
+            try ( NativeIndexReader<RangeKey> reader = populator.newReader() )
+            {
+                Map<Long,Value> withoutIncluded = includedValues( reader, PropertyIndexQuery.exact( 1, Values.intValue( 3 ) ) );
+                assertThat( withoutIncluded ).containsOnlyKeys( 3L, 13L, 23L, 33L, 43L, 53L, 63L, 73L, 83L, 93L );
+                assertThat( withoutIncluded.values() ).containsOnly( Values.NO_VALUE );
+                Map<Long,Value> withIncluded = includedValues( reader, PropertyIndexQuery.exact( 1, Values.intValue( 4 ) ) );
+                assertThat( withIncluded ).hasSize( 10 ).containsEntry( 24L, Values.stringValue( "included24" ) );
+                assertThat( includedValues( reader, PropertyIndexQuery.range( 1, 2, true, 3, true ) ) ).hasSize( 20 );
+                assertThat( includedValues( reader, PropertyIndexQuery.allEntries() ) ).hasSize( 100 );
+
+                // and included properties can't be queried
+                assertThrows( IllegalArgumentException.class, () -> includedValues( reader,
+                        PropertyIndexQuery.exact( 1, Values.intValue( 4 ) ), PropertyIndexQuery.exact( 2, Values.stringValue( "included24" ) ) ) );
+            }
+
+            // and samples only count distinct values of the required property
+            IndexSample sample = populator.sample( NULL );
+            assertThat( sample.indexSize() ).isEqualTo( 100 );
+            assertThat( sample.uniqueValues() ).isEqualTo( 10 );
+        }
+        finally
+        {
+            populator.close( true, NULL );
+        }
+    }
+
+    @Test
+    void shouldBuildValueHistogramOfScanUpdates() throws Throwable
+    {
+        // given scan updates in several parts, i.e. written to the tree in several key ranges
+        int numberOfParts = 4;
+        int valuesPerPart = 250;
+        List<List<IndexEntryUpdate<?>>> parts = new ArrayList<>();
+        for ( int part = 0; part < numberOfParts; part++ )
+        {
+            List<IndexEntryUpdate<?>> updates = new ArrayList<>();
+            for ( int i = part; i < numberOfParts * valuesPerPart; i += numberOfParts )
+            {
+                updates.add( IndexEntryUpdate.add( i, INDEX_DESCRIPTOR, Values.intValue( i ) ) );
+            }
+            parts.add( updates );
+        }
+
+        BlockBasedIndexPopulator<RangeKey> populator = instantiatePopulator( NO_MONITOR );
+        try
+        {
+            // when
+            addInParts( populator, parts );
+            populator.scanCompleted( nullInstance, populationWorkScheduler, NULL );
+            IndexSample sample = populator.sample( NULL );
+
+            // then
+            ValueHistogram histogram = sample.histogram();
+            assertThat( histogram ).isNotNull();
+            assertThat( histogram.totalCount() ).isEqualTo( numberOfParts * valuesPerPart );
+            assertThat( histogram.rangeSelectivity( null, false, Values.intValue( 100 ), false ) ).isCloseTo( 0.1, within( 0.02 ) );
+            assertThat( histogram.rangeSelectivity( Values.intValue( 500 ), true, null, false ) ).isCloseTo( 0.5, within( 0.02 ) );
+        }
+        finally
+        {
+            populator.close( true, NULL );
+        }
+    }
+
     @Override
     RangeLayout layout()
     {
         return new RangeLayout( 1 );
     }
+
+    private static Map<Long,Value> includedValues( ValueIndexReader reader, PropertyIndexQuery... predicates ) throws IndexNotApplicableKernelException
+    {
+        SimpleEntityValueClient client = new SimpleEntityValueClient();
+        reader.query( client, NULL_CONTEXT, AccessMode.Static.READ, unconstrained(), predicates );
+        Map<Long,Value> values = new HashMap<>();
+        while ( client.next() )
+        {
+            values.put( client.reference, client.values[1] );
+        }
+        return values;
+    }
 }
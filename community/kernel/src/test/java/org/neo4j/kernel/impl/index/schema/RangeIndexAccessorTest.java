@@ -33,9 +33,11 @@ import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexOrder;
 import org.neo4j.internal.schema.IndexType;
 import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.api.index.IndexUpdater;
 import org.neo4j.kernel.api.index.ValueIndexReader;
 import org.neo4j.storageengine.api.ValueIndexEntryUpdate;
 import org.neo4j.storageengine.api.schema.SimpleEntityValueClient;
+import org.neo4j.test.Race;
 import org.neo4j.values.storable.CoordinateReferenceSystem;
 import org.neo4j.values.storable.RandomValues;
 import org.neo4j.values.storable.Value;
@@ -53,7 +55,10 @@ import static org.neo4j.internal.kernel.api.IndexQueryConstraints.unorderedValue
 import static org.neo4j.internal.kernel.api.QueryContext.NULL_CONTEXT;
 import static org.neo4j.internal.schema.IndexPrototype.forSchema;
 import static org.neo4j.internal.schema.SchemaDescriptors.forLabel;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+import static org.neo4j.kernel.impl.api.index.IndexUpdateMode.ONLINE;
 import static org.neo4j.kernel.impl.index.schema.ValueCreatorUtil.FRACTION_DUPLICATE_NON_UNIQUE;
+import static org.neo4j.test.Race.throwing;
 
 class RangeIndexAccessorTest extends GenericNativeIndexAccessorTests<RangeKey>
 {
@@ -151,6 +156,41 @@ class RangeIndexAccessorTest extends GenericNativeIndexAccessorTests<RangeKey>
         }
     }
 
+    @Test
+    void shouldApplyUpdatesFromConcurrentUpdaters() throws Throwable
+    {
+        // given an accessor handing out an updater per thread applying updates
+        closeAccessor();
+        DatabaseIndexContext context = DatabaseIndexContext.builder( pageCache, fs, DEFAULT_DATABASE_NAME ).withReadOnlyChecker( writable() )
+                                                           .withConcurrentUpdates( true ).build();
+        accessor = new RangeIndexAccessor( context, indexFiles, layout, RecoveryCleanupWorkCollector.immediate(), INDEX_DESCRIPTOR, tokenNameLookup );
+        ValueIndexEntryUpdate<IndexDescriptor>[] updates = someUpdatesSingleType();
+
+        // when
+        int threads = 4;
+        Race race = new Race();
+        for ( int t = 0; t < threads; t++ )
+        {
+            int thread = t;
+            race.addContestant( throwing( () ->
+            {
+                try ( IndexUpdater updater = accessor.newUpdater( ONLINE, NULL ) )
+                {
+                    for ( int i = thread; i < updates.length; i += threads )
+                    {
+                        updater.process( updates[i] );
+                    }
+                }
+            } ) );
+        }
+        race.go();
+
+        // then
+        accessor.force( NULL );
+        closeAccessor();
+        valueUtil.verifyUpdates( updates, this::getTree );
+    }
+
     @Test
     void shouldRespectIndexOrderForGeometryTypes() throws Exception
     {
@@ -27,8 +27,10 @@ import java.util.List;
 
 import org.neo4j.common.EntityType;
 import org.neo4j.configuration.Config;
+import org.neo4j.internal.schema.IndexConfig;
 import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexPrototype;
+import org.neo4j.internal.schema.IndexRef;
 import org.neo4j.internal.schema.IndexType;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
@@ -39,6 +41,7 @@ import org.neo4j.storageengine.api.IndexEntryUpdate;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
 import static org.neo4j.internal.schema.IndexPrototype.forSchema;
 import static org.neo4j.internal.schema.IndexPrototype.uniqueForSchema;
@@ -83,6 +86,21 @@ class RangeIndexProviderTest extends IndexProviderTests
         }
     }
 
+    @Test
+    void validatePrototypeMustAcceptIncludedProperties()
+    {
+        // given
+        provider = newProvider();
+        IndexPrototype prototype = withIncludedProperties( forSchema( forLabel( labelId, propId, propId + 1, propId + 2 ), PROVIDER_DESCRIPTOR ),
+                Values.intValue( 2 ) );
+
+        // when
+        provider.validatePrototype( prototype );
+
+        // then
+        assertThat( prototype.materialise( indexId ).requiredPropertyCount() ).isEqualTo( 1 );
+    }
+
     private IndexDescriptor descriptorUnique()
     {
         return completeConfiguration( uniqueForSchema( forLabel( labelId, propId ), PROVIDER_DESCRIPTOR ).withIndexType( IndexType.RANGE )
@@ -118,7 +136,22 @@ class RangeIndexProviderTest extends IndexProviderTests
                 forSchema( forLabel( labelId, propId ) ).withIndexType( IndexType.BTREE ).withName( "unsupported" ),
                 forSchema( forLabel( labelId, propId ) ).withIndexType( IndexType.POINT ).withName( "unsupported" ),
                 forSchema( forLabel( labelId, propId ) ).withIndexType( IndexType.TEXT ).withName( "unsupported" ),
-                forSchema( forLabel( labelId, propId ), PROVIDER_DESCRIPTOR ).withIndexType( IndexType.LOOKUP ).withName( "unsupported" ) );
+                forSchema( forLabel( labelId, propId ), PROVIDER_DESCRIPTOR ).withIndexType( IndexType.LOOKUP ).withName( "unsupported" ),
+                // no required property left
+                withIncludedProperties( forSchema( forLabel( labelId, propId ), PROVIDER_DESCRIPTOR ), Values.intValue( 1 ) ),
+                withIncludedProperties( forSchema( forLabel( labelId, propId, propId + 1 ), PROVIDER_DESCRIPTOR ), Values.intValue( 2 ) ),
+                // not a positive number of properties
+                withIncludedProperties( forSchema( forLabel( labelId, propId, propId + 1 ), PROVIDER_DESCRIPTOR ), Values.intValue( 0 ) ),
+                withIncludedProperties( forSchema( forLabel( labelId, propId, propId + 1 ), PROVIDER_DESCRIPTOR ), Values.intValue( -1 ) ),
+                withIncludedProperties( forSchema( forLabel( labelId, propId, propId + 1 ), PROVIDER_DESCRIPTOR ), Values.stringValue( "1" ) ),
+                // unique
+                withIncludedProperties( uniqueForSchema( forLabel( labelId, propId, propId + 1 ), PROVIDER_DESCRIPTOR ), Values.intValue( 1 ) ) );
+    }
+
+    private static IndexPrototype withIncludedProperties( IndexPrototype prototype, Value includedProperties )
+    {
+        return prototype.withIndexType( IndexType.RANGE ).withName( "included" )
+                .withIndexConfig( IndexConfig.with( IndexRef.INCLUDED_PROPERTIES_SETTING, includedProperties ) );
     }
 
     @Override
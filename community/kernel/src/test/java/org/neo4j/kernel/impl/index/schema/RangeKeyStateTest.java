@@ -19,8 +19,84 @@
  */
 package org.neo4j.kernel.impl.index.schema;
 
+import org.junit.jupiter.api.Test;
+
+import org.neo4j.io.pagecache.ByteArrayPageCursor;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueGroup;
+import org.neo4j.values.storable.Values;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.HIGH;
+import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.NEUTRAL;
+
 public class RangeKeyStateTest extends IndexKeyStateTest<RangeKey>
 {
+    @Test
+    void readWhatIsWrittenWithNoValueInIncludedSlots()
+    {
+        // given
+        Layout<RangeKey> layout = newLayout( 3 );
+        Value[] writtenValues = {random.nextValue(), random.nextValue(), Values.NO_VALUE};
+        if ( random.nextBoolean() )
+        {
+            writtenValues[1] = Values.NO_VALUE;
+        }
+        RangeKey writeState = layout.newKey();
+        for ( int slot = 0; slot < writtenValues.length; slot++ )
+        {
+            writeState.writeValue( slot, writtenValues[slot], NEUTRAL );
+        }
+        PageCursor cursor = ByteArrayPageCursor.wrap( PageCache.PAGE_SIZE );
+        int offset = cursor.getOffset();
+
+        // when
+        writeState.put( cursor );
+
+        // then
+        assertThat( cursor.getOffset() - offset ).isEqualTo( writeState.size() );
+        RangeKey readState = layout.newKey();
+        cursor.setOffset( offset );
+        assertTrue( readState.get( cursor, writeState.size() ), "failed to read" );
+        assertThat( readState.compareValueTo( writeState ) ).isZero();
+        assertThat( readState.asValues() ).isEqualTo( writtenValues );
+    }
+
+    @Test
+    void noValueMustSortAfterAllValues()
+    {
+        Layout<RangeKey> layout = newLayout( 2 );
+        Value required = random.nextValue();
+        RangeKey noValue = layout.newKey();
+        noValue.writeValue( 0, required, NEUTRAL );
+        noValue.writeValue( 1, Values.NO_VALUE, NEUTRAL );
+
+        for ( int i = 0; i < 100; i++ )
+        {
+            RangeKey value = layout.newKey();
+            value.writeValue( 0, required, NEUTRAL );
+            value.writeValue( 1, random.nextValue(), NEUTRAL );
+            assertThat( value.compareValueTo( noValue ) ).as( "%s before %s", value, noValue ).isNegative();
+        }
+
+        // which is why a range over included slots must end at a high no value rather than the highest value
+        RangeKey highest = layout.newKey();
+        highest.writeValue( 0, required, NEUTRAL );
+        highest.initValueAsHighest( 1, ValueGroup.UNKNOWN );
+        assertThat( highest.compareValueTo( noValue ) ).isNegative();
+        RangeKey highNoValue = layout.newKey();
+        highNoValue.writeValue( 0, required, NEUTRAL );
+        highNoValue.initFromValue( 1, Values.NO_VALUE, HIGH );
+        assertThat( highNoValue.compareValueTo( noValue ) ).isPositive();
+        RangeKey lowest = layout.newKey();
+        lowest.writeValue( 0, required, NEUTRAL );
+        lowest.initValueAsLowest( 1, ValueGroup.UNKNOWN );
+        assertThat( lowest.compareValueTo( noValue ) ).isNegative();
+    }
+
     @Override
     boolean includePointTypesForComparisons()
     {
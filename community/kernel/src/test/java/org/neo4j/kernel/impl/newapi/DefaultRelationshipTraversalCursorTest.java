@@ -54,6 +54,7 @@ import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.api.index.ValueIndexReader;
 import org.neo4j.kernel.impl.api.KernelTransactionImplementation;
 import org.neo4j.kernel.impl.api.state.TxState;
+import org.neo4j.memory.EmptyMemoryTracker;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.storageengine.api.PropertySelection;
 import org.neo4j.storageengine.api.Reference;
@@ -424,6 +425,12 @@ class DefaultRelationshipTraversalCursorTest
             return null;
         }
 
+        @Override
+        public PropertyReadCache propertyReadCache()
+        {
+            return new PropertyReadCache( 0, EmptyMemoryTracker.INSTANCE );
+        }
+
         @Override
         public UserFunctionHandle functionGet( QualifiedName name )
         {
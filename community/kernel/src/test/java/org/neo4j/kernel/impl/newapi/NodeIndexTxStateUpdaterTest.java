@@ -30,9 +30,15 @@ import java.util.Map;
 
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException;
 import org.neo4j.internal.kernel.api.helpers.StubNodeCursor;
+import org.neo4j.internal.schema.IndexConfig;
 import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.internal.schema.IndexPrototype;
+import org.neo4j.internal.schema.IndexRef;
+import org.neo4j.internal.schema.IndexType;
+import org.neo4j.internal.schema.SchemaDescriptors;
 import org.neo4j.kernel.api.schema.index.TestIndexDescriptorFactory;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueTuple;
 import org.neo4j.values.storable.Values;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -45,6 +51,7 @@ import static org.mockito.Mockito.verify;
 import static org.neo4j.common.EntityType.NODE;
 import static org.neo4j.kernel.impl.newapi.IndexTxStateUpdater.LabelChangeType.ADDED_LABEL;
 import static org.neo4j.kernel.impl.newapi.IndexTxStateUpdater.LabelChangeType.REMOVED_LABEL;
+import static org.neo4j.values.storable.Values.NO_VALUE;
 
 class NodeIndexTxStateUpdaterTest extends IndexTxStateUpdaterTestBase
 {
@@ -156,4 +163,62 @@ class NodeIndexTxStateUpdaterTest extends IndexTxStateUpdaterTestBase
         verifyIndexUpdate( uniqueOn2_2_3.schema(), node.nodeReference(), values( "hi2", "hi3" ), values( "new2", "hi3" ) );
         verify( txState, times( 2 ) ).indexDoUpdateEntry( any(), anyLong(), any(), any() );
     }
+
+    // INCLUDED PROPERTIES
+
+    @Test
+    void shouldUpdateIncludedValueOnAddedIncludedProperty() throws IndexNotFoundKernelException
+    {
+        // GIVEN
+        IndexDescriptor rangeOn1_1_including3 = rangeWithIncludedProperty( LABEL_ID_1, PROP_ID_1, PROP_ID_3 );
+        setUp( List.of( rangeOn1_1_including3 ) );
+
+        // WHEN
+        indexTxUpdater.onPropertyAdd( node, propertyCursor, node.labels().all(), PROP_ID_3, new int[]{PROP_ID_1, PROP_ID_2}, Values.of( "hi3" ) );
+
+        // THEN the entity was already indexed, without the included value
+        verifyIndexUpdate( rangeOn1_1_including3.schema(), node.nodeReference(), ValueTuple.of( Values.of( "hi1" ), NO_VALUE ), values( "hi1", "hi3" ) );
+        verify( txState ).indexDoUpdateEntry( any(), anyLong(), any(), any() );
+    }
+
+    @Test
+    void shouldUpdateIncludedValueOnRemovedIncludedProperty() throws IndexNotFoundKernelException
+    {
+        // GIVEN
+        IndexDescriptor rangeOn1_1_including3 = rangeWithIncludedProperty( LABEL_ID_1, PROP_ID_1, PROP_ID_3 );
+        setUp( List.of( rangeOn1_1_including3 ) );
+
+        // WHEN
+        indexTxUpdater.onPropertyRemove( node, propertyCursor, node.labels().all(), PROP_ID_3, new int[]{PROP_ID_1, PROP_ID_2}, Values.of( "hi3" ) );
+
+        // THEN the entity stays indexed, without the included value
+        verifyIndexUpdate( rangeOn1_1_including3.schema(), node.nodeReference(), values( "hi1", "hi3" ), ValueTuple.of( Values.of( "hi1" ), NO_VALUE ) );
+        verify( txState ).indexDoUpdateEntry( any(), anyLong(), any(), any() );
+    }
+
+    @Test
+    void shouldAddAndRemoveEntityWithoutIncludedPropertyOnChangedRequiredProperty() throws IndexNotFoundKernelException
+    {
+        // GIVEN
+        IndexDescriptor rangeOn1_1_including3 = rangeWithIncludedProperty( LABEL_ID_1, PROP_ID_1, PROP_ID_3 );
+        setUp( List.of( rangeOn1_1_including3 ) );
+        StubNodeCursor nodeWithoutIncluded = new StubNodeCursor().withNode( 1, new long[]{LABEL_ID_1}, Map.of( PROP_ID_1, Values.of( "hi1" ) ) );
+        nodeWithoutIncluded.next();
+        ValueTuple withoutIncludedValue = ValueTuple.of( Values.of( "hi1" ), NO_VALUE );
+
+        // WHEN
+        indexTxUpdater.onPropertyAdd( nodeWithoutIncluded, propertyCursor, nodeWithoutIncluded.labels().all(), PROP_ID_1, new int[0], Values.of( "hi1" ) );
+        indexTxUpdater.onPropertyRemove( nodeWithoutIncluded, propertyCursor, nodeWithoutIncluded.labels().all(), PROP_ID_1, new int[0],
+                Values.of( "hi1" ) );
+
+        // THEN
+        verifyIndexUpdate( rangeOn1_1_including3.schema(), nodeWithoutIncluded.nodeReference(), null, withoutIncludedValue );
+        verifyIndexUpdate( rangeOn1_1_including3.schema(), nodeWithoutIncluded.nodeReference(), withoutIncludedValue, null );
+    }
+
+    private static IndexDescriptor rangeWithIncludedProperty( int labelId, int requiredPropertyId, int includedPropertyId )
+    {
+        return IndexPrototype.forSchema( SchemaDescriptors.forLabel( labelId, requiredPropertyId, includedPropertyId ) ).withIndexType( IndexType.RANGE )
+                .withIndexConfig( IndexConfig.with( IndexRef.INCLUDED_PROPERTIES_SETTING, Values.intValue( 1 ) ) ).withName( "included" ).materialise( 7 );
+    }
 }
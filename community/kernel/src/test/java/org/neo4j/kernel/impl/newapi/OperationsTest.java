@@ -169,7 +169,8 @@ abstract class OperationsTest
         dependencies.satisfyDependency( facade );
         storageLocks = mock( StorageLocks.class );
         allStoreHolder = new AllStoreHolder( storageReader, transaction, storageLocks, cursors, mock( GlobalProcedures.class ),
-                mock( SchemaState.class ), indexingService, mock( IndexStatisticsStore.class ), dependencies, INSTANCE );
+                mock( SchemaState.class ), indexingService, mock( IndexStatisticsStore.class ), dependencies, INSTANCE,
+                new PropertyReadCache( 0, INSTANCE ) );
         constraintIndexCreator = mock( ConstraintIndexCreator.class );
         tokenHolders = mockedTokenHolders();
         creationContext = mock( CommandCreationContext.class );
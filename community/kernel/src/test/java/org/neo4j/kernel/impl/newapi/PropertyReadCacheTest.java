@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.newapi;
+
+import org.junit.jupiter.api.Test;
+
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.values.storable.ValueGroup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.values.storable.Values.stringValue;
+
+class PropertyReadCacheTest
+{
+    private final LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+
+    @Test
+    void shouldCacheValuesPerEntityAndPropertyKey()
+    {
+        PropertyReadCache cache = new PropertyReadCache( 1024, memoryTracker );
+
+        assertThat( cache.get( true, 1, 7 ) ).isNull();
+        cache.put( true, 1, 7, stringValue( "node" ) );
+        cache.put( false, 1, 7, stringValue( "relationship" ) );
+
+        assertThat( cache.get( true, 1, 7 ) ).isEqualTo( stringValue( "node" ) );
+        assertThat( cache.get( false, 1, 7 ) ).isEqualTo( stringValue( "relationship" ) );
+        assertThat( cache.get( true, 1, 8 ) ).isNull();
+        assertThat( cache.get( true, 2, 7 ) ).isNull();
+        assertThat( cache.hits() ).isEqualTo( 2 );
+        assertThat( cache.misses() ).isEqualTo( 3 );
+    }
+
+    @Test
+    void shouldEvictInvalidatedEntities()
+    {
+        PropertyReadCache cache = new PropertyReadCache( 1024, memoryTracker );
+        cache.put( true, 1, 7, stringValue( "node" ) );
+
+        cache.invalidate( true, 1 );
+
+        assertThat( cache.get( true, 1, 7 ) ).isNull();
+    }
+
+    @Test
+    void shouldReleaseHeapOfInvalidatedEntities()
+    {
+        PropertyReadCache cache = new PropertyReadCache( 1024, memoryTracker );
+        cache.put( true, 2, 7, stringValue( "other node" ) );
+        long heapOfOtherEntity = memoryTracker.estimatedHeapMemory();
+        cache.put( true, 1, 7, stringValue( "node" ) );
+        cache.put( true, 1, 8, stringValue( "node" ) );
+        assertThat( memoryTracker.estimatedHeapMemory() ).isGreaterThan( heapOfOtherEntity );
+
+        cache.invalidate( true, 1 );
+
+        assertThat( memoryTracker.estimatedHeapMemory() ).isEqualTo( heapOfOtherEntity );
+        assertThat( cache.get( true, 2, 7 ) ).isEqualTo( stringValue( "other node" ) );
+    }
+
+    @Test
+    void shouldTrackHeapOfGrowingEntities()
+    {
+        PropertyReadCache cache = new PropertyReadCache( 10_000, memoryTracker );
+        for ( int propertyKey = 0; propertyKey < 4; propertyKey++ )
+        {
+            cache.put( true, 1, propertyKey, stringValue( "value" ) );
+        }
+        long heapBeforeGrowth = memoryTracker.estimatedHeapMemory();
+
+        cache.put( true, 1, 4, stringValue( "value" ) );
+
+        // the arrays holding the property keys and values are grown, which must be accounted for too
+        assertThat( memoryTracker.estimatedHeapMemory() - heapBeforeGrowth ).isGreaterThan( stringValue( "value" ).estimatedHeapUsage() );
+
+        cache.clear();
+        assertThat( memoryTracker.estimatedHeapMemory() ).isZero();
+    }
+
+    @Test
+    void shouldNotCacheBeyondMaxSize()
+    {
+        PropertyReadCache cache = new PropertyReadCache( 64, memoryTracker );
+
+        cache.put( true, 1, 7, stringValue( "a value that is too big for the cache" ) );
+
+        assertThat( cache.get( true, 1, 7 ) ).isNull();
+        assertThat( memoryTracker.estimatedHeapMemory() ).isZero();
+    }
+
+    @Test
+    void shouldReleaseMemoryAndStatisticsOnClear()
+    {
+        PropertyReadCache cache = new PropertyReadCache( 1024, memoryTracker );
+        cache.put( true, 1, 7, stringValue( "node" ) );
+        cache.put( false, 2, 7, stringValue( "relationship" ) );
+        cache.get( true, 1, 7 );
+        assertThat( memoryTracker.estimatedHeapMemory() ).isPositive();
+
+        cache.clear();
+
+        assertThat( memoryTracker.estimatedHeapMemory() ).isZero();
+        assertThat( cache.get( true, 1, 7 ) ).isNull();
+        assertThat( cache.hits() ).isZero();
+    }
+
+    @Test
+    void shouldOnlyCacheValuesThatAreExpensiveToRead()
+    {
+        assertThat( PropertyReadCache.isCacheable( ValueGroup.TEXT ) ).isTrue();
+        assertThat( PropertyReadCache.isCacheable( ValueGroup.NUMBER_ARRAY ) ).isTrue();
+        assertThat( PropertyReadCache.isCacheable( ValueGroup.NUMBER ) ).isFalse();
+        assertThat( PropertyReadCache.isCacheable( ValueGroup.BOOLEAN ) ).isFalse();
+    }
+}
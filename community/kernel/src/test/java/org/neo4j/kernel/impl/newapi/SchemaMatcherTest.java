@@ -25,7 +25,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.neo4j.internal.schema.IndexConfig;
 import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.values.storable.Values;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.neo4j.internal.helpers.collection.Iterators.iterator;
@@ -82,6 +84,21 @@ abstract class SchemaMatcherTest
         assertThat( matched ).isEmpty();
     }
 
+    @Test
+    void shouldMatchIfEntityIsMissingIncludedProperty()
+    {
+        // given
+        IndexDescriptor indexIncludingMissingProperty =
+                indexWithMissingProperty.withIndexConfig( IndexConfig.with( IndexDescriptor.INCLUDED_PROPERTIES_SETTING, Values.intValue( 1 ) ) );
+
+        // when
+        List<IndexDescriptor> matched = new ArrayList<>();
+        SchemaMatcher.onMatchingSchema( iterator( indexIncludingMissingProperty ), unIndexedPropId, props, matched::add );
+
+        // then
+        assertThat( matched ).containsExactly( indexIncludingMissingProperty );
+    }
+
     @Test
     void shouldMatchOnSpecialProperty()
     {
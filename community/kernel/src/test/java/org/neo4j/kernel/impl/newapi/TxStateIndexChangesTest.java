@@ -31,6 +31,7 @@ import org.mockito.Mockito;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
@@ -47,6 +48,7 @@ import org.neo4j.kernel.impl.util.collection.OnHeapCollectionsFactory;
 import org.neo4j.kernel.impl.util.diffsets.MutableLongDiffSets;
 import org.neo4j.memory.EmptyMemoryTracker;
 import org.neo4j.storageengine.api.txstate.ReadableTransactionState;
+import org.neo4j.values.storable.TextValue;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueTuple;
 import org.neo4j.values.storable.Values;
@@ -909,6 +911,16 @@ class TxStateIndexChangesTest
             final TreeMap<ValueTuple, MutableLongDiffSets> sortedMap = new TreeMap<>( ValueTuple.COMPARATOR );
             sortedMap.putAll( updates );
             doReturn( sortedMap ).when( mock ).getSortedIndexUpdates( any( SchemaDescriptor.class ) );
+            final TreeMap<ValueTuple, MutableLongDiffSets> suffixSortedMap = new TreeMap<>( Comparator.comparing(
+                    ( ValueTuple tuple ) -> new StringBuilder( ((TextValue) tuple.getOnlyValue()).stringValue() ).reverse().toString() ) );
+            updates.forEach( ( tuple, changes ) ->
+            {
+                if ( tuple.size() == 1 && Values.isTextValue( tuple.getOnlyValue() ) )
+                {
+                    suffixSortedMap.put( tuple, changes );
+                }
+            } );
+            doReturn( suffixSortedMap ).when( mock ).getSuffixSortedIndexUpdates( any( SchemaDescriptor.class ) );
             return mock;
         }
     }
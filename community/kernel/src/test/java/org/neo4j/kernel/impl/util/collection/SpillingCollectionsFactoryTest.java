@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.util.collection;
+
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.api.set.primitive.MutableLongSet;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.neo4j.io.ByteUnit;
+import org.neo4j.kernel.impl.util.diffsets.MutableLongDiffSets;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.utils.TestDirectory;
+import org.neo4j.values.storable.Value;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.values.storable.Values.stringValue;
+
+@TestDirectoryExtension
+class SpillingCollectionsFactoryTest
+{
+    @Inject
+    private TestDirectory directory;
+
+    @Test
+    void shouldSpillCollectionsExceedingThreshold() throws IOException
+    {
+        var memoryTracker = new LocalMemoryTracker();
+        var spillDirectory = directory.directory( "spill" );
+        var factory = new SpillingCollectionsFactory( new CachingOffHeapBlockAllocator(), spillDirectory, ByteUnit.kibiBytes( 64 ) );
+        memoryTracker.setLimit( ByteUnit.mebiBytes( 1 ) );
+
+        // when
+        MutableLongSet set = factory.newLongSet( memoryTracker );
+        MutableLongDiffSets diffSets = factory.newLongDiffSets( memoryTracker );
+        MutableLongObjectMap<Value> values = factory.newValuesMap( memoryTracker );
+        for ( long i = 0; i < 100_000; i++ )
+        {
+            set.add( i );
+            diffSets.add( i );
+            values.put( i, stringValue( "value-" + i ) );
+        }
+
+        // then
+        assertThat( memoryTracker.usedNativeMemory() ).isLessThanOrEqualTo( ByteUnit.mebiBytes( 1 ) );
+        assertThat( spillFiles( spillDirectory ) ).isOne();
+        for ( long i = 0; i < 100_000; i++ )
+        {
+            assertThat( set.contains( i ) ).isTrue();
+            assertThat( diffSets.isAdded( i ) ).isTrue();
+            assertThat( values.get( i ) ).isEqualTo( stringValue( "value-" + i ) );
+        }
+
+        factory.release();
+        assertThat( memoryTracker.usedNativeMemory() ).isZero();
+        assertThat( spillFiles( spillDirectory ) ).isZero();
+    }
+
+    @Test
+    void shouldNotSpillSmallTransactionState() throws IOException
+    {
+        var memoryTracker = new LocalMemoryTracker();
+        var spillDirectory = directory.directory( "spill" );
+        var factory = new SpillingCollectionsFactory( new CachingOffHeapBlockAllocator(), spillDirectory, ByteUnit.mebiBytes( 4 ) );
+
+        MutableLongSet set = factory.newLongSet( memoryTracker );
+        set.add( 42 );
+
+        assertThat( set.contains( 42 ) ).isTrue();
+        assertThat( memoryTracker.usedNativeMemory() ).isPositive();
+        assertThat( spillFiles( spillDirectory ) ).isZero();
+        factory.release();
+    }
+
+    private static long spillFiles( Path spillDirectory ) throws IOException
+    {
+        try ( var files = Files.list( spillDirectory ) )
+        {
+            return files.count();
+        }
+    }
+}
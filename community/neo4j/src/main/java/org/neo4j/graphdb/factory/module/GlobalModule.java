@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphdb.factory.module;
 
+import java.nio.file.Path;
 import java.util.function.Supplier;
 
 import org.neo4j.annotations.api.IgnoreApiCheck;
@@ -68,6 +69,7 @@ import org.neo4j.kernel.impl.util.collection.CapacityLimitingBlockAllocatorDecor
 import org.neo4j.kernel.impl.util.collection.CollectionsFactorySupplier;
 import org.neo4j.kernel.impl.util.collection.OffHeapBlockAllocator;
 import org.neo4j.kernel.impl.util.collection.OffHeapCollectionsFactory;
+import org.neo4j.kernel.impl.util.collection.SpillingCollectionsFactory;
 import org.neo4j.kernel.impl.util.watcher.DefaultFileSystemWatcherService;
 import org.neo4j.kernel.impl.util.watcher.FileSystemWatcherService;
 import org.neo4j.kernel.info.JvmChecker;
@@ -101,6 +103,8 @@ import org.neo4j.time.Clocks;
 import org.neo4j.time.SystemNanoClock;
 
 import static org.neo4j.configuration.GraphDatabaseInternalSettings.data_collector_max_recent_query_count;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.tx_state_spill_directory;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.tx_state_spill_threshold;
 import static org.neo4j.configuration.GraphDatabaseSettings.TransactionStateMemoryAllocation;
 import static org.neo4j.configuration.GraphDatabaseSettings.db_timezone;
 import static org.neo4j.configuration.GraphDatabaseSettings.default_database;
@@ -420,6 +424,12 @@ public class GlobalModule
                 sharedBlockAllocator = allocator;
             }
             life.add( onShutdown( sharedBlockAllocator::release ) );
+            final long spillThreshold = config.get( tx_state_spill_threshold );
+            if ( spillThreshold > 0 )
+            {
+                final Path spillDirectory = config.get( tx_state_spill_directory );
+                return () -> new SpillingCollectionsFactory( sharedBlockAllocator, spillDirectory, spillThreshold );
+            }
             return () -> new OffHeapCollectionsFactory( sharedBlockAllocator );
         default:
             throw new IllegalArgumentException( "Unknown transaction state memory allocation value: " + allocation );
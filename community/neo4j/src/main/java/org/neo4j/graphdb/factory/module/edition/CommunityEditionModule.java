@@ -211,7 +211,9 @@ public class CommunityEditionModule extends StandaloneEditionModule
     private static IdContextFactory createIdContextFactory( GlobalModule globalModule )
     {
         return IdContextFactoryBuilder.of( globalModule.getFileSystem(), globalModule.getJobScheduler(), globalModule.getGlobalConfig(),
-                globalModule.getTracers().getPageCacheTracer() ).build();
+                globalModule.getTracers().getPageCacheTracer() )
+                .withMemoryTracker( globalModule.getOtherMemoryPool().getPoolMemoryTracker() )
+                .build();
     }
 
     protected Predicate<String> fileWatcherFileNameFilter()
@@ -28,6 +28,8 @@ import org.neo4j.internal.id.IdGeneratorFactory;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.database.NamedDatabaseId;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.memory.MemoryTracker;
 import org.neo4j.scheduler.JobScheduler;
 
 import static java.util.Objects.requireNonNull;
@@ -42,6 +44,7 @@ public final class IdContextFactoryBuilder
     private Function<IdGeneratorFactory,IdGeneratorFactory> factoryWrapper;
     private Config config;
     private PageCacheTracer cacheTracer;
+    private MemoryTracker memoryTracker = EmptyMemoryTracker.INSTANCE;
 
     private IdContextFactoryBuilder()
     {
@@ -70,6 +73,12 @@ public final class IdContextFactoryBuilder
         return this;
     }
 
+    public IdContextFactoryBuilder withMemoryTracker( MemoryTracker memoryTracker )
+    {
+        this.memoryTracker = memoryTracker;
+        return this;
+    }
+
     public IdContextFactory build()
     {
         if ( idGeneratorFactoryProvider == null )
@@ -77,7 +86,7 @@ public final class IdContextFactoryBuilder
             requireNonNull( fileSystemAbstraction, "File system is required to build id generator factory." );
             // Note on the RecoveryCleanupWorkCollector: this is just using the immediate() because we aren't
             // expecting any cleanup to be performed on main startup (this is after recovery).
-            idGeneratorFactoryProvider = defaultIdGeneratorFactoryProvider( fileSystemAbstraction, config );
+            idGeneratorFactoryProvider = defaultIdGeneratorFactoryProvider( fileSystemAbstraction, config, memoryTracker );
         }
         if ( factoryWrapper == null )
         {
@@ -86,14 +95,15 @@ public final class IdContextFactoryBuilder
         return new IdContextFactory( jobScheduler, idGeneratorFactoryProvider, factoryWrapper, cacheTracer );
     }
 
-    public static Function<NamedDatabaseId,IdGeneratorFactory> defaultIdGeneratorFactoryProvider( FileSystemAbstraction fs, Config config )
+    public static Function<NamedDatabaseId,IdGeneratorFactory> defaultIdGeneratorFactoryProvider( FileSystemAbstraction fs, Config config,
+            MemoryTracker memoryTracker )
     {
         return databaseId ->
         {
             // There's no point allocating large ID caches for the system database because it generally sees very low activity.
             // Also take into consideration if user has explicitly overridden the behaviour to always force small caches.
             boolean allowLargeIdCaches = !config.get( GraphDatabaseInternalSettings.force_small_id_cache );
-            return new DefaultIdGeneratorFactory( fs, immediate(), allowLargeIdCaches, databaseId.name() );
+            return new DefaultIdGeneratorFactory( fs, immediate(), allowLargeIdCaches, databaseId.name(), memoryTracker );
         };
     }
 }
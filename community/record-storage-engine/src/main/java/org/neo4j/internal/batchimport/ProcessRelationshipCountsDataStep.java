@@ -48,7 +48,8 @@ public class ProcessRelationshipCountsDataStep extends RecordProcessorStep<Relat
             Function<CursorContext,StoreCursors> storeCursorsCreator, MemoryTracker memoryTracker )
     {
         super( control, "COUNT", config,
-                () -> new RelationshipCountsProcessor( cache, highLabelId, highRelationshipTypeId, countsUpdater, cacheFactory, memoryTracker ), true,
+                () -> new RelationshipCountsProcessor( cache, highLabelId, highRelationshipTypeId, countsUpdater, cacheFactory,
+                        config.countRelationshipTriplets(), memoryTracker ), true,
                 numberOfProcessors( config, cache, highLabelId, highRelationshipTypeId ), pageCacheTracer, storeCursorsCreator );
     }
 
@@ -19,6 +19,8 @@
  */
 package org.neo4j.internal.batchimport;
 
+import org.neo4j.collection.trackable.HeapTrackingCollections;
+import org.neo4j.collection.trackable.HeapTrackingLongObjectHashMap;
 import org.neo4j.counts.CountsAccessor;
 import org.neo4j.internal.batchimport.cache.LongArray;
 import org.neo4j.internal.batchimport.cache.NodeLabelsCache;
@@ -32,6 +34,7 @@ import org.neo4j.storageengine.api.cursor.StoreCursors;
 import static org.neo4j.internal.recordstorage.RelationshipCounter.MANUAL_INCREMENTER;
 import static org.neo4j.internal.recordstorage.RelationshipCounter.labelsCountsLength;
 import static org.neo4j.internal.recordstorage.RelationshipCounter.wildcardCountsLength;
+import static org.neo4j.memory.HeapEstimator.sizeOfLongArray;
 import static org.neo4j.token.api.TokenConstants.ANY_LABEL;
 import static org.neo4j.token.api.TokenConstants.ANY_RELATIONSHIP_TYPE;
 
@@ -48,10 +51,26 @@ public class RelationshipCountsProcessor implements RecordProcessor<Relationship
     private final long anyLabel;
     private final long anyRelationshipType;
     private final RelationshipCounter counter;
+    /**
+     * Counts per start/end label pair, keyed by start label id in the high and end label id in the low 32 bits. Each value is indexed by
+     * relationship type, with the count for any type last, like {@link #wildcardCounts}.
+     * Only kept if counting relationship triplets, otherwise {@code null}.
+     */
+    private final HeapTrackingLongObjectHashMap<long[]> tripletCounts;
+    private final MemoryTracker memoryTracker;
+    private final RelationshipCounter.NodeLabelsLookup startNodeLabelLookup;
+    private final RelationshipCounter.NodeLabelsLookup endNodeLabelLookup;
 
     public RelationshipCountsProcessor( NodeLabelsCache nodeLabelCache,
             int highLabelId, int highRelationshipTypeId, CountsAccessor.Updater countsUpdater,
             NumberArrayFactory cacheFactory, MemoryTracker memoryTracker )
+    {
+        this( nodeLabelCache, highLabelId, highRelationshipTypeId, countsUpdater, cacheFactory, false, memoryTracker );
+    }
+
+    public RelationshipCountsProcessor( NodeLabelsCache nodeLabelCache,
+            int highLabelId, int highRelationshipTypeId, CountsAccessor.Updater countsUpdater,
+            NumberArrayFactory cacheFactory, boolean countTriplets, MemoryTracker memoryTracker )
     {
         this.countsUpdater = countsUpdater;
         this.anyLabel = highLabelId;
@@ -62,6 +81,22 @@ public class RelationshipCountsProcessor implements RecordProcessor<Relationship
         NodeLabelsCache.Client nodeLabelsClient = nodeLabelCache.newClient();
         RelationshipCounter.NodeLabelsLookup nodeLabelLookup = nodeId -> nodeLabelCache.get( nodeLabelsClient, nodeId );
         this.counter = new RelationshipCounter( nodeLabelLookup, highLabelId, highRelationshipTypeId, wildcardCounts, labelsCounts, MANUAL_INCREMENTER );
+        if ( countTriplets )
+        {
+            // Labels of both nodes are needed at the same time and each client has only one buffer for the labels it gets
+            NodeLabelsCache.Client startNodeLabelsClient = nodeLabelCache.newClient();
+            NodeLabelsCache.Client endNodeLabelsClient = nodeLabelCache.newClient();
+            this.startNodeLabelLookup = nodeId -> nodeLabelCache.get( startNodeLabelsClient, nodeId );
+            this.endNodeLabelLookup = nodeId -> nodeLabelCache.get( endNodeLabelsClient, nodeId );
+            this.tripletCounts = HeapTrackingCollections.newLongObjectMap( memoryTracker );
+        }
+        else
+        {
+            this.startNodeLabelLookup = null;
+            this.endNodeLabelLookup = null;
+            this.tripletCounts = null;
+        }
+        this.memoryTracker = memoryTracker;
     }
 
     static long calculateMemoryUsage( int highLabelId, int highRelationshipTypeId )
@@ -75,9 +110,40 @@ public class RelationshipCountsProcessor implements RecordProcessor<Relationship
     public boolean process( RelationshipRecord record, StoreCursors storeCursors )
     {
         counter.process( record );
+        if ( tripletCounts != null )
+        {
+            processTriplets( record );
+        }
         return false;
     }
 
+    private void processTriplets( RelationshipRecord record )
+    {
+        long[] endNodeLabels = endNodeLabelLookup.nodeLabels( record.getSecondNode() );
+        if ( endNodeLabels.length == 0 || endNodeLabels[0] == -1 )
+        {
+            return;
+        }
+        int type = record.getType();
+        for ( long startLabelId : startNodeLabelLookup.nodeLabels( record.getFirstNode() ) )
+        {
+            if ( startLabelId == -1 )
+            {   // We reached the end of it
+                break;
+            }
+            for ( long endLabelId : endNodeLabels )
+            {
+                if ( endLabelId == -1 )
+                {
+                    break;
+                }
+                long[] typeCounts = tripletCounts.getIfAbsentPut( startLabelId << Integer.SIZE | endLabelId, this::newTypeCounts );
+                typeCounts[(int) anyRelationshipType]++;
+                typeCounts[type]++;
+            }
+        }
+    }
+
     @Override
     public void done()
     {
@@ -101,6 +167,21 @@ public class RelationshipCountsProcessor implements RecordProcessor<Relationship
                 countsUpdater.incrementRelationshipCount( ANY_LABEL, type, labelId, endCount );
             }
         }
+
+        if ( tripletCounts != null )
+        {
+            tripletCounts.forEachKeyValue( ( labels, typeCounts ) ->
+            {
+                for ( int typeId = 0; typeId < typeCounts.length; typeId++ )
+                {
+                    if ( typeCounts[typeId] != 0 )
+                    {
+                        int type = typeId == anyRelationshipType ? ANY_RELATIONSHIP_TYPE : typeId;
+                        countsUpdater.incrementRelationshipCount( labels >>> Integer.SIZE, type, (int) labels, typeCounts[typeId] );
+                    }
+                }
+            } );
+        }
     }
 
     @Override
@@ -109,6 +190,17 @@ public class RelationshipCountsProcessor implements RecordProcessor<Relationship
         RelationshipCountsProcessor o = (RelationshipCountsProcessor) other;
         mergeCounts( labelsCounts, o.labelsCounts );
         mergeCounts( wildcardCounts, o.wildcardCounts );
+        if ( tripletCounts != null )
+        {
+            o.tripletCounts.forEachKeyValue( ( labels, typeCounts ) ->
+            {
+                long[] destination = tripletCounts.getIfAbsentPut( labels, this::newTypeCounts );
+                for ( int typeId = 0; typeId < typeCounts.length; typeId++ )
+                {
+                    destination[typeId] += typeCounts[typeId];
+                }
+            } );
+        }
     }
 
     @Override
@@ -116,6 +208,22 @@ public class RelationshipCountsProcessor implements RecordProcessor<Relationship
     {
         labelsCounts.close();
         wildcardCounts.close();
+        if ( tripletCounts != null )
+        {
+            memoryTracker.releaseHeap( tripletCounts.size() * typeCountsSize() );
+            tripletCounts.close();
+        }
+    }
+
+    private long[] newTypeCounts()
+    {
+        memoryTracker.allocateHeap( typeCountsSize() );
+        return new long[(int) wildcardCountsLength( anyRelationshipType )];
+    }
+
+    private long typeCountsSize()
+    {
+        return sizeOfLongArray( (int) wildcardCountsLength( anyRelationshipType ) );
     }
 
     private static void mergeCounts( LongArray destination, LongArray part )
@@ -33,6 +33,7 @@ import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
 import org.neo4j.logging.LogProvider;
+import org.neo4j.memory.EmptyMemoryTracker;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.storageengine.api.RelationshipDirection;
 
@@ -65,7 +66,7 @@ public class GBPTreeRelationshipGroupDegreesStore extends GBPTreeGenericCountsSt
 
     public Updater directApply( CursorContext cursorContext ) throws IOException
     {
-        return new DegreeUpdater( directUpdater( true, cursorContext ) );
+        return new DegreeUpdater( directUpdater( true, cursorContext, EmptyMemoryTracker.INSTANCE ) );
     }
 
     @Override
@@ -20,23 +20,64 @@
 package org.neo4j.internal.recordstorage;
 
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
 
 /**
  * Maintains state when performing batched scans, potentially from multiple threads.
  * <p>
- * Will break up the scan in ranges depending on the provided size hint.
+ * Will break up the scan in ranges depending on the provided size hint. Size hints smaller than a page of records are handed out as is.
+ * Larger size hints are adjusted so that batches start and end on page boundaries, so that no two threads scan the same page.
+ * While a lot of the store remains to be scanned those batches are also made larger, up to {@link #MAX_BATCH_GROWTH} times the size hint,
+ * to reduce contention on the shared batch state, shrinking towards the size hint as the end of the store gets closer.
  */
 abstract class BaseRecordScan<C extends PrimitiveRecord>
 {
+    /**
+     * Batches are sized so that the remaining records would be split into roughly this many batches, but not smaller than the size hint.
+     */
+    private static final int REMAINING_BATCHES = 64;
+    private static final int MAX_BATCH_GROWTH = 16;
+
     private final AtomicLong nextStart = new AtomicLong( 0 );
+    private final int recordsPerPage;
+    private final LongSupplier highId;
+
+    BaseRecordScan( int recordsPerPage, LongSupplier highId )
+    {
+        this.recordsPerPage = recordsPerPage;
+        this.highId = highId;
+    }
 
     boolean scanBatch( int sizeHint, C cursor )
     {
-        long start = nextStart.getAndAdd( sizeHint );
-        long stopInclusive = start + sizeHint - 1;
-        return scanRange( cursor, start, stopInclusive );
+        if ( sizeHint < recordsPerPage )
+        {
+            long start = nextStart.getAndAdd( sizeHint );
+            long stopInclusive = start + sizeHint - 1;
+            return scanRange( cursor, start, stopInclusive );
+        }
+
+        long start;
+        long end;
+        do
+        {
+            start = nextStart.get();
+            end = pageAlignedBatchEnd( start, sizeHint );
+        }
+        while ( !nextStart.compareAndSet( start, end ) );
+        return scanRange( cursor, start, end - 1 );
+    }
+
+    private long pageAlignedBatchEnd( long start, int sizeHint )
+    {
+        long remaining = highId.getAsLong() - start;
+        long size = Math.min( Math.max( sizeHint, remaining / REMAINING_BATCHES ), (long) sizeHint * MAX_BATCH_GROWTH );
+        // Snap the end to the closest page boundary, but always move past the start. A previous batch with a smaller size hint
+        // may have left the start unaligned, which this will then correct.
+        long end = (start + size + recordsPerPage / 2) / recordsPerPage * recordsPerPage;
+        return end > start ? end : (start / recordsPerPage + 1) * recordsPerPage;
     }
 
     abstract boolean scanRange( C cursor, long start, long stopInclusive );
@@ -21,6 +21,7 @@ package org.neo4j.internal.recordstorage;
 
 import java.util.Iterator;
 import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 
 import org.neo4j.internal.id.IdSequence;
 import org.neo4j.internal.recordstorage.RecordAccess.RecordProxy;
@@ -41,6 +42,12 @@ public class PropertyCreator
     private final DynamicRecordAllocator stringRecordAllocator;
     private final DynamicRecordAllocator arrayRecordAllocator;
     private final IdSequence propertyRecordIdGenerator;
+    /**
+     * Suggests an id close to which a new property record at the start of an entity's chain should be allocated,
+     * see {@link IdSequence#nextIdNear(long, CursorContext)}. Records further down a new chain are allocated close to the previous record.
+     * This only affects which property store pages the records end up on, property blocks are never kept in the entity records themselves.
+     */
+    private final ToLongFunction<PrimitiveRecord> propertyIdHint;
     private final PropertyTraverser traverser;
     private final boolean allowStorePointsAndTemporal;
     private final CursorContext cursorContext;
@@ -48,16 +55,18 @@ public class PropertyCreator
 
     public PropertyCreator( PropertyStore propertyStore, PropertyTraverser traverser, CursorContext cursorContext, MemoryTracker memoryTracker )
     {
-        this( propertyStore.getStringStore(), propertyStore.getArrayStore(), propertyStore, traverser, propertyStore.allowStorePointsAndTemporal(),
-                cursorContext, memoryTracker );
+        this( propertyStore.getStringStore(), propertyStore.getArrayStore(), propertyStore::nextId, owner -> Record.NULL_REFERENCE.longValue(), traverser,
+                propertyStore.allowStorePointsAndTemporal(), cursorContext, memoryTracker );
     }
 
     PropertyCreator( DynamicRecordAllocator stringRecordAllocator, DynamicRecordAllocator arrayRecordAllocator, IdSequence propertyRecordIdGenerator,
-            PropertyTraverser traverser, boolean allowStorePointsAndTemporal, CursorContext cursorContext, MemoryTracker memoryTracker )
+            ToLongFunction<PrimitiveRecord> propertyIdHint, PropertyTraverser traverser, boolean allowStorePointsAndTemporal,
+            CursorContext cursorContext, MemoryTracker memoryTracker )
     {
         this.stringRecordAllocator = stringRecordAllocator;
         this.arrayRecordAllocator = arrayRecordAllocator;
         this.propertyRecordIdGenerator = propertyRecordIdGenerator;
+        this.propertyIdHint = propertyIdHint;
         this.traverser = traverser;
         this.allowStorePointsAndTemporal = allowStorePointsAndTemporal;
         this.cursorContext = cursorContext;
@@ -145,7 +154,8 @@ public class PropertyCreator
         if ( freeHostProxy == null )
         {
             // We couldn't find free space along the way, so create a new host record
-            freeHost = propertyRecords.create( propertyRecordIdGenerator.nextId( cursorContext ), primitive, cursorContext ).forChangingData();
+            long propertyId = propertyRecordIdGenerator.nextIdNear( propertyIdHint.applyAsLong( primitive ), cursorContext );
+            freeHost = propertyRecords.create( propertyId, primitive, cursorContext ).forChangingData();
             freeHost.setInUse( true );
             if ( primitive.getNextProp() != Record.NO_NEXT_PROPERTY.intValue() )
             {
@@ -209,7 +219,8 @@ public class PropertyCreator
         {
             return Record.NO_NEXT_PROPERTY.intValue();
         }
-        PropertyRecord currentRecord = propertyRecords.create( propertyRecordIdGenerator.nextId( cursorContext ), owner, cursorContext ).forChangingData();
+        long firstPropertyId = propertyRecordIdGenerator.nextIdNear( propertyIdHint.applyAsLong( owner ), cursorContext );
+        PropertyRecord currentRecord = propertyRecords.create( firstPropertyId, owner, cursorContext ).forChangingData();
         createdPropertyRecords.accept( currentRecord );
         currentRecord.setInUse( true );
         currentRecord.setCreated();
@@ -222,7 +233,7 @@ public class PropertyCreator
                 // Here it means the current block is done for
                 PropertyRecord prevRecord = currentRecord;
                 // Create new record
-                long propertyId = propertyRecordIdGenerator.nextId( cursorContext );
+                long propertyId = propertyRecordIdGenerator.nextIdNear( prevRecord.getId(), cursorContext );
                 currentRecord = propertyRecords.create( propertyId, owner, cursorContext ).forChangingData();
                 createdPropertyRecords.accept( currentRecord );
                 currentRecord.setInUse( true );
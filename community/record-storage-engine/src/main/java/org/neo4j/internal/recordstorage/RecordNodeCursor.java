@@ -131,6 +131,12 @@ public class RecordNodeCursor extends NodeRecord implements StorageNodeCursor
         return ((RecordNodeScan) scan).scanBatch( sizeHint , this);
     }
 
+    @Override
+    public void prefetch( long[] sortedReferences )
+    {
+        read.prefetchRecords( sortedReferences, sortedReferences.length, cursorContext );
+    }
+
     boolean scanRange( long start, long stop )
     {
         long max = nodeHighMark();
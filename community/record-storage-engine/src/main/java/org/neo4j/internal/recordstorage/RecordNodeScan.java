@@ -19,10 +19,17 @@
  */
 package org.neo4j.internal.recordstorage;
 
+import java.util.function.LongSupplier;
+
 import org.neo4j.storageengine.api.AllNodeScan;
 
 final class RecordNodeScan extends BaseRecordScan<RecordNodeCursor> implements AllNodeScan
 {
+    RecordNodeScan( int recordsPerPage, LongSupplier highId )
+    {
+        super( recordsPerPage, highId );
+    }
+
     @Override
     boolean scanRange( RecordNodeCursor cursor, long start, long stopInclusive )
     {
@@ -31,7 +31,6 @@ import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.impl.store.GeometryType;
 import org.neo4j.kernel.impl.store.InvalidRecordException;
-import org.neo4j.kernel.impl.store.LongerShortString;
 import org.neo4j.kernel.impl.store.PropertyStore;
 import org.neo4j.kernel.impl.store.PropertyType;
 import org.neo4j.kernel.impl.store.ShortArray;
@@ -377,7 +376,7 @@ public class RecordPropertyCursor extends PropertyRecord implements StoragePrope
 
     private TextValue readShortString()
     {
-        return LongerShortString.decode( getBlocks(), block );
+        return propertyStore.getShortStringDecodeCache().decode( getBlocks(), block );
     }
 
     private TextValue readChar()
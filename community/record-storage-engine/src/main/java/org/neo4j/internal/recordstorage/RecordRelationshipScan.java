@@ -19,10 +19,17 @@
  */
 package org.neo4j.internal.recordstorage;
 
+import java.util.function.LongSupplier;
+
 import org.neo4j.storageengine.api.AllRelationshipsScan;
 
 final class RecordRelationshipScan extends BaseRecordScan<RecordRelationshipScanCursor> implements AllRelationshipsScan
 {
+    RecordRelationshipScan( int recordsPerPage, LongSupplier highId )
+    {
+        super( recordsPerPage, highId );
+    }
+
     @Override
     boolean scanRange( RecordRelationshipScanCursor cursor, long start, long stopInclusive )
     {
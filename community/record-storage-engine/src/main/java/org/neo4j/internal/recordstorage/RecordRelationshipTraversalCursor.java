@@ -19,6 +19,8 @@
  */
 package org.neo4j.internal.recordstorage;
 
+import java.util.Arrays;
+
 import org.neo4j.internal.counts.RelationshipGroupDegreesStore;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.context.CursorContext;
@@ -52,12 +54,17 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
     private final RecordRelationshipGroupCursor group;
     private GroupState groupState = GroupState.NONE;
     private boolean open;
+    private final boolean readAhead;
+    private final CursorContext cursorContext;
+    private long[] readAheadReferences;
 
     RecordRelationshipTraversalCursor( RelationshipStore relationshipStore, RelationshipGroupStore groupStore, RelationshipGroupDegreesStore groupDegreesStore,
             CursorContext cursorContext )
     {
         super( relationshipStore, cursorContext );
         this.group = new RecordRelationshipGroupCursor( relationshipStore, groupStore, groupDegreesStore, loadMode, cursorContext );
+        this.readAhead = relationshipStore.isChainReadAheadEnabled();
+        this.cursorContext = cursorContext;
     }
 
     void init( RecordNodeCursor nodeCursor, RelationshipSelection selection )
@@ -126,9 +133,66 @@ class RecordRelationshipTraversalCursor extends RecordRelationshipCursor impleme
         this.next = NO_ID;
         this.groupState = GroupState.INCOMING;
         this.originNodeReference = nodeReference;
+        if ( readAhead )
+        {
+            readAheadChains( nodeReference, groupReference );
+        }
         this.group.direct( nodeReference, groupReference );
     }
 
+    /*
+     * Walks the groups of a dense node once to collect the first relationship of every chain that the selection is going to traverse,
+     * and faults in the pages holding them in one go. The rest of each chain is only known as it is followed, so those pages are still
+     * faulted in one at a time.
+     */
+    private void readAheadChains( long nodeReference, long groupReference )
+    {
+        int count = 0;
+        group.direct( nodeReference, groupReference );
+        while ( group.next() )
+        {
+            int type = group.getType();
+            if ( selection.test( type ) )
+            {
+                if ( selection.test( type, INCOMING ) )
+                {
+                    count = addReadAheadReference( count, group.incomingRawId() );
+                }
+                if ( selection.test( type, OUTGOING ) )
+                {
+                    count = addReadAheadReference( count, group.outgoingRawId() );
+                }
+                if ( selection.test( type, LOOP ) )
+                {
+                    count = addReadAheadReference( count, group.loopsRawId() );
+                }
+            }
+        }
+        if ( count > 1 )
+        {
+            Arrays.sort( readAheadReferences, 0, count );
+            relationshipStore.prefetchRecords( readAheadReferences, count, cursorContext );
+        }
+    }
+
+    private int addReadAheadReference( int count, long reference )
+    {
+        if ( reference == NO_ID )
+        {
+            return count;
+        }
+        if ( readAheadReferences == null )
+        {
+            readAheadReferences = new long[16];
+        }
+        else if ( count == readAheadReferences.length )
+        {
+            readAheadReferences = Arrays.copyOf( readAheadReferences, count * 2 );
+        }
+        readAheadReferences[count] = reference;
+        return count + 1;
+    }
+
     @Override
     public long neighbourNodeReference()
     {
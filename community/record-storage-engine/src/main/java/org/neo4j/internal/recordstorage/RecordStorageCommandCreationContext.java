@@ -23,11 +23,22 @@ import java.util.function.BooleanSupplier;
 
 import org.neo4j.common.TokenNameLookup;
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.internal.id.IdSequence;
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.impl.store.AbstractDynamicStore;
+import org.neo4j.kernel.impl.store.CommonAbstractStore;
 import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.NodeStore;
 import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.RelationshipStore;
 import org.neo4j.kernel.impl.store.StandardDynamicRecordAllocator;
 import org.neo4j.kernel.impl.store.StoreType;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
+import org.neo4j.kernel.impl.store.record.Record;
+import org.neo4j.kernel.impl.store.record.RecordLoad;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
 import org.neo4j.lock.LockTracer;
 import org.neo4j.lock.ResourceLocker;
 import org.neo4j.logging.LogProvider;
@@ -36,12 +47,20 @@ import org.neo4j.storageengine.api.CommandCreationContext;
 import org.neo4j.storageengine.api.cursor.StoreCursors;
 
 import static java.lang.Math.toIntExact;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.NODE_CURSOR;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.RELATIONSHIP_CURSOR;
 
 /**
  * Holds commit data structures for creating records in a {@link NeoStores}.
  */
 class RecordStorageCommandCreationContext implements CommandCreationContext
 {
+    private static final long NO_ID = -1;
+    /**
+     * Number of hinted allocations in a row that may end up away from their hints before a transaction stops giving hints for that store.
+     */
+    static final int MAX_CONSECUTIVE_HINT_MISSES = 8;
+
     private final NeoStores neoStores;
     private final Config config;
     private final MemoryTracker memoryTracker;
@@ -53,6 +72,8 @@ class RecordStorageCommandCreationContext implements CommandCreationContext
     // kernel transaction object and so will be reused between transactions. The relaxed locking feature may change from tx to tx
     // and so it will need to be queried per tx commit.
     private final BooleanSupplier relaxedLockingForDenseNodes;
+    private final boolean localityAwareIdAllocation;
+    private final boolean consecutiveDynamicRecords;
 
     private PropertyCreator propertyCreator;
     private PropertyDeleter propertyDeleter;
@@ -60,6 +81,15 @@ class RecordStorageCommandCreationContext implements CommandCreationContext
     private Loaders loaders;
     private CursorContext cursorContext;
     private StoreCursors storeCursors;
+    private NodeRecord sourceNodeRecord;
+    private HintedIdSequence relationshipIds;
+    private HintedIdSequence propertyIds;
+    private NodeRecord neighbourNodeRecord;
+    private RelationshipRecord neighbourRelationshipRecord;
+    private CommonAbstractStore<?,?> lastPropertyOwnerStore;
+    private long lastPropertyOwnerPage;
+    private long lastSourceNode;
+    private long lastRelationshipId;
 
     RecordStorageCommandCreationContext( NeoStores neoStores, TokenNameLookup tokenNameLookup, LogProvider logProvider, int denseNodeThreshold,
             BooleanSupplier relaxedLockingForDenseNodes, Config config, MemoryTracker memoryTracker )
@@ -72,6 +102,8 @@ class RecordStorageCommandCreationContext implements CommandCreationContext
         this.config = config;
         this.memoryTracker = memoryTracker;
         this.propertyStore = neoStores.getPropertyStore();
+        this.localityAwareIdAllocation = config.get( GraphDatabaseInternalSettings.locality_aware_id_allocation );
+        this.consecutiveDynamicRecords = config.get( GraphDatabaseInternalSettings.consecutive_dynamic_records );
     }
 
     @Override
@@ -80,14 +112,26 @@ class RecordStorageCommandCreationContext implements CommandCreationContext
         this.cursorContext = cursorContext;
         this.loaders = new Loaders( neoStores, storeCursors );
         this.storeCursors = storeCursors;
+        this.relationshipIds = new HintedIdSequence( neoStores.getRelationshipStore() );
+        this.lastSourceNode = NO_ID;
+        this.lastRelationshipId = NO_ID;
         this.relationshipGroupGetter = new RelationshipGroupGetter( neoStores.getRelationshipGroupStore(), cursorContext );
         PropertyTraverser propertyTraverser = new PropertyTraverser();
+        // Without locality aware allocation the id hints given by the property creator are ignored
+        this.propertyIds = new HintedIdSequence( propertyStore );
+        this.lastPropertyOwnerStore = null;
+        this.lastPropertyOwnerPage = NO_ID;
         this.propertyDeleter =
                 new PropertyDeleter( propertyTraverser, neoStores, tokenNameLookup, logProvider, config, cursorContext, memoryTracker, storeCursors );
         this.propertyCreator =
-                new PropertyCreator( new StandardDynamicRecordAllocator( propertyStore.getStringStore(), propertyStore.getStringStore().getRecordDataSize() ),
-                        new StandardDynamicRecordAllocator( propertyStore.getArrayStore(), propertyStore.getArrayStore().getRecordDataSize() ), propertyStore,
-                        propertyTraverser, propertyStore.allowStorePointsAndTemporal(), cursorContext, memoryTracker );
+                new PropertyCreator( dynamicRecordAllocator( propertyStore.getStringStore() ), dynamicRecordAllocator( propertyStore.getArrayStore() ),
+                        localityAwareIdAllocation ? propertyIds : propertyStore::nextId, this::propertyIdHint, propertyTraverser,
+                        propertyStore.allowStorePointsAndTemporal(), cursorContext, memoryTracker );
+    }
+
+    private StandardDynamicRecordAllocator dynamicRecordAllocator( AbstractDynamicStore store )
+    {
+        return new StandardDynamicRecordAllocator( store, store.getRecordDataSize(), consecutiveDynamicRecords ? store.getIdGenerator() : null );
     }
 
     private long nextId( StoreType storeType )
@@ -104,7 +148,109 @@ class RecordStorageCommandCreationContext implements CommandCreationContext
     @Override
     public long reserveRelationship( long sourceNode )
     {
-        return nextId( StoreType.RELATIONSHIP );
+        if ( !localityAwareIdAllocation )
+        {
+            return nextId( StoreType.RELATIONSHIP );
+        }
+        long hintId = sourceNode == lastSourceNode ? lastRelationshipId
+                                                   : relationshipIds.isHinting() ? firstRelationshipOf( sourceNode ) : NO_ID;
+        long id = relationshipIds.nextIdNear( hintId, cursorContext );
+        lastSourceNode = sourceNode;
+        lastRelationshipId = id;
+        return id;
+    }
+
+    /**
+     * Suggests where to place a new property record at the start of an entity's property chain. An entity that already has properties
+     * gets it next to its current first property record. An entity that has no properties yet gets it next to the property records of the
+     * entities next to it: if the previous entity that got its first property record in this transaction lives on the same page, the
+     * property record allocated last is used, otherwise the first property record of a neighbouring entity on the same page in the store is.
+     * Only done with {@link GraphDatabaseInternalSettings#locality_aware_id_allocation}, since hints are ignored without it.
+     */
+    long propertyIdHint( PrimitiveRecord owner )
+    {
+        if ( !localityAwareIdAllocation || !propertyIds.isHinting() )
+        {
+            return NO_ID;
+        }
+        if ( owner.getNextProp() != Record.NO_NEXT_PROPERTY.longValue() )
+        {
+            return owner.getNextProp();
+        }
+        CommonAbstractStore<?,?> ownerStore;
+        if ( owner instanceof NodeRecord )
+        {
+            ownerStore = neoStores.getNodeStore();
+        }
+        else if ( owner instanceof RelationshipRecord )
+        {
+            ownerStore = neoStores.getRelationshipStore();
+        }
+        else
+        {
+            return NO_ID;
+        }
+        long ownerPage = owner.getId() / ownerStore.getRecordsPerPage();
+        boolean sameOwnerPage = ownerStore == lastPropertyOwnerStore && ownerPage == lastPropertyOwnerPage;
+        lastPropertyOwnerStore = ownerStore;
+        lastPropertyOwnerPage = ownerPage;
+        if ( sameOwnerPage && propertyIds.lastId() != NO_ID )
+        {
+            return propertyIds.lastId();
+        }
+        long hintId = firstPropertyOfNeighbour( owner, owner.getId() - 1, ownerPage );
+        return hintId != NO_ID ? hintId : firstPropertyOfNeighbour( owner, owner.getId() + 1, ownerPage );
+    }
+
+    private long firstPropertyOfNeighbour( PrimitiveRecord owner, long neighbourId, long ownerPage )
+    {
+        PrimitiveRecord neighbour;
+        if ( owner instanceof NodeRecord )
+        {
+            NodeStore nodeStore = neoStores.getNodeStore();
+            if ( neighbourId < 0 || neighbourId / nodeStore.getRecordsPerPage() != ownerPage || neighbourId >= nodeStore.getHighId() )
+            {
+                return NO_ID;
+            }
+            if ( neighbourNodeRecord == null )
+            {
+                neighbourNodeRecord = nodeStore.newRecord();
+            }
+            neighbour = nodeStore.getRecordByCursor( neighbourId, neighbourNodeRecord, RecordLoad.LENIENT_CHECK, storeCursors.readCursor( NODE_CURSOR ) );
+        }
+        else
+        {
+            RelationshipStore relationshipStore = neoStores.getRelationshipStore();
+            if ( neighbourId < 0 || neighbourId / relationshipStore.getRecordsPerPage() != ownerPage || neighbourId >= relationshipStore.getHighId() )
+            {
+                return NO_ID;
+            }
+            if ( neighbourRelationshipRecord == null )
+            {
+                neighbourRelationshipRecord = relationshipStore.newRecord();
+            }
+            neighbour = relationshipStore.getRecordByCursor( neighbourId, neighbourRelationshipRecord, RecordLoad.LENIENT_CHECK,
+                    storeCursors.readCursor( RELATIONSHIP_CURSOR ) );
+        }
+        return neighbour.inUse() && neighbour.getNextProp() != Record.NO_NEXT_PROPERTY.longValue() ? neighbour.getNextProp() : NO_ID;
+    }
+
+    /**
+     * @return the first relationship in the chain of a sparse node which is already in the store, otherwise {@link #NO_ID}.
+     */
+    private long firstRelationshipOf( long nodeId )
+    {
+        NodeStore nodeStore = neoStores.getNodeStore();
+        if ( sourceNodeRecord == null )
+        {
+            sourceNodeRecord = nodeStore.newRecord();
+        }
+        nodeStore.getRecordByCursor( nodeId, sourceNodeRecord, RecordLoad.LENIENT_CHECK, storeCursors.readCursor( NODE_CURSOR ) );
+        if ( !sourceNodeRecord.inUse() || sourceNodeRecord.isDense() || sourceNodeRecord.getNextRel() == Record.NO_NEXT_RELATIONSHIP.longValue() )
+        {
+            return NO_ID;
+        }
+        return sourceNodeRecord.getNextRel();
     }
 
     @Override
@@ -136,6 +282,58 @@ class RecordStorageCommandCreationContext implements CommandCreationContext
     {
     }
 
+    /**
+     * Allocates ids from a store close to given hints, until {@link #MAX_CONSECUTIVE_HINT_MISSES} hinted allocations in a row have ended up
+     * further away than the page next to their hints. A hinted allocation costs a try-lock, a seek over three entries of the free-id tree
+     * and, if a free id is found, a write to reserve it. Misses mean that the store has no free ids near where records are created, typically
+     * because it has few free ids at all, so after that many misses the rest of the transaction allocates ids without hints.
+     */
+    private static class HintedIdSequence implements IdSequence
+    {
+        private final CommonAbstractStore<?,?> store;
+        private final int recordsPerPage;
+        private int consecutiveMisses;
+        private long lastId = NO_ID;
+
+        HintedIdSequence( CommonAbstractStore<?,?> store )
+        {
+            this.store = store;
+            this.recordsPerPage = store.getRecordsPerPage();
+        }
+
+        boolean isHinting()
+        {
+            return consecutiveMisses < MAX_CONSECUTIVE_HINT_MISSES;
+        }
+
+        /**
+         * @return the id allocated last by this sequence, or {@link #NO_ID} if none.
+         */
+        long lastId()
+        {
+            return lastId;
+        }
+
+        @Override
+        public long nextId( CursorContext cursorContext )
+        {
+            lastId = store.nextId( cursorContext );
+            return lastId;
+        }
+
+        @Override
+        public long nextIdNear( long hintId, CursorContext cursorContext )
+        {
+            if ( hintId < 0 || !isHinting() )
+            {
+                return nextId( cursorContext );
+            }
+            lastId = store.nextIdNear( hintId, cursorContext );
+            consecutiveMisses = Math.abs( lastId / recordsPerPage - hintId / recordsPerPage ) <= 1 ? 0 : consecutiveMisses + 1;
+            return lastId;
+        }
+    }
+
     TransactionRecordState createTransactionRecordState( IntegrityValidator integrityValidator, long lastTransactionIdWhenStarted,
             ResourceLocker locks, LockTracer lockTracer, LogCommandSerialization commandSerialization, RecordAccess.LoadMonitor monitor )
     {
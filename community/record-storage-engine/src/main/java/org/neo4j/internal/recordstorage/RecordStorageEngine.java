@@ -115,7 +115,9 @@ import org.neo4j.token.TokenHolders;
 import org.neo4j.util.Preconditions;
 import org.neo4j.util.VisibleForTesting;
 
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.concurrent_index_updates;
 import static org.neo4j.configuration.GraphDatabaseInternalSettings.counts_store_max_cached_entries;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.relationship_triplet_counts;
 import static org.neo4j.function.ThrowingAction.executeAll;
 import static org.neo4j.lock.LockService.NO_LOCK_SERVICE;
 import static org.neo4j.storageengine.api.TransactionApplicationMode.RECOVERY;
@@ -142,6 +144,8 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     private final ConstraintRuleAccessor constraintSemantics;
     private final LockService lockService;
     private final boolean consistencyCheckApply;
+    private final boolean relationshipTripletCounts;
+    private final boolean concurrentIndexUpdates;
     private IndexUpdatesWorkSync indexUpdatesSync;
     private final IdController idController;
     private final PageCacheTracer cacheTracer;
@@ -197,6 +201,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
 
         StoreFactory factory = new StoreFactory( databaseLayout, config, idGeneratorFactory, pageCache, fs, internalLogProvider, cacheTracer, readOnlyChecker );
         neoStores = factory.openAllNeoStores( createStoreIfNotExists );
+        neoStores.getPropertyStore().startShortStringDecodeCache( otherMemoryTracker );
         Stream.of( RecordIdType.values() ).forEach( idType -> idGeneratorWorkSyncs.add( idGeneratorFactory.get( idType ) ) );
         Stream.of( SchemaIdType.values() ).forEach( idType -> idGeneratorWorkSyncs.add( idGeneratorFactory.get( idType ) ) );
 
@@ -218,6 +223,8 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
                     readOnlyChecker, config, cacheTracer );
 
             consistencyCheckApply = config.get( GraphDatabaseInternalSettings.consistency_check_on_apply );
+            relationshipTripletCounts = config.get( relationship_triplet_counts );
+            concurrentIndexUpdates = config.get( concurrent_index_updates );
             storeEntityCounters = new RecordDatabaseEntityCounters( idGeneratorFactory, countsStore );
         }
         catch ( Throwable failure )
@@ -279,7 +286,8 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
                 public void initialize( CountsAccessor.Updater updater, CursorContext cursorContext, MemoryTracker memoryTracker )
                 {
                     log.warn( "Missing counts store, rebuilding it." );
-                    new CountsComputer( neoStores, pageCache, pageCacheTracer, layout, memoryTracker, log ).initialize( updater, cursorContext, memoryTracker );
+                    new CountsComputer( neoStores, pageCache, pageCacheTracer, layout, memoryTracker, log, config.get( relationship_triplet_counts ) )
+                            .initialize( updater, cursorContext, memoryTracker );
                     log.warn( "Counts store rebuild completed." );
                 }
 
@@ -317,7 +325,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     @Override
     public RecordStorageReader newReader()
     {
-        return new RecordStorageReader( tokenHolders, neoStores, countsStore, groupDegreesStore, schemaCache );
+        return new RecordStorageReader( tokenHolders, neoStores, countsStore, groupDegreesStore, schemaCache, relationshipTripletCounts );
     }
 
     @Override
@@ -345,7 +353,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         Preconditions.checkState( this.indexUpdateListener == null,
                 "Only supports a single listener. Tried to add " + listener + ", but " + this.indexUpdateListener + " has already been added" );
         this.indexUpdateListener = listener;
-        this.indexUpdatesSync = new IndexUpdatesWorkSync( listener );
+        this.indexUpdatesSync = new IndexUpdatesWorkSync( listener, concurrentIndexUpdates );
         this.integrityValidator.setIndexValidator( listener );
     }
 
@@ -391,7 +399,8 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
                     schemaRuleAccess, constraintSemantics, cursorContext, storeCursors );
             CountsRecordState countsRecordState = new CountsRecordState( serialization );
             txStateVisitor = additionalTxStateVisitor.apply( txStateVisitor );
-            txStateVisitor = new TransactionCountingStateVisitor( txStateVisitor, storageReader, txState, countsRecordState, cursorContext, storeCursors );
+            txStateVisitor = new TransactionCountingStateVisitor( txStateVisitor, storageReader, txState, countsRecordState, cursorContext, storeCursors,
+                    relationshipTripletCounts );
             try ( TxStateVisitor visitor = txStateVisitor )
             {
                 txState.accept( visitor );
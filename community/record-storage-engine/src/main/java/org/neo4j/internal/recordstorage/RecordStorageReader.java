@@ -68,11 +68,18 @@ public class RecordStorageReader implements StorageReader
     private final CountsAccessor counts;
     private final RelationshipGroupDegreesStore groupDegreesStore;
     private final SchemaCache schemaCache;
+    private final boolean relationshipTripletCounts;
 
     private boolean closed;
 
     RecordStorageReader( TokenHolders tokenHolders, NeoStores neoStores, CountsAccessor counts, RelationshipGroupDegreesStore groupDegreesStore,
             SchemaCache schemaCache )
+    {
+        this( tokenHolders, neoStores, counts, groupDegreesStore, schemaCache, false );
+    }
+
+    RecordStorageReader( TokenHolders tokenHolders, NeoStores neoStores, CountsAccessor counts, RelationshipGroupDegreesStore groupDegreesStore,
+            SchemaCache schemaCache, boolean relationshipTripletCounts )
     {
         this.tokenHolders = tokenHolders;
         this.nodeStore = neoStores.getNodeStore();
@@ -82,6 +89,7 @@ public class RecordStorageReader implements StorageReader
         this.counts = counts;
         this.groupDegreesStore = groupDegreesStore;
         this.schemaCache = schemaCache;
+        this.relationshipTripletCounts = relationshipTripletCounts;
     }
 
     /**
@@ -241,7 +249,7 @@ public class RecordStorageReader implements StorageReader
     @Override
     public long countsForRelationship( int startLabelId, int typeId, int endLabelId, CursorContext cursorContext )
     {
-        if ( !(startLabelId == ANY_LABEL || endLabelId == ANY_LABEL) )
+        if ( !(startLabelId == ANY_LABEL || endLabelId == ANY_LABEL || relationshipTripletCounts) )
         {
             throw new UnsupportedOperationException( "not implemented" );
         }
@@ -314,13 +322,13 @@ public class RecordStorageReader implements StorageReader
     @Override
     public AllNodeScan allNodeScan()
     {
-        return new RecordNodeScan();
+        return new RecordNodeScan( nodeStore.getRecordsPerPage(), nodeStore::getHighId );
     }
 
     @Override
     public AllRelationshipsScan allRelationshipScan()
     {
-        return new RecordRelationshipScan();
+        return new RecordRelationshipScan( relationshipStore.getRecordsPerPage(), relationshipStore::getHighId );
     }
 
     @Override
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.internal.counts.RelationshipGroupDegreesStore;
+import org.neo4j.internal.id.IdGenerator;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.RelationshipGroupStore;
+import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
+import org.neo4j.storageengine.api.RelationshipDirection;
+
+import static org.neo4j.kernel.impl.store.record.Record.NO_NEXT_RELATIONSHIP;
+import static org.neo4j.kernel.impl.store.record.RecordLoad.CHECK;
+import static org.neo4j.kernel.impl.store.record.RecordLoad.NORMAL;
+import static org.neo4j.storageengine.api.RelationshipDirection.INCOMING;
+import static org.neo4j.storageengine.api.RelationshipDirection.LOOP;
+import static org.neo4j.storageengine.api.RelationshipDirection.OUTGOING;
+import static org.neo4j.storageengine.util.IdUpdateListener.DIRECT;
+
+/**
+ * Moves the {@link RelationshipGroupRecord relationship groups} of dense nodes in an existing store so that the groups of each node end up
+ * on consecutive records, in the same type order as before. Group chains get scattered over time since group ids are reused, which makes
+ * every traversal of a dense node touch one page per group. This is the counterpart of the group defragmentation that the batch importer
+ * does while importing.
+ * <p>
+ * Compaction is done in node id ranges, so that it can be done incrementally. The stores are updated directly, without going through the
+ * transaction log, so this must only be used on a store that is not in use by a running database, and the stores must be flushed afterwards.
+ * <p>
+ * Relationship records are never moved since relationship ids are visible to users. Groups with degrees stored in the
+ * {@link RelationshipGroupDegreesStore}, which is keyed by group id, have their degrees moved along with them, given that the compactor
+ * is given access to that store. Otherwise such groups are left where they are, and so are the groups with secondary record units,
+ * together with the other groups of the same node. Those nodes are counted as {@link #skippedNodes() skipped}.
+ */
+public class RelationshipGroupCompactor
+{
+    private final NeoStores neoStores;
+    private final RelationshipGroupDegreesStore degreesStore;
+    private final RelationshipGroupDegreesStore.Updater degreesUpdater;
+    private final CursorContext cursorContext;
+    private long skippedNodes;
+
+    /**
+     * Creates a compactor that leaves the groups of nodes that have degrees in the {@link RelationshipGroupDegreesStore} where they are.
+     */
+    public RelationshipGroupCompactor( NeoStores neoStores, CursorContext cursorContext )
+    {
+        this( neoStores, null, null, cursorContext );
+    }
+
+    /**
+     * @param degreesStore the group degrees store of the database, to read degrees of groups that are moved from.
+     * @param degreesUpdater an updater that writes directly to {@code degreesStore}, to move the degrees of moved groups with.
+     */
+    public RelationshipGroupCompactor( NeoStores neoStores, RelationshipGroupDegreesStore degreesStore,
+            RelationshipGroupDegreesStore.Updater degreesUpdater, CursorContext cursorContext )
+    {
+        this.neoStores = neoStores;
+        this.degreesStore = degreesStore;
+        this.degreesUpdater = degreesUpdater;
+        this.cursorContext = cursorContext;
+    }
+
+    /**
+     * Compacts the group chains of the dense nodes in the given node id range.
+     *
+     * @param fromNodeId low node id of the range, inclusive.
+     * @param toNodeId high node id of the range, exclusive.
+     * @return the number of nodes whose groups were moved.
+     */
+    public long compact( long fromNodeId, long toNodeId )
+    {
+        NodeStore nodeStore = neoStores.getNodeStore();
+        RelationshipGroupStore groupStore = neoStores.getRelationshipGroupStore();
+        long highNodeId = Math.min( toNodeId, nodeStore.getHighId() );
+        NodeRecord node = nodeStore.newRecord();
+        List<RelationshipGroupRecord> groups = new ArrayList<>();
+        long compactedNodes = 0;
+        try ( CachedStoreCursors storeCursors = new CachedStoreCursors( neoStores, cursorContext );
+              PageCursor nodeReadCursor = nodeStore.openPageCursorForReading( fromNodeId, cursorContext );
+              PageCursor nodeWriteCursor = nodeStore.openPageCursorForWriting( fromNodeId, cursorContext );
+              PageCursor groupReadCursor = groupStore.openPageCursorForReading( 0, cursorContext );
+              PageCursor groupWriteCursor = groupStore.openPageCursorForWriting( 0, cursorContext ) )
+        {
+            for ( long nodeId = Math.max( fromNodeId, 0 ); nodeId < highNodeId; nodeId++ )
+            {
+                nodeStore.getRecordByCursor( nodeId, node, CHECK, nodeReadCursor );
+                if ( !node.inUse() || !node.isDense() || node.getNextRel() == NO_NEXT_RELATIONSHIP.longValue() )
+                {
+                    continue;
+                }
+
+                groups.clear();
+                if ( !readMovableGroups( node, groupStore, groupReadCursor, groups ) )
+                {
+                    skippedNodes++;
+                }
+                else if ( !isContiguous( groups ) )
+                {
+                    long firstGroupId = moveGroups( groups, groupStore, groupWriteCursor, storeCursors );
+                    node.setNextRel( firstGroupId );
+                    nodeStore.updateRecord( node, DIRECT, nodeWriteCursor, cursorContext, storeCursors );
+                    freeGroups( groups, groupStore, groupWriteCursor, storeCursors );
+                    compactedNodes++;
+                }
+            }
+        }
+        return compactedNodes;
+    }
+
+    /**
+     * @return the number of dense nodes whose groups were left where they are by {@link #compact(long, long)} so far, because some of
+     * their groups have secondary record units, or degrees stored in a group degrees store that this compactor was not given.
+     */
+    public long skippedNodes()
+    {
+        return skippedNodes;
+    }
+
+    private boolean readMovableGroups( NodeRecord node, RelationshipGroupStore groupStore, PageCursor cursor, List<RelationshipGroupRecord> groups )
+    {
+        long groupId = node.getNextRel();
+        while ( groupId != NO_NEXT_RELATIONSHIP.longValue() )
+        {
+            RelationshipGroupRecord group = groupStore.getRecordByCursor( groupId, groupStore.newRecord(), NORMAL, cursor );
+            if ( group.getOwningNode() != node.getId() || group.hasSecondaryUnitId() || (degreesStore == null && hasExternalDegrees( group )) )
+            {
+                return false;
+            }
+            groups.add( group );
+            groupId = group.getNext();
+        }
+        return true;
+    }
+
+    private static boolean hasExternalDegrees( RelationshipGroupRecord group )
+    {
+        return group.hasExternalDegreesOut() || group.hasExternalDegreesIn() || group.hasExternalDegreesLoop();
+    }
+
+    private static boolean isContiguous( List<RelationshipGroupRecord> groups )
+    {
+        long firstGroupId = groups.get( 0 ).getId();
+        for ( int i = 1; i < groups.size(); i++ )
+        {
+            if ( groups.get( i ).getId() != firstGroupId + i )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long moveGroups( List<RelationshipGroupRecord> groups, RelationshipGroupStore groupStore, PageCursor cursor, CachedStoreCursors storeCursors )
+    {
+        int count = groups.size();
+        long firstGroupId = groupStore.getIdGenerator().nextConsecutiveIdRange( count, count <= groupStore.getRecordsPerPage(), cursorContext );
+        for ( int i = 0; i < count; i++ )
+        {
+            RelationshipGroupRecord moved = new RelationshipGroupRecord( groups.get( i ) );
+            moved.setId( firstGroupId + i );
+            moved.setNext( i < count - 1 ? firstGroupId + i + 1 : NO_NEXT_RELATIONSHIP.longValue() );
+            moved.setCreated();
+            groupStore.updateRecord( moved, DIRECT, cursor, cursorContext, storeCursors );
+            if ( moved.hasExternalDegreesOut() )
+            {
+                moveDegree( groups.get( i ).getId(), moved.getId(), OUTGOING );
+            }
+            if ( moved.hasExternalDegreesIn() )
+            {
+                moveDegree( groups.get( i ).getId(), moved.getId(), INCOMING );
+            }
+            if ( moved.hasExternalDegreesLoop() )
+            {
+                moveDegree( groups.get( i ).getId(), moved.getId(), LOOP );
+            }
+        }
+        return firstGroupId;
+    }
+
+    private void moveDegree( long fromGroupId, long toGroupId, RelationshipDirection direction )
+    {
+        long degree = degreesStore.degree( fromGroupId, direction, cursorContext );
+        degreesUpdater.increment( toGroupId, direction, degree );
+        degreesUpdater.increment( fromGroupId, direction, -degree );
+    }
+
+    private void freeGroups( List<RelationshipGroupRecord> groups, RelationshipGroupStore groupStore, PageCursor cursor, CachedStoreCursors storeCursors )
+    {
+        for ( RelationshipGroupRecord group : groups )
+        {
+            group.setInUse( false );
+            groupStore.updateRecord( group, DIRECT, cursor, cursorContext, storeCursors );
+        }
+        // There are no concurrent readers of a store that is compacted, so the deleted ids can be reused right away
+        try ( IdGenerator.Marker marker = groupStore.getIdGenerator().marker( cursorContext ) )
+        {
+            for ( RelationshipGroupRecord group : groups )
+            {
+                marker.markFree( group.getId() );
+            }
+        }
+    }
+}
@@ -116,19 +116,19 @@ public abstract class AbstractDynamicStore extends CommonAbstractStore<DynamicRe
 
         memoryTracker.allocateHeap( totalSize );
 
-        DynamicRecord nextRecord = dynamicRecordAllocator.nextRecord( cursorContext );
+        int numberOfRecords = numberOfFullBlocks + (lastBlockSize != 0 || numberOfFullBlocks == 0 ? 1 : 0);
+        DynamicRecord[] records = dynamicRecordAllocator.nextRecords( numberOfRecords, cursorContext );
         int srcOffset = 0;
-        do
+        for ( int i = 0; i < numberOfRecords; i++ )
         {
-            DynamicRecord record = nextRecord;
+            DynamicRecord record = records[i];
             record.setStartRecord( srcOffset == 0 );
             if ( payloadSize - srcOffset > dataSize )
             {
                 byte[] data = new byte[dataSize];
                 System.arraycopy( src, srcOffset, data, 0, dataSize );
                 record.setData( data );
-                nextRecord = dynamicRecordAllocator.nextRecord( cursorContext );
-                record.setNextBlock( nextRecord.getId() );
+                record.setNextBlock( records[i + 1].getId() );
                 srcOffset += dataSize;
             }
             else
@@ -136,13 +136,11 @@ public abstract class AbstractDynamicStore extends CommonAbstractStore<DynamicRe
                 byte[] data = new byte[payloadSize - srcOffset];
                 System.arraycopy( src, srcOffset, data, 0, data.length );
                 record.setData( data );
-                nextRecord = null;
                 record.setNextBlock( Record.NO_NEXT_BLOCK.intValue() );
             }
             recordList.add( record );
             assert record.getData() != null;
         }
-        while ( nextRecord != null );
     }
 
     /**
@@ -449,6 +449,39 @@ public abstract class CommonAbstractStore<RECORD extends AbstractBaseRecord,HEAD
         }
     }
 
+    /**
+     * Faults in the pages holding the records with the given ids, unless they are in the page cache already, so that reading those records
+     * afterwards does not have to wait for one page fault at a time. Negative ids are ignored.
+     *
+     * @param ids record ids, preferably sorted in ascending order so that the pages are read in file order.
+     * @param length the number of ids to use, from the start of the {@code ids} array.
+     * @param cursorContext underlying page cursor context.
+     */
+    public void prefetchRecords( long[] ids, int length, CursorContext cursorContext )
+    {
+        long[] pageIds = new long[length];
+        int pages = 0;
+        for ( int i = 0; i < length; i++ )
+        {
+            if ( ids[i] >= 0 )
+            {
+                long pageId = pageIdForRecord( ids[i] );
+                if ( pages == 0 || pageIds[pages - 1] != pageId )
+                {
+                    pageIds[pages++] = pageId;
+                }
+            }
+        }
+        try
+        {
+            pagedFile.prefetch( pageIds, pages, cursorContext );
+        }
+        catch ( IOException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
+    }
+
     @Override
     public PageCursor openPageCursorForWriting( long id, CursorContext cursorContext )
     {
@@ -504,6 +537,13 @@ public abstract class CommonAbstractStore<RECORD extends AbstractBaseRecord,HEAD
         return idGenerator.nextId( cursorContext );
     }
 
+    @Override
+    public long nextIdNear( long hintId, CursorContext cursorContext )
+    {
+        assertIdGeneratorInitialized();
+        return idGenerator.nextIdNear( hintId, cursorContext );
+    }
+
     private void assertIdGeneratorInitialized()
     {
         if ( idGenerator == null )
@@ -55,19 +55,35 @@ public class CountsComputer implements CountsBuilder
     private final NumberArrayFactory numberArrayFactory;
     private final PageCacheTracer pageCacheTracer;
     private final MemoryTracker memoryTracker;
+    private final boolean countRelationshipTriplets;
 
     public CountsComputer( NeoStores stores, PageCache pageCache, PageCacheTracer pageCacheTracer, DatabaseLayout databaseLayout,
             MemoryTracker memoryTracker, Log log )
+    {
+        this( stores, pageCache, pageCacheTracer, databaseLayout, memoryTracker, log, false );
+    }
+
+    public CountsComputer( NeoStores stores, PageCache pageCache, PageCacheTracer pageCacheTracer, DatabaseLayout databaseLayout,
+            MemoryTracker memoryTracker, Log log, boolean countRelationshipTriplets )
     {
         this( stores, stores.getMetaDataStore().getLastCommittedTransactionId(), stores.getNodeStore(), stores.getRelationshipStore(),
                 (int) stores.getLabelTokenStore().getHighId(), (int) stores.getRelationshipTypeTokenStore().getHighId(),
                 NumberArrayFactories.auto( pageCache, pageCacheTracer, databaseLayout.databaseDirectory(), true, NO_MONITOR, log,
-                                databaseLayout.getDatabaseName() ), databaseLayout, ProgressReporter.SILENT, pageCacheTracer, memoryTracker );
+                                databaseLayout.getDatabaseName() ), databaseLayout, ProgressReporter.SILENT, pageCacheTracer, memoryTracker,
+                countRelationshipTriplets );
     }
 
     public CountsComputer( NeoStores stores, long lastCommittedTransactionId, NodeStore nodes, RelationshipStore relationships, int highLabelId,
             int highRelationshipTypeId, NumberArrayFactory numberArrayFactory, DatabaseLayout databaseLayout, ProgressReporter progressMonitor,
             PageCacheTracer pageCacheTracer, MemoryTracker memoryTracker )
+    {
+        this( stores, lastCommittedTransactionId, nodes, relationships, highLabelId, highRelationshipTypeId, numberArrayFactory, databaseLayout,
+                progressMonitor, pageCacheTracer, memoryTracker, false );
+    }
+
+    public CountsComputer( NeoStores stores, long lastCommittedTransactionId, NodeStore nodes, RelationshipStore relationships, int highLabelId,
+            int highRelationshipTypeId, NumberArrayFactory numberArrayFactory, DatabaseLayout databaseLayout, ProgressReporter progressMonitor,
+            PageCacheTracer pageCacheTracer, MemoryTracker memoryTracker, boolean countRelationshipTriplets )
     {
         this.neoStores = stores;
         this.lastCommittedTransactionId = lastCommittedTransactionId;
@@ -80,6 +96,7 @@ public class CountsComputer implements CountsBuilder
         this.progressMonitor = progressMonitor;
         this.pageCacheTracer = pageCacheTracer;
         this.memoryTracker = memoryTracker;
+        this.countRelationshipTriplets = countRelationshipTriplets;
     }
 
     @Override
@@ -102,7 +119,15 @@ public class CountsComputer implements CountsBuilder
     {
         try ( NodeLabelsCache cache = new NodeLabelsCache( numberArrayFactory, nodes.getHighId(), highLabelId, memoryTracker ) )
         {
-            Configuration configuration = Configuration.defaultConfiguration( databaseLayout.databaseDirectory() );
+            Configuration defaults = Configuration.defaultConfiguration( databaseLayout.databaseDirectory() );
+            Configuration configuration = !countRelationshipTriplets ? defaults : new Configuration.Overridden( defaults )
+            {
+                @Override
+                public boolean countRelationshipTriplets()
+                {
+                    return true;
+                }
+            };
 
             // Count nodes
             Function<CursorContext,StoreCursors> storeCursorsFunction = cursorContext -> new CachedStoreCursors( neoStores, cursorContext );
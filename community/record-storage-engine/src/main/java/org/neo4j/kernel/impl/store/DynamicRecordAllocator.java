@@ -27,4 +27,22 @@ public interface DynamicRecordAllocator
     int getRecordDataSize();
 
     DynamicRecord nextRecord( CursorContext cursorContext );
+
+    /**
+     * Allocates all records of a record chain in one go. Implementations may choose to allocate them with consecutive ids,
+     * so that the chain is stored, and can be read, sequentially.
+     *
+     * @param numberOfRecords number of records in the chain.
+     * @param cursorContext for tracking cursor interaction.
+     * @return the allocated records, in chain order.
+     */
+    default DynamicRecord[] nextRecords( int numberOfRecords, CursorContext cursorContext )
+    {
+        DynamicRecord[] records = new DynamicRecord[numberOfRecords];
+        for ( int i = 0; i < numberOfRecords; i++ )
+        {
+            records[i] = nextRecord( cursorContext );
+        }
+        return records;
+    }
 }
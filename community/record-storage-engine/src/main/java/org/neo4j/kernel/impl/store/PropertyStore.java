@@ -31,6 +31,7 @@ import java.util.Collection;
 import java.util.List;
 
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker;
 import org.neo4j.internal.helpers.collection.Iterables;
 import org.neo4j.internal.helpers.collection.Pair;
@@ -168,6 +169,8 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
     // this variable here can be removed once the support for older store versions (that do not have these two
     // capabilities) has ceased, the variable can be removed.
     private final boolean allowStorePointsAndTemporal;
+    private final int shortStringDecodeCacheSize;
+    private ShortStringDecodeCache shortStringDecodeCache = ShortStringDecodeCache.NO_CACHE;
 
     public PropertyStore(
             Path path,
@@ -191,6 +194,33 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
         this.arrayStore = arrayPropertyStore;
         allowStorePointsAndTemporal = recordFormats.hasCapability( RecordStorageCapability.POINT_PROPERTIES ) &&
                 recordFormats.hasCapability( RecordStorageCapability.TEMPORAL_PROPERTIES );
+        shortStringDecodeCacheSize = configuration.get( GraphDatabaseInternalSettings.short_string_decode_cache_size );
+    }
+
+    /**
+     * Starts keeping decoded short strings in a {@link ShortStringDecodeCache}, if one is configured with
+     * {@link GraphDatabaseInternalSettings#short_string_decode_cache_size}. The cache is closed along with this store.
+     *
+     * @param memoryTracker {@link MemoryTracker} charged with the heap used by the cache.
+     */
+    public void startShortStringDecodeCache( MemoryTracker memoryTracker )
+    {
+        if ( shortStringDecodeCacheSize > 0 )
+        {
+            shortStringDecodeCache = new ShortStringDecodeCache( shortStringDecodeCacheSize, memoryTracker );
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        shortStringDecodeCache.close();
+        super.close();
+    }
+
+    public ShortStringDecodeCache getShortStringDecodeCache()
+    {
+        return shortStringDecodeCache;
     }
 
     public DynamicStringStore getStringStore()
@@ -25,6 +25,7 @@ import java.nio.file.OpenOption;
 import java.nio.file.Path;
 
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker;
 import org.neo4j.internal.id.IdGeneratorFactory;
 import org.neo4j.internal.recordstorage.RecordIdType;
@@ -42,6 +43,8 @@ public class RelationshipStore extends CommonAbstractStore<RelationshipRecord,No
 {
     public static final String TYPE_DESCRIPTOR = "RelationshipStore";
 
+    private final boolean chainReadAhead;
+
     public RelationshipStore(
             Path path,
             Path idFile,
@@ -57,5 +60,14 @@ public class RelationshipStore extends CommonAbstractStore<RelationshipRecord,No
         super( path, idFile, configuration, RecordIdType.RELATIONSHIP, idGeneratorFactory,
                 pageCache, logProvider, TYPE_DESCRIPTOR, recordFormats.relationship(), NO_STORE_HEADER_FORMAT,
                 recordFormats.storeVersion(), readOnlyChecker, databaseName, openOptions );
+        this.chainReadAhead = configuration.get( GraphDatabaseInternalSettings.relationship_chain_read_ahead );
+    }
+
+    /**
+     * @return whether relationship traversals should fault in the pages of the relationship chains they are about to follow up front.
+     */
+    public boolean isChainReadAheadEnabled()
+    {
+        return chainReadAhead;
     }
 }
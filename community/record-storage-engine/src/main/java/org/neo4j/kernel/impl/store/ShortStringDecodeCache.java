@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.values.storable.TextValue;
+
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstance;
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfObjectArray;
+
+/**
+ * Store wide cache of decoded {@link PropertyType#SHORT_STRING short string} values, per property key.
+ * Values of property keys with few distinct values, like status or country codes, are decoded once and then shared between all readers
+ * instead of being decoded into a new string on every read.
+ * <p>
+ * This is a read-side cache only. It is not a dictionary encoding: values are still stored as encoded short strings in the property
+ * blocks, so it saves neither store space nor page cache, and equality predicates still compare decoded values.
+ * <p>
+ * Entries are keyed by the encoded property blocks themselves, which contain the property key and the whole value, so they never need
+ * to be invalidated. Each property key has a fixed number of entries, and only property keys with ids below a fixed limit are cached,
+ * which bounds the size of the cache. When a property key has more distinct values than that, the values that don't fit are simply
+ * decoded on every read. Only values encoded in one or two blocks are kept. The heap used by the cache is charged to the given
+ * {@link MemoryTracker} and released when the cache is {@link #close() closed}.
+ */
+public class ShortStringDecodeCache implements AutoCloseable
+{
+    public static final ShortStringDecodeCache NO_CACHE = new ShortStringDecodeCache( 0, EmptyMemoryTracker.INSTANCE );
+
+    /**
+     * Property keys with ids from this one and up are never cached.
+     */
+    static final int MAX_PROPERTY_KEYS = 1 << 10;
+
+    private static final int MAX_BLOCKS = 2;
+    private static final int MAX_PROBES = 8;
+    private static final long TABLE_SHALLOW_SIZE = shallowSizeOfInstance( AtomicReferenceArray.class );
+    private static final long ENTRY_SHALLOW_SIZE = shallowSizeOfInstance( Entry.class );
+
+    private final int capacityPerKey;
+    private final MemoryTracker memoryTracker;
+    private volatile AtomicReferenceArray<Entry>[] tables = newTables( 0 );
+
+    /**
+     * @param capacityPerKey number of values to keep per property key, rounded up to a power of two. Zero disables the cache.
+     * @param memoryTracker {@link MemoryTracker} charged with the heap used by the cache.
+     */
+    public ShortStringDecodeCache( int capacityPerKey, MemoryTracker memoryTracker )
+    {
+        this.capacityPerKey = capacityPerKey == 0 ? 0 : Integer.highestOneBit( Math.max( capacityPerKey - 1, 1 ) ) << 1;
+        this.memoryTracker = memoryTracker;
+    }
+
+    /**
+     * Decodes the short string starting at {@code offset} in {@code blocks}, see {@link LongerShortString#decode(long[], int)}.
+     */
+    public TextValue decode( long[] blocks, int offset )
+    {
+        if ( capacityPerKey == 0 )
+        {
+            return LongerShortString.decode( blocks, offset );
+        }
+        long firstBlock = blocks[offset];
+        int numberOfBlocks = LongerShortString.calculateNumberOfBlocksUsed( firstBlock );
+        int propertyKeyId = PropertyBlock.keyIndexId( firstBlock );
+        if ( numberOfBlocks < 1 || numberOfBlocks > MAX_BLOCKS || propertyKeyId >= MAX_PROPERTY_KEYS )
+        {
+            return LongerShortString.decode( blocks, offset );
+        }
+        long secondBlock = numberOfBlocks == 2 ? blocks[offset + 1] : 0;
+
+        AtomicReferenceArray<Entry> table = table( propertyKeyId );
+        int mask = table.length() - 1;
+        int slot = hash( firstBlock, secondBlock ) & mask;
+        for ( int probe = 0; probe < MAX_PROBES; probe++, slot = (slot + 1) & mask )
+        {
+            Entry entry = table.get( slot );
+            if ( entry == null )
+            {
+                TextValue value = LongerShortString.decode( blocks, offset );
+                entry = new Entry( firstBlock, secondBlock, value );
+                if ( table.compareAndSet( slot, null, entry ) )
+                {
+                    memoryTracker.allocateHeap( ENTRY_SHALLOW_SIZE + value.estimatedHeapUsage() );
+                    return value;
+                }
+                // Another reader got this slot first, it may have put the very same value there
+                entry = table.get( slot );
+            }
+            if ( entry.firstBlock == firstBlock && entry.secondBlock == secondBlock )
+            {
+                return entry.value;
+            }
+        }
+        return LongerShortString.decode( blocks, offset );
+    }
+
+    /**
+     * Releases the heap used by this cache from its {@link MemoryTracker}, the cache must not be used after this.
+     */
+    @Override
+    public synchronized void close()
+    {
+        AtomicReferenceArray<Entry>[] tables = this.tables;
+        long heapUsage = tables.length > 0 ? shallowSizeOfObjectArray( tables.length ) : 0;
+        for ( AtomicReferenceArray<Entry> table : tables )
+        {
+            if ( table != null )
+            {
+                heapUsage += TABLE_SHALLOW_SIZE + shallowSizeOfObjectArray( table.length() );
+                for ( int slot = 0; slot < table.length(); slot++ )
+                {
+                    Entry entry = table.get( slot );
+                    if ( entry != null )
+                    {
+                        heapUsage += ENTRY_SHALLOW_SIZE + entry.value.estimatedHeapUsage();
+                    }
+                }
+            }
+        }
+        this.tables = newTables( 0 );
+        memoryTracker.releaseHeap( heapUsage );
+    }
+
+    private AtomicReferenceArray<Entry> table( int propertyKeyId )
+    {
+        AtomicReferenceArray<Entry>[] tables = this.tables;
+        if ( propertyKeyId < tables.length && tables[propertyKeyId] != null )
+        {
+            return tables[propertyKeyId];
+        }
+        return createTable( propertyKeyId );
+    }
+
+    private synchronized AtomicReferenceArray<Entry> createTable( int propertyKeyId )
+    {
+        AtomicReferenceArray<Entry>[] tables = this.tables;
+        if ( propertyKeyId >= tables.length )
+        {
+            AtomicReferenceArray<Entry>[] grown = newTables( Math.min( Math.max( propertyKeyId + 1, tables.length * 2 ), MAX_PROPERTY_KEYS ) );
+            memoryTracker.allocateHeap( shallowSizeOfObjectArray( grown.length ) );
+            System.arraycopy( tables, 0, grown, 0, tables.length );
+            if ( tables.length > 0 )
+            {
+                memoryTracker.releaseHeap( shallowSizeOfObjectArray( tables.length ) );
+            }
+            tables = grown;
+        }
+        if ( tables[propertyKeyId] == null )
+        {
+            memoryTracker.allocateHeap( TABLE_SHALLOW_SIZE + shallowSizeOfObjectArray( capacityPerKey ) );
+            tables[propertyKeyId] = new AtomicReferenceArray<>( capacityPerKey );
+        }
+        this.tables = tables;
+        return tables[propertyKeyId];
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static AtomicReferenceArray<Entry>[] newTables( int length )
+    {
+        return new AtomicReferenceArray[length];
+    }
+
+    private static int hash( long firstBlock, long secondBlock )
+    {
+        long hash = firstBlock * 0x9E3779B97F4A7C15L + secondBlock;
+        hash ^= hash >>> 29;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static class Entry
+    {
+        private final long firstBlock;
+        private final long secondBlock;
+        private final TextValue value;
+
+        Entry( long firstBlock, long secondBlock, TextValue value )
+        {
+            this.firstBlock = firstBlock;
+            this.secondBlock = secondBlock;
+            this.value = value;
+        }
+    }
+}
@@ -19,6 +19,7 @@
  */
 package org.neo4j.kernel.impl.store;
 
+import org.neo4j.internal.id.IdGenerator;
 import org.neo4j.internal.id.IdSequence;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
@@ -27,11 +28,21 @@ public class StandardDynamicRecordAllocator implements DynamicRecordAllocator
 {
     protected final IdSequence idGenerator;
     private final int dataSize;
+    /**
+     * If set, records of a chain are allocated with consecutive ids from this id generator.
+     */
+    private final IdGenerator consecutiveIdGenerator;
 
     public StandardDynamicRecordAllocator( IdSequence idGenerator, int dataSize )
+    {
+        this( idGenerator, dataSize, null );
+    }
+
+    public StandardDynamicRecordAllocator( IdSequence idGenerator, int dataSize, IdGenerator consecutiveIdGenerator )
     {
         this.idGenerator = idGenerator;
         this.dataSize = dataSize;
+        this.consecutiveIdGenerator = consecutiveIdGenerator;
     }
 
     @Override
@@ -46,6 +57,22 @@ public class StandardDynamicRecordAllocator implements DynamicRecordAllocator
         return allocateRecord( idGenerator.nextId( cursorContext ) );
     }
 
+    @Override
+    public DynamicRecord[] nextRecords( int numberOfRecords, CursorContext cursorContext )
+    {
+        if ( consecutiveIdGenerator == null || numberOfRecords == 1 )
+        {
+            return DynamicRecordAllocator.super.nextRecords( numberOfRecords, cursorContext );
+        }
+        long firstId = consecutiveIdGenerator.nextConsecutiveIdRange( numberOfRecords, false, cursorContext );
+        DynamicRecord[] records = new DynamicRecord[numberOfRecords];
+        for ( int i = 0; i < numberOfRecords; i++ )
+        {
+            records[i] = allocateRecord( firstId + i );
+        }
+        return records;
+    }
+
     public static DynamicRecord allocateRecord( long id )
     {
         DynamicRecord record = new DynamicRecord( id );
@@ -131,6 +131,7 @@ import static java.util.Arrays.asList;
 import static org.apache.commons.io.IOUtils.lineIterator;
 import static org.eclipse.collections.impl.factory.Sets.immutable;
 import static org.neo4j.configuration.GraphDatabaseInternalSettings.counts_store_max_cached_entries;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.relationship_triplet_counts;
 import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.readOnly;
 import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.writable;
 import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
@@ -303,7 +304,8 @@ public class RecordStorageMigrator extends AbstractStoreMigrationParticipant
         try ( NeoStores oldStores = oldStoreFactory.openAllNeoStores();
                 var storeCursors = new CachedStoreCursors( oldStores, cursorContext );
                 GBPTreeCountsStore countsStore = new GBPTreeCountsStore( pageCache, migrationLayout.countStore(), fileSystem, immediate(),
-                        new CountsComputer( oldStores, pageCache, cacheTracer, directoryLayout, memoryTracker, logService.getInternalLog( getClass() ) ),
+                        new CountsComputer( oldStores, pageCache, cacheTracer, directoryLayout, memoryTracker, logService.getInternalLog( getClass() ),
+                                config.get( relationship_triplet_counts ) ),
                         writable(), cacheTracer, GBPTreeCountsStore.NO_MONITOR, migrationLayout.getDatabaseName(),
                         config.get( counts_store_max_cached_entries ), NullLogProvider.getInstance() ) )
         {
@@ -27,14 +27,18 @@ import org.neo4j.internal.batchimport.cache.NodeLabelsCache;
 import org.neo4j.internal.batchimport.cache.NumberArrayFactories;
 import org.neo4j.internal.batchimport.cache.NumberArrayFactory;
 import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.memory.LocalMemoryTracker;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.storageengine.api.cursor.StoreCursors;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -113,6 +117,53 @@ class RelationshipCountsProcessorTest
         verify( countsUpdater ).incrementRelationshipCount( ANY, 0, 2, 1L );
     }
 
+    @Test
+    void shouldCountRelationshipTriplets()
+    {
+        NodeLabelsCache.Client client = mock( NodeLabelsCache.Client.class );
+        when( nodeLabelCache.newClient() ).thenReturn( client );
+        when( nodeLabelCache.get( eq( client ), eq( 1L ) ) ).thenReturn( new long[]{0, 2} );
+        when( nodeLabelCache.get( eq( client ), eq( 2L ) ) ).thenReturn( new long[]{1} );
+        when( nodeLabelCache.get( eq( client ), eq( 3L ) ) ).thenReturn( new long[]{1, -1} );
+        when( nodeLabelCache.get( eq( client ), eq( 4L ) ) ).thenReturn( new long[]{-1} );
+
+        RelationshipCountsProcessor countsProcessor = new RelationshipCountsProcessor( nodeLabelCache, 3, 2, countsUpdater,
+                NumberArrayFactories.AUTO_WITHOUT_PAGECACHE, true, INSTANCE );
+
+        countsProcessor.process( record( 1, 0, 2 ), StoreCursors.NULL );
+        countsProcessor.process( record( 1, 1, 3 ), StoreCursors.NULL );
+        countsProcessor.process( record( 2, 1, 4 ), StoreCursors.NULL );
+
+        countsProcessor.done();
+
+        verify( countsUpdater ).incrementRelationshipCount( 0, 0, 1, 1L );
+        verify( countsUpdater ).incrementRelationshipCount( 2, 0, 1, 1L );
+        verify( countsUpdater ).incrementRelationshipCount( 0, 1, 1, 1L );
+        verify( countsUpdater ).incrementRelationshipCount( 2, 1, 1, 1L );
+        verify( countsUpdater ).incrementRelationshipCount( 0, ANY, 1, 2L );
+        verify( countsUpdater ).incrementRelationshipCount( 2, ANY, 1, 2L );
+        verify( countsUpdater, never() ).incrementRelationshipCount( eq( 1L ), anyInt(), longThat( label -> label != ANY ), anyLong() );
+    }
+
+    @Test
+    void shouldTrackHeapOfRelationshipTripletCounts()
+    {
+        NodeLabelsCache.Client client = mock( NodeLabelsCache.Client.class );
+        when( nodeLabelCache.newClient() ).thenReturn( client );
+        when( nodeLabelCache.get( eq( client ), eq( 1L ) ) ).thenReturn( new long[]{0, 2} );
+        when( nodeLabelCache.get( eq( client ), eq( 2L ) ) ).thenReturn( new long[]{1} );
+        LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+
+        RelationshipCountsProcessor countsProcessor = new RelationshipCountsProcessor( nodeLabelCache, 3, 2, countsUpdater,
+                NumberArrayFactories.AUTO_WITHOUT_PAGECACHE, true, memoryTracker );
+        long heapWithoutTriplets = memoryTracker.estimatedHeapMemory();
+        countsProcessor.process( record( 1, 0, 2 ), StoreCursors.NULL );
+
+        assertThat( memoryTracker.estimatedHeapMemory() ).isGreaterThan( heapWithoutTriplets );
+        countsProcessor.close();
+        assertThat( memoryTracker.estimatedHeapMemory() ).isEqualTo( heapWithoutTriplets );
+    }
+
     private static class IsNonNegativeLong implements ArgumentMatcher<Long>
     {
         @Override
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaseRecordScanTest
+{
+    private static final int RECORDS_PER_PAGE = 100;
+
+    @Test
+    void shouldHandOutSmallBatchesAsRequested()
+    {
+        RangeRecordingScan scan = new RangeRecordingScan( 1_000 );
+
+        scan.scanBatch( 3, null );
+        scan.scanBatch( 5, null );
+
+        assertThat( scan.ranges ).containsExactly( new long[]{0, 2}, new long[]{3, 7} );
+    }
+
+    @Test
+    void shouldHandOutPageAlignedBatchesCoveringAllRecords()
+    {
+        long highId = 1_000_000;
+        RangeRecordingScan scan = new RangeRecordingScan( highId );
+
+        long expectedStart = 0;
+        while ( expectedStart < highId )
+        {
+            scan.scanBatch( 250, null );
+            long[] range = scan.ranges.get( scan.ranges.size() - 1 );
+            assertThat( range[0] ).isEqualTo( expectedStart );
+            assertThat( (range[1] + 1) % RECORDS_PER_PAGE ).isZero();
+            assertThat( range[1] - range[0] + 1 ).isLessThanOrEqualTo( 250 * 16 + RECORDS_PER_PAGE );
+            expectedStart = range[1] + 1;
+        }
+        // Batches shrink as the end of the store gets closer
+        assertThat( scan.ranges.get( 0 )[1] + 1 ).isGreaterThan( 250 );
+        long[] last = scan.ranges.get( scan.ranges.size() - 1 );
+        assertThat( last[1] - last[0] + 1 ).isEqualTo( 300 );
+    }
+
+    @Test
+    void shouldRealignAfterSmallBatch()
+    {
+        RangeRecordingScan scan = new RangeRecordingScan( 1_000 );
+
+        scan.scanBatch( 3, null );
+        scan.scanBatch( 140, null );
+        scan.scanBatch( 140, null );
+
+        assertThat( scan.ranges ).containsExactly( new long[]{0, 2}, new long[]{3, 99}, new long[]{100, 199} );
+    }
+
+    private static class RangeRecordingScan extends BaseRecordScan<NodeRecord>
+    {
+        private final List<long[]> ranges = new ArrayList<>();
+
+        RangeRecordingScan( long highId )
+        {
+            super( RECORDS_PER_PAGE, () -> highId );
+        }
+
+        @Override
+        boolean scanRange( NodeRecord cursor, long start, long stopInclusive )
+        {
+            ranges.add( new long[]{start, stopInclusive} );
+            return true;
+        }
+    }
+}
@@ -118,12 +118,17 @@ public class RecordRelationshipTraversalCursorTest
     void setupStores()
     {
         DefaultIdGeneratorFactory idGeneratorFactory = new DefaultIdGeneratorFactory( fs, immediate(), databaseLayout.getDatabaseName() );
-        StoreFactory storeFactory = new StoreFactory( databaseLayout, Config.defaults(), idGeneratorFactory, pageCache, fs,
+        StoreFactory storeFactory = new StoreFactory( databaseLayout, getConfig(), idGeneratorFactory, pageCache, fs,
                 getRecordFormats(), NullLogProvider.getInstance(), PageCacheTracer.NULL, writable(), Sets.immutable.empty() );
         neoStores = storeFactory.openAllNeoStores( true );
         storeCursors = new CachedStoreCursors( neoStores, CursorContext.NULL );
     }
 
+    protected Config getConfig()
+    {
+        return Config.defaults();
+    }
+
     protected RecordFormats getRecordFormats()
     {
         return Standard.LATEST_RECORD_FORMATS;
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import org.eclipse.collections.api.factory.Sets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.neo4j.common.TokenNameLookup;
+import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.internal.id.DefaultIdGeneratorFactory;
+import org.neo4j.internal.id.IdGenerator;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.StoreFactory;
+import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
+import org.neo4j.kernel.impl.store.format.standard.Standard;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.Neo4jLayoutExtension;
+import org.neo4j.test.extension.pagecache.PageCacheExtension;
+import org.neo4j.values.storable.Values;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.writable;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.NODE_CURSOR;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.PROPERTY_CURSOR;
+import static org.neo4j.internal.recordstorage.RecordStorageCommandCreationContext.MAX_CONSECUTIVE_HINT_MISSES;
+import static org.neo4j.kernel.impl.store.record.Record.NO_NEXT_PROPERTY;
+import static org.neo4j.kernel.impl.store.record.Record.NO_NEXT_RELATIONSHIP;
+
+@PageCacheExtension
+@Neo4jLayoutExtension
+class RecordStorageCommandCreationContextTest
+{
+    @Inject
+    private PageCache pageCache;
+    @Inject
+    private FileSystemAbstraction fs;
+    @Inject
+    private RecordDatabaseLayout databaseLayout;
+
+    private NeoStores neoStores;
+
+    @BeforeEach
+    void setupStores() throws IOException
+    {
+        DefaultIdGeneratorFactory idGeneratorFactory = new DefaultIdGeneratorFactory( fs, immediate(), databaseLayout.getDatabaseName() );
+        StoreFactory storeFactory = new StoreFactory( databaseLayout, Config.defaults(), idGeneratorFactory, pageCache, fs,
+                Standard.LATEST_RECORD_FORMATS, NullLogProvider.getInstance(), PageCacheTracer.NULL, writable(), Sets.immutable.empty() );
+        neoStores = storeFactory.openAllNeoStores( true );
+        neoStores.start( CursorContext.NULL );
+    }
+
+    @AfterEach
+    void shutDownStores()
+    {
+        neoStores.close();
+    }
+
+    @Test
+    void shouldReserveRelationshipsNearTheRelationshipsOfTheirSourceNodes()
+    {
+        // given relationships 10 and 900 are free and the two nodes have relationships next to each of them
+        IdGenerator relationshipIds = neoStores.getRelationshipStore().getIdGenerator();
+        allocateAndFree( relationshipIds, 1_000, 10, 900 );
+        createSparseNode( 0, 905 );
+        createSparseNode( 1, 15 );
+
+        // when
+        try ( CachedStoreCursors storeCursors = new CachedStoreCursors( neoStores, CursorContext.NULL );
+              RecordStorageCommandCreationContext context = newContext( true ) )
+        {
+            context.initialize( CursorContext.NULL, storeCursors );
+
+            // then
+            assertThat( context.reserveRelationship( 0 ) ).isEqualTo( 900 );
+            assertThat( context.reserveRelationship( 1 ) ).isEqualTo( 10 );
+        }
+    }
+
+    @Test
+    void shouldPlaceFirstPropertyRecordOnThePageOfThePropertiesOfNeighbouringNode()
+    {
+        // given node 0 has its properties on the same page as free property record 1010, far away from free property record 10
+        PropertyStore propertyStore = neoStores.getPropertyStore();
+        allocateAndFree( propertyStore.getIdGenerator(), 2_000, 10, 1010 );
+        createNode( 0, 1005 );
+        NodeRecord node = new NodeRecord( 1 ).initialize( true, NO_NEXT_PROPERTY.longValue(), false, NO_NEXT_RELATIONSHIP.longValue(), 0 );
+
+        try ( CachedStoreCursors storeCursors = new CachedStoreCursors( neoStores, CursorContext.NULL );
+              RecordStorageCommandCreationContext context = newContext( true ) )
+        {
+            context.initialize( CursorContext.NULL, storeCursors );
+            PropertyCreator propertyCreator = new PropertyCreator( propertyStore.getStringStore(), propertyStore.getArrayStore(), propertyStore,
+                    context::propertyIdHint, new PropertyTraverser(), propertyStore.allowStorePointsAndTemporal(), CursorContext.NULL,
+                    EmptyMemoryTracker.INSTANCE );
+            DirectRecordAccess<PropertyRecord,PrimitiveRecord> propertyRecords = new DirectRecordAccess<>( propertyStore,
+                    Loaders.propertyLoader( propertyStore, storeCursors ), CursorContext.NULL, PROPERTY_CURSOR, storeCursors );
+
+            // when
+            long firstPropertyId = propertyCreator.createPropertyChain( node, List.of( propertyBlock( propertyStore, 1 ) ).iterator(), propertyRecords );
+
+            // then
+            assertThat( firstPropertyId ).isEqualTo( 1010 );
+            assertThat( firstPropertyId / propertyStore.getRecordsPerPage() ).isEqualTo( 1005 / propertyStore.getRecordsPerPage() );
+        }
+    }
+
+    @Test
+    void shouldHintPropertyRecordOfEntityWithPropertiesWithItsFirstPropertyRecord()
+    {
+        // given a node whose neighbour has its properties elsewhere
+        createNode( 0, 10 );
+        NodeRecord node = new NodeRecord( 1 ).initialize( true, 1005, false, NO_NEXT_RELATIONSHIP.longValue(), 0 );
+
+        try ( CachedStoreCursors storeCursors = new CachedStoreCursors( neoStores, CursorContext.NULL );
+              RecordStorageCommandCreationContext context = newContext( true ) )
+        {
+            context.initialize( CursorContext.NULL, storeCursors );
+
+            // then
+            assertThat( context.propertyIdHint( node ) ).isEqualTo( 1005 );
+        }
+    }
+
+    @Test
+    void shouldNotHintFirstPropertyRecordWithoutLocalityAwareAllocation()
+    {
+        // given
+        createNode( 0, 1005 );
+
+        try ( CachedStoreCursors storeCursors = new CachedStoreCursors( neoStores, CursorContext.NULL );
+              RecordStorageCommandCreationContext context = newContext( false ) )
+        {
+            context.initialize( CursorContext.NULL, storeCursors );
+
+            // then
+            assertThat( context.propertyIdHint( new NodeRecord( 1 ) ) ).isNegative();
+        }
+    }
+
+    @Test
+    void shouldStopReadingSourceNodesAfterConsecutiveHintMisses()
+    {
+        // given nodes on separate pages, whose relationships are far away from where new relationships are allocated
+        int nodes = MAX_CONSECUTIVE_HINT_MISSES * 2;
+        long[] nodeIds = new long[nodes];
+        for ( int i = 0; i < nodes; i++ )
+        {
+            nodeIds[i] = (long) i * neoStores.getNodeStore().getRecordsPerPage();
+            createSparseNode( nodeIds[i], 1_000_000 + i );
+        }
+
+        var pageCacheTracer = new DefaultPageCacheTracer();
+        try ( var cursorContext = new CursorContext( pageCacheTracer.createPageCursorTracer( "shouldStopReadingSourceNodesAfterConsecutiveHintMisses" ) );
+              CachedStoreCursors storeCursors = new CachedStoreCursors( neoStores, cursorContext );
+              RecordStorageCommandCreationContext context = newContext( true ) )
+        {
+            context.initialize( cursorContext, storeCursors );
+
+            // when
+            for ( int i = 0; i < MAX_CONSECUTIVE_HINT_MISSES; i++ )
+            {
+                context.reserveRelationship( nodeIds[i] );
+            }
+            long pinsWhileHinting = cursorContext.getCursorTracer().pins();
+            for ( int i = MAX_CONSECUTIVE_HINT_MISSES; i < nodes; i++ )
+            {
+                context.reserveRelationship( nodeIds[i] );
+            }
+
+            // then one node read per miss, and no page accesses at all after giving up on hints
+            assertThat( pinsWhileHinting ).isGreaterThanOrEqualTo( MAX_CONSECUTIVE_HINT_MISSES );
+            assertThat( cursorContext.getCursorTracer().pins() ).isEqualTo( pinsWhileHinting );
+        }
+    }
+
+    private RecordStorageCommandCreationContext newContext( boolean localityAwareIdAllocation )
+    {
+        Config config = Config.defaults( GraphDatabaseInternalSettings.locality_aware_id_allocation, localityAwareIdAllocation );
+        return new RecordStorageCommandCreationContext( neoStores, mock( TokenNameLookup.class ), NullLogProvider.getInstance(), 50, () -> false, config,
+                EmptyMemoryTracker.INSTANCE );
+    }
+
+    private static void allocateAndFree( IdGenerator idGenerator, int count, long... freeIds )
+    {
+        try ( IdGenerator.Marker marker = idGenerator.marker( CursorContext.NULL ) )
+        {
+            for ( int i = 0; i < count; i++ )
+            {
+                marker.markUsed( idGenerator.nextId( CursorContext.NULL ) );
+            }
+            for ( long id : freeIds )
+            {
+                marker.markDeleted( id );
+            }
+        }
+        try ( IdGenerator.Marker marker = idGenerator.marker( CursorContext.NULL ) )
+        {
+            for ( long id : freeIds )
+            {
+                marker.markFree( id );
+            }
+        }
+    }
+
+    private static PropertyBlock propertyBlock( PropertyStore propertyStore, int key )
+    {
+        PropertyBlock block = new PropertyBlock();
+        propertyStore.encodeValue( block, key, Values.intValue( key ), CursorContext.NULL, EmptyMemoryTracker.INSTANCE );
+        return block;
+    }
+
+    private void createSparseNode( long nodeId, long firstRelationshipId )
+    {
+        writeNode( new NodeRecord( nodeId ).initialize( true, NO_NEXT_PROPERTY.longValue(), false, firstRelationshipId, 0 ) );
+    }
+
+    private void createNode( long nodeId, long firstPropertyId )
+    {
+        writeNode( new NodeRecord( nodeId ).initialize( true, firstPropertyId, false, NO_NEXT_RELATIONSHIP.longValue(), 0 ) );
+    }
+
+    private void writeNode( NodeRecord node )
+    {
+        long nodeId = node.getId();
+        node.setCreated();
+        try ( CachedStoreCursors storeCursors = new CachedStoreCursors( neoStores, CursorContext.NULL );
+              var cursor = storeCursors.writeCursor( NODE_CURSOR ) )
+        {
+            neoStores.getNodeStore().updateRecord( node, cursor, CursorContext.NULL, storeCursors );
+        }
+        neoStores.getNodeStore().setHighId( nodeId + 1 );
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.recordstorage;
+
+import org.eclipse.collections.api.factory.Sets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.internal.counts.GBPTreeGenericCountsStore;
+import org.neo4j.internal.counts.GBPTreeRelationshipGroupDegreesStore;
+import org.neo4j.internal.counts.GBPTreeRelationshipGroupDegreesStore.EmptyDegreesRebuilder;
+import org.neo4j.internal.counts.RelationshipGroupDegreesStore;
+import org.neo4j.internal.id.DefaultIdGeneratorFactory;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.RelationshipGroupStore;
+import org.neo4j.kernel.impl.store.StoreFactory;
+import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
+import org.neo4j.kernel.impl.store.format.standard.Standard;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.Neo4jLayoutExtension;
+import org.neo4j.test.extension.pagecache.PageCacheExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker.writable;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.GROUP_CURSOR;
+import static org.neo4j.internal.recordstorage.RecordCursorTypes.NODE_CURSOR;
+import static org.neo4j.kernel.impl.store.record.Record.NO_NEXT_PROPERTY;
+import static org.neo4j.kernel.impl.store.record.Record.NO_NEXT_RELATIONSHIP;
+import static org.neo4j.kernel.impl.store.record.RecordLoad.CHECK;
+import static org.neo4j.kernel.impl.store.record.RecordLoad.NORMAL;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+import static org.neo4j.storageengine.api.RelationshipDirection.OUTGOING;
+import static org.neo4j.storageengine.api.TransactionIdStore.BASE_TX_ID;
+
+@PageCacheExtension
+@Neo4jLayoutExtension
+class RelationshipGroupCompactorTest
+{
+    private static final long NULL = NO_NEXT_RELATIONSHIP.longValue();
+
+    @Inject
+    private PageCache pageCache;
+    @Inject
+    private FileSystemAbstraction fs;
+    @Inject
+    private RecordDatabaseLayout databaseLayout;
+
+    private NeoStores neoStores;
+    private CachedStoreCursors storeCursors;
+
+    @BeforeEach
+    void setupStores()
+    {
+        DefaultIdGeneratorFactory idGeneratorFactory = new DefaultIdGeneratorFactory( fs, immediate(), databaseLayout.getDatabaseName() );
+        StoreFactory storeFactory = new StoreFactory( databaseLayout, Config.defaults(), idGeneratorFactory, pageCache, fs,
+                Standard.LATEST_RECORD_FORMATS, NullLogProvider.getInstance(), PageCacheTracer.NULL, writable(), Sets.immutable.empty() );
+        neoStores = storeFactory.openAllNeoStores( true );
+        storeCursors = new CachedStoreCursors( neoStores, CursorContext.NULL );
+    }
+
+    @AfterEach
+    void shutDownStores()
+    {
+        storeCursors.close();
+        neoStores.close();
+    }
+
+    @Test
+    void shouldMoveScatteredGroupsToConsecutiveRecords()
+    {
+        // given
+        createDenseNode( 0, 5 );
+        createGroup( 5, 0, 0, 2, false );
+        createGroup( 2, 0, 1, 8, false );
+        createGroup( 8, 0, 2, NULL, false );
+        neoStores.getRelationshipGroupStore().setHighId( 9 );
+
+        // when
+        long compacted = new RelationshipGroupCompactor( neoStores, CursorContext.NULL ).compact( 0, 10 );
+
+        // then
+        assertThat( compacted ).isEqualTo( 1 );
+        List<RelationshipGroupRecord> groups = groupChain( 0 );
+        assertThat( groups ).extracting( RelationshipGroupRecord::getType ).containsExactly( 0, 1, 2 );
+        long firstGroupId = groups.get( 0 ).getId();
+        assertThat( groups ).extracting( RelationshipGroupRecord::getId ).containsExactly( firstGroupId, firstGroupId + 1, firstGroupId + 2 );
+        assertThat( groups ).extracting( RelationshipGroupRecord::getFirstOut ).containsExactly( 100L, 101L, 102L );
+        assertThat( groups ).allMatch( group -> group.getOwningNode() == 0 );
+        assertThat( isGroupInUse( 5 ) || isGroupInUse( 2 ) || isGroupInUse( 8 ) ).isFalse();
+
+        // and when compacting again there is nothing to do
+        assertThat( new RelationshipGroupCompactor( neoStores, CursorContext.NULL ).compact( 0, 10 ) ).isZero();
+    }
+
+    @Test
+    void shouldMoveExternalDegreesWithGroups() throws IOException
+    {
+        // given
+        createDenseNode( 0, 5 );
+        createGroup( 5, 0, 0, 2, true );
+        createGroup( 2, 0, 1, NULL, false );
+        neoStores.getRelationshipGroupStore().setHighId( 6 );
+
+        try ( GBPTreeRelationshipGroupDegreesStore degreesStore = new GBPTreeRelationshipGroupDegreesStore( pageCache,
+                databaseLayout.relationshipGroupDegreesStore(), fs, immediate(), new EmptyDegreesRebuilder( BASE_TX_ID ), writable(),
+                PageCacheTracer.NULL, GBPTreeGenericCountsStore.NO_MONITOR, databaseLayout.getDatabaseName(), 100, NullLogProvider.getInstance() ) )
+        {
+            degreesStore.start( CursorContext.NULL, StoreCursors.NULL, INSTANCE );
+            try ( RelationshipGroupDegreesStore.Updater updater = degreesStore.directApply( CursorContext.NULL ) )
+            {
+                updater.increment( 5, OUTGOING, 60 );
+            }
+
+            // when
+            long compacted;
+            try ( RelationshipGroupDegreesStore.Updater updater = degreesStore.directApply( CursorContext.NULL ) )
+            {
+                RelationshipGroupCompactor compactor = new RelationshipGroupCompactor( neoStores, degreesStore, updater, CursorContext.NULL );
+                compacted = compactor.compact( 0, 10 );
+                assertThat( compactor.skippedNodes() ).isZero();
+            }
+
+            // then
+            assertThat( compacted ).isEqualTo( 1 );
+            List<RelationshipGroupRecord> groups = groupChain( 0 );
+            assertThat( groups ).extracting( RelationshipGroupRecord::getType ).containsExactly( 0, 1 );
+            long movedGroupId = groups.get( 0 ).getId();
+            assertThat( movedGroupId ).isNotEqualTo( 5 );
+            assertThat( groups.get( 0 ).hasExternalDegreesOut() ).isTrue();
+            assertThat( degreesStore.degree( movedGroupId, OUTGOING, CursorContext.NULL ) ).isEqualTo( 60 );
+            assertThat( degreesStore.degree( 5, OUTGOING, CursorContext.NULL ) ).isZero();
+        }
+    }
+
+    @Test
+    void shouldNotMoveGroupsWithExternalDegreesWithoutDegreesStore()
+    {
+        // given
+        createDenseNode( 0, 5 );
+        createGroup( 5, 0, 0, 2, true );
+        createGroup( 2, 0, 1, NULL, false );
+        neoStores.getRelationshipGroupStore().setHighId( 6 );
+
+        // when
+        RelationshipGroupCompactor compactor = new RelationshipGroupCompactor( neoStores, CursorContext.NULL );
+        long compacted = compactor.compact( 0, 10 );
+
+        // then
+        assertThat( compacted ).isZero();
+        assertThat( compactor.skippedNodes() ).isEqualTo( 1 );
+        assertThat( groupChain( 0 ) ).extracting( RelationshipGroupRecord::getId ).containsExactly( 5L, 2L );
+    }
+
+    private void createDenseNode( long nodeId, long firstGroupId )
+    {
+        NodeStore nodeStore = neoStores.getNodeStore();
+        NodeRecord node = new NodeRecord( nodeId ).initialize( true, NO_NEXT_PROPERTY.longValue(), true, firstGroupId, 0 );
+        node.setCreated();
+        try ( var cursor = storeCursors.writeCursor( NODE_CURSOR ) )
+        {
+            nodeStore.updateRecord( node, cursor, CursorContext.NULL, storeCursors );
+        }
+        nodeStore.setHighId( nodeId + 1 );
+    }
+
+    private void createGroup( long groupId, long owningNode, int type, long next, boolean externalDegrees )
+    {
+        RelationshipGroupRecord group = new RelationshipGroupRecord( groupId ).initialize( true, type, 100 + type, NULL, NULL, owningNode, next );
+        group.setHasExternalDegreesOut( externalDegrees );
+        group.setCreated();
+        try ( var cursor = storeCursors.writeCursor( GROUP_CURSOR ) )
+        {
+            neoStores.getRelationshipGroupStore().updateRecord( group, cursor, CursorContext.NULL, storeCursors );
+        }
+    }
+
+    private List<RelationshipGroupRecord> groupChain( long nodeId )
+    {
+        NodeRecord node = neoStores.getNodeStore().getRecordByCursor( nodeId, new NodeRecord( nodeId ), NORMAL, storeCursors.readCursor( NODE_CURSOR ) );
+        RelationshipGroupStore groupStore = neoStores.getRelationshipGroupStore();
+        List<RelationshipGroupRecord> groups = new ArrayList<>();
+        for ( long groupId = node.getNextRel(); groupId != NULL; groupId = groups.get( groups.size() - 1 ).getNext() )
+        {
+            groups.add( groupStore.getRecordByCursor( groupId, groupStore.newRecord(), NORMAL, storeCursors.readCursor( GROUP_CURSOR ) ) );
+        }
+        return groups;
+    }
+
+    private boolean isGroupInUse( long groupId )
+    {
+        RelationshipGroupStore groupStore = neoStores.getRelationshipGroupStore();
+        return groupStore.getRecordByCursor( groupId, groupStore.newRecord(), CHECK, storeCursors.readCursor( GROUP_CURSOR ) ).inUse();
+    }
+}
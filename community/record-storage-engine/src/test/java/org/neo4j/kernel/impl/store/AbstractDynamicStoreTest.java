@@ -150,6 +150,27 @@ class AbstractDynamicStoreTest
         }
     }
 
+    @Test
+    void allocateChainWithConsecutiveIds()
+    {
+        try ( AbstractDynamicStore store = newTestableDynamicStore() )
+        {
+            var allocator = new StandardDynamicRecordAllocator( store, store.getRecordDataSize(), store.getIdGenerator() );
+            var records = new ArrayList<DynamicRecord>();
+
+            AbstractDynamicStore.allocateRecordsFromBytes( records, new byte[store.getRecordDataSize() * 4 + 1], allocator, NULL, INSTANCE );
+
+            assertThat( records ).hasSize( 5 );
+            for ( int i = 0; i < records.size(); i++ )
+            {
+                DynamicRecord record = records.get( i );
+                assertEquals( records.get( 0 ).getId() + i, record.getId() );
+                assertEquals( i == 0, record.isStartRecord() );
+                assertEquals( i == records.size() - 1 ? -1 : record.getId() + 1, record.getNextBlock() );
+            }
+        }
+    }
+
     @Test
     void dynamicRecordCursorReadsInUseRecords()
     {
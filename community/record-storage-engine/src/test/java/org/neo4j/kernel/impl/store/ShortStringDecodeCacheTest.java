@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.junit.jupiter.api.Test;
+
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.values.storable.TextValue;
+import org.neo4j.values.storable.Values;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.kernel.impl.store.format.standard.PropertyRecordFormat.DEFAULT_PAYLOAD_SIZE;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+class ShortStringDecodeCacheTest
+{
+    @Test
+    void shouldShareDecodedValuesOfSameKeyAndString()
+    {
+        ShortStringDecodeCache cache = new ShortStringDecodeCache( 16, INSTANCE );
+        long[] blocks = encode( 1, "active" );
+
+        TextValue first = cache.decode( blocks, 0 );
+        TextValue second = cache.decode( blocks, 0 );
+
+        assertThat( first ).isEqualTo( Values.stringValue( "active" ) );
+        assertThat( second ).isSameAs( first );
+    }
+
+    @Test
+    void shouldKeepValuesOfDifferentKeysApart()
+    {
+        ShortStringDecodeCache cache = new ShortStringDecodeCache( 16, INSTANCE );
+
+        TextValue a = cache.decode( encode( 1, "SE" ), 0 );
+        TextValue b = cache.decode( encode( 2, "SE" ), 0 );
+        TextValue c = cache.decode( encode( 1, "NO" ), 0 );
+
+        assertThat( b ).isEqualTo( a ).isNotSameAs( a );
+        assertThat( c ).isEqualTo( Values.stringValue( "NO" ) );
+        assertThat( cache.decode( encode( 2, "SE" ), 0 ) ).isSameAs( b );
+    }
+
+    @Test
+    void shouldDecodeValuesWhichDoNotFitInCache()
+    {
+        ShortStringDecodeCache cache = new ShortStringDecodeCache( 2, INSTANCE );
+        for ( int i = 0; i < 100; i++ )
+        {
+            String string = "value" + i;
+            assertThat( cache.decode( encode( 1, string ), 0 ) ).isEqualTo( Values.stringValue( string ) );
+        }
+        String longString = "a string which needs more than two blocks";
+        assertThat( cache.decode( encode( 1, longString ), 0 ) ).isEqualTo( Values.stringValue( longString ) );
+    }
+
+    @Test
+    void shouldDecodeWithoutCache()
+    {
+        long[] blocks = encode( 1, "active" );
+
+        TextValue first = ShortStringDecodeCache.NO_CACHE.decode( blocks, 0 );
+        TextValue second = ShortStringDecodeCache.NO_CACHE.decode( blocks, 0 );
+
+        assertThat( second ).isEqualTo( first ).isNotSameAs( first );
+    }
+
+    @Test
+    void shouldNotCachePropertyKeysAboveLimit()
+    {
+        ShortStringDecodeCache cache = new ShortStringDecodeCache( 16, INSTANCE );
+        long[] blocks = encode( ShortStringDecodeCache.MAX_PROPERTY_KEYS, "active" );
+
+        TextValue first = cache.decode( blocks, 0 );
+        TextValue second = cache.decode( blocks, 0 );
+
+        assertThat( second ).isEqualTo( first ).isNotSameAs( first );
+    }
+
+    @Test
+    void shouldTrackHeapOfCachedValuesAndReleaseItOnClose()
+    {
+        LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+        ShortStringDecodeCache cache = new ShortStringDecodeCache( 16, memoryTracker );
+
+        cache.decode( encode( 1, "active" ), 0 );
+        long heapOfOneValue = memoryTracker.estimatedHeapMemory();
+        cache.decode( encode( 1, "active" ), 0 );
+        assertThat( memoryTracker.estimatedHeapMemory() ).isEqualTo( heapOfOneValue );
+        cache.decode( encode( 1, "inactive" ), 0 );
+        cache.decode( encode( 2, "SE" ), 0 );
+        assertThat( memoryTracker.estimatedHeapMemory() ).isGreaterThan( heapOfOneValue );
+
+        cache.close();
+        assertThat( memoryTracker.estimatedHeapMemory() ).isZero();
+    }
+
+    private static long[] encode( int keyId, String string )
+    {
+        PropertyBlock block = new PropertyBlock();
+        assertTrue( LongerShortString.encode( keyId, string, block, DEFAULT_PAYLOAD_SIZE ) );
+        return block.getValueBlocks();
+    }
+}
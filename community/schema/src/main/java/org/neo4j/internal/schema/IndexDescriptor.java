@@ -56,6 +56,7 @@ public final class IndexDescriptor implements IndexRef<IndexDescriptor>, SchemaR
     private final IndexCapability capability;
     private final IndexType indexType;
     private final IndexConfig indexConfig;
+    private final int requiredPropertyCount;
 
     IndexDescriptor( long id, IndexPrototype prototype )
     {
@@ -87,6 +88,7 @@ public final class IndexDescriptor implements IndexRef<IndexDescriptor>, SchemaR
         this.capability = capability;
         this.indexType = indexType;
         this.indexConfig = indexConfig;
+        this.requiredPropertyCount = IndexRef.requiredPropertyCount( indexType, schema, indexConfig );
     }
 
     /**
@@ -103,6 +105,7 @@ public final class IndexDescriptor implements IndexRef<IndexDescriptor>, SchemaR
         this.capability = IndexCapability.NO_CAPABILITY;
         this.indexType = IndexType.BTREE;
         this.indexConfig = IndexConfig.empty();
+        this.requiredPropertyCount = schema.getPropertyIds().length;
     }
 
     @Override
@@ -163,6 +166,15 @@ public final class IndexDescriptor implements IndexRef<IndexDescriptor>, SchemaR
         return new IndexDescriptor( id, name, schema, isUnique, indexProvider, owningConstraintId, capability, indexType, indexConfig );
     }
 
+    /**
+     * Cached, since it's asked for on every entity update that affects the index.
+     */
+    @Override
+    public int requiredPropertyCount()
+    {
+        return requiredPropertyCount;
+    }
+
     /**
      * @return The id of the constraint that owns this index, if such a constraint exists. Otherwise {@code empty}.
      */
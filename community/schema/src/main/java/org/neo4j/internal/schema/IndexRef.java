@@ -19,8 +19,18 @@
  */
 package org.neo4j.internal.schema;
 
+import org.neo4j.values.storable.IntegralValue;
+import org.neo4j.values.storable.Value;
+
 public interface IndexRef<T extends IndexRef<T>> extends SchemaDescriptorSupplier
 {
+    /**
+     * Index config setting declaring the number of trailing properties of a {@link IndexType#RANGE} index schema that are included properties.
+     * Included properties are stored in the index entries, so that their values can be read from the index, but entities need not have them
+     * to be indexed.
+     */
+    String INCLUDED_PROPERTIES_SETTING = "range.included_properties";
+
     /**
      * Returns true if this index is only meant to allow one value per key.
      */
@@ -64,6 +74,38 @@ public interface IndexRef<T extends IndexRef<T>> extends SchemaDescriptorSupplie
      */
     T withIndexConfig( IndexConfig indexConfig );
 
+    /**
+     * @return the number of leading properties of the schema that are not {@link #INCLUDED_PROPERTIES_SETTING included properties}.
+     */
+    @Override
+    default int requiredPropertyCount()
+    {
+        return requiredPropertyCount( getIndexType(), schema(), getIndexConfig() );
+    }
+
+    /**
+     * Only {@link IndexType#RANGE} indexes have included properties, and only as many as leave at least one required property.
+     * @return the number of leading properties of the schema that are not {@link #INCLUDED_PROPERTIES_SETTING included properties}.
+     */
+    static int requiredPropertyCount( IndexType indexType, SchemaDescriptor schema, IndexConfig indexConfig )
+    {
+        int propertyCount = schema.getPropertyIds().length;
+        if ( indexType != IndexType.RANGE )
+        {
+            return propertyCount;
+        }
+        Value includedProperties = indexConfig.get( INCLUDED_PROPERTIES_SETTING );
+        if ( includedProperties instanceof IntegralValue )
+        {
+            long included = ((IntegralValue) includedProperties).longValue();
+            if ( included > 0 && included < propertyCount )
+            {
+                return propertyCount - (int) included;
+            }
+        }
+        return propertyCount;
+    }
+
     /**
      * @return true if this {@link IndexRef index reference} is a token index, otherwise false.
      */
@@ -246,8 +246,10 @@ public class SchemaDescriptorLookupSet<T extends SchemaDescriptorSupplier>
             PropertySchemaType propertySchemaType = schemaDescriptor.schema().propertySchemaType();
             if ( propertySchemaType == COMPLETE_ALL_TOKENS )
             {
-                // Just add the first token id to the top level set
-                next.getIfAbsentPut( propertyKeyIds[0], PropertySet::new ).add( schemaDescriptor, propertyKeyIds, 0 );
+                // Just add the first token id to the top level set. Only the required properties go into the chain,
+                // since entities that lack included properties are still matched by the descriptor
+                int[] requiredPropertyKeyIds = sortedRequiredPropertyKeyIds( schemaDescriptor, propertyKeyIds );
+                next.getIfAbsentPut( requiredPropertyKeyIds[0], PropertySet::new ).add( schemaDescriptor, requiredPropertyKeyIds, 0 );
             }
             else if ( propertySchemaType == PARTIAL_ANY_TOKEN )
             {
@@ -284,9 +286,10 @@ public class SchemaDescriptorLookupSet<T extends SchemaDescriptorSupplier>
             PropertySchemaType propertySchemaType = schemaDescriptor.schema().propertySchemaType();
             if ( propertySchemaType == COMPLETE_ALL_TOKENS )
             {
-                int firstPropertyKeyId = propertyKeyIds[0];
+                int[] requiredPropertyKeyIds = sortedRequiredPropertyKeyIds( schemaDescriptor, propertyKeyIds );
+                int firstPropertyKeyId = requiredPropertyKeyIds[0];
                 PropertySet firstPropertySet = next.get( firstPropertyKeyId );
-                if ( firstPropertySet != null && firstPropertySet.remove( schemaDescriptor, propertyKeyIds, 0 ) )
+                if ( firstPropertySet != null && firstPropertySet.remove( schemaDescriptor, requiredPropertyKeyIds, 0 ) )
                 {
                     next.remove( firstPropertyKeyId );
                 }
@@ -434,4 +437,16 @@ public class SchemaDescriptorLookupSet<T extends SchemaDescriptorSupplier>
         }
         return tokenIds;
     }
+
+    private static int[] sortedRequiredPropertyKeyIds( SchemaDescriptorSupplier schemaDescriptor, int[] sortedPropertyKeyIds )
+    {
+        int requiredProperties = schemaDescriptor.requiredPropertyCount();
+        if ( requiredProperties == sortedPropertyKeyIds.length )
+        {
+            return sortedPropertyKeyIds;
+        }
+        int[] tokenIds = Arrays.copyOf( schemaDescriptor.schema().getPropertyIds(), requiredProperties );
+        Arrays.sort( tokenIds );
+        return tokenIds;
+    }
 }
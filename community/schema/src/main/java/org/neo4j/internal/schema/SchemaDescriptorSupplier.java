@@ -25,6 +25,17 @@ public interface SchemaDescriptorSupplier
 {
     SchemaDescriptor schema();
 
+    /**
+     * Entities need values for the first {@code requiredPropertyCount()} properties of the {@link #schema()} to be matched by it,
+     * where for most schema entities that means all of them. Values of any remaining properties are carried along when present.
+     *
+     * @return the number of leading properties of the schema that an entity must have to be matched by it.
+     */
+    default int requiredPropertyCount()
+    {
+        return schema().getPropertyIds().length;
+    }
+
     /**
      * Produce a user-friendly description of this schema entity.
      *
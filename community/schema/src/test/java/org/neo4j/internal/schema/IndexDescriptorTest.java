@@ -151,4 +151,29 @@ class IndexDescriptorTest
         assertThat( (Value) b.getIndexConfig().get( "x" ) ).isEqualTo( Values.stringValue( "y" ) );
         assertThat( (Value) a.getIndexConfig().get( "x" ) ).isNull();
     }
+
+    @Test
+    void onlyRangeIndexesMustHaveIncludedProperties()
+    {
+        IndexConfig config = IndexConfig.with( IndexRef.INCLUDED_PROPERTIES_SETTING, Values.intValue( 1 ) );
+        IndexPrototype prototype = IndexPrototype.forSchema( SchemaDescriptors.forLabel( 1, 2, 3 ) ).withName( "a" ).withIndexConfig( config );
+
+        IndexDescriptor range = prototype.withIndexType( IndexType.RANGE ).materialise( 1 );
+        assertThat( range.requiredPropertyCount() ).isEqualTo( 1 );
+        assertThat( prototype.withIndexType( IndexType.RANGE ).requiredPropertyCount() ).isEqualTo( 1 );
+        assertThat( range.withName( "b" ).requiredPropertyCount() ).isEqualTo( 1 );
+        assertThat( range.withIndexConfig( IndexConfig.empty() ).requiredPropertyCount() ).isEqualTo( 2 );
+        assertThat( prototype.withIndexType( IndexType.BTREE ).materialise( 1 ).requiredPropertyCount() ).isEqualTo( 2 );
+        assertThat( prototype.withIndexType( IndexType.TEXT ).materialise( 1 ).requiredPropertyCount() ).isEqualTo( 2 );
+    }
+
+    @Test
+    void includedPropertiesMustLeaveAtLeastOneRequiredProperty()
+    {
+        IndexConfig config = IndexConfig.with( IndexRef.INCLUDED_PROPERTIES_SETTING, Values.intValue( 2 ) );
+        IndexDescriptor index = IndexPrototype.forSchema( SchemaDescriptors.forLabel( 1, 2, 3 ) ).withIndexType( IndexType.RANGE ).withName( "a" )
+                .withIndexConfig( config ).materialise( 1 );
+
+        assertThat( index.requiredPropertyCount() ).isEqualTo( 2 );
+    }
 }
@@ -38,10 +38,12 @@ import org.neo4j.internal.helpers.collection.Iterators;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.RandomExtension;
 import org.neo4j.test.RandomSupport;
+import org.neo4j.values.storable.Values;
 
 import static java.util.Arrays.stream;
 import static org.apache.commons.lang3.ArrayUtils.contains;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.internal.helpers.collection.Iterators.asSet;
 import static org.neo4j.internal.schema.PropertySchemaType.COMPLETE_ALL_TOKENS;
 
@@ -105,6 +107,29 @@ class SchemaDescriptorLookupSetTest
         assertEquals( asSet( descriptor3 ), descriptors );
     }
 
+    @Test
+    void shouldLookupCompositeKeyDescriptorWithIncludedPropertiesByRequiredProperties()
+    {
+        // given
+        var set = new SchemaDescriptorLookupSet<SchemaDescriptorSupplier>();
+        var descriptor = IndexPrototype.forSchema( SchemaDescriptors.forLabel( 1, 5, 2, 3 ) ).withIndexType( IndexType.RANGE )
+                                       .withIndexConfig( IndexConfig.with( IndexRef.INCLUDED_PROPERTIES_SETTING, Values.intValue( 2 ) ) );
+        set.add( descriptor );
+
+        // when
+        var descriptors = new HashSet<SchemaDescriptorSupplier>();
+        set.matchingDescriptorsForCompleteListOfProperties( descriptors, entityTokens( 1 ), properties( 4, 5 ) );
+
+        // then
+        assertEquals( asSet( descriptor ), descriptors );
+
+        // and when
+        set.remove( descriptor );
+
+        // then
+        assertTrue( set.isEmpty() );
+    }
+
     @Test
     void shouldLookupAllByEntityToken()
     {
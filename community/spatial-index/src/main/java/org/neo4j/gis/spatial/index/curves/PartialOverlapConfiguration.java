@@ -33,7 +33,12 @@ public class PartialOverlapConfiguration extends StandardConfiguration
 
     public PartialOverlapConfiguration( int extraLevels, double topThreshold, double bottomThreshold )
     {
-        super( extraLevels );
+        this( extraLevels, topThreshold, bottomThreshold, Integer.MAX_VALUE );
+    }
+
+    public PartialOverlapConfiguration( int extraLevels, double topThreshold, double bottomThreshold, int maxRanges )
+    {
+        super( extraLevels, maxRanges );
         this.topThreshold = topThreshold;
         this.bottomThreshold = bottomThreshold;
     }
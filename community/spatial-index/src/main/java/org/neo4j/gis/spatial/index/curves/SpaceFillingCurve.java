@@ -300,9 +300,55 @@ public abstract class SpaceFillingCurve
         addTilesIntersectingEnvelopeAt( config, monitor,
                 0, config.maxDepth( referenceEnvelope, this.range, nbrDim, maxLevel ), search,
                 wholeExtent, rootCurve(), 0, this.getValueWidth(), results );
+        coalesceRanges( results, config.maxRanges() );
         return results;
     }
 
+    /**
+     * Given sorted and disjoint ranges, merge the ranges separated by the smallest gaps until there are at most {@code maxRanges} left.
+     */
+    static void coalesceRanges( List<LongRange> ranges, int maxRanges )
+    {
+        int merges = ranges.size() - Math.max( 1, maxRanges );
+        if ( merges <= 0 )
+        {
+            return;
+        }
+
+        long[] gaps = new long[ranges.size() - 1];
+        for ( int i = 0; i < gaps.length; i++ )
+        {
+            gaps[i] = ranges.get( i + 1 ).min - ranges.get( i ).max;
+        }
+        long[] sortedGaps = Arrays.copyOf( gaps, gaps.length );
+        Arrays.sort( sortedGaps );
+        // Merge all gaps smaller than the largest gap to merge, and as many gaps equal to it as needed to reach the number of merges
+        long largestGap = sortedGaps[merges - 1];
+        int largestGapMerges = 0;
+        for ( int i = 0; i < merges; i++ )
+        {
+            if ( sortedGaps[i] == largestGap )
+            {
+                largestGapMerges++;
+            }
+        }
+
+        int last = 0;
+        for ( int i = 1; i < ranges.size(); i++ )
+        {
+            long gap = gaps[i - 1];
+            if ( gap < largestGap || (gap == largestGap && largestGapMerges-- > 0) )
+            {
+                ranges.get( last ).expandToMax( ranges.get( i ).max );
+            }
+            else
+            {
+                ranges.set( ++last, ranges.get( i ) );
+            }
+        }
+        ranges.subList( last + 1, ranges.size() ).clear();
+    }
+
     private void addTilesIntersectingEnvelopeAt( SpaceFillingCurveConfiguration config, SpaceFillingCurveMonitor monitor, int depth, int maxDepth,
             SearchEnvelope search, SearchEnvelope currentExtent, CurveRule curve, long left, long right, List<LongRange> results )
     {
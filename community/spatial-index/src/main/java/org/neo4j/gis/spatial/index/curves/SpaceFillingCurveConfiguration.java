@@ -55,4 +55,13 @@ public interface SpaceFillingCurveConfiguration
      * @return the size to use when initializing the ArrayList to store ranges.
      */
     int initialRangesListCapacity();
+
+    /**
+     * @return the maximum number of 1D ranges to produce. If the search produces more ranges than this, the ranges separated by the
+     * smallest gaps on the curve are coalesced, trading more false positives for fewer searches in the 1D index.
+     */
+    default int maxRanges()
+    {
+        return Integer.MAX_VALUE;
+    }
 }
@@ -33,14 +33,25 @@ public class StandardConfiguration implements SpaceFillingCurveConfiguration
      */
     protected int extraLevels;
 
+    /**
+     * The maximum number of 1D ranges a search is split into, see {@link #maxRanges()}.
+     */
+    protected int maxRanges;
+
     public StandardConfiguration()
     {
         this( DEFAULT_EXTRA_LEVELS );
     }
 
     public StandardConfiguration( int extraLevels )
+    {
+        this( extraLevels, Integer.MAX_VALUE );
+    }
+
+    public StandardConfiguration( int extraLevels, int maxRanges )
     {
         this.extraLevels = extraLevels;
+        this.maxRanges = maxRanges;
     }
 
     /**
@@ -81,6 +92,12 @@ public class StandardConfiguration implements SpaceFillingCurveConfiguration
         return getClass().getSimpleName() + "(" + extraLevels + ")";
     }
 
+    @Override
+    public int maxRanges()
+    {
+        return maxRanges;
+    }
+
     @Override
     public int initialRangesListCapacity()
     {
@@ -862,6 +862,30 @@ public class SpaceFillingCurveTest
         return expected;
     }
 
+    @Test
+    void shouldCoalesceRangesWithSmallestGapsToMaxRanges()
+    {
+        Envelope envelope = new Envelope( -8, 8, -8, 8 );
+        HilbertSpaceFillingCurve2D curve = new HilbertSpaceFillingCurve2D( envelope, 2 );
+        Envelope search = new Envelope( -2, 1, -6, 5 );
+        assertTiles( curve.getTilesIntersectingEnvelope( search.getMin(), search.getMax(), new StandardConfiguration( 1, 3 ) ),
+                new SpaceFillingCurve.LongRange( 1, 2 ), new SpaceFillingCurve.LongRange( 6, 9 ), new SpaceFillingCurve.LongRange( 13, 14 ) );
+        assertTiles( curve.getTilesIntersectingEnvelope( search.getMin(), search.getMax(), new StandardConfiguration( 1, 2 ) ),
+                new SpaceFillingCurve.LongRange( 1, 9 ), new SpaceFillingCurve.LongRange( 13, 14 ) );
+        assertTiles( curve.getTilesIntersectingEnvelope( search.getMin(), search.getMax(), new StandardConfiguration( 1, 1 ) ),
+                new SpaceFillingCurve.LongRange( 1, 14 ) );
+    }
+
+    @Test
+    void shouldCoalesceRangesSeparatedBySmallerGapsFirst()
+    {
+        List<SpaceFillingCurve.LongRange> ranges = new ArrayList<>( List.of(
+                new SpaceFillingCurve.LongRange( 0, 1 ), new SpaceFillingCurve.LongRange( 10, 11 ), new SpaceFillingCurve.LongRange( 13, 14 ),
+                new SpaceFillingCurve.LongRange( 20, 20 ), new SpaceFillingCurve.LongRange( 23, 30 ) ) );
+        SpaceFillingCurve.coalesceRanges( ranges, 3 );
+        assertTiles( ranges, new SpaceFillingCurve.LongRange( 0, 1 ), new SpaceFillingCurve.LongRange( 10, 14 ), new SpaceFillingCurve.LongRange( 20, 30 ) );
+    }
+
     private static void assertTiles( List<SpaceFillingCurve.LongRange> results, SpaceFillingCurve.LongRange... expected )
     {
         assertThat( results.size() ).as( "Result differ: " + results + " != " + Arrays.toString( expected ) ).isEqualTo( expected.length );
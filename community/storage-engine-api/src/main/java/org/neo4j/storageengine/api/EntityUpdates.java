@@ -41,6 +41,7 @@ import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.storageengine.api.cursor.StoreCursors;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
 import static java.lang.String.format;
 import static org.neo4j.collection.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
@@ -248,22 +249,24 @@ public class EntityUpdates
         for ( INDEX_KEY indexKey : potentiallyRelevant )
         {
             SchemaDescriptor schema = indexKey.schema();
-            boolean relevantBefore = relevantBefore( schema );
-            boolean relevantAfter = relevantAfter( schema );
+            int requiredProperties = indexKey.requiredPropertyCount();
+            boolean relevantBefore = relevantBefore( schema, requiredProperties );
+            boolean relevantAfter = relevantAfter( schema, requiredProperties );
             int[] propertyIds = schema.getPropertyIds();
             if ( relevantBefore && !relevantAfter )
             {
-                indexUpdates.add( IndexEntryUpdate.remove( entityId, indexKey, valuesBefore( propertyIds ) ) );
+                indexUpdates.add( IndexEntryUpdate.remove( entityId, indexKey, valuesBefore( propertyIds, requiredProperties ) ) );
             }
             else if ( !relevantBefore && relevantAfter )
             {
-                indexUpdates.add( IndexEntryUpdate.add( entityId, indexKey, valuesAfter( propertyIds ) ) );
+                indexUpdates.add( IndexEntryUpdate.add( entityId, indexKey, valuesAfter( propertyIds, requiredProperties ) ) );
             }
             else if ( relevantBefore && relevantAfter )
             {
-                if ( valuesChanged( propertyIds, schema.propertySchemaType() ) )
+                if ( valuesChanged( propertyIds, schema.propertySchemaType(), requiredProperties ) )
                 {
-                    indexUpdates.add( IndexEntryUpdate.change( entityId, indexKey, valuesBefore( propertyIds ), valuesAfter( propertyIds ) ) );
+                    indexUpdates.add( IndexEntryUpdate.change( entityId, indexKey, valuesBefore( propertyIds, requiredProperties ),
+                            valuesAfter( propertyIds, requiredProperties ) ) );
                 }
             }
         }
@@ -287,14 +290,14 @@ public class EntityUpdates
         return Optional.of( IndexEntryUpdate.change( entityId, indexKey, entityTokensBefore, entityTokensAfter, txId ) );
     }
 
-    private boolean relevantBefore( SchemaDescriptor schema )
+    private boolean relevantBefore( SchemaDescriptor schema, int requiredProperties )
     {
-        return schema.isAffected( entityTokensBefore ) && hasPropsBefore( schema.getPropertyIds(), schema.propertySchemaType() );
+        return schema.isAffected( entityTokensBefore ) && hasPropsBefore( schema.getPropertyIds(), requiredProperties, schema.propertySchemaType() );
     }
 
-    private boolean relevantAfter( SchemaDescriptor schema )
+    private boolean relevantAfter( SchemaDescriptor schema, int requiredProperties )
     {
-        return schema.isAffected( entityTokensAfter ) && hasPropsAfter( schema.getPropertyIds(), schema.propertySchemaType() );
+        return schema.isAffected( entityTokensAfter ) && hasPropsAfter( schema.getPropertyIds(), requiredProperties, schema.propertySchemaType() );
     }
 
     private void loadProperties( StorageReader reader, MutableIntSet additionalPropertiesToLoad, EntityType type, CursorContext cursorContext,
@@ -372,12 +375,12 @@ public class EntityUpdates
         return affectedBefore || affectedAfter;
     }
 
-    private boolean hasPropsBefore( int[] propertyIds, PropertySchemaType propertySchemaType )
+    private boolean hasPropsBefore( int[] propertyIds, int requiredProperties, PropertySchemaType propertySchemaType )
     {
         boolean found = false;
-        for ( int propertyId : propertyIds )
+        for ( int i = 0; i < requiredProperties; i++ )
         {
-            PropertyValue propertyValue = knownProperties.getIfAbsent( propertyId, () -> NO_VALUE );
+            PropertyValue propertyValue = knownProperties.getIfAbsent( propertyIds[i], () -> NO_VALUE );
             if ( !propertyValue.hasBefore() )
             {
                 if ( propertySchemaType == COMPLETE_ALL_TOKENS )
@@ -393,12 +396,12 @@ public class EntityUpdates
         return found;
     }
 
-    private boolean hasPropsAfter( int[] propertyIds, PropertySchemaType propertySchemaType )
+    private boolean hasPropsAfter( int[] propertyIds, int requiredProperties, PropertySchemaType propertySchemaType )
     {
         boolean found = false;
-        for ( int propertyId : propertyIds )
+        for ( int i = 0; i < requiredProperties; i++ )
         {
-            PropertyValue propertyValue = knownProperties.getIfAbsent( propertyId, () -> NO_VALUE );
+            PropertyValue propertyValue = knownProperties.getIfAbsent( propertyIds[i], () -> NO_VALUE );
             if ( !propertyValue.hasAfter() )
             {
                 if ( propertySchemaType == COMPLETE_ALL_TOKENS )
@@ -414,33 +417,44 @@ public class EntityUpdates
         return found;
     }
 
-    private Value[] valuesBefore( int[] propertyIds )
+    private Value[] valuesBefore( int[] propertyIds, int requiredProperties )
     {
         Value[] values = new Value[propertyIds.length];
-        for ( int i = 0; i < propertyIds.length; i++ )
+        for ( int i = 0; i < requiredProperties; i++ )
         {
             values[i] = knownProperties.get( propertyIds[i] ).before;
         }
+        for ( int i = requiredProperties; i < propertyIds.length; i++ )
+        {
+            // Included properties that the entity doesn't have are indexed as NO_VALUE
+            Value value = knownProperties.getIfAbsent( propertyIds[i], () -> NO_VALUE ).before;
+            values[i] = value == null ? Values.NO_VALUE : value;
+        }
         return values;
     }
 
-    private Value[] valuesAfter( int[] propertyIds )
+    private Value[] valuesAfter( int[] propertyIds, int requiredProperties )
     {
         Value[] values = new Value[propertyIds.length];
-        for ( int i = 0; i < propertyIds.length; i++ )
+        for ( int i = 0; i < requiredProperties; i++ )
         {
             PropertyValue propertyValue = knownProperties.get( propertyIds[i] );
             values[i] = propertyValue == null ? null : propertyValue.after;
         }
+        for ( int i = requiredProperties; i < propertyIds.length; i++ )
+        {
+            Value value = knownProperties.getIfAbsent( propertyIds[i], () -> NO_VALUE ).after;
+            values[i] = value == null ? Values.NO_VALUE : value;
+        }
         return values;
     }
 
     /**
      * This method should only be called in a context where you know that your entity is relevant both before and after
      */
-    private boolean valuesChanged( int[] propertyIds, PropertySchemaType propertySchemaType )
+    private boolean valuesChanged( int[] propertyIds, PropertySchemaType propertySchemaType, int requiredProperties )
     {
-        if ( propertySchemaType == COMPLETE_ALL_TOKENS )
+        if ( propertySchemaType == COMPLETE_ALL_TOKENS && requiredProperties == propertyIds.length )
         {
             // In the case of indexes were all entries must have all indexed tokens, one of the properties must have changed for us to generate a change.
             for ( int propertyId : propertyIds )
@@ -455,6 +469,7 @@ public class EntityUpdates
         else
         {
             // In the case of indexes were we index incomplete index entries, we need to update as long as _anything_ happened to one of the indexed properties.
+            // This also goes for included properties, which can be added or removed while the entity stays in the index.
             for ( int propertyId : propertyIds )
             {
                 PropertyValueType type = knownProperties.get( propertyId ).type;
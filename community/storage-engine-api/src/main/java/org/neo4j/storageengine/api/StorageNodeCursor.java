@@ -86,4 +86,14 @@ public interface StorageNodeCursor extends StorageEntityScanCursor<AllNodeScan>
      * @return whether or not this node is dense.
      */
     boolean supportsFastDegreeLookup();
+
+    /**
+     * Hints that the nodes with the given references are about to be read using {@link #single(long)}. Implementations may use this
+     * to fetch the underlying data in storage order up front. The default implementation does nothing.
+     *
+     * @param sortedReferences node references, sorted in ascending order.
+     */
+    default void prefetch( long[] sortedReferences )
+    {
+    }
 }
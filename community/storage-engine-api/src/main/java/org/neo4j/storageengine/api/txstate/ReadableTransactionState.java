@@ -133,6 +133,15 @@ public interface ReadableTransactionState
      */
     NavigableMap<ValueTuple,? extends LongDiffSets> getSortedIndexUpdates( SchemaDescriptor descriptor );
 
+    /**
+     * A readonly view of the index updates with a single text value for the provided schema, ordered by the text values read
+     * backwards, so that all values ending with a given suffix are adjacent. The returned Map is unmodifiable.
+     * Returns {@code null}, if the index updates for this schema have not been initialized.
+     * <p>
+     * The view is built on first use and maintained incrementally after that. This is needed for suffix query support.
+     */
+    NavigableMap<ValueTuple,? extends LongDiffSets> getSuffixSortedIndexUpdates( SchemaDescriptor descriptor );
+
     // OTHER
 
     NodeState getNodeState( long id );
@@ -19,7 +19,9 @@
  */
 package org.neo4j.storageengine.api.txstate;
 
+import org.eclipse.collections.api.list.primitive.MutableLongList;
 import org.eclipse.collections.api.set.primitive.LongSet;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
 
 import java.util.function.LongConsumer;
 
@@ -30,9 +32,11 @@ import org.neo4j.storageengine.api.CountsDelta;
 import org.neo4j.storageengine.api.StorageNodeCursor;
 import org.neo4j.storageengine.api.StorageReader;
 import org.neo4j.storageengine.api.StorageRelationshipScanCursor;
+import org.neo4j.storageengine.api.StorageRelationshipTraversalCursor;
 import org.neo4j.storageengine.api.cursor.StoreCursors;
 import org.neo4j.storageengine.util.EagerDegrees;
 
+import static org.neo4j.collection.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
 import static org.neo4j.io.IOUtils.closeAllUnchecked;
 import static org.neo4j.storageengine.api.RelationshipSelection.ALL_RELATIONSHIPS;
 import static org.neo4j.token.api.TokenConstants.ANY_LABEL;
@@ -44,15 +48,31 @@ public class TransactionCountingStateVisitor extends TxStateVisitor.Delegator
     private final ReadableTransactionState txState;
     private final StorageNodeCursor nodeCursor;
     private final StorageRelationshipScanCursor relationshipCursor;
+    private final boolean countRelationshipTriplets;
+    private final StorageNodeCursor neighbourNodeCursor;
+    private final StorageRelationshipTraversalCursor relationshipTraversalCursor;
 
     public TransactionCountingStateVisitor( TxStateVisitor next, StorageReader storageReader,
             ReadableTransactionState txState, CountsDelta counts, CursorContext cursorContext, StoreCursors storeCursors )
+    {
+        this( next, storageReader, txState, counts, cursorContext, storeCursors, false );
+    }
+
+    /**
+     * @param countRelationshipTriplets whether or not to also count relationships for each combination of start node label, relationship type
+     * and end node label. This requires visiting the relationships, and the labels of their other nodes, of nodes getting their labels changed.
+     */
+    public TransactionCountingStateVisitor( TxStateVisitor next, StorageReader storageReader,
+            ReadableTransactionState txState, CountsDelta counts, CursorContext cursorContext, StoreCursors storeCursors, boolean countRelationshipTriplets )
     {
         super( next );
         this.txState = txState;
         this.counts = counts;
         this.nodeCursor = storageReader.allocateNodeCursor( cursorContext, storeCursors );
         this.relationshipCursor = storageReader.allocateRelationshipScanCursor( cursorContext, storeCursors );
+        this.countRelationshipTriplets = countRelationshipTriplets;
+        this.neighbourNodeCursor = countRelationshipTriplets ? storageReader.allocateNodeCursor( cursorContext, storeCursors ) : null;
+        this.relationshipTraversalCursor = countRelationshipTriplets ? storageReader.allocateRelationshipTraversalCursor( cursorContext, storeCursors ) : null;
     }
 
     @Override
@@ -83,6 +103,10 @@ public class TransactionCountingStateVisitor extends TxStateVisitor.Delegator
         }
 
         visitDegrees( node, ( type, out, in ) -> updateRelationshipsCountsFromDegrees( labelIds, type, -out, -in ) );
+        if ( countRelationshipTriplets )
+        {
+            updateTripletCountsOfStoredRelationships( node, labelIds, EMPTY_LONG_ARRAY );
+        }
     }
 
     private static void visitDegrees( StorageNodeCursor node, DegreeVisitor visitor )
@@ -140,6 +164,11 @@ public class TransactionCountingStateVisitor extends TxStateVisitor.Delegator
                     added.forEach( label -> updateRelationshipsCountsFromDegrees( type, label, out, in ) );
                     removed.forEach( label -> updateRelationshipsCountsFromDegrees( type, label, -out, -in ) );
                 } );
+                if ( countRelationshipTriplets )
+                {
+                    long[] labelsBefore = nodeCursor.labels();
+                    updateTripletCountsOfStoredRelationships( nodeCursor, labelsBefore, labelsAfter( id, labelsBefore ) );
+                }
             }
         }
         super.visitNodeLabelChanges( id, added, removed );
@@ -168,6 +197,99 @@ public class TransactionCountingStateVisitor extends TxStateVisitor.Delegator
         updateRelationshipsCountsFromDegrees( type, ANY_LABEL, delta, 0 );
         visitLabels( startNode, labelId -> updateRelationshipsCountsFromDegrees( type, labelId, delta, 0 ) );
         visitLabels( endNode, labelId -> updateRelationshipsCountsFromDegrees( type, labelId, 0, delta ) );
+        if ( countRelationshipTriplets )
+        {
+            MutableLongList startLabels = new LongArrayList();
+            visitLabels( startNode, startLabels::add );
+            if ( !startLabels.isEmpty() )
+            {
+                visitLabels( endNode, endLabelId -> startLabels.forEach( startLabelId -> updateTripletCounts( startLabelId, type, endLabelId, delta ) ) );
+            }
+        }
+    }
+
+    private void updateTripletCounts( long startLabelId, int type, long endLabelId, long delta )
+    {
+        counts.incrementRelationshipCount( startLabelId, ANY_RELATIONSHIP_TYPE, endLabelId, delta );
+        counts.incrementRelationshipCount( startLabelId, type, endLabelId, delta );
+    }
+
+    /**
+     * Moves the triplet counts of the stored relationships of a node getting its labels changed, or getting deleted, from its labels and
+     * the labels of the other nodes before this transaction to the labels after it. Relationships created in this transaction are counted
+     * with the labels after it when visiting the creation, and deleted ones are similarly subtracted with the labels after it when visiting the deletion.
+     * A relationship between two nodes which both get their labels changed, or get deleted, is only visited from the node with the lowest id.
+     */
+    private void updateTripletCountsOfStoredRelationships( StorageNodeCursor node, long[] labelsBefore, long[] labelsAfter )
+    {
+        long nodeId = node.entityReference();
+        node.relationships( relationshipTraversalCursor, ALL_RELATIONSHIPS );
+        while ( relationshipTraversalCursor.next() )
+        {
+            long neighbourId = relationshipTraversalCursor.neighbourNodeReference();
+            long[] neighbourLabelsBefore = labelsBefore;
+            long[] neighbourLabelsAfter = labelsAfter;
+            if ( neighbourId != nodeId )
+            {
+                if ( neighbourId < nodeId && hasLabelChangesOrIsDeleted( neighbourId ) )
+                {
+                    continue;
+                }
+                neighbourNodeCursor.single( neighbourId );
+                neighbourLabelsBefore = neighbourNodeCursor.next() ? neighbourNodeCursor.labels() : EMPTY_LONG_ARRAY;
+                neighbourLabelsAfter = labelsAfter( neighbourId, neighbourLabelsBefore );
+            }
+
+            int type = relationshipTraversalCursor.type();
+            boolean outgoing = relationshipTraversalCursor.sourceNodeReference() == nodeId;
+            updateTripletCounts( outgoing ? labelsBefore : neighbourLabelsBefore, type, outgoing ? neighbourLabelsBefore : labelsBefore, -1 );
+            updateTripletCounts( outgoing ? labelsAfter : neighbourLabelsAfter, type, outgoing ? neighbourLabelsAfter : labelsAfter, 1 );
+        }
+    }
+
+    private void updateTripletCounts( long[] startLabels, int type, long[] endLabels, long delta )
+    {
+        for ( long startLabelId : startLabels )
+        {
+            for ( long endLabelId : endLabels )
+            {
+                updateTripletCounts( startLabelId, type, endLabelId, delta );
+            }
+        }
+    }
+
+    private boolean hasLabelChangesOrIsDeleted( long nodeId )
+    {
+        return txState.nodeIsDeletedInThisTx( nodeId ) || !txState.getNodeState( nodeId ).labelDiffSets().isEmpty();
+    }
+
+    private long[] labelsAfter( long nodeId, long[] labelsBefore )
+    {
+        if ( txState.nodeIsDeletedInThisTx( nodeId ) )
+        {
+            return EMPTY_LONG_ARRAY;
+        }
+        LongDiffSets labelDiff = txState.getNodeState( nodeId ).labelDiffSets();
+        if ( labelDiff.isEmpty() )
+        {
+            return labelsBefore;
+        }
+        MutableLongList labels = new LongArrayList( labelsBefore.length + labelDiff.getAdded().size() );
+        for ( long label : labelsBefore )
+        {
+            if ( !labelDiff.isRemoved( label ) )
+            {
+                labels.add( label );
+            }
+        }
+        labelDiff.getAdded().forEach( label ->
+        {
+            if ( !labels.contains( label ) )
+            {
+                labels.add( label );
+            }
+        } );
+        return labels.toArray();
     }
 
     private void visitLabels( long nodeId, LongConsumer visitor )
@@ -206,6 +328,6 @@ public class TransactionCountingStateVisitor extends TxStateVisitor.Delegator
     public void close() throws KernelException
     {
         super.close();
-        closeAllUnchecked( nodeCursor, relationshipCursor );
+        closeAllUnchecked( nodeCursor, relationshipCursor, neighbourNodeCursor, relationshipTraversalCursor );
     }
 }
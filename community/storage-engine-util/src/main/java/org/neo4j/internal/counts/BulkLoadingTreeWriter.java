@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.counts;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.neo4j.index.internal.gbptree.BulkLoader;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.logging.LogProvider;
+import org.neo4j.memory.MemoryTracker;
+
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstance;
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstanceWithObjectReferences;
+
+/**
+ * Writes absolute counts into an empty tree. Counts are gathered in key order and {@link GBPTree#bulkLoader(int, CursorContext) bulk loaded}
+ * into the tree when closed, instead of being merged into the tree one by one like {@link TreeWriter} does. This is useful when rebuilding
+ * all counts from scratch, where the tree starts out empty and every count is written.
+ * <p>
+ * The gathered counts are tracked by the given {@link MemoryTracker} and bounded by {@code maxBufferSize}. If more distinct keys than that
+ * are written then the gathered counts are bulk loaded right away and the remaining counts are written using a {@link TreeWriter}.
+ */
+class BulkLoadingTreeWriter implements CountUpdater.CountWriter
+{
+    /**
+     * Key, boxed count and tree map entry.
+     */
+    private static final long ENTRY_SIZE =
+            shallowSizeOfInstance( CountsKey.class ) + shallowSizeOfInstance( Long.class ) + shallowSizeOfInstanceWithObjectReferences( 5 );
+
+    private final GBPTree<CountsKey,CountsValue> tree;
+    private final int maxBufferSize;
+    private final MemoryTracker memoryTracker;
+    private final CursorContext cursorContext;
+    private final LogProvider userLogProvider;
+    private final TreeMap<CountsKey,Long> counts;
+    private TreeWriter overflowWriter;
+
+    BulkLoadingTreeWriter( GBPTree<CountsKey,CountsValue> tree, CountsLayout layout, int maxBufferSize, MemoryTracker memoryTracker,
+            CursorContext cursorContext, LogProvider userLogProvider )
+    {
+        this.tree = tree;
+        this.maxBufferSize = maxBufferSize;
+        this.memoryTracker = memoryTracker;
+        this.cursorContext = cursorContext;
+        this.userLogProvider = userLogProvider;
+        this.counts = new TreeMap<>( layout );
+    }
+
+    @Override
+    public void write( CountsKey key, long delta )
+    {
+        if ( overflowWriter != null )
+        {
+            overflowWriter.write( key, delta );
+            return;
+        }
+
+        if ( delta > 0 )
+        {
+            buffer( key, delta );
+        }
+        else if ( delta == 0 )
+        {
+            if ( counts.remove( key ) != null )
+            {
+                memoryTracker.releaseHeap( ENTRY_SIZE );
+            }
+        }
+        else
+        {
+            TreeWriter.logNegativeCount( userLogProvider, key );
+            buffer( key, GBPTreeGenericCountsStore.INVALID_COUNT );
+        }
+
+        if ( counts.size() > maxBufferSize )
+        {
+            bulkLoadBufferedCounts();
+            try
+            {
+                overflowWriter = new TreeWriter( tree.writer( cursorContext ), userLogProvider );
+            }
+            catch ( IOException e )
+            {
+                throw new UncheckedIOException( e );
+            }
+        }
+    }
+
+    private void buffer( CountsKey key, long count )
+    {
+        if ( counts.put( key, count ) == null )
+        {
+            memoryTracker.allocateHeap( ENTRY_SIZE );
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        if ( overflowWriter != null )
+        {
+            overflowWriter.close();
+        }
+        else
+        {
+            bulkLoadBufferedCounts();
+        }
+    }
+
+    private void bulkLoadBufferedCounts()
+    {
+        try ( BulkLoader<CountsKey,CountsValue> bulkLoader = tree.bulkLoader( 1, cursorContext ) )
+        {
+            try ( BulkLoader.Appender<CountsKey,CountsValue> appender = bulkLoader.appender( 0, cursorContext ) )
+            {
+                CountsValue value = new CountsValue();
+                for ( Map.Entry<CountsKey,Long> entry : counts.entrySet() )
+                {
+                    appender.add( entry.getKey(), value.initialize( entry.getValue() ) );
+                }
+            }
+            bulkLoader.finish( cursorContext );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+        finally
+        {
+            memoryTracker.releaseHeap( ENTRY_SIZE * counts.size() );
+            counts.clear();
+        }
+    }
+}
@@ -24,6 +24,8 @@ import org.neo4j.io.pagecache.PageCursor;
 
 public class CountsLayout extends Layout.Adapter<CountsKey,CountsValue>
 {
+    private static final long INTERPOLATION_FIRST_OFFSET = 1L << 55;
+
     public CountsLayout()
     {
         super( true, Layout.namedIdentifier( "CoLa", 987 ), 0, 1 );
@@ -105,6 +107,25 @@ public class CountsLayout extends Layout.Adapter<CountsKey,CountsValue>
         return Integer.compare( o1.second, o2.second );
     }
 
+    @Override
+    public boolean interpolationSearch()
+    {
+        return true;
+    }
+
+    /**
+     * {@code type} in the highest byte followed by {@code first}, offset from signed into the unsigned range of the lower 7B.
+     * {@code first} is negative for relationship keys with any ({@code -1}) start label. It is also clamped to that range,
+     * which keeps the mapping non-decreasing for the extreme values of stray tx ids and the MIN/MAX keys.
+     * {@code second} is left out, keys differing only in it are told apart by comparison.
+     */
+    @Override
+    public long interpolationValue( CountsKey key )
+    {
+        long first = Math.max( -INTERPOLATION_FIRST_OFFSET, Math.min( INTERPOLATION_FIRST_OFFSET - 1, key.first ) );
+        return ((long) key.type << 56) + first + INTERPOLATION_FIRST_OFFSET;
+    }
+
     @Override
     public void initializeAsLowest( CountsKey key )
     {
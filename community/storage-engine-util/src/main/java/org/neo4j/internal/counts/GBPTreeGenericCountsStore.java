@@ -28,6 +28,7 @@ import java.io.PrintStream;
 import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -84,6 +85,10 @@ import static org.neo4j.util.Preconditions.checkState;
  *
  * Data flow wise updates are accumulated and written in each checkpoint. Reads are served from the tree or directly from {@link CountsChanges}
  * if there's changes to that particular key.
+ *
+ * Counts read from the tree are kept in a bounded in-memory table, {@link #treeCounts}, which is updated with the written values in each checkpoint.
+ * This way hot keys, e.g. counts read by the planner, are served from memory regardless of whether or not they've been changed since
+ * the last checkpoint. The table only ever mirrors what's in the tree so recovery and the tx-id in the header are unaffected by it.
  */
 public class GBPTreeGenericCountsStore implements CountsStorage
 {
@@ -108,6 +113,14 @@ public class GBPTreeGenericCountsStore implements CountsStorage
     private final int maxCacheSize;
     private final int highMarkCacheSize;
     protected volatile CountsChanges changes = new CountsChanges();
+    /**
+     * Counts as they are in the tree, bounded by {@link #maxCacheSize}, except for keys written in the most recent checkpoint which are always kept.
+     */
+    private final ConcurrentHashMap<CountsKey,Long> treeCounts = new ConcurrentHashMap<>();
+    /**
+     * Bumped before the tree is changed so that readers which read a count from the tree before that change won't put it into {@link #treeCounts}.
+     */
+    private volatile long treeCountsEpoch;
     private final TxIdInformation txIdInformation;
     private final LogProvider userLogProvider;
     private volatile boolean started;
@@ -185,7 +198,7 @@ public class GBPTreeGenericCountsStore implements CountsStorage
         if ( needsRebuild || rebuilder.lastCommittedTxId() != idSequence.getHighestGapFreeNumber() )
         {
             checkState( !readOnlyChecker.isReadOnly(), "Counts store needs rebuilding, most likely this database needs to be recovered." );
-            try ( CountUpdater updater = directUpdater( false, cursorContext ) )
+            try ( CountUpdater updater = directUpdater( false, cursorContext, memoryTracker ) )
             {
                 rebuilder.rebuild( updater, cursorContext, memoryTracker );
             }
@@ -238,7 +251,7 @@ public class GBPTreeGenericCountsStore implements CountsStorage
             monitor.ignoredTransaction( txId );
             return null;
         }
-        return new CountUpdater( new MapWriter( key -> readCountFromTree( key, cursorContext ), changes, idSequence, txId ), lock );
+        return new CountUpdater( new MapWriter( key -> readCountFromCacheOrTree( key, cursorContext ), changes, idSequence, txId ), lock );
     }
 
     /**
@@ -246,19 +259,45 @@ public class GBPTreeGenericCountsStore implements CountsStorage
      * to build the initial data set without the context of transactions, such as batch-insertion or initial import.
      *
      * @param applyDeltas if {@code true} the writer will apply the changes as deltas, which means reading from the tree.
-     * If {@code false} all changes will be written as-is, i.e. as if they are absolute counts.
+     * If {@code false} all changes will be written as-is, i.e. as if they are absolute counts. If the tree is empty, such as when rebuilding
+     * the counts, absolute counts are gathered and bulk loaded into the tree when the returned updater is closed.
+     * @param memoryTracker tracks the absolute counts gathered for bulk loading.
      */
-    protected CountUpdater directUpdater( boolean applyDeltas, CursorContext cursorContext ) throws IOException
+    protected CountUpdater directUpdater( boolean applyDeltas, CursorContext cursorContext, MemoryTracker memoryTracker ) throws IOException
     {
         boolean success = false;
         Lock lock = this.lock.writeLock();
         lock.lock();
         try
         {
-            CountUpdater.CountWriter writer = applyDeltas
+            invalidateTreeCounts();
+            CountUpdater.CountWriter treeWriter = applyDeltas
                     ? new DeltaTreeWriter( () -> tree.writer( cursorContext ), key -> readCountFromTree( key, cursorContext ), layout, maxCacheSize,
                     userLogProvider )
-                    : new TreeWriter( tree.writer( cursorContext ), userLogProvider );
+                    : treeIsEmpty( cursorContext )
+                      ? new BulkLoadingTreeWriter( tree, layout, maxCacheSize, memoryTracker, cursorContext, userLogProvider )
+                      : new TreeWriter( tree.writer( cursorContext ), userLogProvider );
+            CountUpdater.CountWriter writer = new CountUpdater.CountWriter()
+            {
+                @Override
+                public void write( CountsKey key, long delta )
+                {
+                    treeWriter.write( key, delta );
+                }
+
+                @Override
+                public void close()
+                {
+                    try
+                    {
+                        treeWriter.close();
+                    }
+                    finally
+                    {
+                        invalidateTreeCounts();
+                    }
+                }
+            };
             CountUpdater updater = new CountUpdater( writer, lock );
             success = true;
             return updater;
@@ -343,13 +382,49 @@ public class GBPTreeGenericCountsStore implements CountsStorage
 
     private void writeCountsChanges( CountsChanges changes, CursorContext cursorContext ) throws IOException
     {
+        // Readers that read from the tree before this point must not put what they read into the table after we've updated it below
+        treeCountsEpoch++;
+        var sortedChanges = changes.sortedChanges( layout );
         try ( TreeWriter writer = new TreeWriter( tree.unsafeWriter( cursorContext ), userLogProvider ) )
         {
             // Sort the entries in the natural tree order to get more performance in the writer
-            changes.sortedChanges( layout ).forEach( entry -> writer.write( entry.getKey(), entry.getValue().get() ) );
+            sortedChanges.forEach( entry -> writer.write( entry.getKey(), entry.getValue().get() ) );
+        }
+
+        // Write back the new counts to the table while the previous changes are still visible to readers
+        for ( Map.Entry<CountsKey,AtomicLong> entry : sortedChanges )
+        {
+            long count = entry.getValue().get();
+            if ( count >= 0 )
+            {
+                treeCounts.put( entry.getKey(), count );
+            }
+            else
+            {
+                // Negative counts are written as invalid, let reads of it go to the tree and fail there
+                treeCounts.remove( entry.getKey() );
+            }
+        }
+        if ( treeCounts.size() > maxCacheSize )
+        {
+            // Removing an entry is always safe. The keys we just wrote are kept since concurrent readers may have read their old values from the tree
+            var iterator = treeCounts.keySet().iterator();
+            while ( iterator.hasNext() && treeCounts.size() > maxCacheSize )
+            {
+                if ( !changes.containsChange( iterator.next() ) )
+                {
+                    iterator.remove();
+                }
+            }
         }
     }
 
+    private void invalidateTreeCounts()
+    {
+        treeCountsEpoch++;
+        treeCounts.clear();
+    }
+
     private void updateTxIdInformationInTree( OutOfOrderSequence.Snapshot txIdSnapshot, CursorContext cursorContext ) throws IOException
     {
         PrimitiveLongArrayQueue strayIds = new PrimitiveLongArrayQueue();
@@ -386,7 +461,29 @@ public class GBPTreeGenericCountsStore implements CountsStorage
     protected long read( CountsKey key, CursorContext cursorContext )
     {
         long changedCount = changes.get( key );
-        return changedCount != ABSENT ? changedCount : readCountFromTree( key, cursorContext );
+        return changedCount != ABSENT ? changedCount : readCountFromCacheOrTree( key, cursorContext );
+    }
+
+    /**
+     * Read the count as it is in the tree, from {@link #treeCounts} if it's there, otherwise from the tree, putting it into the table if there's room.
+     * The count is only put if no checkpoint has started writing to the tree since before the tree was read, checked atomically per key
+     * with regards to the checkpoint updating the table.
+     */
+    private long readCountFromCacheOrTree( CountsKey key, CursorContext cursorContext )
+    {
+        long epoch = treeCountsEpoch;
+        Long cachedCount = treeCounts.get( key );
+        if ( cachedCount != null )
+        {
+            return cachedCount;
+        }
+
+        long count = readCountFromTree( key, cursorContext );
+        if ( treeCounts.size() < maxCacheSize )
+        {
+            treeCounts.computeIfAbsent( key, k -> treeCountsEpoch == epoch ? count : null );
+        }
+        return count;
     }
 
     public void visitAllCounts( CountVisitor visitor, CursorContext cursorContext )
@@ -419,6 +516,14 @@ public class GBPTreeGenericCountsStore implements CountsStorage
         }
     }
 
+    private boolean treeIsEmpty( CursorContext cursorContext ) throws IOException
+    {
+        try ( Seeker<CountsKey,CountsValue> seek = tree.seek( MIN_STRAY_TX_ID, CountsKey.MAX_COUNT, cursorContext ) )
+        {
+            return !seek.next();
+        }
+    }
+
     /**
      * Read the count from the store. For writes this is done on an unchanging tree because we have the read lock where check-pointing
      * (where changes are written to the tree) can only be done if the write-lock is acquired. For plain unmodified reads this is read from the tree
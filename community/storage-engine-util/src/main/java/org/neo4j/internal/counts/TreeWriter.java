@@ -68,12 +68,17 @@ class TreeWriter implements CountUpdater.CountWriter
         }
         else
         {
-            userLogProvider.getLog( this.getClass() ).error( "Key '" + key + "' has a negative count.\n" +
-                    "This is a serious error which is typically caused by a store corruption\n" +
-                    "Even thought the database will continue operating, it will do so with reduced functionality\n" +
-                    "The best cause of action is running the consistency checker, fixing the corruption and rebuilding the count store\n" +
-                    "Counts for the problematic key will not be available until the count store is rebuilt.\n" );
+            logNegativeCount( userLogProvider, key );
             writer.merge( key, new CountsValue().initialize( GBPTreeGenericCountsStore.INVALID_COUNT ), REPLACING_MERGER );
         }
     }
+
+    static void logNegativeCount( LogProvider userLogProvider, CountsKey key )
+    {
+        userLogProvider.getLog( TreeWriter.class ).error( "Key '" + key + "' has a negative count.\n" +
+                "This is a serious error which is typically caused by a store corruption\n" +
+                "Even thought the database will continue operating, it will do so with reduced functionality\n" +
+                "The best cause of action is running the consistency checker, fixing the corruption and rebuilding the count store\n" +
+                "Counts for the problematic key will not be available until the count store is rebuilt.\n" );
+    }
 }
@@ -38,11 +38,26 @@ import org.neo4j.util.concurrent.WorkSync;
 
 public class IndexUpdatesWorkSync
 {
+    private final IndexUpdateListener listener;
     private final WorkSync<IndexUpdateListener,IndexUpdatesWork> workSync;
+    private final boolean parallel;
 
     public IndexUpdatesWorkSync( IndexUpdateListener listener )
     {
+        this( listener, false );
+    }
+
+    /**
+     * @param listener {@link IndexUpdateListener} to apply the batches to.
+     * @param parallel whether or not to apply each batch directly in the thread applying it, in parallel with other batches, instead of
+     * combining concurrently applied batches and applying them from one thread at a time. The listener must then support being given
+     * updates from several threads at the same time.
+     */
+    public IndexUpdatesWorkSync( IndexUpdateListener listener, boolean parallel )
+    {
+        this.listener = listener;
         this.workSync = new WorkSync<>( listener );
+        this.parallel = parallel;
     }
 
     public Batch newBatch()
@@ -80,16 +95,61 @@ public class IndexUpdatesWorkSync
         public void apply( CursorContext cursorContext ) throws ExecutionException
         {
             addSingleUpdates();
-            if ( !updates.isEmpty() )
+            if ( updates.isEmpty() )
+            {
+                return;
+            }
+            IndexUpdatesWork work = new IndexUpdatesWork( updates, cursorContext );
+            if ( parallel )
             {
-                workSync.apply( new IndexUpdatesWork( updates, cursorContext ) );
+                applyDirectly( work );
+            }
+            else
+            {
+                workSync.apply( work );
             }
         }
 
         public AsyncApply applyAsync( CursorContext cursorContext )
         {
             addSingleUpdates();
-            return updates.isEmpty() ? AsyncApply.EMPTY : workSync.applyAsync( new IndexUpdatesWork( updates, cursorContext ) );
+            if ( updates.isEmpty() )
+            {
+                return AsyncApply.EMPTY;
+            }
+            IndexUpdatesWork work = new IndexUpdatesWork( updates, cursorContext );
+            if ( parallel )
+            {
+                // There's nothing to wait for other than this thread applying the work, so apply it right away
+                try
+                {
+                    applyDirectly( work );
+                    return AsyncApply.EMPTY;
+                }
+                catch ( ExecutionException e )
+                {
+                    return () ->
+                    {
+                        throw e;
+                    };
+                }
+            }
+            return workSync.applyAsync( work );
+        }
+
+        /**
+         * Applies the work like the {@link WorkSync} would, including how failures are reported.
+         */
+        private void applyDirectly( IndexUpdatesWork work ) throws ExecutionException
+        {
+            try
+            {
+                work.apply( listener );
+            }
+            catch ( Throwable t )
+            {
+                throw new ExecutionException( t );
+            }
         }
     }
 
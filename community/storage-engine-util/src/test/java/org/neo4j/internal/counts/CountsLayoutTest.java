@@ -24,7 +24,9 @@ import org.junit.jupiter.api.Test;
 import java.util.Set;
 import java.util.TreeSet;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.internal.counts.GBPTreeCountsStore.nodeKey;
 import static org.neo4j.internal.counts.GBPTreeCountsStore.relationshipKey;
 
 class CountsLayoutTest
@@ -50,4 +52,42 @@ class CountsLayoutTest
             }
         }
     }
+
+    @Test
+    void shouldHaveNonDecreasingInterpolationValuesInKeyOrder()
+    {
+        // given
+        CountsLayout layout = new CountsLayout();
+        TreeSet<CountsKey> keys = new TreeSet<>( layout );
+        keys.add( CountsKey.MIN_COUNT );
+        keys.add( CountsKey.MAX_COUNT );
+        keys.add( CountsKey.MIN_STRAY_TX_ID );
+        keys.add( CountsKey.MAX_STRAY_TX_ID );
+        keys.add( CountsKey.strayTxId( 0 ) );
+        for ( int s = -1; s < 10; s++ )
+        {
+            keys.add( nodeKey( s ) );
+            for ( int t = -1; t < 10; t++ )
+            {
+                for ( int e = -1; e < 10; e++ )
+                {
+                    keys.add( relationshipKey( s, t, e ) );
+                }
+            }
+        }
+        keys.add( nodeKey( Integer.MAX_VALUE ) );
+        keys.add( relationshipKey( Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE ) );
+
+        // then
+        CountsKey previous = null;
+        for ( CountsKey key : keys )
+        {
+            if ( previous != null )
+            {
+                assertThat( layout.interpolationValue( key ) ).as( "%s after %s", key, previous )
+                        .isGreaterThanOrEqualTo( layout.interpolationValue( previous ) );
+            }
+            previous = key;
+        }
+    }
 }
@@ -55,6 +55,7 @@ import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.api.exceptions.WriteOnReadOnlyAccessDbException;
 import org.neo4j.logging.NullLogProvider;
+import org.neo4j.memory.LocalMemoryTracker;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.storageengine.api.cursor.StoreCursors;
 import org.neo4j.test.OtherThreadExecutor;
@@ -169,6 +170,27 @@ class GBPTreeGenericCountsStoreTest
         assertThat( cursorContext.getCursorTracer().hits() ).isEqualTo( 1 );
     }
 
+    @Test
+    void shouldReadCheckpointedAndPreviouslyReadCountsFromMemory() throws IOException
+    {
+        // given
+        try ( CountUpdater updater = countsStore.updater( BASE_TX_ID + 1, NULL ) )
+        {
+            updater.increment( nodeKey( LABEL_ID_1 ), 10 );
+        }
+        countsStore.checkpoint( NULL );
+        assertEquals( 0, countsStore.read( nodeKey( LABEL_ID_2 ), NULL ) );
+
+        // when
+        var pageCacheTracer = new DefaultPageCacheTracer();
+        var cursorContext = new CursorContext( pageCacheTracer.createPageCursorTracer( "shouldReadCheckpointedAndPreviouslyReadCountsFromMemory" ) );
+        assertEquals( 10, countsStore.read( nodeKey( LABEL_ID_1 ), cursorContext ) );
+        assertEquals( 0, countsStore.read( nodeKey( LABEL_ID_2 ), cursorContext ) );
+
+        // then
+        assertThat( cursorContext.getCursorTracer().pins() ).isZero();
+    }
+
     @Test
     void tracePageCacheAccessOnRelationshipCount()
     {
@@ -611,12 +633,41 @@ class GBPTreeGenericCountsStoreTest
         }
 
         // when
-        try ( CountUpdater countUpdater = countsStore.directUpdater( false, NULL ) )
+        try ( CountUpdater countUpdater = countsStore.directUpdater( false, NULL, INSTANCE ) )
+        {
+            expected.forEach( countUpdater::increment );
+        }
+
+        // then
+        expected.forEach( ( key, count ) -> assertThat( countsStore.read( key, NULL ) ).isEqualTo( count ) );
+    }
+
+    @Test
+    void shouldTrackAndBoundAbsoluteCountsGatheredByDirectUpdater() throws IOException
+    {
+        // given
+        int maxCacheSize = 10;
+        closeCountsStore();
+        countsStore = new GBPTreeGenericCountsStore( pageCache, countsStoreFile(), fs, immediate(), EMPTY_REBUILD, writable(), "test", PageCacheTracer.NULL,
+                NO_MONITOR, DEFAULT_DATABASE_NAME, maxCacheSize, NullLogProvider.getInstance() );
+        countsStore.start( NULL, StoreCursors.NULL, INSTANCE );
+        Map<CountsKey,Long> expected = new HashMap<>();
+        while ( expected.size() < maxCacheSize * 10 )
+        {
+            expected.put( randomKey(), random.nextLong( 1, Long.MAX_VALUE ) );
+        }
+        LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+
+        // when
+        try ( CountUpdater countUpdater = countsStore.directUpdater( false, NULL, memoryTracker ) )
         {
             expected.forEach( countUpdater::increment );
+            assertThat( memoryTracker.estimatedHeapMemory() ).isZero();
         }
 
         // then
+        assertThat( memoryTracker.heapHighWaterMark() ).isPositive();
+        assertThat( memoryTracker.estimatedHeapMemory() ).isZero();
         expected.forEach( ( key, count ) -> assertThat( countsStore.read( key, NULL ) ).isEqualTo( count ) );
     }
 
@@ -633,7 +684,7 @@ class GBPTreeGenericCountsStoreTest
         // when
         for ( int i = 0; i < 2; i++ )
         {
-            try ( CountUpdater countUpdater = countsStore.directUpdater( true, NULL ) )
+            try ( CountUpdater countUpdater = countsStore.directUpdater( true, NULL, INSTANCE ) )
             {
                 expected.forEach( countUpdater::increment );
             }
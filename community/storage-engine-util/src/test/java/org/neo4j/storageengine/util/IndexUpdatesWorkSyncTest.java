@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.storageengine.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.neo4j.exceptions.UnderlyingStorageException;
+import org.neo4j.internal.schema.IndexDescriptor;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.storageengine.api.IndexEntryUpdate;
+import org.neo4j.storageengine.api.IndexUpdateListener;
+import org.neo4j.util.concurrent.AsyncApply;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class IndexUpdatesWorkSyncTest
+{
+    @Test
+    void shouldApplyBatchesInParallel() throws Exception
+    {
+        // given a listener which only lets updates through when two threads apply them at the same time
+        int threads = 2;
+        CyclicBarrier barrier = new CyclicBarrier( threads );
+        List<IndexEntryUpdate<IndexDescriptor>> applied = new ArrayList<>();
+        IndexUpdateListener listener = new IndexUpdateListener.Adapter()
+        {
+            @Override
+            public void applyUpdates( Iterable<IndexEntryUpdate<IndexDescriptor>> updates, CursorContext cursorContext )
+            {
+                try
+                {
+                    barrier.await( 1, MINUTES );
+                }
+                catch ( Exception e )
+                {
+                    throw new RuntimeException( e );
+                }
+                synchronized ( applied )
+                {
+                    updates.forEach( applied::add );
+                }
+            }
+        };
+        IndexUpdatesWorkSync workSync = new IndexUpdatesWorkSync( listener, true );
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool( threads );
+        try
+        {
+            List<Future<IndexEntryUpdate<IndexDescriptor>>> futures = new ArrayList<>();
+            for ( int i = 0; i < threads; i++ )
+            {
+                futures.add( executor.submit( () ->
+                {
+                    IndexEntryUpdate<IndexDescriptor> update = update();
+                    IndexUpdatesWorkSync.Batch batch = workSync.newBatch();
+                    batch.add( update );
+                    batch.apply( CursorContext.NULL );
+                    return update;
+                } ) );
+            }
+
+            // then
+            for ( Future<IndexEntryUpdate<IndexDescriptor>> future : futures )
+            {
+                assertThat( applied ).contains( future.get( 1, MINUTES ) );
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldReportFailureToApplyInParallelLikeWorkSync()
+    {
+        // given
+        IndexUpdateListener listener = new IndexUpdateListener.Adapter()
+        {
+            @Override
+            public void applyUpdates( Iterable<IndexEntryUpdate<IndexDescriptor>> updates, CursorContext cursorContext ) throws IOException
+            {
+                throw new IOException( "Failed" );
+            }
+        };
+
+        for ( boolean parallel : new boolean[]{false, true} )
+        {
+            IndexUpdatesWorkSync workSync = new IndexUpdatesWorkSync( listener, parallel );
+
+            // when
+            IndexUpdatesWorkSync.Batch batch = workSync.newBatch();
+            batch.add( update() );
+            IndexUpdatesWorkSync.Batch asyncBatch = workSync.newBatch();
+            asyncBatch.add( update() );
+            AsyncApply asyncApply = asyncBatch.applyAsync( CursorContext.NULL );
+
+            // then
+            assertThatThrownBy( () -> batch.apply( CursorContext.NULL ) )
+                    .isInstanceOf( ExecutionException.class ).hasCauseInstanceOf( UnderlyingStorageException.class ).hasRootCauseMessage( "Failed" );
+            assertThatThrownBy( asyncApply::await )
+                    .isInstanceOf( ExecutionException.class ).hasCauseInstanceOf( UnderlyingStorageException.class ).hasRootCauseMessage( "Failed" );
+        }
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static IndexEntryUpdate<IndexDescriptor> update()
+    {
+        return mock( IndexEntryUpdate.class );
+    }
+}
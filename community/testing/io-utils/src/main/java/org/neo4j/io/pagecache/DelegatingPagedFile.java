@@ -40,6 +40,12 @@ public class DelegatingPagedFile implements PagedFile
         return delegate.io( pageId, pf_flags, context );
     }
 
+    @Override
+    public void prefetch( long[] pageIds, int length, CursorContext context ) throws IOException
+    {
+        delegate.prefetch( pageIds, length, context );
+    }
+
     @Override
     public void flushAndForce() throws IOException
     {
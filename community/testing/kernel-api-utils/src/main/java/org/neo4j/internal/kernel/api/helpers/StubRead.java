@@ -156,6 +156,18 @@ public class StubRead implements Read
         ((StubNodeCursor) cursor).single( reference );
     }
 
+    @Override
+    public void nodesByIds( long[] references, NodeCursor cursor )
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Value[][] nodesProperties( long[] references, int[] propertyKeys, NodeCursor nodeCursor, PropertyCursor propertyCursor )
+    {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public boolean nodeExists( long id )
     {